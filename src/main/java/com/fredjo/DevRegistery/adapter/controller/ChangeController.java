@@ -0,0 +1,116 @@
+package com.fredjo.DevRegistery.adapter.controller;
+
+import com.fredjo.DevRegistery.application.dto.ChangeEventDto;
+import com.fredjo.DevRegistery.infra.changes.ChangeFeed;
+import com.fredjo.DevRegistery.utils.InvalidCursorException;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * REST controller streaming the committed changes of the registry, so that mirrors sync incrementally
+ * instead of downloading every developer again.
+ */
+@RestController
+@Profile("!reactive")
+@RequestMapping("/v1/changes")
+@RequiredArgsConstructor
+public class ChangeController {
+
+    static final String LAST_EVENT_ID_HEADER = "Last-Event-ID";
+    static final String RESET_EVENT = "reset";
+
+    private static final Logger logger = LoggerFactory.getLogger(ChangeController.class);
+    private final ChangeFeed changeFeed;
+
+    /**
+     * Streams changes as Server-Sent Events, in commit order, each with its ID as the SSE event ID.
+     * Without a position only changes committed from now on are sent; a client reconnecting with
+     * {@code Last-Event-ID} resumes right after the last event it received. A {@code reset} event means
+     * the position is no longer available: the client should download the registry again, then keep
+     * the ID of the reset event as its position.
+     *
+     * @param lastEventId the ID of the last event received, as sent by reconnecting EventSource clients
+     * @param after       the ID of the last event received, for clients that cannot set the header
+     * @return the SseEmitter
+     * @throws InvalidCursorException if the event ID is malformed
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestHeader(value = LAST_EVENT_ID_HEADER, required = false) String lastEventId,
+                                    @RequestParam(required = false) String after) {
+        Long position = eventId(lastEventId != null ? lastEventId : after);
+        logger.debug("Streaming changes after: {}", position);
+        SseEmitter emitter = new SseEmitter();
+        ChangeFeed.Subscription subscription = changeFeed.subscribe(position, new SseSubscriber(emitter));
+        emitter.onCompletion(subscription::cancel);
+        emitter.onTimeout(subscription::cancel);
+        emitter.onError(error -> subscription.cancel());
+        return emitter;
+    }
+
+    /**
+     * Handles the failed write of a client that went away; the stream is already committed, so there is
+     * no response left to send.
+     *
+     * @param ex the IOException
+     */
+    @ExceptionHandler(IOException.class)
+    public void handleDisconnect(IOException ex) {
+        logger.debug("Change stream closed by the client: {}", ex.getMessage());
+    }
+
+    private static Long eventId(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            long id = Long.parseLong(value.trim());
+            if (id >= 0) {
+                return id;
+            }
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        throw new InvalidCursorException("Invalid event ID: " + value);
+    }
+
+    /**
+     * Writes each batch of events with a single flush.
+     */
+    private record SseSubscriber(SseEmitter emitter) implements ChangeFeed.Subscriber {
+
+        @Override
+        public void send(List<ChangeEventDto> events) throws IOException {
+            Set<ResponseBodyEmitter.DataWithMediaType> batch = new LinkedHashSet<>();
+            for (ChangeEventDto event : events) {
+                batch.addAll(SseEmitter.event().id(String.valueOf(event.getId())).data(event, MediaType.APPLICATION_JSON).build());
+            }
+            emitter.send(batch);
+        }
+
+        @Override
+        public void reset(long resumeFrom) throws IOException {
+            emitter.send(SseEmitter.event().name(RESET_EVENT).id(String.valueOf(resumeFrom)).data(resumeFrom));
+        }
+
+        @Override
+        public void heartbeat() throws IOException {
+            emitter.send(SseEmitter.event().comment(""));
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.fredjo.DevRegistery.adapter.controller;
+
+import com.fredjo.DevRegistery.application.dto.CursorPage;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.function.Supplier;
+
+/**
+ * Exposes the next cursor of a keyset page as response headers, so list bodies keep their plain array shape.
+ */
+final class CursorHeaders {
+
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private CursorHeaders() {
+    }
+
+    /**
+     * Builds a 200 response whose body is the page items, with {@code X-Next-Cursor}
+     * and a {@code Link rel="next"} header when a next page exists.
+     *
+     * @param page the page
+     * @return the ResponseEntity
+     */
+    static <T> ResponseEntity<Iterable<T>> ok(CursorPage<T> page) {
+        return ok(page, ResponseEntity.ok());
+    }
+
+    /**
+     * Same as {@link #ok(CursorPage)}, completing a response builder that already carries other headers.
+     *
+     * @param page    the page
+     * @param builder the 200 response builder
+     * @return the ResponseEntity
+     */
+    static <T> ResponseEntity<Iterable<T>> ok(CursorPage<T> page, ResponseEntity.BodyBuilder builder) {
+        return ok(page, builder, ServletUriComponentsBuilder::fromCurrentRequest);
+    }
+
+    /**
+     * Same as {@link #ok(CursorPage, ResponseEntity.BodyBuilder)}, for a request whose URI is not bound to
+     * the current thread, as on the reactive stack.
+     *
+     * @param page           the page
+     * @param builder        the 200 response builder
+     * @param currentRequest builds the URI of the current request
+     * @return the ResponseEntity
+     */
+    static <T> ResponseEntity<Iterable<T>> ok(CursorPage<T> page, ResponseEntity.BodyBuilder builder,
+                                              Supplier<UriComponentsBuilder> currentRequest) {
+        if (page.getNextCursor() != null) {
+            String next = currentRequest.get()
+                    .replaceQueryParam("after", page.getNextCursor())
+                    .toUriString();
+            builder.header(NEXT_CURSOR_HEADER, page.getNextCursor())
+                    .header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return builder.body(page.getItems());
+    }
+}
@@ -1,39 +1,165 @@
 package com.fredjo.DevRegistery.adapter.controller;
 
+import com.fredjo.DevRegistery.application.dto.BatchFetchResult;
+import com.fredjo.DevRegistery.application.dto.BatchImportResult;
 import com.fredjo.DevRegistery.application.dto.DeveloperDto;
+import com.fredjo.DevRegistery.application.dto.DeveloperSummaryDto;
+import com.fredjo.DevRegistery.application.dto.IdListDto;
+import com.fredjo.DevRegistery.application.dto.LanguageAttachmentResult;
+import com.fredjo.DevRegistery.application.dto.LanguageReferenceDto;
+import com.fredjo.DevRegistery.application.dto.LanguageReferencesDto;
 import com.fredjo.DevRegistery.application.dto.ProgrammingLanguageDto;
+import com.fredjo.DevRegistery.application.dto.SimilarDeveloperDto;
+import com.fredjo.DevRegistery.application.dto.Versioned;
+import com.fredjo.DevRegistery.application.services.DeveloperFields;
+import com.fredjo.DevRegistery.application.services.DeveloperImportService;
 import com.fredjo.DevRegistery.application.services.DeveloperService;
+import com.fredjo.DevRegistery.utils.BatchIds;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
  * REST controller for managing developers.
  */
 @RestController
+@Profile("!reactive")
 @RequestMapping("/v1/developer")
 @RequiredArgsConstructor
 public class DeveloperController {
 
     private static final Logger logger = LoggerFactory.getLogger(DeveloperController.class);
     private final DeveloperService developerService;
+    private final DeveloperImportService developerImportService;
+    private final ObjectMapper objectMapper;
 
     /**
-     * Fetches all developers.
+     * Fetches developers. Without parameters the list is capped; with {@code after} and/or {@code limit}
+     * a keyset page is returned. Either way, the cursor of the next page, if any, is sent in the
+     * {@code X-Next-Cursor} header.
      *
+     * @param after the cursor of the previous page
+     * @param limit the page size
      * @return the ResponseEntity with the list of DeveloperDto
      */
     @GetMapping
-    public ResponseEntity<Iterable<DeveloperDto>> getAllDevelopers() {
-        logger.info("Fetching all developers");
-        return ResponseEntity.ok(developerService.getAllDevelopers());
+    public ResponseEntity<Iterable<DeveloperDto>> getAllDevelopers(@RequestParam(required = false) String after,
+                                                                   @RequestParam(required = false) Integer limit) {
+        if (after == null && limit == null) {
+            logger.debug("Fetching all developers");
+            return CursorHeaders.ok(developerService.getAllDevelopers());
+        }
+        logger.debug("Fetching developers page after: {}", after);
+        return CursorHeaders.ok(developerService.getDevelopersAfter(after, limit));
+    }
+
+    /**
+     * Fetches developers with only the fields listed in {@code fields}, e.g. {@code ?fields=id,lastName}.
+     * Paging works as for {@link #getAllDevelopers}. Only the selected columns are read,
+     * and languages are only loaded when {@code languages} is selected.
+     *
+     * @param fields comma-separated field names among id, firstName, lastName and languages
+     * @param after  the cursor of the previous page
+     * @param limit  the page size
+     * @return the ResponseEntity with the list of developers holding the selected fields
+     */
+    @GetMapping(params = "fields")
+    public ResponseEntity<Iterable<Map<String, Object>>> getDeveloperFields(@RequestParam String fields,
+                                                                          @RequestParam(required = false) String after,
+                                                                          @RequestParam(required = false) Integer limit) {
+        DeveloperFields selection = DeveloperFields.parse(fields);
+        if (after == null && limit == null) {
+            logger.debug("Fetching all developers with fields: {}", selection);
+            return CursorHeaders.ok(developerService.getAllDevelopers(selection));
+        }
+        logger.debug("Fetching developers page after: {} with fields: {}", after, selection);
+        return CursorHeaders.ok(developerService.getDevelopersAfter(after, limit, selection));
+    }
+
+    /**
+     * Fetches the developers whose IDs are listed in {@code ids}, e.g. {@code ?ids=3,1,2}, with a single query.
+     * Items come in request order; the IDs with no developer are listed under {@code missing}.
+     *
+     * @param ids comma-separated IDs, at most {@value BatchIds#MAX_IDS}
+     * @return the ResponseEntity with the BatchFetchResult of DeveloperDto
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<BatchFetchResult<DeveloperDto>> getDevelopersByIds(@RequestParam String ids) {
+        logger.debug("Fetching developers by ids");
+        return ResponseEntity.ok(developerService.getDevelopersByIds(BatchIds.parse(ids)));
+    }
+
+    /**
+     * Fetches developers by IDs as {@link #getDevelopersByIds(String)} does, for lists too long for a query string.
+     *
+     * @param requestBody the IDs, at most {@value BatchIds#MAX_IDS}
+     * @return the ResponseEntity with the BatchFetchResult of DeveloperDto
+     */
+    @PostMapping("/lookup")
+    public ResponseEntity<BatchFetchResult<DeveloperDto>> lookupDevelopers(@Valid @RequestBody IdListDto requestBody) {
+        logger.debug("Looking up {} developers", requestBody.getIds().size());
+        return ResponseEntity.ok(developerService.getDevelopersByIds(requestBody.getIds()));
+    }
+
+    /**
+     * Searches developers by first and last name, for type-ahead.
+     * Results are ranked; the cursor of the next page is sent in the {@code X-Next-Cursor} header.
+     *
+     * @param q     the search text, every word of which must start a word of the developer's names
+     * @param after the cursor of the previous page
+     * @param limit the page size
+     * @return the ResponseEntity with the list of DeveloperSummaryDto
+     */
+    @GetMapping("/search")
+    public ResponseEntity<Iterable<DeveloperSummaryDto>> searchDevelopers(@RequestParam String q,
+                                                                          @RequestParam(required = false) String after,
+                                                                          @RequestParam(required = false) Integer limit) {
+        logger.debug("Searching developers for: {}", q);
+        return CursorHeaders.ok(developerService.searchDevelopers(q, after, limit));
+    }
+
+    /**
+     * Lists the developers whose programming languages overlap most with those of a developer,
+     * ranked by Jaccard index.
+     *
+     * @param id    the ID of the developer
+     * @param limit the number of results
+     * @return the ResponseEntity with the list of SimilarDeveloperDto
+     */
+    @GetMapping("/{id}/similar")
+    public ResponseEntity<List<SimilarDeveloperDto>> getSimilarDevelopers(@PathVariable Long id,
+                                                                          @RequestParam(required = false) Integer limit) {
+        logger.debug("Fetching developers similar to developer with id: {}", id);
+        return ResponseEntity.ok(developerService.getSimilarDevelopers(id, limit));
+    }
+
+    /**
+     * Exports all developers as NDJSON, streamed without buffering the registry in memory.
+     *
+     * @return the ResponseEntity streaming one DeveloperDto per line
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportDevelopers() {
+        logger.debug("Exporting all developers");
+        return NdjsonResponses.stream(objectMapper, DeveloperDto.class, developerService::exportDevelopers);
     }
 
     /**
@@ -44,7 +170,7 @@ public class DeveloperController {
      */
     @PostMapping
     public ResponseEntity<DeveloperDto> createDeveloper(@Valid @RequestBody DeveloperDto requestBody) {
-        logger.info("Creating new developer");
+        logger.debug("Creating new developer");
         DeveloperDto savedDeveloper = developerService.saveDeveloper(requestBody);
         URI location = ServletUriComponentsBuilder.fromCurrentRequest()
                 .path("/{id}")
@@ -54,56 +180,108 @@ public class DeveloperController {
     }
 
     /**
-     * Fetches a developer by its ID.
+     * Imports developers in bulk from a JSON array or an NDJSON stream.
+     * The body is read incrementally, so its size is not bounded by the heap.
+     *
+     * @param body the request body
+     * @return the ResponseEntity with the BatchImportResult, listing the rejected rows
+     * @throws IOException if the body cannot be read
+     */
+    @PostMapping(value = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BatchImportResult> importDevelopers(InputStream body) throws IOException {
+        logger.debug("Importing developers in bulk");
+        try (MappingIterator<DeveloperDto> rows = objectMapper.readerFor(DeveloperDto.class).readValues(body)) {
+            return ResponseEntity.ok(developerImportService.importDevelopers(rows));
+        }
+    }
+
+    /**
+     * Fetches a developer by its ID. The response carries the developer's version as a strong ETag;
+     * a request whose {@code If-None-Match} still matches gets 304 Not Modified without the developer being loaded.
      *
-     * @param id the ID of the developer
+     * @param id      the ID of the developer
+     * @param request the current request
      * @return the ResponseEntity with the DeveloperDto if found, otherwise 404 Not Found
      */
     @GetMapping("/{id}")
-    public ResponseEntity<DeveloperDto> getDeveloperById(@PathVariable Long id) {
-        logger.info("Fetching developer with id: {}", id);
-        Optional<DeveloperDto> developer = developerService.getDeveloperById(id);
-        return developer.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
+    public ResponseEntity<DeveloperDto> getDeveloperById(@PathVariable Long id, WebRequest request) {
+        logger.debug("Fetching developer with id: {}", id);
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            Optional<String> version = developerService.getDeveloperVersion(id);
+            if (version.isPresent() && request.checkNotModified(ETags.of(version.get()))) {
+                return null;
+            }
+        }
+        return developerService.getVersionedDeveloperById(id)
+                .map(developer -> ResponseEntity.ok().eTag(ETags.of(developer.getVersion())).body(developer.getValue()))
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     /**
-     * Adds a programming language to a developer.
+     * Attaches an existing programming language to a developer, referenced by ID or by name.
      *
      * @param id          the ID of the developer
-     * @param requestBody the programming language data transfer object
+     * @param requestBody the reference to the programming language
      * @return the ResponseEntity with status 200 OK
      */
     @PostMapping("/{id}/languages")
-    public ResponseEntity<Void> addLanguageToDeveloper(@PathVariable Long id, @Valid @RequestBody ProgrammingLanguageDto requestBody) {
-        logger.info("Adding language to developer with id: {}", id);
+    public ResponseEntity<Void> addLanguageToDeveloper(@PathVariable Long id, @Valid @RequestBody LanguageReferenceDto requestBody) {
+        logger.debug("Adding language to developer with id: {}", id);
         developerService.addLanguageToDeveloper(id, requestBody);
         return ResponseEntity.ok().build();
     }
 
     /**
-     * Fetches programming languages for a developer by its ID.
+     * Attaches existing programming languages to a developer, referenced by ID or by name.
+     * Either all languages are found and attached, or none is.
+     *
+     * @param id          the ID of the developer
+     * @param requestBody the references to the programming languages
+     * @return the ResponseEntity with the LanguageAttachmentResult
+     */
+    @PostMapping("/{id}/languages/batch")
+    public ResponseEntity<LanguageAttachmentResult> addLanguagesToDeveloper(@PathVariable Long id, @Valid @RequestBody LanguageReferencesDto requestBody) {
+        logger.debug("Adding {} languages to developer with id: {}", requestBody.getLanguages().size(), id);
+        return ResponseEntity.ok(developerService.addLanguagesToDeveloper(id, requestBody.getLanguages()));
+    }
+
+    /**
+     * Fetches programming languages for a developer by its ID, with an ETag that changes when a language
+     * is added, removed or updated; a matching {@code If-None-Match} gets 304 Not Modified.
      *
-     * @param id the ID of the developer
+     * @param id      the ID of the developer
+     * @param request the current request
      * @return the ResponseEntity with the list of ProgrammingLanguageDto
      */
     @GetMapping("/{id}/languages")
-    public ResponseEntity<Iterable<ProgrammingLanguageDto>> getLanguagesByDeveloperId(@PathVariable Long id) {
-        logger.info("Fetching languages for developer with id: {}", id);
-        return ResponseEntity.ok(developerService.getLanguagesByDeveloperId(id));
+    public ResponseEntity<Iterable<ProgrammingLanguageDto>> getLanguagesByDeveloperId(@PathVariable Long id, WebRequest request) {
+        logger.debug("Fetching languages for developer with id: {}", id);
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            Optional<String> version = developerService.getLanguagesVersion(id);
+            if (version.isPresent() && request.checkNotModified(ETags.of(version.get()))) {
+                return null;
+            }
+        }
+        return developerService.getVersionedLanguagesByDeveloperId(id)
+                .map(languages -> ResponseEntity.ok().eTag(ETags.of(languages.getVersion())).<Iterable<ProgrammingLanguageDto>>body(languages.getValue()))
+                .orElseGet(() -> ResponseEntity.ok(List.of()));
     }
 
     /**
-     * Updates an existing developer.
+     * Updates an existing developer. With an {@code If-Match} ETag the update only applies if the developer
+     * has not changed since it was read, otherwise 412 Precondition Failed is returned.
      *
      * @param id the ID of the developer to update
      * @param requestBody the updated developer data transfer object
-     * @return the ResponseEntity with the updated DeveloperDto
+     * @param ifMatch the ETag the client last read, if any
+     * @return the ResponseEntity with the updated DeveloperDto and its new ETag
      */
     @PutMapping("/{id}")
-    public ResponseEntity<DeveloperDto> updateDeveloper(@PathVariable Long id, @Valid @RequestBody DeveloperDto requestBody) {
-        logger.info("Updating developer with id: {}", id);
-        DeveloperDto updatedDeveloper = developerService.updateDeveloper(id, requestBody);
-        return ResponseEntity.ok(updatedDeveloper);
+    public ResponseEntity<DeveloperDto> updateDeveloper(@PathVariable Long id, @Valid @RequestBody DeveloperDto requestBody,
+                                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        logger.debug("Updating developer with id: {}", id);
+        Versioned<DeveloperDto> updatedDeveloper = developerService.updateDeveloper(id, requestBody, ETags.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(ETags.of(updatedDeveloper.getVersion())).body(updatedDeveloper.getValue());
     }
 
     /**
@@ -114,7 +292,7 @@ public class DeveloperController {
      */
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteDeveloper(@PathVariable Long id) {
-        logger.info("Deleting developer with id: {}", id);
+        logger.debug("Deleting developer with id: {}", id);
         developerService.deleteDeveloperById(id);
         return ResponseEntity.noContent().build();
     }
@@ -0,0 +1,50 @@
+package com.fredjo.DevRegistery.adapter.controller;
+
+import com.fredjo.DevRegistery.utils.PreconditionFailedException;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Strong entity tags built from entity versions, and the {@code If-Match} side of conditional requests.
+ * The {@code If-None-Match} side is handled by {@link org.springframework.web.context.request.WebRequest#checkNotModified(String)}.
+ */
+final class ETags {
+
+    private static final Pattern VERSION_TAG = Pattern.compile("\"(\\d+)\"");
+
+    private ETags() {
+    }
+
+    /**
+     * Builds the strong entity tag of a version.
+     *
+     * @param version the version
+     * @return the quoted entity tag
+     */
+    static String of(String version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Reads the entity version a client expects from its {@code If-Match} header.
+     *
+     * @param ifMatch the header value, or null
+     * @return the expected version, or null when the header is absent or {@code *}
+     * @throws PreconditionFailedException if the header is not a single strong entity tag of a version
+     */
+    static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        Matcher matcher = VERSION_TAG.matcher(ifMatch.trim());
+        if (!matcher.matches()) {
+            throw new PreconditionFailedException("If-Match must be a single strong entity tag: " + ifMatch);
+        }
+        try {
+            return Long.parseLong(matcher.group(1));
+        } catch (NumberFormatException e) {
+            throw new PreconditionFailedException("If-Match must be a single strong entity tag: " + ifMatch);
+        }
+    }
+}
@@ -1,29 +1,44 @@
 package com.fredjo.DevRegistery.adapter.controller;
 
+import com.fredjo.DevRegistery.application.dto.BatchFetchResult;
 import com.fredjo.DevRegistery.application.dto.DeveloperDto;
+import com.fredjo.DevRegistery.application.dto.IdListDto;
+import com.fredjo.DevRegistery.application.dto.LanguageStatsDto;
 import com.fredjo.DevRegistery.application.dto.ProgrammingLanguageDto;
+import com.fredjo.DevRegistery.application.dto.Versioned;
+import com.fredjo.DevRegistery.application.services.ProgrammingLanguageFields;
 import com.fredjo.DevRegistery.application.services.ProgrammingLanguageService;
+import com.fredjo.DevRegistery.utils.BatchIds;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
+import java.util.Map;
 import java.util.Optional;
 
 /**
  * REST controller for managing programming languages.
  */
 @RestController
+@Profile("!reactive")
 @RequestMapping("/v1/programming_language")
 @RequiredArgsConstructor
 public class ProgrammingLanguageController {
 
     private static final Logger logger = LoggerFactory.getLogger(ProgrammingLanguageController.class);
     private final ProgrammingLanguageService programmingLanguageService;
+    private final ObjectMapper objectMapper;
 
     /**
      * Creates a new programming language.
@@ -33,7 +48,7 @@ public class ProgrammingLanguageController {
      */
     @PostMapping
     public ResponseEntity<ProgrammingLanguageDto> createProgrammingLanguage(@Valid @RequestBody ProgrammingLanguageDto requestBody) {
-        logger.info("Creating new programming language");
+        logger.debug("Creating new programming language");
         ProgrammingLanguageDto savedLanguage = programmingLanguageService.saveProgrammingLanguage(requestBody);
         URI location = ServletUriComponentsBuilder.fromCurrentRequest()
                 .path("/{id}")
@@ -43,16 +58,39 @@ public class ProgrammingLanguageController {
     }
 
     /**
-     * Fetches a programming language by its ID.
+     * Fetches a programming language by its ID. The response carries the language's version as a strong ETag;
+     * a request whose {@code If-None-Match} still matches gets 304 Not Modified without the language being mapped.
      *
-     * @param id the ID of the programming language
+     * @param id      the ID of the programming language
+     * @param request the current request
      * @return the ResponseEntity with the ProgrammingLanguageDto if found, otherwise 404 Not Found
      */
     @GetMapping("/{id}")
-    public ResponseEntity<ProgrammingLanguageDto> getProgrammingLanguageById(@PathVariable Long id) {
-        logger.info("Fetching programming language with id: {}", id);
+    public ResponseEntity<ProgrammingLanguageDto> getProgrammingLanguageById(@PathVariable Long id, WebRequest request) {
+        logger.debug("Fetching programming language with id: {}", id);
+        Optional<String> version = programmingLanguageService.getProgrammingLanguageVersion(id);
+        if (version.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        String eTag = ETags.of(version.get());
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
         Optional<ProgrammingLanguageDto> programmingLanguage = programmingLanguageService.getProgrammingLanguageById(id);
-        return programmingLanguage.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
+        return programmingLanguage.map(language -> ResponseEntity.ok().eTag(eTag).body(language))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Counts the developers of every programming language, most used first.
+     * Counts are maintained in memory as languages are attached and detached, so this does not read developers.
+     *
+     * @return the ResponseEntity with the list of LanguageStatsDto
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<Iterable<LanguageStatsDto>> getLanguageStats() {
+        logger.debug("Fetching programming language stats");
+        return ResponseEntity.ok(programmingLanguageService.getLanguageStats());
     }
 
     /**
@@ -63,33 +101,118 @@ public class ProgrammingLanguageController {
      */
     @GetMapping("/{id}/developers")
     public ResponseEntity<Iterable<DeveloperDto>> getDevelopersByProgrammingLanguageId(@PathVariable Long id) {
-        logger.info("Fetching developers for programming language with id: {}", id);
+        logger.debug("Fetching developers for programming language with id: {}", id);
         return ResponseEntity.ok(programmingLanguageService.getDevelopersByProgrammingLanguageId(id));
     }
 
     /**
-     * Fetches all programming languages.
+     * Fetches programming languages. Without parameters the list is capped; with {@code after} and/or {@code limit}
+     * a keyset page is returned. Either way, the cursor of the next page, if any, is sent in the
+     * {@code X-Next-Cursor} header.
+     *
+     * The listing carries an ETag that changes whenever one of its languages is added, removed or updated;
+     * a request whose {@code If-None-Match} still matches gets 304 Not Modified without any mapping.
      *
+     * @param after   the cursor of the previous page
+     * @param limit   the page size
+     * @param request the current request
      * @return the ResponseEntity with the list of ProgrammingLanguageDto
      */
     @GetMapping
-    public ResponseEntity<Iterable<ProgrammingLanguageDto>> getAllProgrammingLanguages() {
-        logger.info("Fetching all programming languages");
-        return ResponseEntity.ok(programmingLanguageService.getAllProgrammingLanguages());
+    public ResponseEntity<Iterable<ProgrammingLanguageDto>> getAllProgrammingLanguages(@RequestParam(required = false) String after,
+                                                                                       @RequestParam(required = false) Integer limit,
+                                                                                       WebRequest request) {
+        String eTag = ETags.of(programmingLanguageService.getProgrammingLanguagesVersion(after, limit));
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        if (after == null && limit == null) {
+            logger.debug("Fetching all programming languages");
+            return CursorHeaders.ok(programmingLanguageService.getAllProgrammingLanguages(), ResponseEntity.ok().eTag(eTag));
+        }
+        logger.debug("Fetching programming languages page after: {}", after);
+        return CursorHeaders.ok(programmingLanguageService.getProgrammingLanguagesAfter(after, limit), ResponseEntity.ok().eTag(eTag));
+    }
+
+    /**
+     * Fetches programming languages with only the fields listed in {@code fields}, e.g. {@code ?fields=id,name}.
+     * Paging and ETags work as for {@link #getAllProgrammingLanguages}; the ETag also depends on the selected fields.
+     *
+     * @param fields  comma-separated field names among id, name and creatorsName
+     * @param after   the cursor of the previous page
+     * @param limit   the page size
+     * @param request the current request
+     * @return the ResponseEntity with the list of programming languages holding the selected fields
+     */
+    @GetMapping(params = "fields")
+    public ResponseEntity<Iterable<Map<String, Object>>> getProgrammingLanguageFields(@RequestParam String fields,
+                                                                                    @RequestParam(required = false) String after,
+                                                                                    @RequestParam(required = false) Integer limit,
+                                                                                    WebRequest request) {
+        ProgrammingLanguageFields selection = ProgrammingLanguageFields.parse(fields);
+        String eTag = ETags.of(programmingLanguageService.getProgrammingLanguagesVersion(after, limit) + ";" + selection);
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        if (after == null && limit == null) {
+            logger.debug("Fetching all programming languages with fields: {}", selection);
+            return CursorHeaders.ok(programmingLanguageService.getAllProgrammingLanguages(selection), ResponseEntity.ok().eTag(eTag));
+        }
+        logger.debug("Fetching programming languages page after: {} with fields: {}", after, selection);
+        return CursorHeaders.ok(programmingLanguageService.getProgrammingLanguagesAfter(after, limit, selection), ResponseEntity.ok().eTag(eTag));
+    }
+
+    /**
+     * Fetches the programming languages whose IDs are listed in {@code ids}, e.g. {@code ?ids=3,1,2}, with a single query.
+     * Items come in request order; the IDs with no programming language are listed under {@code missing}.
+     *
+     * @param ids comma-separated IDs, at most {@value BatchIds#MAX_IDS}
+     * @return the ResponseEntity with the BatchFetchResult of ProgrammingLanguageDto
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<BatchFetchResult<ProgrammingLanguageDto>> getProgrammingLanguagesByIds(@RequestParam String ids) {
+        logger.debug("Fetching programming languages by ids");
+        return ResponseEntity.ok(programmingLanguageService.getProgrammingLanguagesByIds(BatchIds.parse(ids)));
+    }
+
+    /**
+     * Fetches programming languages by IDs as {@link #getProgrammingLanguagesByIds(String)} does, for lists too long for a query string.
+     *
+     * @param requestBody the IDs, at most {@value BatchIds#MAX_IDS}
+     * @return the ResponseEntity with the BatchFetchResult of ProgrammingLanguageDto
+     */
+    @PostMapping("/lookup")
+    public ResponseEntity<BatchFetchResult<ProgrammingLanguageDto>> lookupProgrammingLanguages(@Valid @RequestBody IdListDto requestBody) {
+        logger.debug("Looking up {} programming languages", requestBody.getIds().size());
+        return ResponseEntity.ok(programmingLanguageService.getProgrammingLanguagesByIds(requestBody.getIds()));
+    }
+
+    /**
+     * Exports all programming languages as NDJSON, streamed without buffering the registry in memory.
+     *
+     * @return the ResponseEntity streaming one ProgrammingLanguageDto per line
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportProgrammingLanguages() {
+        logger.debug("Exporting all programming languages");
+        return NdjsonResponses.stream(objectMapper, ProgrammingLanguageDto.class, programmingLanguageService::exportProgrammingLanguages);
     }
 
     /**
-     * Updates an existing programming language.
+     * Updates an existing programming language. With an {@code If-Match} ETag the update only applies if the
+     * language has not changed since it was read, otherwise 412 Precondition Failed is returned.
      *
      * @param id the ID of the programming language to update
      * @param requestBody the updated programming language data transfer object
-     * @return the ResponseEntity with the updated ProgrammingLanguageDto
+     * @param ifMatch the ETag the client last read, if any
+     * @return the ResponseEntity with the updated ProgrammingLanguageDto and its new ETag
      */
     @PutMapping("/{id}")
-    public ResponseEntity<ProgrammingLanguageDto> updateProgrammingLanguage(@PathVariable Long id, @Valid @RequestBody ProgrammingLanguageDto requestBody) {
-        logger.info("Updating programming language with id: {}", id);
-        ProgrammingLanguageDto updatedLanguage = programmingLanguageService.updateProgrammingLanguage(id, requestBody);
-        return ResponseEntity.ok(updatedLanguage);
+    public ResponseEntity<ProgrammingLanguageDto> updateProgrammingLanguage(@PathVariable Long id, @Valid @RequestBody ProgrammingLanguageDto requestBody,
+                                                                            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        logger.debug("Updating programming language with id: {}", id);
+        Versioned<ProgrammingLanguageDto> updatedLanguage = programmingLanguageService.updateProgrammingLanguage(id, requestBody, ETags.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(ETags.of(updatedLanguage.getVersion())).body(updatedLanguage.getValue());
     }
 
     /**
@@ -100,7 +223,7 @@ public class ProgrammingLanguageController {
      */
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteProgrammingLanguage(@PathVariable Long id) {
-        logger.info("Deleting programming language with id: {}", id);
+        logger.debug("Deleting programming language with id: {}", id);
         programmingLanguageService.deleteProgrammingLanguageById(id);
         return ResponseEntity.noContent().build();
     }
@@ -0,0 +1,203 @@
+package com.fredjo.DevRegistery.adapter.controller;
+
+import com.fredjo.DevRegistery.application.dto.DeveloperDto;
+import com.fredjo.DevRegistery.application.dto.LanguageAttachmentResult;
+import com.fredjo.DevRegistery.application.dto.LanguageReferenceDto;
+import com.fredjo.DevRegistery.application.dto.LanguageReferencesDto;
+import com.fredjo.DevRegistery.application.dto.ProgrammingLanguageDto;
+import com.fredjo.DevRegistery.application.services.ReactiveDeveloperService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * REST controller for managing developers on the reactive stack ({@code reactive} profile).
+ * Routes and payloads are those of {@link DeveloperController}; list endpoints stream their items
+ * as the database produces them, at the pace the client reads them.
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("/v1/developer")
+@RequiredArgsConstructor
+public class ReactiveDeveloperController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveDeveloperController.class);
+    private final ReactiveDeveloperService developerService;
+
+    /**
+     * Fetches all developers, capped at {@link com.fredjo.DevRegistery.utils.CursorPagination#MAX_UNPAGED_RESULTS}.
+     * When there are more, the cursor to continue with is sent in the {@code X-Next-Cursor} header.
+     *
+     * @param request the current request
+     * @return the ResponseEntity with the list of DeveloperDto
+     */
+    @GetMapping
+    public Mono<ResponseEntity<Iterable<DeveloperDto>>> getAllDevelopers(ServerHttpRequest request) {
+        logger.debug("Fetching all developers");
+        return developerService.getAllDevelopers()
+                .map(page -> CursorHeaders.ok(page, ResponseEntity.ok(), () -> UriComponentsBuilder.fromUri(request.getURI())));
+    }
+
+    /**
+     * Fetches a keyset page of developers; the cursor of the next page is sent in the {@code X-Next-Cursor} header.
+     *
+     * @param after   the cursor of the previous page
+     * @param limit   the page size
+     * @param request the current request
+     * @return the ResponseEntity with the list of DeveloperDto
+     */
+    @GetMapping(params = "limit")
+    public Mono<ResponseEntity<Iterable<DeveloperDto>>> getDevelopersPage(@RequestParam(required = false) String after,
+                                                                         @RequestParam Integer limit,
+                                                                         ServerHttpRequest request) {
+        logger.debug("Fetching developers page after: {}", after);
+        return developerService.getDevelopersAfter(after, limit)
+                .map(page -> CursorHeaders.ok(page, ResponseEntity.ok(), () -> UriComponentsBuilder.fromUri(request.getURI())));
+    }
+
+    /**
+     * Same as {@link #getDevelopersPage} with the default page size.
+     *
+     * @param after   the cursor of the previous page
+     * @param request the current request
+     * @return the ResponseEntity with the list of DeveloperDto
+     */
+    @GetMapping(params = {"after", "!limit"})
+    public Mono<ResponseEntity<Iterable<DeveloperDto>>> getDevelopersAfter(@RequestParam String after, ServerHttpRequest request) {
+        return getDevelopersPage(after, null, request);
+    }
+
+    /**
+     * Streams every developer as NDJSON, one line per developer, reading the registry in chunks as the client consumes it.
+     *
+     * @return the stream of DeveloperDto
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<DeveloperDto> exportDevelopers() {
+        logger.debug("Exporting developers");
+        return developerService.exportDevelopers();
+    }
+
+    /**
+     * Creates a new developer.
+     *
+     * @param requestBody the developer data transfer object
+     * @param request     the current request
+     * @return the ResponseEntity with the created DeveloperDto
+     */
+    @PostMapping
+    public Mono<ResponseEntity<DeveloperDto>> createDeveloper(@Valid @RequestBody DeveloperDto requestBody, ServerHttpRequest request) {
+        logger.debug("Creating new developer");
+        return developerService.saveDeveloper(requestBody)
+                .map(savedDeveloper -> ResponseEntity.created(UriComponentsBuilder.fromUri(request.getURI())
+                                .path("/{id}")
+                                .buildAndExpand(savedDeveloper.getId())
+                                .toUri())
+                        .body(savedDeveloper));
+    }
+
+    /**
+     * Fetches a developer by its ID, with its version as a strong ETag;
+     * a request whose {@code If-None-Match} still matches gets 304 Not Modified.
+     *
+     * @param id       the ID of the developer
+     * @param exchange the current exchange
+     * @return the ResponseEntity with the DeveloperDto if found, otherwise 404 Not Found
+     */
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<DeveloperDto>> getDeveloperById(@PathVariable long id, ServerWebExchange exchange) {
+        logger.debug("Fetching developer with id: {}", id);
+        return developerService.getVersionedDeveloperById(id)
+                .map(developer -> {
+                    String eTag = ETags.of(developer.getVersion());
+                    if (exchange.checkNotModified(eTag)) {
+                        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).<DeveloperDto>build();
+                    }
+                    return ResponseEntity.ok().eTag(eTag).body(developer.getValue());
+                })
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Attaches an existing programming language to a developer, referenced by ID or by name.
+     *
+     * @param id          the ID of the developer
+     * @param requestBody the reference to the programming language
+     * @return the ResponseEntity with status 200 OK
+     */
+    @PostMapping("/{id}/languages")
+    public Mono<ResponseEntity<Void>> addLanguageToDeveloper(@PathVariable long id, @Valid @RequestBody LanguageReferenceDto requestBody) {
+        logger.debug("Adding language to developer with id: {}", id);
+        return developerService.addLanguagesToDeveloper(id, List.of(requestBody))
+                .thenReturn(ResponseEntity.ok().build());
+    }
+
+    /**
+     * Attaches existing programming languages to a developer, referenced by ID or by name.
+     * Either all languages are found and attached, or none is.
+     *
+     * @param id          the ID of the developer
+     * @param requestBody the references to the programming languages
+     * @return the ResponseEntity with the LanguageAttachmentResult
+     */
+    @PostMapping("/{id}/languages/batch")
+    public Mono<ResponseEntity<LanguageAttachmentResult>> addLanguagesToDeveloper(@PathVariable long id, @Valid @RequestBody LanguageReferencesDto requestBody) {
+        logger.debug("Adding {} languages to developer with id: {}", requestBody.getLanguages().size(), id);
+        return developerService.addLanguagesToDeveloper(id, requestBody.getLanguages()).map(ResponseEntity::ok);
+    }
+
+    /**
+     * Fetches programming languages for a developer by its ID.
+     *
+     * @param id the ID of the developer
+     * @return the stream of ProgrammingLanguageDto, empty if the developer is not found
+     */
+    @GetMapping("/{id}/languages")
+    public Flux<ProgrammingLanguageDto> getLanguagesByDeveloperId(@PathVariable long id) {
+        logger.debug("Fetching languages for developer with id: {}", id);
+        return developerService.getLanguagesByDeveloperId(id);
+    }
+
+    /**
+     * Updates an existing developer. With an {@code If-Match} ETag the update only applies if the developer
+     * has not changed since it was read, otherwise 412 Precondition Failed is returned.
+     *
+     * @param id          the ID of the developer to update
+     * @param requestBody the updated developer data transfer object
+     * @param ifMatch     the ETag the client last read, if any
+     * @return the ResponseEntity with the updated DeveloperDto and its new ETag
+     */
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<DeveloperDto>> updateDeveloper(@PathVariable long id, @Valid @RequestBody DeveloperDto requestBody,
+                                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        logger.debug("Updating developer with id: {}", id);
+        return developerService.updateDeveloper(id, requestBody, ETags.expectedVersion(ifMatch))
+                .map(developer -> ResponseEntity.ok().eTag(ETags.of(developer.getVersion())).body(developer.getValue()));
+    }
+
+    /**
+     * Deletes a developer by its ID.
+     *
+     * @param id the ID of the developer to delete
+     * @return the ResponseEntity with status 204 No Content
+     */
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deleteDeveloper(@PathVariable long id) {
+        logger.debug("Deleting developer with id: {}", id);
+        return developerService.deleteDeveloperById(id).thenReturn(ResponseEntity.noContent().build());
+    }
+}
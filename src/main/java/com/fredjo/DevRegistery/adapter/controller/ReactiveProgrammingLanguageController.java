@@ -0,0 +1,171 @@
+package com.fredjo.DevRegistery.adapter.controller;
+
+import com.fredjo.DevRegistery.application.dto.DeveloperDto;
+import com.fredjo.DevRegistery.application.dto.ProgrammingLanguageDto;
+import com.fredjo.DevRegistery.application.services.ReactiveProgrammingLanguageService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * REST controller for managing programming languages on the reactive stack ({@code reactive} profile).
+ * Routes and payloads are those of {@link ProgrammingLanguageController}.
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("/v1/programming_language")
+@RequiredArgsConstructor
+public class ReactiveProgrammingLanguageController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveProgrammingLanguageController.class);
+    private final ReactiveProgrammingLanguageService programmingLanguageService;
+
+    /**
+     * Creates a new programming language.
+     *
+     * @param requestBody the programming language data transfer object
+     * @param request     the current request
+     * @return the ResponseEntity with the created ProgrammingLanguageDto
+     */
+    @PostMapping
+    public Mono<ResponseEntity<ProgrammingLanguageDto>> createProgrammingLanguage(@Valid @RequestBody ProgrammingLanguageDto requestBody,
+                                                                                  ServerHttpRequest request) {
+        logger.debug("Creating new programming language");
+        return programmingLanguageService.saveProgrammingLanguage(requestBody)
+                .map(savedLanguage -> ResponseEntity.created(UriComponentsBuilder.fromUri(request.getURI())
+                                .path("/{id}")
+                                .buildAndExpand(savedLanguage.getId())
+                                .toUri())
+                        .body(savedLanguage));
+    }
+
+    /**
+     * Fetches a programming language by its ID, with its version as a strong ETag;
+     * a request whose {@code If-None-Match} still matches gets 304 Not Modified.
+     *
+     * @param id       the ID of the programming language
+     * @param exchange the current exchange
+     * @return the ResponseEntity with the ProgrammingLanguageDto if found, otherwise 404 Not Found
+     */
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<ProgrammingLanguageDto>> getProgrammingLanguageById(@PathVariable long id, ServerWebExchange exchange) {
+        logger.debug("Fetching programming language with id: {}", id);
+        return programmingLanguageService.getVersionedProgrammingLanguageById(id)
+                .map(language -> {
+                    String eTag = ETags.of(language.getVersion());
+                    if (exchange.checkNotModified(eTag)) {
+                        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).<ProgrammingLanguageDto>build();
+                    }
+                    return ResponseEntity.ok().eTag(eTag).body(language.getValue());
+                })
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Fetches developers by the programming language ID.
+     *
+     * @param id the ID of the programming language
+     * @return the stream of DeveloperDto
+     */
+    @GetMapping("/{id}/developers")
+    public Flux<DeveloperDto> getDevelopersByProgrammingLanguageId(@PathVariable long id) {
+        logger.debug("Fetching developers for programming language with id: {}", id);
+        return programmingLanguageService.getDevelopersByProgrammingLanguageId(id);
+    }
+
+    /**
+     * Fetches all programming languages, capped at {@link com.fredjo.DevRegistery.utils.CursorPagination#MAX_UNPAGED_RESULTS}.
+     * When there are more, the cursor to continue with is sent in the {@code X-Next-Cursor} header.
+     *
+     * @param request the current request
+     * @return the ResponseEntity with the list of ProgrammingLanguageDto
+     */
+    @GetMapping
+    public Mono<ResponseEntity<Iterable<ProgrammingLanguageDto>>> getAllProgrammingLanguages(ServerHttpRequest request) {
+        logger.debug("Fetching all programming languages");
+        return programmingLanguageService.getAllProgrammingLanguages()
+                .map(page -> CursorHeaders.ok(page, ResponseEntity.ok(), () -> UriComponentsBuilder.fromUri(request.getURI())));
+    }
+
+    /**
+     * Fetches a keyset page of programming languages; the cursor of the next page is sent in the {@code X-Next-Cursor} header.
+     *
+     * @param after   the cursor of the previous page
+     * @param limit   the page size
+     * @param request the current request
+     * @return the ResponseEntity with the list of ProgrammingLanguageDto
+     */
+    @GetMapping(params = "limit")
+    public Mono<ResponseEntity<Iterable<ProgrammingLanguageDto>>> getProgrammingLanguagesPage(@RequestParam(required = false) String after,
+                                                                                             @RequestParam Integer limit,
+                                                                                             ServerHttpRequest request) {
+        logger.debug("Fetching programming languages page after: {}", after);
+        return programmingLanguageService.getProgrammingLanguagesAfter(after, limit)
+                .map(page -> CursorHeaders.ok(page, ResponseEntity.ok(), () -> UriComponentsBuilder.fromUri(request.getURI())));
+    }
+
+    /**
+     * Same as {@link #getProgrammingLanguagesPage} with the default page size.
+     *
+     * @param after   the cursor of the previous page
+     * @param request the current request
+     * @return the ResponseEntity with the list of ProgrammingLanguageDto
+     */
+    @GetMapping(params = {"after", "!limit"})
+    public Mono<ResponseEntity<Iterable<ProgrammingLanguageDto>>> getProgrammingLanguagesAfter(@RequestParam String after,
+                                                                                              ServerHttpRequest request) {
+        return getProgrammingLanguagesPage(after, null, request);
+    }
+
+    /**
+     * Streams every programming language as NDJSON, one line per language.
+     *
+     * @return the stream of ProgrammingLanguageDto
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<ProgrammingLanguageDto> exportProgrammingLanguages() {
+        logger.debug("Exporting programming languages");
+        return programmingLanguageService.exportProgrammingLanguages();
+    }
+
+    /**
+     * Updates an existing programming language. With an {@code If-Match} ETag the update only applies if the
+     * language has not changed since it was read, otherwise 412 Precondition Failed is returned.
+     *
+     * @param id          the ID of the programming language to update
+     * @param requestBody the updated programming language data transfer object
+     * @param ifMatch     the ETag the client last read, if any
+     * @return the ResponseEntity with the updated ProgrammingLanguageDto and its new ETag
+     */
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<ProgrammingLanguageDto>> updateProgrammingLanguage(@PathVariable long id, @Valid @RequestBody ProgrammingLanguageDto requestBody,
+                                                                                  @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        logger.debug("Updating programming language with id: {}", id);
+        return programmingLanguageService.updateProgrammingLanguage(id, requestBody, ETags.expectedVersion(ifMatch))
+                .map(language -> ResponseEntity.ok().eTag(ETags.of(language.getVersion())).body(language.getValue()));
+    }
+
+    /**
+     * Deletes a programming language by its ID.
+     *
+     * @param id the ID of the programming language to delete
+     * @return the ResponseEntity with status 204 No Content
+     */
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deleteProgrammingLanguage(@PathVariable long id) {
+        logger.debug("Deleting programming language with id: {}", id);
+        return programmingLanguageService.deleteProgrammingLanguageById(id).thenReturn(ResponseEntity.noContent().build());
+    }
+}
@@ -0,0 +1,161 @@
+package com.fredjo.DevRegistery.adapter.converter;
+
+import com.fredjo.DevRegistery.application.dto.DeveloperDto;
+import com.fredjo.DevRegistery.application.dto.ProgrammingLanguageDto;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Protobuf wire encoding of the DTOs, following {@code src/main/proto/devregistry.proto}.
+ * <p>
+ * DTOs are written and read directly rather than copied to and from generated message classes.
+ * As in proto3, zero IDs, null or empty strings and empty language sets are not written. Absent
+ * strings and languages are read back as null, so that a missing name fails validation as in JSON.
+ * Unknown fields are skipped.
+ */
+final class ProtobufDtoCodec {
+
+    static final int LIST_ITEMS = 1;
+
+    private static final int ID = 1;
+    private static final int LANGUAGE_NAME = 2;
+    private static final int LANGUAGE_CREATORS_NAME = 3;
+    private static final int DEVELOPER_FIRST_NAME = 2;
+    private static final int DEVELOPER_LAST_NAME = 3;
+    private static final int DEVELOPER_LANGUAGES = 4;
+
+    private ProtobufDtoCodec() {
+    }
+
+    static int languageSize(ProgrammingLanguageDto language) {
+        return longSize(ID, language.getId())
+                + stringSize(LANGUAGE_NAME, language.getName())
+                + stringSize(LANGUAGE_CREATORS_NAME, language.getCreatorsName());
+    }
+
+    static void writeLanguage(CodedOutputStream out, ProgrammingLanguageDto language) throws IOException {
+        writeLong(out, ID, language.getId());
+        writeString(out, LANGUAGE_NAME, language.getName());
+        writeString(out, LANGUAGE_CREATORS_NAME, language.getCreatorsName());
+    }
+
+    static ProgrammingLanguageDto readLanguage(CodedInputStream in) throws IOException {
+        ProgrammingLanguageDto language = new ProgrammingLanguageDto();
+        for (int tag = in.readTag(); tag != 0; tag = in.readTag()) {
+            switch (WireFormat.getTagFieldNumber(tag)) {
+                case ID -> language.setId(in.readInt64());
+                case LANGUAGE_NAME -> language.setName(in.readStringRequireUtf8());
+                case LANGUAGE_CREATORS_NAME -> language.setCreatorsName(in.readStringRequireUtf8());
+                default -> in.skipField(tag);
+            }
+        }
+        return language;
+    }
+
+    static int developerSize(DeveloperDto developer) {
+        int size = longSize(ID, developer.getId())
+                + stringSize(DEVELOPER_FIRST_NAME, developer.getFirstName())
+                + stringSize(DEVELOPER_LAST_NAME, developer.getLastName());
+        if (developer.getLanguages() != null) {
+            for (ProgrammingLanguageDto language : developer.getLanguages()) {
+                size += messageSize(DEVELOPER_LANGUAGES, languageSize(language));
+            }
+        }
+        return size;
+    }
+
+    static void writeDeveloper(CodedOutputStream out, DeveloperDto developer) throws IOException {
+        writeLong(out, ID, developer.getId());
+        writeString(out, DEVELOPER_FIRST_NAME, developer.getFirstName());
+        writeString(out, DEVELOPER_LAST_NAME, developer.getLastName());
+        if (developer.getLanguages() != null) {
+            for (ProgrammingLanguageDto language : developer.getLanguages()) {
+                out.writeTag(DEVELOPER_LANGUAGES, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+                out.writeUInt32NoTag(languageSize(language));
+                writeLanguage(out, language);
+            }
+        }
+    }
+
+    static DeveloperDto readDeveloper(CodedInputStream in) throws IOException {
+        DeveloperDto developer = new DeveloperDto();
+        Set<ProgrammingLanguageDto> languages = null;
+        for (int tag = in.readTag(); tag != 0; tag = in.readTag()) {
+            switch (WireFormat.getTagFieldNumber(tag)) {
+                case ID -> developer.setId(in.readInt64());
+                case DEVELOPER_FIRST_NAME -> developer.setFirstName(in.readStringRequireUtf8());
+                case DEVELOPER_LAST_NAME -> developer.setLastName(in.readStringRequireUtf8());
+                case DEVELOPER_LANGUAGES -> {
+                    if (languages == null) {
+                        languages = new HashSet<>();
+                    }
+                    int limit = in.pushLimit(in.readRawVarint32());
+                    languages.add(readLanguage(in));
+                    in.popLimit(limit);
+                }
+                default -> in.skipField(tag);
+            }
+        }
+        developer.setLanguages(languages);
+        return developer;
+    }
+
+    /**
+     * Size of a length-delimited field holding a message of the given size.
+     */
+    static int messageSize(int field, int size) {
+        return CodedOutputStream.computeTagSize(field) + CodedOutputStream.computeUInt32SizeNoTag(size) + size;
+    }
+
+    /**
+     * Reads the repeated {@code items} field of a list message.
+     */
+    static <T> List<T> readList(CodedInputStream in, MessageReader<T> reader) throws IOException {
+        List<T> items = new ArrayList<>();
+        for (int tag = in.readTag(); tag != 0; tag = in.readTag()) {
+            if (WireFormat.getTagFieldNumber(tag) != LIST_ITEMS) {
+                in.skipField(tag);
+                continue;
+            }
+            int limit = in.pushLimit(in.readRawVarint32());
+            items.add(reader.read(in));
+            in.popLimit(limit);
+        }
+        return items;
+    }
+
+    private static int longSize(int field, long value) {
+        return value == 0 ? 0 : CodedOutputStream.computeInt64Size(field, value);
+    }
+
+    private static void writeLong(CodedOutputStream out, int field, long value) throws IOException {
+        if (value != 0) {
+            out.writeInt64(field, value);
+        }
+    }
+
+    private static int stringSize(int field, String value) {
+        return value == null || value.isEmpty() ? 0 : CodedOutputStream.computeStringSize(field, value);
+    }
+
+    private static void writeString(CodedOutputStream out, int field, String value) throws IOException {
+        if (value != null && !value.isEmpty()) {
+            out.writeString(field, value);
+        }
+    }
+
+    /**
+     * Reads one message, up to the current limit of the stream.
+     */
+    @FunctionalInterface
+    interface MessageReader<T> {
+        T read(CodedInputStream in) throws IOException;
+    }
+}
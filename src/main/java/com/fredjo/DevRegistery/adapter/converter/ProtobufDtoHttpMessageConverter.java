@@ -0,0 +1,171 @@
+package com.fredjo.DevRegistery.adapter.converter;
+
+import com.fredjo.DevRegistery.application.dto.DeveloperDto;
+import com.fredjo.DevRegistery.application.dto.ProgrammingLanguageDto;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Reads and writes {@link DeveloperDto} and {@link ProgrammingLanguageDto}, and lists of them, as Protobuf
+ * messages of {@code src/main/proto/devregistry.proto}: {@code Developer}, {@code ProgrammingLanguage},
+ * {@code DeveloperList} and {@code ProgrammingLanguageList}. Other bodies are left to the other converters,
+ * so that requests for them with only a Protobuf {@code Accept} get 406 Not Acceptable.
+ */
+public class ProtobufDtoHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public static final MediaType APPLICATION_X_PROTOBUF = new MediaType("application", "x-protobuf");
+    public static final MediaType APPLICATION_PROTOBUF = new MediaType("application", "protobuf");
+
+    private enum Body {
+        DEVELOPER, PROGRAMMING_LANGUAGE, DEVELOPER_LIST, PROGRAMMING_LANGUAGE_LIST
+    }
+
+    public ProtobufDtoHttpMessageConverter() {
+        super(APPLICATION_X_PROTOBUF, APPLICATION_PROTOBUF);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return clazz == DeveloperDto.class || clazz == ProgrammingLanguageDto.class;
+    }
+
+    /**
+     * Also lists the Protobuf types for any {@link Iterable}, since which lists can be written depends on their
+     * generic type: content negotiation asks by value class first and only then checks {@link #canWrite}.
+     */
+    @Override
+    public List<MediaType> getSupportedMediaTypes(Class<?> clazz) {
+        return supports(clazz) || Iterable.class.isAssignableFrom(clazz) ? getSupportedMediaTypes() : List.of();
+    }
+
+    @Override
+    public boolean canRead(Type type, @Nullable Class<?> contextClass, @Nullable MediaType mediaType) {
+        return body(type) != null && canRead(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(@Nullable Type type, Class<?> clazz, @Nullable MediaType mediaType) {
+        return body(type != null ? type : clazz) != null && canWrite(mediaType);
+    }
+
+    @Override
+    public Object read(Type type, @Nullable Class<?> contextClass, HttpInputMessage inputMessage) throws IOException {
+        Body body = body(type);
+        if (body == null) {
+            throw new HttpMessageNotReadableException("Cannot read " + type + " as Protobuf", inputMessage);
+        }
+        CodedInputStream in = CodedInputStream.newInstance(inputMessage.getBody());
+        return switch (body) {
+            case DEVELOPER -> ProtobufDtoCodec.readDeveloper(in);
+            case PROGRAMMING_LANGUAGE -> ProtobufDtoCodec.readLanguage(in);
+            case DEVELOPER_LIST -> ProtobufDtoCodec.readList(in, ProtobufDtoCodec::readDeveloper);
+            case PROGRAMMING_LANGUAGE_LIST -> ProtobufDtoCodec.readList(in, ProtobufDtoCodec::readLanguage);
+        };
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        return read(clazz, null, inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Object value, @Nullable Type type, HttpOutputMessage outputMessage) throws IOException {
+        if (value instanceof DeveloperDto developer) {
+            CodedOutputStream out = open(outputMessage, ProtobufDtoCodec.developerSize(developer));
+            ProtobufDtoCodec.writeDeveloper(out, developer);
+            out.flush();
+        } else if (value instanceof ProgrammingLanguageDto language) {
+            CodedOutputStream out = open(outputMessage, ProtobufDtoCodec.languageSize(language));
+            ProtobufDtoCodec.writeLanguage(out, language);
+            out.flush();
+        } else {
+            Body body = type != null ? body(type) : null;
+            writeList((Iterable<?>) value, outputMessage, (body != null ? body : bodyOf(value)) == Body.DEVELOPER_LIST);
+        }
+    }
+
+    /**
+     * Writes the items of a list message, sizing each item once.
+     */
+    private static void writeList(Iterable<?> items, HttpOutputMessage outputMessage, boolean developers) throws IOException {
+        List<Object> list = new ArrayList<>();
+        items.forEach(list::add);
+        int[] sizes = new int[list.size()];
+        int size = 0;
+        for (int i = 0; i < sizes.length; i++) {
+            sizes[i] = developers
+                    ? ProtobufDtoCodec.developerSize((DeveloperDto) list.get(i))
+                    : ProtobufDtoCodec.languageSize((ProgrammingLanguageDto) list.get(i));
+            size += ProtobufDtoCodec.messageSize(ProtobufDtoCodec.LIST_ITEMS, sizes[i]);
+        }
+        CodedOutputStream out = open(outputMessage, size);
+        for (int i = 0; i < sizes.length; i++) {
+            out.writeTag(ProtobufDtoCodec.LIST_ITEMS, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+            out.writeUInt32NoTag(sizes[i]);
+            if (developers) {
+                ProtobufDtoCodec.writeDeveloper(out, (DeveloperDto) list.get(i));
+            } else {
+                ProtobufDtoCodec.writeLanguage(out, (ProgrammingLanguageDto) list.get(i));
+            }
+        }
+        out.flush();
+    }
+
+    private static CodedOutputStream open(HttpOutputMessage outputMessage, int size) throws IOException {
+        outputMessage.getHeaders().setContentLength(size);
+        return CodedOutputStream.newInstance(outputMessage.getBody(), Math.max(1, Math.min(size, CodedOutputStream.DEFAULT_BUFFER_SIZE)));
+    }
+
+    /**
+     * The message a Java type is read and written as, or null if it has none.
+     */
+    @Nullable
+    private static Body body(Type type) {
+        ResolvableType resolved = ResolvableType.forType(type);
+        Class<?> clazz = resolved.toClass();
+        if (clazz == DeveloperDto.class) {
+            return Body.DEVELOPER;
+        }
+        if (clazz == ProgrammingLanguageDto.class) {
+            return Body.PROGRAMMING_LANGUAGE;
+        }
+        if (Iterable.class.isAssignableFrom(clazz)) {
+            Class<?> element = resolved.as(Iterable.class).getGeneric(0).toClass();
+            if (element == DeveloperDto.class) {
+                return Body.DEVELOPER_LIST;
+            }
+            if (element == ProgrammingLanguageDto.class) {
+                return Body.PROGRAMMING_LANGUAGE_LIST;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The message of a list whose declared type was lost, from its first item; an empty list encodes the same
+     * whatever its items.
+     */
+    private static Body bodyOf(Object value) {
+        if (value instanceof Iterable<?> items) {
+            Iterator<?> iterator = items.iterator();
+            if (iterator.hasNext() && iterator.next() instanceof ProgrammingLanguageDto) {
+                return Body.PROGRAMMING_LANGUAGE_LIST;
+            }
+        }
+        return Body.DEVELOPER_LIST;
+    }
+}
@@ -0,0 +1,22 @@
+package com.fredjo.DevRegistery.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a fetch by IDs: the items found, in the order their IDs were requested, and the IDs not found.
+ *
+ * @param <T> the type of the items
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchFetchResult<T> {
+
+    private List<T> items = new ArrayList<>();
+    private List<Long> missing = new ArrayList<>();
+}
@@ -0,0 +1,51 @@
+package com.fredjo.DevRegistery.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of a bulk import: how many rows were read and inserted, and why the others were rejected.
+ * Only the first {@value #MAX_REPORTED_ERRORS} rejected rows are listed, the others are only counted.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchImportResult {
+
+    public static final int MAX_REPORTED_ERRORS = 1000;
+    private long received;
+    private long imported;
+    private List<RowError> errors = new ArrayList<>();
+    private long unreportedErrors;
+
+    /**
+     * Records a rejected row, listing it if fewer than {@value #MAX_REPORTED_ERRORS} rows are listed already.
+     *
+     * @param error the rejected row
+     */
+    public void addError(RowError error) {
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(error);
+        } else {
+            unreportedErrors++;
+        }
+    }
+
+    /**
+     * A rejected row, identified by its zero-based position in the request body.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+
+        private long row;
+        private String message;
+        private Map<String, String> fieldErrors;
+    }
+}
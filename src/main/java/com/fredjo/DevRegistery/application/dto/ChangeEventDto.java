@@ -0,0 +1,23 @@
+package com.fredjo.DevRegistery.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * A committed change of the registry, as sent by the change feed. It names the changed resource,
+ * e.g. {@code /v1/developer/42} for entity {@code developer} and entity ID 42, rather than carrying its state.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeEventDto {
+
+    private long id;
+    private String entity;
+    private long entityId;
+    private String change;
+    private Instant occurredAt;
+}
@@ -0,0 +1,25 @@
+package com.fredjo.DevRegistery.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing.
+ *
+ * @param <T> DTO type
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    private List<T> items;
+
+    /**
+     * Opaque cursor to pass as {@code after} to fetch the next page, null on the last page.
+     */
+    private String nextCursor;
+}
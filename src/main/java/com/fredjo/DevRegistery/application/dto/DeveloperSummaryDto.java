@@ -0,0 +1,15 @@
+package com.fredjo.DevRegistery.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeveloperSummaryDto {
+
+    private long id;
+    private String firstName;
+    private String lastName;
+}
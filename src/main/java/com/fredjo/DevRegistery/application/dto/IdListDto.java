@@ -0,0 +1,25 @@
+package com.fredjo.DevRegistery.application.dto;
+
+import com.fredjo.DevRegistery.utils.BatchIds;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * IDs to fetch in one request, for lists too long for a query string.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdListDto {
+
+    @NotEmpty(message = "At least one ID is required")
+    @Size(max = BatchIds.MAX_IDS, message = "At most " + BatchIds.MAX_IDS + " IDs can be fetched at once")
+    private List<@NotNull Long> ids = new ArrayList<>();
+}
@@ -0,0 +1,18 @@
+package com.fredjo.DevRegistery.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of attaching languages to a developer: how many distinct languages were referenced,
+ * and how many of them were not attached yet.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LanguageAttachmentResult {
+
+    private int requested;
+    private int attached;
+}
@@ -0,0 +1,36 @@
+package com.fredjo.DevRegistery.application.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A reference to an existing programming language: by ID or, when no ID is given, by exact name.
+ * Other properties are ignored, so a full ProgrammingLanguageDto is accepted too.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LanguageReferenceDto {
+
+    private Long id;
+
+    @Size(max = 100, message = "Language name must be at most 100 characters")
+    private String name;
+
+    /**
+     * @return true if the language is referenced by ID
+     */
+    public boolean hasId() {
+        return id != null && id > 0;
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "Language id or name is required")
+    public boolean isResolvable() {
+        return hasId() || (name != null && !name.isBlank());
+    }
+}
@@ -0,0 +1,24 @@
+package com.fredjo.DevRegistery.application.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Programming languages to attach to a developer in one request.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LanguageReferencesDto {
+
+    @NotEmpty(message = "At least one language is required")
+    @Size(max = 100, message = "At most 100 languages can be attached at once")
+    private List<@Valid LanguageReferenceDto> languages = new ArrayList<>();
+}
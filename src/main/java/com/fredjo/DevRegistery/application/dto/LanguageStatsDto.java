@@ -0,0 +1,18 @@
+package com.fredjo.DevRegistery.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Usage of a programming language: how many developers know it.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LanguageStatsDto {
+
+    private long id;
+    private String name;
+    private long developers;
+}
@@ -0,0 +1,17 @@
+package com.fredjo.DevRegistery.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SimilarDeveloperDto {
+
+    private long id;
+    private String firstName;
+    private String lastName;
+    private int sharedLanguages;
+    private double similarity;
+}
@@ -0,0 +1,20 @@
+package com.fredjo.DevRegistery.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A value together with the version of the data it was read from, sent to clients as its entity tag.
+ *
+ * @param <T> DTO type
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Versioned<T> {
+
+    private T value;
+
+    private String version;
+}
@@ -0,0 +1,9 @@
+package com.fredjo.DevRegistery.application.event;
+
+/**
+ * Published when a developer is deleted.
+ *
+ * @param id the ID of the developer
+ */
+public record DeveloperDeletedEvent(long id) {
+}
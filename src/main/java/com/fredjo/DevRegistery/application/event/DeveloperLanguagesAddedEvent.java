@@ -0,0 +1,12 @@
+package com.fredjo.DevRegistery.application.event;
+
+import java.util.List;
+
+/**
+ * Published when programming languages are attached to a developer.
+ *
+ * @param id          the ID of the developer
+ * @param languageIds the IDs of the languages attached; some may have been attached already
+ */
+public record DeveloperLanguagesAddedEvent(long id, List<Long> languageIds) {
+}
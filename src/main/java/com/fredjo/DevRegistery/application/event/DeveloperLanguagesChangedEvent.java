@@ -0,0 +1,9 @@
+package com.fredjo.DevRegistery.application.event;
+
+/**
+ * Published when the languages of a developer are changed with SQL rather than through the entity.
+ *
+ * @param id the ID of the developer
+ */
+public record DeveloperLanguagesChangedEvent(long id) {
+}
@@ -0,0 +1,11 @@
+package com.fredjo.DevRegistery.application.event;
+
+/**
+ * Published when a developer is created or its names change.
+ *
+ * @param id        the ID of the developer
+ * @param firstName the first name of the developer
+ * @param lastName  the last name of the developer
+ */
+public record DeveloperSavedEvent(long id, String firstName, String lastName) {
+}
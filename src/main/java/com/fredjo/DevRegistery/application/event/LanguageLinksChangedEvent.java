@@ -0,0 +1,20 @@
+package com.fredjo.DevRegistery.application.event;
+
+import java.util.List;
+
+/**
+ * Published when developers gain or lose programming languages.
+ *
+ * @param added   the IDs of the languages gained, once per developer gaining it
+ * @param removed the IDs of the languages lost, once per developer losing it
+ */
+public record LanguageLinksChangedEvent(List<Long> added, List<Long> removed) {
+
+    public static LanguageLinksChangedEvent added(List<Long> languageIds) {
+        return new LanguageLinksChangedEvent(languageIds, List.of());
+    }
+
+    public static LanguageLinksChangedEvent removed(List<Long> languageIds) {
+        return new LanguageLinksChangedEvent(List.of(), languageIds);
+    }
+}
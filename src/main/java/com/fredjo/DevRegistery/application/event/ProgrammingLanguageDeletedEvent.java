@@ -0,0 +1,9 @@
+package com.fredjo.DevRegistery.application.event;
+
+/**
+ * Published when a programming language is deleted, and thereby removed from its developers.
+ *
+ * @param id the ID of the programming language
+ */
+public record ProgrammingLanguageDeletedEvent(long id) {
+}
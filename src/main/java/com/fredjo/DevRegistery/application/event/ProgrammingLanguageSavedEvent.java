@@ -0,0 +1,9 @@
+package com.fredjo.DevRegistery.application.event;
+
+/**
+ * Published when a programming language is created or updated.
+ *
+ * @param id the ID of the programming language
+ */
+public record ProgrammingLanguageSavedEvent(long id) {
+}
@@ -0,0 +1,22 @@
+package com.fredjo.DevRegistery.application.mapper;
+
+import com.fredjo.DevRegistery.application.dto.DeveloperDto;
+import com.fredjo.DevRegistery.domain.entity.Developer;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+/**
+ * Mapper between {@link Developer} and {@link DeveloperDto}.
+ * The nested {@code languages} set is mapped element by element through {@link ProgrammingLanguageMapper}.
+ * The {@code version} is owned by Hibernate and sent as the ETag rather than in the body.
+ */
+@Mapper(config = MappingConfig.class, uses = ProgrammingLanguageMapper.class)
+public interface DeveloperMapper extends EntityMapper<Developer, DeveloperDto> {
+
+    @Override
+    DeveloperDto toDto(Developer entity);
+
+    @Override
+    @Mapping(target = "version", ignore = true)
+    Developer toEntity(DeveloperDto dto);
+}
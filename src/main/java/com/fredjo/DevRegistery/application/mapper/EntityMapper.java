@@ -0,0 +1,26 @@
+package com.fredjo.DevRegistery.application.mapper;
+
+/**
+ * Contract shared by the generated entity/DTO mappers.
+ *
+ * @param <T> Entity type
+ * @param <D> DTO type
+ */
+public interface EntityMapper<T, D> {
+
+    /**
+     * Maps an entity to its DTO.
+     *
+     * @param entity the entity
+     * @return the DTO, or null if the entity is null
+     */
+    D toDto(T entity);
+
+    /**
+     * Maps a DTO to a new, detached entity.
+     *
+     * @param dto the DTO
+     * @return the entity, or null if the DTO is null
+     */
+    T toEntity(D dto);
+}
@@ -0,0 +1,24 @@
+package com.fredjo.DevRegistery.application.mapper;
+
+import com.fredjo.DevRegistery.application.dto.ProgrammingLanguageDto;
+import com.fredjo.DevRegistery.domain.entity.ProgrammingLanguage;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+/**
+ * Mapper between {@link ProgrammingLanguage} and {@link ProgrammingLanguageDto}.
+ * The lazy {@code developers} back-reference is never read nor written:
+ * the DTO does not expose it and mapping it would load every developer of the language.
+ * The {@code version} is owned by Hibernate and sent as the ETag rather than in the body.
+ */
+@Mapper(config = MappingConfig.class)
+public interface ProgrammingLanguageMapper extends EntityMapper<ProgrammingLanguage, ProgrammingLanguageDto> {
+
+    @Override
+    ProgrammingLanguageDto toDto(ProgrammingLanguage entity);
+
+    @Override
+    @Mapping(target = "developers", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    ProgrammingLanguage toEntity(ProgrammingLanguageDto dto);
+}
@@ -0,0 +1,24 @@
+package com.fredjo.DevRegistery.application.mapper;
+
+import com.fredjo.DevRegistery.application.dto.DeveloperDto;
+import com.fredjo.DevRegistery.application.dto.ProgrammingLanguageDto;
+import com.fredjo.DevRegistery.infra.r2dbc.DeveloperLanguageRow;
+import com.fredjo.DevRegistery.infra.r2dbc.DeveloperRow;
+import com.fredjo.DevRegistery.infra.r2dbc.ProgrammingLanguageRow;
+import org.mapstruct.Mapper;
+
+import java.util.Set;
+
+/**
+ * Mapper from the R2DBC rows of the reactive stack to the DTOs shared with the servlet stack.
+ * A developer row carries no languages: they are loaded in batches and passed alongside.
+ */
+@Mapper(config = MappingConfig.class)
+public interface R2dbcRowMapper {
+
+    DeveloperDto toDto(DeveloperRow row, Set<ProgrammingLanguageDto> languages);
+
+    ProgrammingLanguageDto toDto(ProgrammingLanguageRow row);
+
+    ProgrammingLanguageDto toDto(DeveloperLanguageRow row);
+}
@@ -1,7 +1,7 @@
 package com.fredjo.DevRegistery.application.services;
 
+import com.fredjo.DevRegistery.application.mapper.EntityMapper;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.springframework.data.repository.CrudRepository;
 
@@ -23,9 +23,8 @@ import java.util.stream.StreamSupport;
 public abstract class BaseService<T, D, ID, R extends CrudRepository<T, ID>> {
 
     protected final R repository;
-    protected final ModelMapper modelMapper;
+    protected final EntityMapper<T, D> mapper;
     protected abstract Logger getLogger();
-    protected abstract Class<D> getDtoClass();
 
     /**
      * Find entity by ID and map to DTO.
@@ -36,7 +35,7 @@ public abstract class BaseService<T, D, ID, R extends CrudRepository<T, ID>> {
     public Optional<D> getById(final ID id) {
         getLogger().info("Fetching entity with id: {}", id);
         return repository.findById(id)
-                .map(entity -> modelMapper.map(entity, getDtoClass()));
+                .map(mapper::toDto);
     }
 
     /**
@@ -47,7 +46,7 @@ public abstract class BaseService<T, D, ID, R extends CrudRepository<T, ID>> {
     public List<D> getAll() {
         getLogger().info("Fetching all entities");
         return StreamSupport.stream(repository.findAll().spliterator(), false)
-                .map(entity -> modelMapper.map(entity, getDtoClass()))
+                .map(mapper::toDto)
                 .collect(Collectors.toList());
     }
 
@@ -69,10 +68,8 @@ public abstract class BaseService<T, D, ID, R extends CrudRepository<T, ID>> {
      */
     public D save(D dto) {
         getLogger().info("Saving entity from DTO");
-        T entity = modelMapper.map(dto, getEntityClass());
+        T entity = mapper.toEntity(dto);
         T savedEntity = repository.save(entity);
-        return modelMapper.map(savedEntity, getDtoClass());
+        return mapper.toDto(savedEntity);
     }
-
-    protected abstract Class<T> getEntityClass();
 }
@@ -0,0 +1,128 @@
+package com.fredjo.DevRegistery.application.services;
+
+import com.fredjo.DevRegistery.application.dto.ProgrammingLanguageDto;
+import com.fredjo.DevRegistery.domain.entity.Developer;
+import com.fredjo.DevRegistery.domain.entity.ProgrammingLanguage;
+import com.fredjo.DevRegistery.infra.repository.DeveloperFirstNameView;
+import com.fredjo.DevRegistery.infra.repository.DeveloperIdView;
+import com.fredjo.DevRegistery.infra.repository.DeveloperLastNameView;
+import com.fredjo.DevRegistery.infra.repository.DeveloperNameView;
+import com.fredjo.DevRegistery.utils.InvalidFieldsException;
+import com.fredjo.DevRegistery.utils.SparseFields;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A sparse fieldset of developers, as requested with {@code ?fields=}.
+ * <p>
+ * Every combination of fields is resolved once, when the class is loaded, to a shape: the closed projection
+ * to read, so that only the selected columns are queried, and the accessors writing each field of a row.
+ * Selecting {@code languages} switches to loading entities, whose language sets are fetched in batches
+ * through the collection cache.
+ */
+public final class DeveloperFields {
+
+    static final List<String> NAMES = List.of("id", "firstName", "lastName", "languages");
+    private static final int ID = 1;
+    private static final int FIRST_NAME = 1 << 1;
+    private static final int LAST_NAME = 1 << 2;
+    private static final int LANGUAGES = 1 << 3;
+    private static final DeveloperFields[] SHAPES = new DeveloperFields[1 << NAMES.size()];
+
+    static {
+        for (int mask = 1; mask < SHAPES.length; mask++) {
+            SHAPES[mask] = new DeveloperFields(mask);
+        }
+    }
+
+    private final int mask;
+    private final Class<? extends DeveloperIdView> projection;
+    private final List<Map.Entry<String, Function<DeveloperIdView, Object>>> viewFields = new ArrayList<>();
+    private final List<Map.Entry<String, Function<Developer, Object>>> entityFields = new ArrayList<>();
+
+    private DeveloperFields(int mask) {
+        this.mask = mask;
+        boolean firstName = (mask & FIRST_NAME) != 0;
+        boolean lastName = (mask & LAST_NAME) != 0;
+        if ((mask & LANGUAGES) != 0) {
+            this.projection = null;
+        } else if (firstName && lastName) {
+            this.projection = DeveloperNameView.class;
+        } else if (firstName) {
+            this.projection = DeveloperFirstNameView.class;
+        } else if (lastName) {
+            this.projection = DeveloperLastNameView.class;
+        } else {
+            this.projection = DeveloperIdView.class;
+        }
+        if ((mask & ID) != 0) {
+            viewFields.add(Map.entry("id", DeveloperIdView::getId));
+            entityFields.add(Map.entry("id", Developer::getId));
+        }
+        if (firstName) {
+            viewFields.add(Map.entry("firstName", view -> ((DeveloperFirstNameView) view).getFirstName()));
+            entityFields.add(Map.entry("firstName", Developer::getFirstName));
+        }
+        if (lastName) {
+            viewFields.add(Map.entry("lastName", view -> ((DeveloperLastNameView) view).getLastName()));
+            entityFields.add(Map.entry("lastName", Developer::getLastName));
+        }
+    }
+
+    /**
+     * Resolves a {@code fields} parameter to its precomputed shape.
+     *
+     * @param fields comma-separated field names among {@code id}, {@code firstName}, {@code lastName} and {@code languages}
+     * @return the DeveloperFields
+     * @throws InvalidFieldsException if a name is unknown or no field is selected
+     */
+    public static DeveloperFields parse(String fields) {
+        return SHAPES[SparseFields.parse(fields, NAMES)];
+    }
+
+    /**
+     * @return true when languages are selected, and entities must be loaded
+     */
+    boolean loadsEntities() {
+        return projection == null;
+    }
+
+    /**
+     * @return the closed projection holding the selected columns, when {@link #loadsEntities()} is false
+     */
+    Class<? extends DeveloperIdView> projection() {
+        return projection;
+    }
+
+    Map<String, Object> write(DeveloperIdView view) {
+        Map<String, Object> row = new LinkedHashMap<>(4);
+        for (Map.Entry<String, Function<DeveloperIdView, Object>> field : viewFields) {
+            row.put(field.getKey(), field.getValue().apply(view));
+        }
+        return row;
+    }
+
+    Map<String, Object> write(Developer developer, Function<ProgrammingLanguage, ProgrammingLanguageDto> languageMapper) {
+        Map<String, Object> row = new LinkedHashMap<>(8);
+        for (Map.Entry<String, Function<Developer, Object>> field : entityFields) {
+            row.put(field.getKey(), field.getValue().apply(developer));
+        }
+        row.put("languages", developer.getLanguages().stream().map(languageMapper).toList());
+        return row;
+    }
+
+    @Override
+    public String toString() {
+        List<String> selected = new ArrayList<>();
+        for (int i = 0; i < NAMES.size(); i++) {
+            if ((mask & (1 << i)) != 0) {
+                selected.add(NAMES.get(i));
+            }
+        }
+        return String.join(",", selected);
+    }
+}
@@ -0,0 +1,199 @@
+package com.fredjo.DevRegistery.application.services;
+
+import com.fredjo.DevRegistery.application.dto.BatchImportResult;
+import com.fredjo.DevRegistery.application.dto.DeveloperDto;
+import com.fredjo.DevRegistery.application.dto.ProgrammingLanguageDto;
+import com.fredjo.DevRegistery.application.event.DeveloperLanguagesAddedEvent;
+import com.fredjo.DevRegistery.application.event.DeveloperSavedEvent;
+import com.fredjo.DevRegistery.application.event.LanguageLinksChangedEvent;
+import com.fredjo.DevRegistery.application.event.ProgrammingLanguageSavedEvent;
+import com.fredjo.DevRegistery.domain.entity.Developer;
+import com.fredjo.DevRegistery.domain.entity.ProgrammingLanguage;
+import com.fredjo.DevRegistery.infra.repository.DeveloperRepository;
+import com.fredjo.DevRegistery.infra.repository.ProgrammingLanguageRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service class for bulk developer imports.
+ * Rows are validated one by one, then inserted in chunks of {@value #IMPORT_CHUNK_SIZE}, each chunk in its own
+ * transaction, so that Hibernate sends the inserts as JDBC batches with pooled sequence IDs.
+ */
+@Service
+@Timed("devregistry.service")
+@RequiredArgsConstructor
+public class DeveloperImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DeveloperImportService.class);
+    static final int IMPORT_CHUNK_SIZE = 1000;
+    private final DeveloperRepository developerRepository;
+    private final ProgrammingLanguageRepository programmingLanguageRepository;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Imports developers read from the given rows.
+     * Languages are referenced by name; the ones that do not exist yet are created, so each must be a valid language.
+     * Invalid rows are skipped and reported, and a chunk rejected by the database is reported row by row.
+     * Rejected rows beyond {@link BatchImportResult#MAX_REPORTED_ERRORS} are counted but not listed.
+     * A malformed row ends the import, chunks committed before it are kept.
+     *
+     * @param rows the developers to import, in request order
+     * @return the BatchImportResult
+     */
+    public BatchImportResult importDevelopers(Iterator<DeveloperDto> rows) {
+        logger.debug("Importing developers");
+        BatchImportResult result = new BatchImportResult();
+        List<ImportRow> chunk = new ArrayList<>(IMPORT_CHUNK_SIZE);
+        long row = 0;
+        while (true) {
+            DeveloperDto developerDto;
+            try {
+                if (!rows.hasNext()) {
+                    break;
+                }
+                developerDto = rows.next();
+            } catch (RuntimeException e) {
+                result.addError(new BatchImportResult.RowError(row++, "Malformed row: " + e.getMessage(), null));
+                break;
+            }
+            long index = row++;
+            Map<String, String> fieldErrors = validate(developerDto);
+            if (!fieldErrors.isEmpty()) {
+                result.addError(new BatchImportResult.RowError(index, "Validation failed", fieldErrors));
+                continue;
+            }
+            chunk.add(new ImportRow(index, developerDto));
+            if (chunk.size() == IMPORT_CHUNK_SIZE) {
+                importChunk(chunk, result);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, result);
+        }
+        result.setReceived(row);
+        logger.info("Imported {} of {} developers", result.getImported(), result.getReceived());
+        return result;
+    }
+
+    private Map<String, String> validate(DeveloperDto developerDto) {
+        Map<String, String> fieldErrors = new LinkedHashMap<>();
+        for (ConstraintViolation<DeveloperDto> violation : validator.validate(developerDto)) {
+            fieldErrors.put(violation.getPropertyPath().toString(), violation.getMessage());
+        }
+        if (developerDto.getLanguages() != null) {
+            for (ProgrammingLanguageDto language : developerDto.getLanguages()) {
+                if (language == null) {
+                    fieldErrors.put("languages[]", "Language is required");
+                    continue;
+                }
+                for (ConstraintViolation<ProgrammingLanguageDto> violation : validator.validate(language)) {
+                    fieldErrors.putIfAbsent("languages[]." + violation.getPropertyPath(), violation.getMessage());
+                }
+            }
+        }
+        return fieldErrors;
+    }
+
+    private void importChunk(List<ImportRow> chunk, BatchImportResult result) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Map<String, ProgrammingLanguage> languages = resolveLanguages(chunk);
+                List<Developer> developers = new ArrayList<>(chunk.size());
+                for (ImportRow importRow : chunk) {
+                    developers.add(toEntity(importRow.developerDto(), languages));
+                }
+                developerRepository.saveAll(developers);
+                List<Long> languageIds = new ArrayList<>();
+                for (Developer developer : developers) {
+                    eventPublisher.publishEvent(new DeveloperSavedEvent(developer.getId(), developer.getFirstName(), developer.getLastName()));
+                    List<Long> developerLanguageIds = developer.getLanguages().stream().map(ProgrammingLanguage::getId).toList();
+                    if (!developerLanguageIds.isEmpty()) {
+                        eventPublisher.publishEvent(new DeveloperLanguagesAddedEvent(developer.getId(), developerLanguageIds));
+                        languageIds.addAll(developerLanguageIds);
+                    }
+                }
+                if (!languageIds.isEmpty()) {
+                    eventPublisher.publishEvent(LanguageLinksChangedEvent.added(languageIds));
+                }
+            });
+            result.setImported(result.getImported() + chunk.size());
+        } catch (DataAccessException | TransactionException e) {
+            String cause = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            logger.warn("Import chunk of {} developers rejected: {}", chunk.size(), cause);
+            for (ImportRow importRow : chunk) {
+                result.addError(new BatchImportResult.RowError(importRow.row(), "Chunk rejected: " + cause, null));
+            }
+        }
+        chunk.clear();
+    }
+
+    /**
+     * Resolves every language name used by the chunk with a single query, creating the missing languages.
+     */
+    private Map<String, ProgrammingLanguage> resolveLanguages(List<ImportRow> chunk) {
+        Map<String, ProgrammingLanguageDto> requested = new HashMap<>();
+        for (ImportRow importRow : chunk) {
+            if (importRow.developerDto().getLanguages() != null) {
+                for (ProgrammingLanguageDto language : importRow.developerDto().getLanguages()) {
+                    requested.putIfAbsent(language.getName(), language);
+                }
+            }
+        }
+        Map<String, ProgrammingLanguage> languages = new HashMap<>(requested.size() * 2);
+        if (requested.isEmpty()) {
+            return languages;
+        }
+        for (ProgrammingLanguage language : programmingLanguageRepository.findByNameIn(requested.keySet())) {
+            languages.putIfAbsent(language.getName(), language);
+        }
+        List<ProgrammingLanguage> created = new ArrayList<>();
+        requested.forEach((name, languageDto) -> {
+            if (!languages.containsKey(name)) {
+                ProgrammingLanguage language = new ProgrammingLanguage();
+                language.setName(name);
+                language.setCreatorsName(languageDto.getCreatorsName());
+                languages.put(name, language);
+                created.add(language);
+            }
+        });
+        programmingLanguageRepository.saveAll(created);
+        for (ProgrammingLanguage language : created) {
+            eventPublisher.publishEvent(new ProgrammingLanguageSavedEvent(language.getId()));
+        }
+        return languages;
+    }
+
+    private Developer toEntity(DeveloperDto developerDto, Map<String, ProgrammingLanguage> languages) {
+        Developer developer = new Developer();
+        developer.setFirstName(developerDto.getFirstName());
+        developer.setLastName(developerDto.getLastName());
+        if (developerDto.getLanguages() != null) {
+            for (ProgrammingLanguageDto language : developerDto.getLanguages()) {
+                developer.getLanguages().add(languages.get(language.getName()));
+            }
+        }
+        return developer;
+    }
+
+    private record ImportRow(long row, DeveloperDto developerDto) {
+    }
+}
@@ -0,0 +1,63 @@
+package com.fredjo.DevRegistery.application.services;
+
+import com.fredjo.DevRegistery.application.dto.DeveloperDto;
+import com.fredjo.DevRegistery.application.dto.ProgrammingLanguageDto;
+import com.fredjo.DevRegistery.application.mapper.R2dbcRowMapper;
+import com.fredjo.DevRegistery.infra.r2dbc.DeveloperLanguageRow;
+import com.fredjo.DevRegistery.infra.r2dbc.DeveloperRow;
+import com.fredjo.DevRegistery.infra.r2dbc.ReactiveProgrammingLanguageRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maps developer rows of the reactive stack to DTOs, loading their languages with one query per batch
+ * of {@link #BATCH_SIZE} developers, like the {@code @BatchSize} of {@code Developer.languages} does for JPA.
+ */
+@Component
+@Profile("reactive")
+@RequiredArgsConstructor
+class DeveloperLanguageBatchLoader {
+
+    static final int BATCH_SIZE = 100;
+
+    private final ReactiveProgrammingLanguageRepository programmingLanguageRepository;
+    private final R2dbcRowMapper rowMapper;
+
+    /**
+     * Maps a stream of developer rows batch by batch. A batch is only requested from upstream once the
+     * previous one has been emitted, so a slow consumer holds back the reads instead of buffering rows.
+     *
+     * @param rows the developer rows
+     * @return the DeveloperDto stream, in the order of the rows
+     */
+    Flux<DeveloperDto> load(Flux<DeveloperRow> rows) {
+        return rows.buffer(BATCH_SIZE).concatMap(batch -> load(batch).flatMapIterable(dtos -> dtos), 0);
+    }
+
+    /**
+     * Maps a batch of at most {@link #BATCH_SIZE} developer rows, with one query for their languages.
+     *
+     * @param rows the developer rows
+     * @return the DeveloperDto list, in the order of the rows
+     */
+    Mono<List<DeveloperDto>> load(List<DeveloperRow> rows) {
+        if (rows.isEmpty()) {
+            return Mono.just(List.of());
+        }
+        return programmingLanguageRepository.findByDeveloperIdIn(rows.stream().map(DeveloperRow::id).toList())
+                .collectMultimap(DeveloperLanguageRow::developerId, rowMapper::toDto)
+                .map(languages -> rows.stream().map(row -> toDto(row, languages)).toList());
+    }
+
+    private DeveloperDto toDto(DeveloperRow row, Map<Long, Collection<ProgrammingLanguageDto>> languages) {
+        return rowMapper.toDto(row, new LinkedHashSet<>(languages.getOrDefault(row.id(), List.of())));
+    }
+}
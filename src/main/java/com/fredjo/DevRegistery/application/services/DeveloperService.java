@@ -1,71 +1,284 @@
 package com.fredjo.DevRegistery.application.services;
 
+import com.fredjo.DevRegistery.application.dto.BatchFetchResult;
+import com.fredjo.DevRegistery.application.dto.CursorPage;
 import com.fredjo.DevRegistery.application.dto.DeveloperDto;
+import com.fredjo.DevRegistery.application.dto.DeveloperSummaryDto;
+import com.fredjo.DevRegistery.application.dto.LanguageAttachmentResult;
+import com.fredjo.DevRegistery.application.dto.LanguageReferenceDto;
 import com.fredjo.DevRegistery.application.dto.ProgrammingLanguageDto;
+import com.fredjo.DevRegistery.application.dto.SimilarDeveloperDto;
+import com.fredjo.DevRegistery.application.dto.Versioned;
+import com.fredjo.DevRegistery.application.event.DeveloperDeletedEvent;
+import com.fredjo.DevRegistery.application.event.DeveloperLanguagesAddedEvent;
+import com.fredjo.DevRegistery.application.event.DeveloperLanguagesChangedEvent;
+import com.fredjo.DevRegistery.application.event.DeveloperSavedEvent;
+import com.fredjo.DevRegistery.application.event.LanguageLinksChangedEvent;
+import com.fredjo.DevRegistery.application.event.ProgrammingLanguageSavedEvent;
+import com.fredjo.DevRegistery.application.mapper.DeveloperMapper;
+import com.fredjo.DevRegistery.application.mapper.ProgrammingLanguageMapper;
 import com.fredjo.DevRegistery.domain.entity.Developer;
 import com.fredjo.DevRegistery.domain.entity.ProgrammingLanguage;
+import com.fredjo.DevRegistery.infra.cache.DeveloperNearCache;
+import com.fredjo.DevRegistery.infra.repository.DeveloperIdView;
+import com.fredjo.DevRegistery.infra.repository.DeveloperNameView;
 import com.fredjo.DevRegistery.infra.repository.DeveloperRepository;
+import com.fredjo.DevRegistery.infra.repository.ProgrammingLanguageRepository;
+import com.fredjo.DevRegistery.infra.search.DeveloperSearchIndex;
+import com.fredjo.DevRegistery.infra.similarity.DeveloperSimilarityIndex;
+import com.fredjo.DevRegistery.utils.BatchIds;
+import com.fredjo.DevRegistery.utils.CursorPagination;
 import com.fredjo.DevRegistery.utils.DeveloperNotFoundException;
+import com.fredjo.DevRegistery.utils.InvalidCursorException;
+import com.fredjo.DevRegistery.utils.InvalidIdsException;
+import com.fredjo.DevRegistery.utils.PreconditionFailedException;
+import com.fredjo.DevRegistery.utils.ProgrammingLanguageNotFoundException;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import org.hibernate.Cache;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
+import java.util.stream.Stream;
 
 /**
  * Service class for managing developers.
  */
 @Service
+@Timed("devregistry.service")
 @RequiredArgsConstructor
 public class DeveloperService {
 
     private static final Logger logger = LoggerFactory.getLogger(DeveloperService.class);
-    private final ModelMapper modelMapper;
+    static final int EXPORT_CLEAR_INTERVAL = 500;
+    private final DeveloperMapper developerMapper;
+    private final ProgrammingLanguageMapper programmingLanguageMapper;
     private final DeveloperRepository developerRepository;
+    private final ProgrammingLanguageRepository programmingLanguageRepository;
+    private final EntityManager entityManager;
+    private final DeveloperSearchIndex developerSearchIndex;
+    private final DeveloperSimilarityIndex developerSimilarityIndex;
+    private final DeveloperNearCache developerNearCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
-     * Fetches a developer by its ID.
+     * Fetches a developer by its ID, through the near-cache.
      *
      * @param id the ID of the developer
      * @return an Optional containing the DeveloperDto if found, otherwise empty
      */
     public Optional<DeveloperDto> getDeveloperById(final Long id) {
-        logger.info("Fetching developer with id: {}", id);
-        return developerRepository.findById(id)
-                .map(developer -> modelMapper.map(developer, DeveloperDto.class));
+        logger.debug("Fetching developer with id: {}", id);
+        return getVersionedDeveloperById(id).map(Versioned::getValue);
     }
 
     /**
-     * Fetches all developers.
+     * Fetches a developer by its ID, with its version, through the near-cache.
      *
-     * @return an Iterable of DeveloperDto
+     * @param id the ID of the developer
+     * @return an Optional containing the versioned DeveloperDto if found, otherwise empty
+     */
+    public Optional<Versioned<DeveloperDto>> getVersionedDeveloperById(final Long id) {
+        logger.debug("Fetching versioned developer with id: {}", id);
+        return developerNearCache.getDeveloper(id, key -> developerRepository.findWithLanguagesById(key)
+                .map(developer -> new Versioned<>(developerMapper.toDto(developer), String.valueOf(developer.getVersion())))
+                .orElse(null));
+    }
+
+    /**
+     * Reads the version of a developer without loading or mapping it.
+     *
+     * @param id the ID of the developer
+     * @return an Optional containing the version if the developer exists, otherwise empty
      */
-    public Iterable<DeveloperDto> getAllDevelopers() {
-        logger.info("Fetching all developers");
-        return StreamSupport.stream(developerRepository.findAll().spliterator(), false)
-                .map(developer -> modelMapper.map(developer, DeveloperDto.class))
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public Optional<String> getDeveloperVersion(final Long id) {
+        return developerRepository.findVersionById(id).map(String::valueOf);
     }
 
     /**
-     * Fetches all developers with pagination.
+     * Fetches all developers, capped at {@link CursorPagination#MAX_UNPAGED_RESULTS}.
+     * When there are more, the page carries the cursor to continue with {@link #getDevelopersAfter(String, Integer)}.
      *
-     * @param pageable the pagination information
-     * @return a Page of DeveloperDto
+     * @return a CursorPage of DeveloperDto
      */
-    public Page<DeveloperDto> getAllDevelopers(Pageable pageable) {
-        logger.info("Fetching all developers with pagination");
-        return developerRepository.findAll(pageable)
-                .map(developer -> modelMapper.map(developer, DeveloperDto.class));
+    @Transactional(readOnly = true)
+    public CursorPage<DeveloperDto> getAllDevelopers() {
+        logger.debug("Fetching all developers");
+        List<Developer> developers = developerRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(CursorPagination.MAX_UNPAGED_RESULTS + 1));
+        return CursorPagination.page(developers, CursorPagination.MAX_UNPAGED_RESULTS, Developer::getId, developerMapper::toDto);
+    }
+
+    /**
+     * Fetches developers by their IDs with a single query, their languages included.
+     * Repeated IDs are fetched once.
+     *
+     * @param ids the IDs of the developers
+     * @return the developers in request order, and the IDs not found
+     * @throws InvalidIdsException if there are no IDs, or more than {@link BatchIds#MAX_IDS}
+     */
+    @Transactional(readOnly = true)
+    public BatchFetchResult<DeveloperDto> getDevelopersByIds(List<Long> ids) {
+        Set<Long> distinct = BatchIds.distinct(ids);
+        logger.debug("Fetching {} developers by ids", distinct.size());
+        return BatchIds.collect(distinct, developerRepository.findWithLanguagesByIdIn(distinct), Developer::getId, developerMapper::toDto);
+    }
+
+    /**
+     * Fetches one page of developers using keyset pagination on the ID.
+     *
+     * @param after the cursor returned with the previous page, or null for the first page
+     * @param limit the requested page size, or null for the default
+     * @return a CursorPage of DeveloperDto
+     * @throws InvalidCursorException if the cursor is malformed
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<DeveloperDto> getDevelopersAfter(String after, Integer limit) {
+        logger.debug("Fetching developers after cursor: {}", after);
+        long afterId = CursorPagination.decode(after);
+        int pageSize = CursorPagination.pageSize(limit);
+        List<Developer> developers = developerRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(pageSize + 1));
+        return CursorPagination.page(developers, pageSize, Developer::getId, developerMapper::toDto);
+    }
+
+    /**
+     * Fetches all developers with only the selected fields, capped at {@link CursorPagination#MAX_UNPAGED_RESULTS}.
+     * When there are more, the page carries the cursor to continue with {@link #getDevelopersAfter(String, Integer, DeveloperFields)}.
+     *
+     * @param fields the selected fields
+     * @return a CursorPage of rows holding the selected fields
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Map<String, Object>> getAllDevelopers(DeveloperFields fields) {
+        logger.debug("Fetching all developers with fields: {}", fields);
+        return selectFields(0L, CursorPagination.MAX_UNPAGED_RESULTS, CursorPagination.MAX_UNPAGED_RESULTS + 1, fields);
+    }
+
+    /**
+     * Fetches one page of developers with only the selected fields, using keyset pagination on the ID.
+     *
+     * @param after  the cursor returned with the previous page, or null for the first page
+     * @param limit  the requested page size, or null for the default
+     * @param fields the selected fields
+     * @return a CursorPage of rows holding the selected fields
+     * @throws InvalidCursorException if the cursor is malformed
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Map<String, Object>> getDevelopersAfter(String after, Integer limit, DeveloperFields fields) {
+        logger.debug("Fetching developers after cursor: {} with fields: {}", after, fields);
+        int pageSize = CursorPagination.pageSize(limit);
+        return selectFields(CursorPagination.decode(after), pageSize, pageSize + 1, fields);
+    }
+
+    private CursorPage<Map<String, Object>> selectFields(long afterId, int pageSize, int fetchSize, DeveloperFields fields) {
+        if (fields.loadsEntities()) {
+            List<Developer> developers = developerRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(fetchSize));
+            return CursorPagination.page(developers, pageSize, Developer::getId,
+                    developer -> fields.write(developer, programmingLanguageMapper::toDto));
+        }
+        List<? extends DeveloperIdView> views = developerRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(fetchSize), fields.projection());
+        return CursorPagination.page(views, pageSize, DeveloperIdView::getId, fields::write);
+    }
+
+    /**
+     * Streams every developer to the given sink in ID order, in constant memory.
+     * Developers are read in chunks of {@value #EXPORT_CLEAR_INTERVAL}: a whole chunk is held in the persistence
+     * context while it is mapped, so that its languages are loaded in batches rather than one query per developer,
+     * then the persistence context is cleared so that exported entities can be garbage collected.
+     *
+     * @param sink receives each DeveloperDto
+     * @return the number of exported developers
+     */
+    @Transactional(readOnly = true)
+    public long exportDevelopers(Consumer<DeveloperDto> sink) {
+        logger.debug("Exporting all developers");
+        long count = 0;
+        List<Developer> chunk = new ArrayList<>(EXPORT_CLEAR_INTERVAL);
+        try (Stream<Developer> developers = developerRepository.streamAllByOrderByIdAsc()) {
+            Iterator<Developer> iterator = developers.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == EXPORT_CLEAR_INTERVAL || !iterator.hasNext()) {
+                    chunk.forEach(developer -> sink.accept(developerMapper.toDto(developer)));
+                    count += chunk.size();
+                    chunk.clear();
+                    entityManager.clear();
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Searches developers by first and last name, type-ahead style, from the in-memory search index.
+     * Every word of the query must start a word of the developer's names.
+     *
+     * @param query the search text
+     * @param after the cursor returned with the previous page, or null for the first page
+     * @param limit the requested page size, or null for the default
+     * @return a CursorPage of DeveloperSummaryDto in rank order
+     * @throws InvalidCursorException if the cursor is malformed
+     */
+    public CursorPage<DeveloperSummaryDto> searchDevelopers(String query, String after, Integer limit) {
+        logger.debug("Searching developers for: {}", query);
+        DeveloperSearchIndex.Posting position = CursorPagination.decodeKey(after, DeveloperSearchIndex.Posting::parse);
+        int pageSize = CursorPagination.pageSize(limit);
+        List<DeveloperSearchIndex.Hit> hits = developerSearchIndex.search(query, position, pageSize + 1);
+        return CursorPagination.pageByKey(hits, pageSize, hit -> CursorPagination.encodeKey(hit.posting().key()),
+                hit -> new DeveloperSummaryDto(hit.id(), hit.firstName(), hit.lastName()));
+    }
+
+    /**
+     * Finds the developers whose languages overlap most with those of a developer, from the in-memory
+     * similarity index, ranked by Jaccard index. A developer without languages has no similar developers.
+     *
+     * @param id    the ID of the developer
+     * @param limit the requested number of results, or null for the default
+     * @return the list of SimilarDeveloperDto, most similar first
+     * @throws DeveloperNotFoundException if the developer is not found
+     */
+    @Transactional(readOnly = true)
+    public List<SimilarDeveloperDto> getSimilarDevelopers(Long id, Integer limit) {
+        logger.debug("Fetching developers similar to developer with id: {}", id);
+        if (!developerRepository.existsById(id)) {
+            throw new DeveloperNotFoundException("Developer not found with id: " + id);
+        }
+        List<DeveloperSimilarityIndex.Match> matches = developerSimilarityIndex.similar(id, CursorPagination.pageSize(limit));
+        if (matches.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, DeveloperNameView> names = developerRepository.findNamesByIdIn(matches.stream().map(DeveloperSimilarityIndex.Match::id).toList())
+                .stream()
+                .collect(Collectors.toMap(DeveloperNameView::getId, name -> name));
+        List<SimilarDeveloperDto> similar = new ArrayList<>(matches.size());
+        for (DeveloperSimilarityIndex.Match match : matches) {
+            // skips developers deleted since the index was read
+            DeveloperNameView name = names.get(match.id());
+            if (name != null) {
+                similar.add(new SimilarDeveloperDto(match.id(), name.getFirstName(), name.getLastName(), match.sharedLanguages(), match.similarity()));
+            }
+        }
+        return similar;
     }
 
     /**
@@ -75,62 +288,234 @@ public class DeveloperService {
      */
     @Transactional
     public void deleteDeveloperById(final Long id) {
-        logger.info("Deleting developer with id: {}", id);
-        developerRepository.deleteById(id);
+        logger.debug("Deleting developer with id: {}", id);
+        developerRepository.findById(id).ifPresent(developer -> {
+            eventPublisher.publishEvent(LanguageLinksChangedEvent.removed(languageIds(developer)));
+            developerRepository.delete(developer);
+            eventPublisher.publishEvent(new DeveloperDeletedEvent(id));
+        });
     }
 
     /**
-     * Saves a developer.
+     * Saves a developer. Its languages are referenced by ID when one is given, otherwise by name; languages
+     * named but not found are created.
      *
      * @param developerDto the developer data transfer object
      * @return the saved DeveloperDto
+     * @throws ProgrammingLanguageNotFoundException if a language given by ID is not found; nothing is saved
      */
     @Transactional
     public DeveloperDto saveDeveloper(DeveloperDto developerDto) {
-        logger.info("Saving developer");
-        Developer developer = modelMapper.map(developerDto, Developer.class);
+        logger.debug("Saving developer");
+        Developer developer = developerMapper.toEntity(developerDto);
+        developer.setLanguages(resolveLanguages(developerDto.getLanguages()));
         Developer savedDeveloper = developerRepository.save(developer);
-        return modelMapper.map(savedDeveloper, DeveloperDto.class);
+        eventPublisher.publishEvent(new DeveloperSavedEvent(savedDeveloper.getId(), savedDeveloper.getFirstName(), savedDeveloper.getLastName()));
+        if (!savedDeveloper.getLanguages().isEmpty()) {
+            eventPublisher.publishEvent(new DeveloperLanguagesAddedEvent(savedDeveloper.getId(), languageIds(savedDeveloper)));
+            eventPublisher.publishEvent(LanguageLinksChangedEvent.added(languageIds(savedDeveloper)));
+        }
+        return developerMapper.toDto(savedDeveloper);
     }
 
     /**
-     * Adds a programming language to a developer.
+     * Attaches an existing programming language to a developer; nothing changes if it is already attached.
      *
-     * @param id                     the ID of the developer
-     * @param programmingLanguageDto the programming language data transfer object
-     * @throws DeveloperNotFoundException if the developer is not found
+     * @param id       the ID of the developer
+     * @param language the programming language, by ID or name
+     * @throws DeveloperNotFoundException           if the developer is not found
+     * @throws ProgrammingLanguageNotFoundException if the programming language is not found
+     */
+    @Transactional
+    public void addLanguageToDeveloper(Long id, LanguageReferenceDto language) {
+        addLanguagesToDeveloper(id, List.of(language));
+    }
+
+    /**
+     * Attaches existing programming languages to a developer, skipping the ones already attached.
+     * Languages are resolved through the second-level and query caches and the join rows are inserted with
+     * a single statement, without loading the developer's current languages (when several are given, the ones
+     * already attached are first looked up by primary key, so that usage counters get exact changes).
+     * The developer's version is incremented when a language is attached, and its cached language set is
+     * evicted once committed.
+     *
+     * @param id        the ID of the developer
+     * @param languages the programming languages, by ID or name
+     * @return the LanguageAttachmentResult
+     * @throws DeveloperNotFoundException           if the developer is not found
+     * @throws ProgrammingLanguageNotFoundException if a programming language is not found; nothing is attached
      */
     @Transactional
-    public void addLanguageToDeveloper(Long id, ProgrammingLanguageDto programmingLanguageDto) {
-        logger.info("Adding language to developer with id: {}", id);
+    public LanguageAttachmentResult addLanguagesToDeveloper(Long id, List<LanguageReferenceDto> languages) {
+        logger.debug("Adding {} languages to developer with id: {}", languages.size(), id);
         Developer developer = developerRepository.findById(id)
                 .orElseThrow(() -> new DeveloperNotFoundException("Developer not found with id: " + id));
+        Set<Long> languageIds = resolveLanguageIds(languages);
+        Set<Long> newLanguageIds = new LinkedHashSet<>(languageIds);
+        if (languageIds.size() > 1) {
+            newLanguageIds.removeAll(developerRepository.findLinkedLanguageIds(id, languageIds));
+        }
+
+        int attached = newLanguageIds.isEmpty() ? 0 : developerRepository.insertLanguages(id, newLanguageIds);
+        if (attached > 0) {
+            entityManager.lock(developer, LockModeType.OPTIMISTIC_FORCE_INCREMENT);
+            eventPublisher.publishEvent(new DeveloperLanguagesChangedEvent(id));
+            eventPublisher.publishEvent(new DeveloperLanguagesAddedEvent(id, List.copyOf(newLanguageIds)));
+            // fewer rows than expected means a concurrent attach; the usage counters are then reconciled later
+            if (attached == newLanguageIds.size()) {
+                eventPublisher.publishEvent(LanguageLinksChangedEvent.added(List.copyOf(newLanguageIds)));
+            }
+        }
+        return new LanguageAttachmentResult(languageIds.size(), attached);
+    }
+
+    /**
+     * Evicts the cached language set of a developer whose languages were changed with SQL, once the change is committed.
+     * Runs before the near-cache is invalidated, so that the near-cache is never reloaded from the stale set.
+     */
+    @TransactionalEventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onDeveloperLanguagesChanged(DeveloperLanguagesChangedEvent event) {
+        entityManager.getEntityManagerFactory().getCache().unwrap(Cache.class)
+                .evictCollectionData(Developer.LANGUAGES_ROLE, event.id());
+    }
+
+    private static List<Long> languageIds(Developer developer) {
+        return developer.getLanguages().stream().map(ProgrammingLanguage::getId).toList();
+    }
+
+    /**
+     * Resolves the languages of a new developer with one query for those given by ID and one for those given by
+     * name, through the query cache, and creates the named languages that do not exist yet.
+     */
+    private Set<ProgrammingLanguage> resolveLanguages(Set<ProgrammingLanguageDto> languages) {
+        Set<ProgrammingLanguage> resolved = new HashSet<>();
+        if (languages == null || languages.isEmpty()) {
+            return resolved;
+        }
+        Set<Long> ids = new LinkedHashSet<>();
+        Map<String, ProgrammingLanguageDto> names = new LinkedHashMap<>();
+        for (ProgrammingLanguageDto language : languages) {
+            if (language.getId() > 0) {
+                ids.add(language.getId());
+            } else {
+                names.putIfAbsent(language.getName(), language);
+            }
+        }
 
-        Set<ProgrammingLanguage> languages = developer.getLanguages();
-        if (languages == null) {
-            languages = new java.util.HashSet<>();
-            developer.setLanguages(languages);
+        if (!ids.isEmpty()) {
+            List<ProgrammingLanguage> found = programmingLanguageRepository.findByIdIn(ids);
+            if (found.size() < ids.size()) {
+                Set<Long> missing = new LinkedHashSet<>(ids);
+                found.forEach(language -> missing.remove(language.getId()));
+                throw new ProgrammingLanguageNotFoundException("Programming languages not found: " + missing);
+            }
+            resolved.addAll(found);
         }
-        languages.add(modelMapper.map(programmingLanguageDto, ProgrammingLanguage.class));
-        developerRepository.save(developer);
+        if (!names.isEmpty()) {
+            for (ProgrammingLanguage language : programmingLanguageRepository.findCachedByNameIn(names.keySet())) {
+                names.remove(language.getName());
+                resolved.add(language);
+            }
+            for (ProgrammingLanguageDto languageDto : names.values()) {
+                ProgrammingLanguage language = new ProgrammingLanguage();
+                language.setName(languageDto.getName());
+                language.setCreatorsName(languageDto.getCreatorsName());
+                programmingLanguageRepository.save(language);
+                eventPublisher.publishEvent(new ProgrammingLanguageSavedEvent(language.getId()));
+                resolved.add(language);
+            }
+        }
+        return resolved;
+    }
+
+    private Set<Long> resolveLanguageIds(List<LanguageReferenceDto> languages) {
+        Set<Long> ids = new LinkedHashSet<>();
+        Set<String> names = new LinkedHashSet<>();
+        for (LanguageReferenceDto language : languages) {
+            if (language.hasId()) {
+                ids.add(language.getId());
+            } else {
+                names.add(language.getName());
+            }
+        }
+
+        Set<Long> resolved = new LinkedHashSet<>();
+        List<String> missing = new ArrayList<>();
+        if (!ids.isEmpty()) {
+            Set<Long> found = programmingLanguageRepository.findByIdIn(ids).stream()
+                    .map(ProgrammingLanguage::getId)
+                    .collect(Collectors.toSet());
+            for (Long languageId : ids) {
+                if (found.contains(languageId)) {
+                    resolved.add(languageId);
+                } else {
+                    missing.add(String.valueOf(languageId));
+                }
+            }
+        }
+        if (!names.isEmpty()) {
+            Map<String, Long> found = programmingLanguageRepository.findCachedByNameIn(names).stream()
+                    .collect(Collectors.toMap(ProgrammingLanguage::getName, ProgrammingLanguage::getId));
+            for (String name : names) {
+                if (found.containsKey(name)) {
+                    resolved.add(found.get(name));
+                } else {
+                    missing.add(name);
+                }
+            }
+        }
+        if (!missing.isEmpty()) {
+            throw new ProgrammingLanguageNotFoundException("Programming languages not found: " + missing);
+        }
+        return resolved;
     }
 
     /**
-     * Fetches programming languages for a developer by its ID.
+     * Fetches programming languages for a developer by its ID, through the near-cache.
      *
      * @param id the ID of the developer
-     * @return an Iterable of ProgrammingLanguageDto
+     * @return an Iterable of ProgrammingLanguageDto, empty if the developer is not found
      */
     public Iterable<ProgrammingLanguageDto> getLanguagesByDeveloperId(Long id) {
-        logger.info("Fetching languages for developer with id: {}", id);
-        Optional<Developer> developer = developerRepository.findById(id);
-        if (developer.isPresent()) {
-            Set<ProgrammingLanguage> languages = developer.get().getLanguages();
-            return languages.stream()
-                    .map(language -> modelMapper.map(language, ProgrammingLanguageDto.class))
-                    .collect(Collectors.toList());
-        }
-        return new ArrayList<>();
+        logger.debug("Fetching languages for developer with id: {}", id);
+        return getVersionedLanguagesByDeveloperId(id).map(Versioned::getValue).orElseGet(List::of);
+    }
+
+    /**
+     * Fetches programming languages for a developer by its ID, with the version of the list, through the near-cache.
+     * The version changes when a language is added to or removed from the developer, or updated.
+     *
+     * @param id the ID of the developer
+     * @return an Optional containing the versioned list of ProgrammingLanguageDto if the developer exists, otherwise empty
+     */
+    public Optional<Versioned<List<ProgrammingLanguageDto>>> getVersionedLanguagesByDeveloperId(Long id) {
+        logger.debug("Fetching versioned languages for developer with id: {}", id);
+        return developerNearCache.getLanguages(id, key -> developerRepository.findWithLanguagesById(key).map(developer -> {
+            long languagesVersion = 0;
+            List<ProgrammingLanguageDto> languages = new ArrayList<>(developer.getLanguages().size());
+            for (ProgrammingLanguage language : developer.getLanguages()) {
+                languagesVersion += language.getVersion();
+                languages.add(programmingLanguageMapper.toDto(language));
+            }
+            return new Versioned<>(languages, languagesVersion(developer.getVersion(), languagesVersion));
+        }).orElse(null));
+    }
+
+    /**
+     * Reads the version of a developer's language list without loading or mapping the languages.
+     *
+     * @param id the ID of the developer
+     * @return an Optional containing the version if the developer exists, otherwise empty
+     */
+    @Transactional(readOnly = true)
+    public Optional<String> getLanguagesVersion(Long id) {
+        return developerRepository.findLanguagesVersionById(id)
+                .map(view -> languagesVersion(view.getVersion(), view.getLanguagesVersion()));
+    }
+
+    private static String languagesVersion(long developerVersion, long languagesVersion) {
+        return developerVersion + "." + languagesVersion;
     }
 
     /**
@@ -138,19 +523,27 @@ public class DeveloperService {
      *
      * @param id the ID of the developer to update
      * @param developerDto the updated developer data transfer object
-     * @return the updated DeveloperDto
+     * @param expectedVersion the version the client last read, or null to update unconditionally
+     * @return the updated DeveloperDto, with its new version
      * @throws DeveloperNotFoundException if the developer is not found
+     * @throws PreconditionFailedException if the developer is no longer at the expected version
      */
     @Transactional
-    public DeveloperDto updateDeveloper(Long id, DeveloperDto developerDto) {
-        logger.info("Updating developer with id: {}", id);
-        Developer existingDeveloper = developerRepository.findById(id)
+    public Versioned<DeveloperDto> updateDeveloper(Long id, DeveloperDto developerDto, Long expectedVersion) {
+        logger.debug("Updating developer with id: {}", id);
+        Developer existingDeveloper = developerRepository.findWithLanguagesById(id)
                 .orElseThrow(() -> new DeveloperNotFoundException("Developer not found with id: " + id));
+        if (expectedVersion != null && existingDeveloper.getVersion() != expectedVersion) {
+            throw new PreconditionFailedException("Developer with id: " + id + " has been modified");
+        }
 
         existingDeveloper.setFirstName(developerDto.getFirstName());
         existingDeveloper.setLastName(developerDto.getLastName());
 
         Developer updatedDeveloper = developerRepository.save(existingDeveloper);
-        return modelMapper.map(updatedDeveloper, DeveloperDto.class);
+        // the version is only incremented when the update is flushed
+        entityManager.flush();
+        eventPublisher.publishEvent(new DeveloperSavedEvent(updatedDeveloper.getId(), updatedDeveloper.getFirstName(), updatedDeveloper.getLastName()));
+        return new Versioned<>(developerMapper.toDto(updatedDeveloper), String.valueOf(updatedDeveloper.getVersion()));
     }
 }
\ No newline at end of file
@@ -0,0 +1,70 @@
+package com.fredjo.DevRegistery.application.services;
+
+import com.fredjo.DevRegistery.domain.entity.ProgrammingLanguage;
+import com.fredjo.DevRegistery.utils.InvalidFieldsException;
+import com.fredjo.DevRegistery.utils.SparseFields;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A sparse fieldset of programming languages, as requested with {@code ?fields=}.
+ * <p>
+ * Every combination of fields is resolved once, when the class is loaded, to the accessors writing each field of a row.
+ * Languages are still read as entities: listings are served from the query and second-level caches,
+ * which a column projection would bypass.
+ */
+public final class ProgrammingLanguageFields {
+
+    static final List<String> NAMES = List.of("id", "name", "creatorsName");
+    private static final ProgrammingLanguageFields[] SHAPES = new ProgrammingLanguageFields[1 << NAMES.size()];
+    private static final List<Function<ProgrammingLanguage, Object>> ACCESSORS = List.of(
+            ProgrammingLanguage::getId, ProgrammingLanguage::getName, ProgrammingLanguage::getCreatorsName);
+
+    static {
+        for (int mask = 1; mask < SHAPES.length; mask++) {
+            SHAPES[mask] = new ProgrammingLanguageFields(mask);
+        }
+    }
+
+    private final List<Map.Entry<String, Function<ProgrammingLanguage, Object>>> fields = new ArrayList<>();
+
+    private ProgrammingLanguageFields(int mask) {
+        for (int i = 0; i < NAMES.size(); i++) {
+            if ((mask & (1 << i)) != 0) {
+                fields.add(Map.entry(NAMES.get(i), ACCESSORS.get(i)));
+            }
+        }
+    }
+
+    /**
+     * Resolves a {@code fields} parameter to its precomputed shape.
+     *
+     * @param fields comma-separated field names among {@code id}, {@code name} and {@code creatorsName}
+     * @return the ProgrammingLanguageFields
+     * @throws InvalidFieldsException if a name is unknown or no field is selected
+     */
+    public static ProgrammingLanguageFields parse(String fields) {
+        return SHAPES[SparseFields.parse(fields, NAMES)];
+    }
+
+    Map<String, Object> write(ProgrammingLanguage language) {
+        Map<String, Object> row = new LinkedHashMap<>(4);
+        for (Map.Entry<String, Function<ProgrammingLanguage, Object>> field : fields) {
+            row.put(field.getKey(), field.getValue().apply(language));
+        }
+        return row;
+    }
+
+    @Override
+    public String toString() {
+        List<String> selected = new ArrayList<>();
+        for (Map.Entry<String, Function<ProgrammingLanguage, Object>> field : fields) {
+            selected.add(field.getKey());
+        }
+        return String.join(",", selected);
+    }
+}
@@ -1,35 +1,65 @@
 package com.fredjo.DevRegistery.application.services;
 
+import com.fredjo.DevRegistery.application.dto.BatchFetchResult;
+import com.fredjo.DevRegistery.application.dto.CursorPage;
 import com.fredjo.DevRegistery.application.dto.DeveloperDto;
+import com.fredjo.DevRegistery.application.dto.LanguageStatsDto;
 import com.fredjo.DevRegistery.application.dto.ProgrammingLanguageDto;
-import com.fredjo.DevRegistery.domain.entity.Developer;
+import com.fredjo.DevRegistery.application.dto.Versioned;
+import com.fredjo.DevRegistery.application.event.DeveloperLanguagesChangedEvent;
+import com.fredjo.DevRegistery.application.event.LanguageLinksChangedEvent;
+import com.fredjo.DevRegistery.application.event.ProgrammingLanguageDeletedEvent;
+import com.fredjo.DevRegistery.application.event.ProgrammingLanguageSavedEvent;
+import com.fredjo.DevRegistery.application.mapper.DeveloperMapper;
+import com.fredjo.DevRegistery.application.mapper.ProgrammingLanguageMapper;
 import com.fredjo.DevRegistery.domain.entity.ProgrammingLanguage;
+import com.fredjo.DevRegistery.infra.repository.DeveloperRepository;
 import com.fredjo.DevRegistery.infra.repository.ProgrammingLanguageRepository;
+import com.fredjo.DevRegistery.infra.stats.LanguageUsageCounters;
+import com.fredjo.DevRegistery.utils.BatchIds;
+import com.fredjo.DevRegistery.utils.CursorPagination;
+import com.fredjo.DevRegistery.utils.InvalidCursorException;
+import com.fredjo.DevRegistery.utils.InvalidIdsException;
+import com.fredjo.DevRegistery.utils.PreconditionFailedException;
 import com.fredjo.DevRegistery.utils.ProgrammingLanguageNotFoundException;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
+import java.util.stream.Stream;
 
 /**
  * Service class for managing programming languages.
  */
 @Service
+@Timed("devregistry.service")
 @RequiredArgsConstructor
 public class ProgrammingLanguageService {
 
     private static final Logger logger = LoggerFactory.getLogger(ProgrammingLanguageService.class);
-    private final ModelMapper modelMapper;
+    static final int EXPORT_CLEAR_INTERVAL = 500;
+    private final ProgrammingLanguageMapper programmingLanguageMapper;
+    private final DeveloperMapper developerMapper;
     private final ProgrammingLanguageRepository programmingLanguageRepository;
+    private final DeveloperRepository developerRepository;
+    private final EntityManager entityManager;
+    private final LanguageUsageCounters languageUsageCounters;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Fetches a programming language by its ID.
@@ -37,50 +67,190 @@ public class ProgrammingLanguageService {
      * @param id the ID of the programming language
      * @return an Optional containing the ProgrammingLanguageDto if found, otherwise empty
      */
+    @Transactional(readOnly = true)
     public Optional<ProgrammingLanguageDto> getProgrammingLanguageById(final Long id) {
-        logger.info("Fetching programming language with id: {}", id);
+        logger.debug("Fetching programming language with id: {}", id);
         return programmingLanguageRepository.findById(id)
-                .map(programmingLanguage -> modelMapper.map(programmingLanguage, ProgrammingLanguageDto.class));
+                .map(programmingLanguageMapper::toDto);
     }
 
     /**
-     * Fetches all programming languages.
+     * Reads the version of a programming language without mapping it.
+     * Served from the second-level cache once the language has been read.
      *
-     * @return a list of ProgrammingLanguageDto
+     * @param id the ID of the programming language
+     * @return an Optional containing the version if the programming language exists, otherwise empty
      */
-    public List<ProgrammingLanguageDto> getAllProgrammingLanguages() {
-        logger.info("Fetching all programming languages");
-        return StreamSupport.stream(programmingLanguageRepository.findAll().spliterator(), false)
-                .map(t -> modelMapper.map(t, ProgrammingLanguageDto.class))
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public Optional<String> getProgrammingLanguageVersion(final Long id) {
+        return programmingLanguageRepository.findById(id).map(language -> String.valueOf(language.getVersion()));
     }
 
     /**
-     * Fetches programming languages by their IDs.
+     * Computes a version of a listing of programming languages, which changes whenever a language of the
+     * listing is added, removed or updated. The listing is read through the query cache, so for an unchanged
+     * table this costs no SQL and no mapping.
      *
-     * @param ids the set of IDs of the programming languages
-     * @return a list of ProgrammingLanguageDto
+     * @param after the cursor of the page, as for {@link #getProgrammingLanguagesAfter}, or null
+     * @param limit the page size, or null; when both are null the version is that of {@link #getAllProgrammingLanguages}
+     * @return the version of the listing
+     * @throws InvalidCursorException if the cursor is malformed
      */
-    public List<ProgrammingLanguageDto> getProgrammingLanguagesByIds(final Set<Long> ids) {
-        logger.info("Fetching programming languages by ids");
-        return StreamSupport.stream(programmingLanguageRepository.findAllById(ids).spliterator(), false)
-                .map(t -> modelMapper.map(t, ProgrammingLanguageDto.class))
+    @Transactional(readOnly = true)
+    public String getProgrammingLanguagesVersion(String after, Integer limit) {
+        List<ProgrammingLanguage> languages = after == null && limit == null
+                ? programmingLanguageRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(CursorPagination.MAX_UNPAGED_RESULTS + 1))
+                : programmingLanguageRepository.findByIdGreaterThanOrderByIdAsc(CursorPagination.decode(after), Limit.of(CursorPagination.pageSize(limit) + 1));
+        long hash = 1125899906842597L;
+        for (ProgrammingLanguage language : languages) {
+            hash = 31 * (31 * hash + language.getId()) + language.getVersion();
+        }
+        return languages.size() + "-" + Long.toHexString(hash);
+    }
+
+    /**
+     * Counts the developers of every programming language, most used first, capped at
+     * {@link CursorPagination#MAX_UNPAGED_RESULTS} languages. Languages come from the query cache and counts
+     * from {@link LanguageUsageCounters}, so the cost depends on the number of languages, not of developers.
+     *
+     * @return a list of LanguageStatsDto
+     */
+    @Transactional(readOnly = true)
+    public List<LanguageStatsDto> getLanguageStats() {
+        logger.debug("Fetching programming language stats");
+        return programmingLanguageRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(CursorPagination.MAX_UNPAGED_RESULTS)).stream()
+                .map(language -> new LanguageStatsDto(language.getId(), language.getName(), languageUsageCounters.count(language.getId())))
+                .sorted(Comparator.comparingLong(LanguageStatsDto::getDevelopers).reversed().thenComparing(LanguageStatsDto::getName))
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Fetches all programming languages, capped at {@link CursorPagination#MAX_UNPAGED_RESULTS}.
+     * When there are more, the page carries the cursor to continue with {@link #getProgrammingLanguagesAfter(String, Integer)}.
+     *
+     * @return a CursorPage of ProgrammingLanguageDto
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<ProgrammingLanguageDto> getAllProgrammingLanguages() {
+        logger.debug("Fetching all programming languages");
+        List<ProgrammingLanguage> languages = programmingLanguageRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(CursorPagination.MAX_UNPAGED_RESULTS + 1));
+        return CursorPagination.page(languages, CursorPagination.MAX_UNPAGED_RESULTS, ProgrammingLanguage::getId, programmingLanguageMapper::toDto);
+    }
+
+    /**
+     * Fetches one page of programming languages using keyset pagination on the ID.
+     *
+     * @param after the cursor returned with the previous page, or null for the first page
+     * @param limit the requested page size, or null for the default
+     * @return a CursorPage of ProgrammingLanguageDto
+     * @throws InvalidCursorException if the cursor is malformed
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<ProgrammingLanguageDto> getProgrammingLanguagesAfter(String after, Integer limit) {
+        logger.debug("Fetching programming languages after cursor: {}", after);
+        long afterId = CursorPagination.decode(after);
+        int pageSize = CursorPagination.pageSize(limit);
+        List<ProgrammingLanguage> languages = programmingLanguageRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(pageSize + 1));
+        return CursorPagination.page(languages, pageSize, ProgrammingLanguage::getId, programmingLanguageMapper::toDto);
+    }
+
+    /**
+     * Fetches all programming languages with only the selected fields, capped at {@link CursorPagination#MAX_UNPAGED_RESULTS}.
+     * When there are more, the page carries the cursor to continue with
+     * {@link #getProgrammingLanguagesAfter(String, Integer, ProgrammingLanguageFields)}.
+     *
+     * @param fields the selected fields
+     * @return a CursorPage of rows holding the selected fields
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Map<String, Object>> getAllProgrammingLanguages(ProgrammingLanguageFields fields) {
+        logger.debug("Fetching all programming languages with fields: {}", fields);
+        List<ProgrammingLanguage> languages = programmingLanguageRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(CursorPagination.MAX_UNPAGED_RESULTS + 1));
+        return CursorPagination.page(languages, CursorPagination.MAX_UNPAGED_RESULTS, ProgrammingLanguage::getId, fields::write);
+    }
+
+    /**
+     * Fetches one page of programming languages with only the selected fields, using keyset pagination on the ID.
+     *
+     * @param after  the cursor returned with the previous page, or null for the first page
+     * @param limit  the requested page size, or null for the default
+     * @param fields the selected fields
+     * @return a CursorPage of rows holding the selected fields
+     * @throws InvalidCursorException if the cursor is malformed
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Map<String, Object>> getProgrammingLanguagesAfter(String after, Integer limit, ProgrammingLanguageFields fields) {
+        logger.debug("Fetching programming languages after cursor: {} with fields: {}", after, fields);
+        long afterId = CursorPagination.decode(after);
+        int pageSize = CursorPagination.pageSize(limit);
+        List<ProgrammingLanguage> languages = programmingLanguageRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(pageSize + 1));
+        return CursorPagination.page(languages, pageSize, ProgrammingLanguage::getId, fields::write);
+    }
+
+    /**
+     * Streams every programming language to the given sink in ID order, in constant memory.
+     * The persistence context is cleared every {@value #EXPORT_CLEAR_INTERVAL} rows so that
+     * already exported entities can be garbage collected.
+     *
+     * @param sink receives each ProgrammingLanguageDto
+     * @return the number of exported programming languages
+     */
+    @Transactional(readOnly = true)
+    public long exportProgrammingLanguages(Consumer<ProgrammingLanguageDto> sink) {
+        logger.debug("Exporting all programming languages");
+        long count = 0;
+        try (Stream<ProgrammingLanguage> languages = programmingLanguageRepository.streamAllByOrderByIdAsc()) {
+            Iterator<ProgrammingLanguage> iterator = languages.iterator();
+            while (iterator.hasNext()) {
+                sink.accept(programmingLanguageMapper.toDto(iterator.next()));
+                if (++count % EXPORT_CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Fetches programming languages by their IDs with a single query. Repeated IDs are fetched once.
+     *
+     * @param ids the IDs of the programming languages
+     * @return the programming languages in request order, and the IDs not found
+     * @throws InvalidIdsException if there are no IDs, or more than {@link BatchIds#MAX_IDS}
+     */
+    @Transactional(readOnly = true)
+    public BatchFetchResult<ProgrammingLanguageDto> getProgrammingLanguagesByIds(final List<Long> ids) {
+        Set<Long> distinct = BatchIds.distinct(ids);
+        logger.debug("Fetching {} programming languages by ids", distinct.size());
+        return BatchIds.collect(distinct, programmingLanguageRepository.findByIdIn(distinct), ProgrammingLanguage::getId,
+                programmingLanguageMapper::toDto);
+    }
+
     /**
      * Deletes a programming language by its ID.
+     * The language is first detached from its developers with SQL, without loading them: their versions are
+     * incremented and the join rows deleted in one statement each, and only their cached language sets are
+     * evicted once committed.
      *
      * @param id the ID of the programming language
      * @throws ProgrammingLanguageNotFoundException if the programming language is not found
      */
     @Transactional
     public void deleteProgrammingLanguageById(final Long id) {
-        logger.info("Deleting programming language with id: {}", id);
-        if (!programmingLanguageRepository.existsById(id)) {
-            throw new ProgrammingLanguageNotFoundException("Programming language not found with id: " + id);
+        logger.debug("Deleting programming language with id: {}", id);
+        ProgrammingLanguage language = programmingLanguageRepository.findById(id)
+                .orElseThrow(() -> new ProgrammingLanguageNotFoundException("Programming language not found with id: " + id));
+        List<Long> developerIds = developerRepository.findIdsByLanguageId(id);
+        if (!developerIds.isEmpty()) {
+            developerRepository.incrementVersionByLanguageId(id);
+            programmingLanguageRepository.deleteDeveloperLinks(id);
+            for (Long developerId : developerIds) {
+                eventPublisher.publishEvent(new DeveloperLanguagesChangedEvent(developerId));
+            }
+            eventPublisher.publishEvent(LanguageLinksChangedEvent.removed(Collections.nCopies(developerIds.size(), id)));
         }
-        programmingLanguageRepository.deleteById(id);
+        programmingLanguageRepository.delete(language);
+        eventPublisher.publishEvent(new ProgrammingLanguageDeletedEvent(id));
     }
 
     /**
@@ -91,10 +261,11 @@ public class ProgrammingLanguageService {
      */
     @Transactional
     public ProgrammingLanguageDto saveProgrammingLanguage(ProgrammingLanguageDto programmingLanguageDto) {
-        logger.info("Saving programming language");
-        ProgrammingLanguage programmingLanguage = modelMapper.map(programmingLanguageDto, ProgrammingLanguage.class);
+        logger.debug("Saving programming language");
+        ProgrammingLanguage programmingLanguage = programmingLanguageMapper.toEntity(programmingLanguageDto);
         ProgrammingLanguage savedLanguage = programmingLanguageRepository.save(programmingLanguage);
-        return modelMapper.map(savedLanguage, ProgrammingLanguageDto.class);
+        eventPublisher.publishEvent(new ProgrammingLanguageSavedEvent(savedLanguage.getId()));
+        return programmingLanguageMapper.toDto(savedLanguage);
     }
 
     /**
@@ -103,16 +274,12 @@ public class ProgrammingLanguageService {
      * @param id the ID of the programming language
      * @return a list of DeveloperDto
      */
+    @Transactional(readOnly = true)
     public List<DeveloperDto> getDevelopersByProgrammingLanguageId(final Long id) {
-        logger.info("Fetching developers for programming language with id: {}", id);
-        Optional<ProgrammingLanguage> programmingLanguage = programmingLanguageRepository.findById(id);
-        if (programmingLanguage.isPresent()) {
-            Set<Developer> developers = programmingLanguage.get().getDevelopers();
-            return developers.stream()
-                    .map(developer -> modelMapper.map(developer, DeveloperDto.class))
-                    .collect(Collectors.toList());
-        }
-        return new ArrayList<>();
+        logger.debug("Fetching developers for programming language with id: {}", id);
+        return programmingLanguageRepository.findDevelopersWithLanguagesById(id).stream()
+                .map(developerMapper::toDto)
+                .collect(Collectors.toList());
     }
 
     /**
@@ -120,19 +287,27 @@ public class ProgrammingLanguageService {
      *
      * @param id the ID of the programming language to update
      * @param programmingLanguageDto the updated programming language data transfer object
-     * @return the updated ProgrammingLanguageDto
+     * @param expectedVersion the version the client last read, or null to update unconditionally
+     * @return the updated ProgrammingLanguageDto, with its new version
      * @throws ProgrammingLanguageNotFoundException if the programming language is not found
+     * @throws PreconditionFailedException if the programming language is no longer at the expected version
      */
     @Transactional
-    public ProgrammingLanguageDto updateProgrammingLanguage(Long id, ProgrammingLanguageDto programmingLanguageDto) {
-        logger.info("Updating programming language with id: {}", id);
+    public Versioned<ProgrammingLanguageDto> updateProgrammingLanguage(Long id, ProgrammingLanguageDto programmingLanguageDto, Long expectedVersion) {
+        logger.debug("Updating programming language with id: {}", id);
         ProgrammingLanguage existingLanguage = programmingLanguageRepository.findById(id)
                 .orElseThrow(() -> new ProgrammingLanguageNotFoundException("Programming language not found with id: " + id));
+        if (expectedVersion != null && existingLanguage.getVersion() != expectedVersion) {
+            throw new PreconditionFailedException("Programming language with id: " + id + " has been modified");
+        }
 
         existingLanguage.setName(programmingLanguageDto.getName());
         existingLanguage.setCreatorsName(programmingLanguageDto.getCreatorsName());
 
         ProgrammingLanguage updatedLanguage = programmingLanguageRepository.save(existingLanguage);
-        return modelMapper.map(updatedLanguage, ProgrammingLanguageDto.class);
+        // the version is only incremented when the update is flushed
+        entityManager.flush();
+        eventPublisher.publishEvent(new ProgrammingLanguageSavedEvent(updatedLanguage.getId()));
+        return new Versioned<>(programmingLanguageMapper.toDto(updatedLanguage), String.valueOf(updatedLanguage.getVersion()));
     }
 }
\ No newline at end of file
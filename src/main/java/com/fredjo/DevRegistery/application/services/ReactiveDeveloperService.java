@@ -0,0 +1,295 @@
+package com.fredjo.DevRegistery.application.services;
+
+import com.fredjo.DevRegistery.application.dto.CursorPage;
+import com.fredjo.DevRegistery.application.dto.DeveloperDto;
+import com.fredjo.DevRegistery.application.dto.LanguageAttachmentResult;
+import com.fredjo.DevRegistery.application.dto.LanguageReferenceDto;
+import com.fredjo.DevRegistery.application.dto.ProgrammingLanguageDto;
+import com.fredjo.DevRegistery.application.dto.Versioned;
+import com.fredjo.DevRegistery.application.event.DeveloperDeletedEvent;
+import com.fredjo.DevRegistery.application.event.DeveloperLanguagesAddedEvent;
+import com.fredjo.DevRegistery.application.event.DeveloperLanguagesChangedEvent;
+import com.fredjo.DevRegistery.application.event.DeveloperSavedEvent;
+import com.fredjo.DevRegistery.application.event.LanguageLinksChangedEvent;
+import com.fredjo.DevRegistery.application.mapper.R2dbcRowMapper;
+import com.fredjo.DevRegistery.infra.r2dbc.DeveloperRow;
+import com.fredjo.DevRegistery.infra.r2dbc.ProgrammingLanguageRow;
+import com.fredjo.DevRegistery.infra.r2dbc.ReactiveDeveloperRepository;
+import com.fredjo.DevRegistery.infra.r2dbc.ReactiveIdGenerator;
+import com.fredjo.DevRegistery.infra.r2dbc.ReactiveProgrammingLanguageRepository;
+import com.fredjo.DevRegistery.utils.CursorPagination;
+import com.fredjo.DevRegistery.utils.DeveloperNotFoundException;
+import com.fredjo.DevRegistery.utils.InvalidCursorException;
+import com.fredjo.DevRegistery.utils.PreconditionFailedException;
+import com.fredjo.DevRegistery.utils.ProgrammingLanguageNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalEventPublisher;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static com.fredjo.DevRegistery.application.services.DeveloperLanguageBatchLoader.BATCH_SIZE;
+
+/**
+ * Reactive counterpart of {@link DeveloperService}, serving the {@code reactive} profile over R2DBC.
+ * Listings are read in keyset chunks as downstream demand arrives, with one language query per chunk.
+ * Writes run in R2DBC transactions and publish the same events as {@link DeveloperService}, delivered to the
+ * {@code @TransactionalEventListener}s once committed, so the search index and usage counters stay in sync.
+ */
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveDeveloperService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveDeveloperService.class);
+    private final ReactiveDeveloperRepository developerRepository;
+    private final ReactiveProgrammingLanguageRepository programmingLanguageRepository;
+    private final ReactiveIdGenerator idGenerator;
+    private final R2dbcEntityTemplate entityTemplate;
+    private final R2dbcRowMapper rowMapper;
+    private final DeveloperLanguageBatchLoader batchLoader;
+    private final TransactionalOperator transactionalOperator;
+    private final TransactionalEventPublisher eventPublisher;
+
+    /**
+     * Fetches a developer by its ID, with the version of the developer.
+     *
+     * @param id the ID of the developer
+     * @return the versioned DeveloperDto, or empty if not found
+     */
+    public Mono<Versioned<DeveloperDto>> getVersionedDeveloperById(long id) {
+        logger.debug("Fetching developer with id: {}", id);
+        return developerRepository.findById(id)
+                .flatMap(row -> batchLoader.load(List.of(row))
+                        .map(developers -> new Versioned<>(developers.get(0), String.valueOf(row.version()))));
+    }
+
+    /**
+     * Fetches all developers, capped at {@link CursorPagination#MAX_UNPAGED_RESULTS}.
+     * When there are more, the page carries the cursor to continue with {@link #getDevelopersAfter(String, Integer)}.
+     *
+     * @return a CursorPage of DeveloperDto
+     */
+    public Mono<CursorPage<DeveloperDto>> getAllDevelopers() {
+        logger.debug("Fetching all developers");
+        return pageAfter(0L, CursorPagination.MAX_UNPAGED_RESULTS);
+    }
+
+    /**
+     * Fetches one page of developers using keyset pagination on the ID.
+     *
+     * @param after the cursor returned with the previous page, or null for the first page
+     * @param limit the requested page size, or null for the default
+     * @return a CursorPage of DeveloperDto, or an {@link InvalidCursorException} if the cursor is malformed
+     */
+    public Mono<CursorPage<DeveloperDto>> getDevelopersAfter(String after, Integer limit) {
+        logger.debug("Fetching developers after cursor: {}", after);
+        return Mono.defer(() -> pageAfter(CursorPagination.decode(after), CursorPagination.pageSize(limit)));
+    }
+
+    private Mono<CursorPage<DeveloperDto>> pageAfter(long afterId, int pageSize) {
+        return developerRepository.findAfter(afterId, pageSize + 1).collectList().flatMap(rows -> {
+            boolean hasNext = rows.size() > pageSize;
+            List<DeveloperRow> items = hasNext ? rows.subList(0, pageSize) : rows;
+            String nextCursor = hasNext ? CursorPagination.encode(items.get(pageSize - 1).id()) : null;
+            return batchLoader.load(items).map(developers -> new CursorPage<>(developers, nextCursor));
+        });
+    }
+
+    /**
+     * Streams every developer with its languages, in ID order. Rows are read in keyset chunks on demand,
+     * so the registry is never held in memory and no connection stays open between chunks.
+     *
+     * @return the DeveloperDto stream
+     */
+    public Flux<DeveloperDto> exportDevelopers() {
+        logger.debug("Exporting developers");
+        return batchLoader.load(rowsAfter(0L));
+    }
+
+    private Flux<DeveloperRow> rowsAfter(long afterId) {
+        return developerRepository.findAfter(afterId, BATCH_SIZE).collectList()
+                .expand(chunk -> chunk.size() < BATCH_SIZE ? Mono.empty()
+                        : developerRepository.findAfter(chunk.get(chunk.size() - 1).id(), BATCH_SIZE).collectList())
+                .concatMapIterable(chunk -> chunk, 1);
+    }
+
+    /**
+     * Fetches programming languages for a developer by its ID.
+     *
+     * @param id the ID of the developer
+     * @return the ProgrammingLanguageDto stream, empty if the developer is not found
+     */
+    public Flux<ProgrammingLanguageDto> getLanguagesByDeveloperId(long id) {
+        logger.debug("Fetching languages for developer with id: {}", id);
+        return programmingLanguageRepository.findByDeveloperIdIn(List.of(id)).map(rowMapper::toDto);
+    }
+
+    /**
+     * Saves a developer. Languages of the body that have an ID are attached by reference, the others by name;
+     * languages named but not found are created, as {@link DeveloperService#saveDeveloper} does.
+     *
+     * @param developerDto the developer data transfer object
+     * @return the saved DeveloperDto
+     */
+    public Mono<DeveloperDto> saveDeveloper(DeveloperDto developerDto) {
+        logger.debug("Saving developer");
+        Set<ProgrammingLanguageDto> languages = developerDto.getLanguages() == null ? Set.of() : developerDto.getLanguages();
+        return idGenerator.nextDeveloperId()
+                .flatMap(id -> entityTemplate.insert(new DeveloperRow(id, developerDto.getFirstName(), developerDto.getLastName(), 0L)))
+                .flatMap(row -> eventPublisher.publishEvent(new DeveloperSavedEvent(row.id(), row.firstName(), row.lastName()))
+                        .then(Flux.fromIterable(languages).concatMap(this::languageReference).collectList())
+                        .flatMap(references -> references.isEmpty() ? Mono.empty() : attachLanguages(row.id(), references))
+                        .then(getVersionedDeveloperById(row.id())))
+                .map(Versioned::getValue)
+                .as(transactionalOperator::transactional);
+    }
+
+    private Mono<LanguageReferenceDto> languageReference(ProgrammingLanguageDto language) {
+        if (language.getId() > 0) {
+            return Mono.just(new LanguageReferenceDto(language.getId(), null));
+        }
+        return programmingLanguageRepository.findByNameIn(List.of(language.getName())).next()
+                .switchIfEmpty(Mono.defer(() -> idGenerator.nextProgrammingLanguageId()
+                        .flatMap(id -> entityTemplate.insert(new ProgrammingLanguageRow(id, language.getName(), language.getCreatorsName(), 0L)))))
+                .map(row -> new LanguageReferenceDto(row.id(), null));
+    }
+
+    /**
+     * Attaches existing programming languages to a developer, skipping the ones already attached.
+     * The join rows are inserted with a single statement and the developer's version is incremented
+     * when a language is attached.
+     *
+     * @param id        the ID of the developer
+     * @param languages the programming languages, by ID or name
+     * @return the LanguageAttachmentResult, or a DeveloperNotFoundException or ProgrammingLanguageNotFoundException
+     * (in which case nothing is attached)
+     */
+    public Mono<LanguageAttachmentResult> addLanguagesToDeveloper(long id, List<LanguageReferenceDto> languages) {
+        logger.debug("Adding {} languages to developer with id: {}", languages.size(), id);
+        return developerRepository.existsById(id)
+                .flatMap(exists -> exists ? attachLanguages(id, languages)
+                        : Mono.<LanguageAttachmentResult>error(new DeveloperNotFoundException("Developer not found with id: " + id)))
+                .as(transactionalOperator::transactional);
+    }
+
+    private Mono<LanguageAttachmentResult> attachLanguages(long id, List<LanguageReferenceDto> languages) {
+        return resolveLanguageIds(languages).flatMap(languageIds -> {
+            Mono<Set<Long>> linked = languageIds.size() > 1
+                    ? developerRepository.findLanguageIds(id).collect(Collectors.toSet())
+                    : Mono.just(Set.of());
+            return linked.flatMap(linkedIds -> {
+                Set<Long> newLanguageIds = new LinkedHashSet<>(languageIds);
+                newLanguageIds.removeAll(linkedIds);
+                if (newLanguageIds.isEmpty()) {
+                    return Mono.just(new LanguageAttachmentResult(languageIds.size(), 0));
+                }
+                return developerRepository.insertLanguages(id, newLanguageIds).flatMap(attached -> {
+                    LanguageAttachmentResult result = new LanguageAttachmentResult(languageIds.size(), attached);
+                    if (attached == 0) {
+                        return Mono.just(result);
+                    }
+                    // fewer rows than expected means a concurrent attach; the usage counters are then reconciled later
+                    Mono<Void> linksChanged = attached == newLanguageIds.size()
+                            ? eventPublisher.publishEvent(LanguageLinksChangedEvent.added(List.copyOf(newLanguageIds)))
+                            : Mono.empty();
+                    return developerRepository.incrementVersion(id)
+                            .then(eventPublisher.publishEvent(new DeveloperLanguagesChangedEvent(id)))
+                            .then(eventPublisher.publishEvent(new DeveloperLanguagesAddedEvent(id, List.copyOf(newLanguageIds))))
+                            .then(linksChanged)
+                            .thenReturn(result);
+                });
+            });
+        });
+    }
+
+    private Mono<Set<Long>> resolveLanguageIds(List<LanguageReferenceDto> languages) {
+        Set<Long> ids = new LinkedHashSet<>();
+        Set<String> names = new LinkedHashSet<>();
+        for (LanguageReferenceDto language : languages) {
+            if (language.hasId()) {
+                ids.add(language.getId());
+            } else {
+                names.add(language.getName());
+            }
+        }
+
+        Mono<Set<Long>> foundIds = ids.isEmpty() ? Mono.just(Set.of())
+                : programmingLanguageRepository.findByIdIn(ids).map(ProgrammingLanguageRow::id).collect(Collectors.toSet());
+        Mono<Map<String, Long>> foundNames = names.isEmpty() ? Mono.just(Map.of())
+                : programmingLanguageRepository.findByNameIn(names).collectMap(ProgrammingLanguageRow::name, ProgrammingLanguageRow::id);
+        return foundIds.flatMap(byId -> foundNames.flatMap(byName -> {
+            Set<Long> resolved = new LinkedHashSet<>();
+            List<String> missing = new ArrayList<>();
+            for (Long languageId : ids) {
+                if (byId.contains(languageId)) {
+                    resolved.add(languageId);
+                } else {
+                    missing.add(String.valueOf(languageId));
+                }
+            }
+            for (String name : names) {
+                if (byName.containsKey(name)) {
+                    resolved.add(byName.get(name));
+                } else {
+                    missing.add(name);
+                }
+            }
+            if (!missing.isEmpty()) {
+                return Mono.error(new ProgrammingLanguageNotFoundException("Programming languages not found: " + missing));
+            }
+            return Mono.just(resolved);
+        }));
+    }
+
+    /**
+     * Updates the names of an existing developer.
+     *
+     * @param id              the ID of the developer to update
+     * @param developerDto    the updated developer data transfer object
+     * @param expectedVersion the version the client last read, or null to update unconditionally
+     * @return the updated DeveloperDto with its new version, or a DeveloperNotFoundException or PreconditionFailedException
+     */
+    public Mono<Versioned<DeveloperDto>> updateDeveloper(long id, DeveloperDto developerDto, Long expectedVersion) {
+        logger.debug("Updating developer with id: {}", id);
+        return developerRepository.updateNames(id, developerDto.getFirstName(), developerDto.getLastName(), expectedVersion)
+                .flatMap(updated -> updated > 0
+                        ? eventPublisher.publishEvent(new DeveloperSavedEvent(id, developerDto.getFirstName(), developerDto.getLastName()))
+                                .then(getVersionedDeveloperById(id))
+                        : developerRepository.existsById(id).flatMap(exists -> Mono.<Versioned<DeveloperDto>>error(exists
+                                ? new PreconditionFailedException("Developer with id: " + id + " has been modified")
+                                : new DeveloperNotFoundException("Developer not found with id: " + id))))
+                .as(transactionalOperator::transactional);
+    }
+
+    /**
+     * Deletes a developer by its ID, with its language links.
+     *
+     * @param id the ID of the developer
+     * @return completion once committed
+     */
+    public Mono<Void> deleteDeveloperById(long id) {
+        logger.debug("Deleting developer with id: {}", id);
+        return developerRepository.existsById(id)
+                .filter(Boolean::booleanValue)
+                .flatMap(exists -> developerRepository.findLanguageIds(id).collectList())
+                .flatMap(languageIds -> developerRepository.deleteLanguageLinks(id)
+                        .then(developerRepository.deleteById(id))
+                        .then(languageIds.isEmpty() ? Mono.empty()
+                                : eventPublisher.publishEvent(LanguageLinksChangedEvent.removed(languageIds)))
+                        .then(eventPublisher.publishEvent(new DeveloperDeletedEvent(id))))
+                .as(transactionalOperator::transactional);
+    }
+}
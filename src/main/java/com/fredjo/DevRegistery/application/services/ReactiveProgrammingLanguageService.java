@@ -0,0 +1,174 @@
+package com.fredjo.DevRegistery.application.services;
+
+import com.fredjo.DevRegistery.application.dto.CursorPage;
+import com.fredjo.DevRegistery.application.dto.DeveloperDto;
+import com.fredjo.DevRegistery.application.dto.ProgrammingLanguageDto;
+import com.fredjo.DevRegistery.application.dto.Versioned;
+import com.fredjo.DevRegistery.application.event.LanguageLinksChangedEvent;
+import com.fredjo.DevRegistery.application.event.ProgrammingLanguageDeletedEvent;
+import com.fredjo.DevRegistery.application.mapper.R2dbcRowMapper;
+import com.fredjo.DevRegistery.infra.r2dbc.ProgrammingLanguageRow;
+import com.fredjo.DevRegistery.infra.r2dbc.ReactiveDeveloperRepository;
+import com.fredjo.DevRegistery.infra.r2dbc.ReactiveIdGenerator;
+import com.fredjo.DevRegistery.infra.r2dbc.ReactiveProgrammingLanguageRepository;
+import com.fredjo.DevRegistery.utils.CursorPagination;
+import com.fredjo.DevRegistery.utils.InvalidCursorException;
+import com.fredjo.DevRegistery.utils.PreconditionFailedException;
+import com.fredjo.DevRegistery.utils.ProgrammingLanguageNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalEventPublisher;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collections;
+
+import static com.fredjo.DevRegistery.application.services.DeveloperLanguageBatchLoader.BATCH_SIZE;
+
+/**
+ * Reactive counterpart of {@link ProgrammingLanguageService}, serving the {@code reactive} profile over R2DBC.
+ */
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveProgrammingLanguageService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveProgrammingLanguageService.class);
+    private final ReactiveProgrammingLanguageRepository programmingLanguageRepository;
+    private final ReactiveDeveloperRepository developerRepository;
+    private final ReactiveIdGenerator idGenerator;
+    private final R2dbcEntityTemplate entityTemplate;
+    private final R2dbcRowMapper rowMapper;
+    private final DeveloperLanguageBatchLoader batchLoader;
+    private final TransactionalOperator transactionalOperator;
+    private final TransactionalEventPublisher eventPublisher;
+
+    /**
+     * Fetches a programming language by its ID, with the version of the language.
+     *
+     * @param id the ID of the programming language
+     * @return the versioned ProgrammingLanguageDto, or empty if not found
+     */
+    public Mono<Versioned<ProgrammingLanguageDto>> getVersionedProgrammingLanguageById(long id) {
+        logger.debug("Fetching programming language with id: {}", id);
+        return programmingLanguageRepository.findById(id)
+                .map(row -> new Versioned<>(rowMapper.toDto(row), String.valueOf(row.version())));
+    }
+
+    /**
+     * Fetches all programming languages, capped at {@link CursorPagination#MAX_UNPAGED_RESULTS}.
+     * When there are more, the page carries the cursor to continue with {@link #getProgrammingLanguagesAfter(String, Integer)}.
+     *
+     * @return a CursorPage of ProgrammingLanguageDto
+     */
+    public Mono<CursorPage<ProgrammingLanguageDto>> getAllProgrammingLanguages() {
+        logger.debug("Fetching all programming languages");
+        return pageAfter(0L, CursorPagination.MAX_UNPAGED_RESULTS);
+    }
+
+    /**
+     * Fetches one page of programming languages using keyset pagination on the ID.
+     *
+     * @param after the cursor returned with the previous page, or null for the first page
+     * @param limit the requested page size, or null for the default
+     * @return a CursorPage of ProgrammingLanguageDto, or an {@link InvalidCursorException} if the cursor is malformed
+     */
+    public Mono<CursorPage<ProgrammingLanguageDto>> getProgrammingLanguagesAfter(String after, Integer limit) {
+        logger.debug("Fetching programming languages after cursor: {}", after);
+        return Mono.defer(() -> pageAfter(CursorPagination.decode(after), CursorPagination.pageSize(limit)));
+    }
+
+    private Mono<CursorPage<ProgrammingLanguageDto>> pageAfter(long afterId, int pageSize) {
+        return programmingLanguageRepository.findAfter(afterId, pageSize + 1).collectList()
+                .map(rows -> CursorPagination.page(rows, pageSize, ProgrammingLanguageRow::id, rowMapper::toDto));
+    }
+
+    /**
+     * Streams every programming language, in ID order, reading keyset chunks on demand.
+     *
+     * @return the ProgrammingLanguageDto stream
+     */
+    public Flux<ProgrammingLanguageDto> exportProgrammingLanguages() {
+        logger.debug("Exporting programming languages");
+        return rowsAfter(0L).map(rowMapper::toDto);
+    }
+
+    private Flux<ProgrammingLanguageRow> rowsAfter(long afterId) {
+        return programmingLanguageRepository.findAfter(afterId, BATCH_SIZE).collectList()
+                .expand(chunk -> chunk.size() < BATCH_SIZE ? Mono.empty()
+                        : programmingLanguageRepository.findAfter(chunk.get(chunk.size() - 1).id(), BATCH_SIZE).collectList())
+                .concatMapIterable(chunk -> chunk, 1);
+    }
+
+    /**
+     * Fetches the developers of a programming language, with their languages loaded in batches.
+     *
+     * @param id the ID of the programming language
+     * @return the DeveloperDto stream, in ID order
+     */
+    public Flux<DeveloperDto> getDevelopersByProgrammingLanguageId(long id) {
+        logger.debug("Fetching developers for programming language with id: {}", id);
+        return batchLoader.load(developerRepository.findByLanguageId(id));
+    }
+
+    /**
+     * Saves a programming language.
+     *
+     * @param programmingLanguageDto the programming language data transfer object
+     * @return the saved ProgrammingLanguageDto
+     */
+    public Mono<ProgrammingLanguageDto> saveProgrammingLanguage(ProgrammingLanguageDto programmingLanguageDto) {
+        logger.debug("Saving programming language");
+        return idGenerator.nextProgrammingLanguageId()
+                .flatMap(id -> entityTemplate.insert(new ProgrammingLanguageRow(id, programmingLanguageDto.getName(),
+                        programmingLanguageDto.getCreatorsName(), 0L)))
+                .map(rowMapper::toDto);
+    }
+
+    /**
+     * Updates an existing programming language.
+     *
+     * @param id                     the ID of the programming language to update
+     * @param programmingLanguageDto the updated programming language data transfer object
+     * @param expectedVersion        the version the client last read, or null to update unconditionally
+     * @return the updated ProgrammingLanguageDto with its new version, or a ProgrammingLanguageNotFoundException or
+     * PreconditionFailedException
+     */
+    public Mono<Versioned<ProgrammingLanguageDto>> updateProgrammingLanguage(long id, ProgrammingLanguageDto programmingLanguageDto, Long expectedVersion) {
+        logger.debug("Updating programming language with id: {}", id);
+        return programmingLanguageRepository.update(id, programmingLanguageDto.getName(), programmingLanguageDto.getCreatorsName(), expectedVersion)
+                .flatMap(updated -> updated > 0
+                        ? programmingLanguageRepository.findById(id)
+                        : programmingLanguageRepository.existsById(id).flatMap(exists -> Mono.<ProgrammingLanguageRow>error(exists
+                                ? new PreconditionFailedException("Programming language with id: " + id + " has been modified")
+                                : new ProgrammingLanguageNotFoundException("Programming language not found with id: " + id))))
+                .map(row -> new Versioned<>(rowMapper.toDto(row), String.valueOf(row.version())))
+                .as(transactionalOperator::transactional);
+    }
+
+    /**
+     * Deletes a programming language by its ID. It is first detached from its developers,
+     * whose versions are incremented as their language lists change.
+     *
+     * @param id the ID of the programming language
+     * @return completion once committed, or a ProgrammingLanguageNotFoundException
+     */
+    public Mono<Void> deleteProgrammingLanguageById(long id) {
+        logger.debug("Deleting programming language with id: {}", id);
+        return programmingLanguageRepository.existsById(id)
+                .flatMap(exists -> exists ? Mono.<Void>empty()
+                        : Mono.error(new ProgrammingLanguageNotFoundException("Programming language not found with id: " + id)))
+                .then(developerRepository.incrementVersionByLanguageId(id))
+                .flatMap(developers -> programmingLanguageRepository.deleteDeveloperLinks(id)
+                        .then(programmingLanguageRepository.deleteById(id))
+                        .then(developers == 0 ? Mono.empty()
+                                : eventPublisher.publishEvent(LanguageLinksChangedEvent.removed(Collections.nCopies(developers, id))))
+                        .then(eventPublisher.publishEvent(new ProgrammingLanguageDeletedEvent(id))))
+                .as(transactionalOperator::transactional);
+    }
+}
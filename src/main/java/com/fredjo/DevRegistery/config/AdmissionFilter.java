@@ -0,0 +1,116 @@
+package com.fredjo.DevRegistery.config;
+
+import com.fredjo.DevRegistery.infra.admission.AdmissionLimiters;
+import com.fredjo.DevRegistery.infra.admission.TokenBucketLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission control of the API: each client, as identified by its address, draws a token from its bucket
+ * for every request, and gets 429 Too Many Requests with a {@code Retry-After} once the bucket is empty.
+ * The address is the TCP peer of the request, which Tomcat replaces with the {@code X-Forwarded-For} client only
+ * when the peer is a trusted proxy ({@code server.tomcat.remoteip.internal-proxies}): a client sending its own
+ * forwarding headers cannot pick a fresh bucket with each request.
+ * <p>
+ * Expensive routes draw from much smaller buckets than the others: GETs of a whole collection (unpaged,
+ * including fetches by IDs), exports, imports, lookups and similar-developer queries. Only {@code /v1} routes
+ * are limited, so that Actuator, docs and consoles stay reachable.
+ */
+@Component
+@Profile("!reactive")
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class AdmissionFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdmissionFilter.class);
+    private static final String API_PREFIX = "/v1/";
+
+    private final AdmissionLimiters limiters;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+
+    /**
+     * @param enabled false to admit every request
+     */
+    public AdmissionFilter(AdmissionLimiters limiters, ObjectMapper objectMapper,
+                           @Value("${devregistry.admission.enabled:true}") boolean enabled) {
+        this.limiters = limiters;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        TokenBucketLimiter limiter = isExpensive(request) ? limiters.expensive() : limiters.cheap();
+        String client = request.getRemoteAddr();
+        long wait = limiter.tryAcquire(client);
+        if (wait == 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait + TimeUnit.SECONDS.toNanos(1) - 1));
+        logger.debug("Rejected {} {} from {}: {} routes limit reached", request.getMethod(), request.getRequestURI(), client, limiter.name());
+        OutcomeObservationConvention.markOutcome(request, OutcomeObservationConvention.THROTTLED);
+
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.TOO_MANY_REQUESTS.value());
+        body.put("message", "Too many requests, retry after " + retryAfter + " seconds");
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfter));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    /**
+     * Whether a request goes to an expensive route.
+     *
+     * @param request the request
+     * @return true if the request draws from the expensive buckets
+     */
+    static boolean isExpensive(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        if (uri.endsWith("/export") || uri.endsWith("/lookup") || uri.endsWith("/similar")) {
+            return true;
+        }
+        // compares in place rather than stripping the context path, so that classifying allocates nothing
+        int offset = request.getContextPath().length();
+        if (isPath(uri, offset, "/v1/developer/batch")) {
+            return true;
+        }
+        return "GET".equals(request.getMethod())
+                && (isPath(uri, offset, "/v1/developer") || isPath(uri, offset, "/v1/programming_language"))
+                && request.getParameter("after") == null
+                && request.getParameter("limit") == null;
+    }
+
+    private static boolean isPath(String uri, int offset, String path) {
+        return uri.length() == offset + path.length() && uri.startsWith(path, offset);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !request.getRequestURI().startsWith(API_PREFIX, request.getContextPath().length());
+    }
+}
@@ -0,0 +1,22 @@
+package com.fredjo.DevRegistery.config;
+
+import com.fredjo.DevRegistery.utils.MdcTaskDecorator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * Carries the MDC, and with it the request ID of {@link HttpLoggingFilter}, to work handed to other threads.
+ * <p>
+ * Spring Boot applies the decorator to {@code applicationTaskExecutor}, platform or virtual threads alike,
+ * which is also the executor of Spring MVC async requests: {@code StreamingResponseBody} exports and
+ * {@code Callable} results. The change feed applies it to its own sender threads.
+ */
+@Configuration
+public class AsyncConfig {
+
+    @Bean
+    public TaskDecorator mdcTaskDecorator() {
+        return new MdcTaskDecorator();
+    }
+}
@@ -0,0 +1,43 @@
+package com.fredjo.DevRegistery.config;
+
+import com.fredjo.DevRegistery.adapter.converter.ProtobufDtoHttpMessageConverter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Binary formats negotiated through {@code Accept} and {@code Content-Type}, for service-to-service traffic:
+ * CBOR ({@code application/cbor}) and Smile ({@code application/x-jackson-smile}) for every body, and
+ * Protobuf ({@code application/x-protobuf}) for developers and programming languages.
+ * <p>
+ * The Jackson converters share the configuration of the JSON one and take its place among the defaults,
+ * right after it; Protobuf comes last. JSON thus stays the format of clients accepting anything.
+ */
+@Configuration
+@Profile("!reactive")
+public class ContentNegotiationConfig implements WebMvcConfigurer {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new ProtobufDtoHttpMessageConverter());
+    }
+}
@@ -1,12 +1,21 @@
 package com.fredjo.DevRegistery.config;
 
 import com.fredjo.DevRegistery.utils.DeveloperNotFoundException;
+import com.fredjo.DevRegistery.utils.InvalidCursorException;
+import com.fredjo.DevRegistery.utils.InvalidFieldsException;
+import com.fredjo.DevRegistery.utils.InvalidIdsException;
+import com.fredjo.DevRegistery.utils.PreconditionFailedException;
 import com.fredjo.DevRegistery.utils.ProgrammingLanguageNotFoundException;
+import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -20,6 +29,7 @@ import java.util.Map;
  * Global exception handler for centralized error handling.
  */
 @ControllerAdvice
+@Profile("!reactive")
 public class GlobalExceptionHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
@@ -28,12 +38,14 @@ public class GlobalExceptionHandler {
      * Handles validation errors from @Valid annotations.
      *
      * @param ex the MethodArgumentNotValidException
+     * @param request the current request
      * @return ResponseEntity with error details
      */
     @ExceptionHandler(MethodArgumentNotValidException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
-    public ResponseEntity<Map<String, Object>> handleValidationException(MethodArgumentNotValidException ex) {
+    public ResponseEntity<Map<String, Object>> handleValidationException(MethodArgumentNotValidException ex, HttpServletRequest request) {
         logger.warn("Validation error: {}", ex.getMessage());
+        OutcomeObservationConvention.markOutcome(request, OutcomeObservationConvention.VALIDATION_ERROR);
 
         Map<String, String> errors = new HashMap<>();
         ex.getBindingResult().getAllErrors().forEach((error) -> {
@@ -55,12 +67,14 @@ public class GlobalExceptionHandler {
      * Handles ProgrammingLanguageNotFoundException.
      *
      * @param ex the ProgrammingLanguageNotFoundException
+     * @param request the current request
      * @return ResponseEntity with error details
      */
     @ExceptionHandler(ProgrammingLanguageNotFoundException.class)
     @ResponseStatus(HttpStatus.NOT_FOUND)
-    public ResponseEntity<Map<String, Object>> handleProgrammingLanguageNotFoundException(ProgrammingLanguageNotFoundException ex) {
+    public ResponseEntity<Map<String, Object>> handleProgrammingLanguageNotFoundException(ProgrammingLanguageNotFoundException ex, HttpServletRequest request) {
         logger.warn("Programming language not found: {}", ex.getMessage());
+        OutcomeObservationConvention.markOutcome(request, OutcomeObservationConvention.NOT_FOUND);
 
         Map<String, Object> response = new HashMap<>();
         response.put("timestamp", LocalDateTime.now());
@@ -74,12 +88,14 @@ public class GlobalExceptionHandler {
      * Handles DeveloperNotFoundException.
      *
      * @param ex the DeveloperNotFoundException
+     * @param request the current request
      * @return ResponseEntity with error details
      */
     @ExceptionHandler(DeveloperNotFoundException.class)
     @ResponseStatus(HttpStatus.NOT_FOUND)
-    public ResponseEntity<Map<String, Object>> handleDeveloperNotFoundException(DeveloperNotFoundException ex) {
+    public ResponseEntity<Map<String, Object>> handleDeveloperNotFoundException(DeveloperNotFoundException ex, HttpServletRequest request) {
         logger.warn("Developer not found: {}", ex.getMessage());
+        OutcomeObservationConvention.markOutcome(request, OutcomeObservationConvention.NOT_FOUND);
 
         Map<String, Object> response = new HashMap<>();
         response.put("timestamp", LocalDateTime.now());
@@ -89,16 +105,162 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
     }
 
+    /**
+     * Handles InvalidCursorException.
+     *
+     * @param ex the InvalidCursorException
+     * @param request the current request
+     * @return ResponseEntity with error details
+     */
+    @ExceptionHandler(InvalidCursorException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ResponseEntity<Map<String, Object>> handleInvalidCursorException(InvalidCursorException ex, HttpServletRequest request) {
+        logger.warn("Invalid cursor: {}", ex.getMessage());
+        OutcomeObservationConvention.markOutcome(request, OutcomeObservationConvention.VALIDATION_ERROR);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("timestamp", LocalDateTime.now());
+        response.put("status", HttpStatus.BAD_REQUEST.value());
+        response.put("message", ex.getMessage());
+
+        return ResponseEntity.badRequest().body(response);
+    }
+
+    /**
+     * Handles InvalidFieldsException.
+     *
+     * @param ex the InvalidFieldsException
+     * @param request the current request
+     * @return ResponseEntity with error details
+     */
+    @ExceptionHandler(InvalidFieldsException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ResponseEntity<Map<String, Object>> handleInvalidFieldsException(InvalidFieldsException ex, HttpServletRequest request) {
+        logger.warn("Invalid fields: {}", ex.getMessage());
+        OutcomeObservationConvention.markOutcome(request, OutcomeObservationConvention.VALIDATION_ERROR);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("timestamp", LocalDateTime.now());
+        response.put("status", HttpStatus.BAD_REQUEST.value());
+        response.put("message", ex.getMessage());
+
+        return ResponseEntity.badRequest().body(response);
+    }
+
+    /**
+     * Handles InvalidIdsException.
+     *
+     * @param ex the InvalidIdsException
+     * @param request the current request
+     * @return ResponseEntity with error details
+     */
+    @ExceptionHandler(InvalidIdsException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ResponseEntity<Map<String, Object>> handleInvalidIdsException(InvalidIdsException ex, HttpServletRequest request) {
+        logger.warn("Invalid IDs: {}", ex.getMessage());
+        OutcomeObservationConvention.markOutcome(request, OutcomeObservationConvention.VALIDATION_ERROR);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("timestamp", LocalDateTime.now());
+        response.put("status", HttpStatus.BAD_REQUEST.value());
+        response.put("message", ex.getMessage());
+
+        return ResponseEntity.badRequest().body(response);
+    }
+
+    /**
+     * Handles PreconditionFailedException, raised when an If-Match ETag is stale.
+     *
+     * @param ex the PreconditionFailedException
+     * @param request the current request
+     * @return ResponseEntity with error details
+     */
+    @ExceptionHandler(PreconditionFailedException.class)
+    @ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+    public ResponseEntity<Map<String, Object>> handlePreconditionFailedException(PreconditionFailedException ex, HttpServletRequest request) {
+        logger.warn("Precondition failed: {}", ex.getMessage());
+        OutcomeObservationConvention.markOutcome(request, OutcomeObservationConvention.CLIENT_ERROR);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("timestamp", LocalDateTime.now());
+        response.put("status", HttpStatus.PRECONDITION_FAILED.value());
+        response.put("message", ex.getMessage());
+
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(response);
+    }
+
+    /**
+     * Handles OptimisticLockingFailureException, raised when a concurrent transaction updated the same entity first.
+     *
+     * @param ex the OptimisticLockingFailureException
+     * @param request the current request
+     * @return ResponseEntity with error details
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ResponseEntity<Map<String, Object>> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex, HttpServletRequest request) {
+        logger.warn("Concurrent modification: {}", ex.getMessage());
+        OutcomeObservationConvention.markOutcome(request, OutcomeObservationConvention.CLIENT_ERROR);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("timestamp", LocalDateTime.now());
+        response.put("status", HttpStatus.CONFLICT.value());
+        response.put("message", "The resource was modified concurrently, fetch it again and retry");
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
+    /**
+     * Handles DataIntegrityViolationException, e.g. a programming language name that is already taken.
+     *
+     * @param ex the DataIntegrityViolationException
+     * @param request the current request
+     * @return ResponseEntity with error details
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ResponseEntity<Map<String, Object>> handleDataIntegrityViolationException(DataIntegrityViolationException ex, HttpServletRequest request) {
+        logger.warn("Data integrity violation: {}", ex.getMostSpecificCause().getMessage());
+        OutcomeObservationConvention.markOutcome(request, OutcomeObservationConvention.CLIENT_ERROR);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("timestamp", LocalDateTime.now());
+        response.put("status", HttpStatus.CONFLICT.value());
+        response.put("message", "The request conflicts with existing data");
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
+    /**
+     * Handles HttpMediaTypeNotAcceptableException, raised when no converter writes the body in a type the
+     * client accepts, e.g. a statistics map requested as Protobuf. Answers without a body, since the client
+     * would not accept a JSON one either.
+     *
+     * @param ex the HttpMediaTypeNotAcceptableException
+     * @param request the current request
+     * @return ResponseEntity without a body
+     */
+    @ExceptionHandler(HttpMediaTypeNotAcceptableException.class)
+    @ResponseStatus(HttpStatus.NOT_ACCEPTABLE)
+    public ResponseEntity<Void> handleHttpMediaTypeNotAcceptableException(HttpMediaTypeNotAcceptableException ex, HttpServletRequest request) {
+        logger.warn("Not acceptable: {}", ex.getMessage());
+        OutcomeObservationConvention.markOutcome(request, OutcomeObservationConvention.CLIENT_ERROR);
+
+        return ResponseEntity.status(HttpStatus.NOT_ACCEPTABLE).build();
+    }
+
     /**
      * Handles generic exceptions.
      *
      * @param ex the Exception
+     * @param request the current request
      * @return ResponseEntity with error details
      */
     @ExceptionHandler(Exception.class)
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
-    public ResponseEntity<Map<String, Object>> handleGlobalException(Exception ex) {
+    public ResponseEntity<Map<String, Object>> handleGlobalException(Exception ex, HttpServletRequest request) {
         logger.error("An unexpected error occurred", ex);
+        OutcomeObservationConvention.markOutcome(request, OutcomeObservationConvention.ERROR);
 
         Map<String, Object> response = new HashMap<>();
         response.put("timestamp", LocalDateTime.now());
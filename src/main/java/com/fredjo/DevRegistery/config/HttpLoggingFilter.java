@@ -1,76 +1,130 @@
 package com.fredjo.DevRegistery.config;
 
+import com.fredjo.DevRegistery.utils.MdcTaskDecorator;
+import com.fredjo.DevRegistery.utils.RequestIds;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
 /**
  * HTTP Request/Response logging filter.
- * Logs all incoming HTTP requests and outgoing responses with execution time.
+ * Assigns each request an ID (reusing a valid incoming {@code X-Request-Id}), exposes it in the
+ * MDC for every log line written while the request is handled, and logs one line per request
+ * with its status and execution time, once the response is complete for async requests. Work that
+ * the request hands to other threads keeps the ID through {@link MdcTaskDecorator}. Only a configurable sample of requests is logged;
+ * server errors always are. Runs ahead of {@link AdmissionFilter}, so that rejected requests are logged too.
  */
 @Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
 public class HttpLoggingFilter extends OncePerRequestFilter {
 
     private static final Logger logger = LoggerFactory.getLogger(HttpLoggingFilter.class);
     private static final String REQUEST_ID_HEADER = "X-Request-Id";
+    public static final String REQUEST_ID_MDC_KEY = "requestId";
+
+    private final double sampleRate;
+
+    /**
+     * @param sampleRate share of requests to log, from 0.0 (none but server errors) to 1.0 (all)
+     */
+    public HttpLoggingFilter(@Value("${devregistry.http-logging.sample-rate:1.0}") double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
 
-        // Generate unique request ID
-        String requestId = UUID.randomUUID().toString();
-        long startTime = System.currentTimeMillis();
+        String requestId = request.getHeader(REQUEST_ID_HEADER);
+        if (!RequestIds.isValid(requestId)) {
+            requestId = RequestIds.next();
+        }
+        long startTime = System.nanoTime();
 
+        MDC.put(REQUEST_ID_MDC_KEY, requestId);
+        response.setHeader(REQUEST_ID_HEADER, requestId);
         try {
-            // Log incoming request
-            logger.info("[{}] {} {} - Remote IP: {}",
-                requestId,
-                request.getMethod(),
-                request.getRequestURI(),
-                getClientIpAddress(request));
-
-            // Add request ID to response headers
-            response.addHeader(REQUEST_ID_HEADER, requestId);
-
-            // Continue with the request
             filterChain.doFilter(request, response);
-
         } finally {
-            // Log response after request is processed
-            long duration = System.currentTimeMillis() - startTime;
-            logger.info("[{}] Response Status: {} - Duration: {}ms",
-                requestId,
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new CompletionLogger(request, response, requestId, startTime));
+            } else {
+                log(request, response, startTime);
+            }
+            MDC.remove(REQUEST_ID_MDC_KEY);
+        }
+    }
+
+    private void log(HttpServletRequest request, HttpServletResponse response, long startTime) {
+        if (logger.isInfoEnabled() && isSampled(response.getStatus())) {
+            logger.info("{} {} - Status: {} - Duration: {}ms - Remote IP: {}",
+                request.getMethod(),
+                request.getRequestURI(),
                 response.getStatus(),
-                duration);
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime),
+                request.getRemoteAddr());
         }
     }
 
+    private boolean isSampled(int status) {
+        return status >= 500
+                || sampleRate >= 1.0
+                || (sampleRate > 0.0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
     /**
-     * Get client IP address from request.
-     * Handles proxied requests (X-Forwarded-For header).
-     *
-     * @param request the HTTP request
-     * @return the client IP address
+     * Logs an async request once its response is complete, rather than when the first dispatch returns with a
+     * provisional status.
      */
-    private String getClientIpAddress(HttpServletRequest request) {
-        String xForwardedFor = request.getHeader("X-Forwarded-For");
-        if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
-            return xForwardedFor.split(",")[0].trim();
+    private class CompletionLogger implements AsyncListener {
+
+        private final HttpServletRequest request;
+        private final HttpServletResponse response;
+        private final String requestId;
+        private final long startTime;
+
+        CompletionLogger(HttpServletRequest request, HttpServletResponse response, String requestId, long startTime) {
+            this.request = request;
+            this.response = response;
+            this.requestId = requestId;
+            this.startTime = startTime;
         }
-        String xRealIp = request.getHeader("X-Real-IP");
-        if (xRealIp != null && !xRealIp.isEmpty()) {
-            return xRealIp;
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            try (MDC.MDCCloseable ignored = MDC.putCloseable(REQUEST_ID_MDC_KEY, requestId)) {
+                log(request, response, startTime);
+            }
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // listeners are dropped when async processing is restarted
+            event.getAsyncContext().addListener(this);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
         }
-        return request.getRemoteAddr();
     }
 
     @Override
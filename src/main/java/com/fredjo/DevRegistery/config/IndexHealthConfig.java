@@ -0,0 +1,28 @@
+package com.fredjo.DevRegistery.config;
+
+import com.fredjo.DevRegistery.infra.search.DeveloperSearchIndex;
+import com.fredjo.DevRegistery.infra.similarity.DeveloperSimilarityIndex;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Reports whether the in-memory indexes, which are built in the background at startup, are built yet.
+ */
+@Configuration
+public class IndexHealthConfig {
+
+    /**
+     * Health of the indexes, as {@code indexes} under {@code /actuator/health} and part of the readiness group
+     * ({@code /actuator/health/readiness}): OUT_OF_SERVICE until both are built, so that the instance only takes
+     * traffic once search and similar-developer results are complete.
+     */
+    @Bean
+    public HealthIndicator indexesHealthIndicator(DeveloperSearchIndex searchIndex, DeveloperSimilarityIndex similarityIndex) {
+        return () -> (searchIndex.isReady() && similarityIndex.isReady() ? Health.up() : Health.outOfService())
+                .withDetail("search", searchIndex.isReady() ? searchIndex.size() : "building")
+                .withDetail("similarity", similarityIndex.isReady() ? similarityIndex.size() : "building")
+                .build();
+    }
+}
@@ -0,0 +1,51 @@
+package com.fredjo.DevRegistery.config;
+
+import io.micrometer.common.KeyValue;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tags {@code http.server.requests} with a business outcome instead of the generic status class.
+ * {@link GlobalExceptionHandler} records the outcome of the errors it handles; other responses
+ * are classified from their status code.
+ */
+@Component
+public class OutcomeObservationConvention extends DefaultServerRequestObservationConvention {
+
+    public static final String OK = "ok";
+    public static final String NOT_FOUND = "not-found";
+    public static final String VALIDATION_ERROR = "validation-error";
+    public static final String CLIENT_ERROR = "client-error";
+    public static final String THROTTLED = "throttled";
+    public static final String ERROR = "error";
+
+    private static final String OUTCOME_ATTRIBUTE = OutcomeObservationConvention.class.getName() + ".outcome";
+
+    /**
+     * Records the outcome of the current request, overriding the one derived from the status.
+     *
+     * @param request the current request
+     * @param outcome one of the outcome constants of this class
+     */
+    public static void markOutcome(HttpServletRequest request, String outcome) {
+        request.setAttribute(OUTCOME_ATTRIBUTE, outcome);
+    }
+
+    @Override
+    protected KeyValue outcome(ServerRequestObservationContext context) {
+        Object marked = context.getCarrier().getAttribute(OUTCOME_ATTRIBUTE);
+        if (marked != null) {
+            return KeyValue.of("outcome", marked.toString());
+        }
+        int status = context.getResponse() != null ? context.getResponse().getStatus() : 0;
+        if (status == 404) {
+            return KeyValue.of("outcome", NOT_FOUND);
+        }
+        if (status >= 500 || status == 0) {
+            return KeyValue.of("outcome", ERROR);
+        }
+        return KeyValue.of("outcome", status >= 400 ? CLIENT_ERROR : OK);
+    }
+}
@@ -0,0 +1,85 @@
+package com.fredjo.DevRegistery.config;
+
+import com.fredjo.DevRegistery.infra.r2dbc.ReactiveDeveloperRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.r2dbc.config.AbstractR2dbcConfiguration;
+import org.springframework.data.r2dbc.repository.config.EnableR2dbcRepositories;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.transaction.reactive.TransactionalEventPublisher;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+/**
+ * R2DBC for the {@code reactive} profile, which serves the API from WebFlux.
+ * <p>
+ * R2DBC auto-configuration is excluded in application.properties: it would register a reactive transaction
+ * manager next to the JPA one and make every {@code @Transactional} ambiguous. Here the R2DBC transaction
+ * manager is only reachable through the {@link TransactionalOperator} used by the reactive services.
+ * The connection factory reaches the database that Flyway migrates, with the {@code spring.datasource.*} credentials.
+ */
+@Configuration
+@Profile("reactive")
+@EnableConfigurationProperties(DataSourceProperties.class)
+@EnableR2dbcRepositories(basePackageClasses = ReactiveDeveloperRepository.class)
+public class ReactiveConfig extends AbstractR2dbcConfiguration {
+
+    private final String url;
+    private final DataSourceProperties dataSourceProperties;
+
+    public ReactiveConfig(@Value("${devregistry.r2dbc.url}") String url, DataSourceProperties dataSourceProperties) {
+        this.url = url;
+        this.dataSourceProperties = dataSourceProperties;
+    }
+
+    /**
+     * The JDBC pool of {@code spring.datasource.*}, which Boot stops auto-configuring once a connection factory
+     * exists; Flyway, JPA and the in-memory indexes still use it.
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource() {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    /**
+     * Serves WebFlux from Netty; with Tomcat on the classpath for the servlet stack, Boot would otherwise pick Tomcat.
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Bean
+    @Override
+    public ConnectionFactory connectionFactory() {
+        return ConnectionFactories.get(ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, dataSourceProperties.determineUsername())
+                .option(ConnectionFactoryOptions.PASSWORD, dataSourceProperties.determinePassword())
+                .build());
+    }
+
+    @Bean
+    public TransactionalOperator reactiveTransactionalOperator(ConnectionFactory connectionFactory) {
+        return TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory));
+    }
+
+    /**
+     * Publishes events within the current reactive transaction, so that {@code @TransactionalEventListener}s
+     * run after it commits, as they do for JPA transactions.
+     */
+    @Bean
+    public TransactionalEventPublisher transactionalEventPublisher(ApplicationEventPublisher eventPublisher) {
+        return new TransactionalEventPublisher(eventPublisher);
+    }
+}
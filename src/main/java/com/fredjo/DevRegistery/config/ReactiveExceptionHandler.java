@@ -0,0 +1,122 @@
+package com.fredjo.DevRegistery.config;
+
+import com.fredjo.DevRegistery.utils.DeveloperNotFoundException;
+import com.fredjo.DevRegistery.utils.InvalidCursorException;
+import com.fredjo.DevRegistery.utils.PreconditionFailedException;
+import com.fredjo.DevRegistery.utils.ProgrammingLanguageNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.support.WebExchangeBindException;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Exception handler of the reactive stack, with the error bodies of {@link GlobalExceptionHandler}.
+ * Errors it does not handle are rendered by WebFlux's default error handling.
+ */
+@ControllerAdvice
+@Profile("reactive")
+public class ReactiveExceptionHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveExceptionHandler.class);
+
+    /**
+     * Handles validation errors from @Valid annotations.
+     *
+     * @param ex the WebExchangeBindException
+     * @return ResponseEntity with error details
+     */
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<Map<String, Object>> handleValidationException(WebExchangeBindException ex) {
+        logger.warn("Validation error: {}", ex.getMessage());
+
+        Map<String, String> errors = new HashMap<>();
+        ex.getBindingResult().getAllErrors().forEach((error) -> {
+            String fieldName = error instanceof FieldError fieldError ? fieldError.getField() : error.getObjectName();
+            errors.put(fieldName, error.getDefaultMessage());
+        });
+
+        Map<String, Object> response = body(HttpStatus.BAD_REQUEST, "Validation failed");
+        response.put("errors", errors);
+        return ResponseEntity.badRequest().body(response);
+    }
+
+    /**
+     * Handles DeveloperNotFoundException and ProgrammingLanguageNotFoundException.
+     *
+     * @param ex the exception
+     * @return ResponseEntity with error details
+     */
+    @ExceptionHandler({DeveloperNotFoundException.class, ProgrammingLanguageNotFoundException.class})
+    public ResponseEntity<Map<String, Object>> handleNotFoundException(RuntimeException ex) {
+        logger.warn("Not found: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(body(HttpStatus.NOT_FOUND, ex.getMessage()));
+    }
+
+    /**
+     * Handles InvalidCursorException.
+     *
+     * @param ex the InvalidCursorException
+     * @return ResponseEntity with error details
+     */
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<Map<String, Object>> handleInvalidCursorException(InvalidCursorException ex) {
+        logger.warn("Invalid cursor: {}", ex.getMessage());
+        return ResponseEntity.badRequest().body(body(HttpStatus.BAD_REQUEST, ex.getMessage()));
+    }
+
+    /**
+     * Handles PreconditionFailedException, raised when an If-Match ETag is stale.
+     *
+     * @param ex the PreconditionFailedException
+     * @return ResponseEntity with error details
+     */
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<Map<String, Object>> handlePreconditionFailedException(PreconditionFailedException ex) {
+        logger.warn("Precondition failed: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(body(HttpStatus.PRECONDITION_FAILED, ex.getMessage()));
+    }
+
+    /**
+     * Handles OptimisticLockingFailureException, raised when a concurrent transaction updated the same row first.
+     *
+     * @param ex the OptimisticLockingFailureException
+     * @return ResponseEntity with error details
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, Object>> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex) {
+        logger.warn("Concurrent modification: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(body(HttpStatus.CONFLICT, "The resource was modified concurrently, fetch it again and retry"));
+    }
+
+    /**
+     * Handles DataIntegrityViolationException, e.g. a programming language name that is already taken.
+     *
+     * @param ex the DataIntegrityViolationException
+     * @return ResponseEntity with error details
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<Map<String, Object>> handleDataIntegrityViolationException(DataIntegrityViolationException ex) {
+        logger.warn("Data integrity violation: {}", ex.getMostSpecificCause().getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(body(HttpStatus.CONFLICT, "The request conflicts with existing data"));
+    }
+
+    private static Map<String, Object> body(HttpStatus status, String message) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("timestamp", LocalDateTime.now());
+        response.put("status", status.value());
+        response.put("message", message);
+        return response;
+    }
+}
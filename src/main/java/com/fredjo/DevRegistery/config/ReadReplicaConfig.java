@@ -0,0 +1,201 @@
+package com.fredjo.DevRegistery.config;
+
+import com.fredjo.DevRegistery.infra.datasource.ReadWriteRoutingDataSource;
+import com.fredjo.DevRegistery.infra.datasource.ReplicaLagTimestampsCacheFactory;
+import com.fredjo.DevRegistery.infra.datasource.ReplicaPool;
+import com.fredjo.DevRegistery.infra.datasource.ReplicationMonitor;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.lang.Nullable;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read/write splitting for the {@code read-replicas} profile.
+ * <p>
+ * {@code spring.datasource.*} configures the primary, which Flyway migrates and which serves every write.
+ * Read-only transactions ({@code @Transactional(readOnly = true)} service methods and repository reads) go
+ * to the replicas of {@code devregistry.datasource.replica-urls}, which share the primary's credentials.
+ * Reads may lag behind writes by up to {@code devregistry.datasource.replica-max-lag}; beyond that, or when
+ * a replica is down, they are served by the primary.
+ * <p>
+ * A result read from a lagging replica right after a commit invalidated it must not be cached as fresh, or it
+ * would be served until the next write. Transactions served by a replica therefore read the entity and
+ * collection caches without filling them, while reads on the primary fill them. The query cache is filled by
+ * any transaction, so a write instead keeps the tables it changed out of the query cache for as long as a
+ * replica in rotation may lag: {@code replica-max-lag} plus {@code replica-check-interval}.
+ */
+@Configuration
+@Profile("read-replicas")
+public class ReadReplicaConfig {
+
+    @Bean
+    @FlywayDataSource
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public List<ReplicaPool> replicaPools(DataSourceProperties properties,
+                                          @Value("${devregistry.datasource.replica-urls}") List<String> urls) {
+        List<ReplicaPool> replicas = new ArrayList<>();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .url(urls.get(i))
+                    .build();
+            dataSource.setPoolName("replica-" + i);
+            dataSource.setReadOnly(true);
+            replicas.add(new ReplicaPool(dataSource.getPoolName(), dataSource));
+        }
+        return replicas;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, List<ReplicaPool> replicaPools,
+                                 @Value("${devregistry.datasource.replica-max-lag:5s}") Duration maxLag) {
+        return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primaryDataSource, replicaPools, maxLag.toMillis()));
+    }
+
+    @Bean
+    public ReplicationMonitor replicationMonitor(HikariDataSource primaryDataSource, List<ReplicaPool> replicaPools,
+                                                 @Value("${devregistry.datasource.replica-check-interval:1s}") Duration interval) {
+        return new ReplicationMonitor(primaryDataSource, replicaPools, interval);
+    }
+
+    /**
+     * Keeps the tables a commit changed out of the query cache until replicas in rotation have caught up with it.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer replicaLagTimestampsCacheCustomizer(
+            @Value("${devregistry.datasource.replica-max-lag:5s}") Duration maxLag,
+            @Value("${devregistry.datasource.replica-check-interval:1s}") Duration interval) {
+        return properties -> properties.put(AvailableSettings.QUERY_CACHE_FACTORY, new ReplicaLagTimestampsCacheFactory(maxLag.plus(interval)));
+    }
+
+    /**
+     * Switches the session of each read-only transaction the router sends to a replica to {@link CacheMode#GET},
+     * and back once the transaction completes, since with open-session-in-view the session outlives it. The
+     * replica is chosen as the transaction begins, before anything is loaded.
+     */
+    @Bean
+    public TransactionExecutionListener replicaReadCacheMode(DataSource dataSource, EntityManagerFactory entityManagerFactory) {
+        ReadWriteRoutingDataSource router = router(dataSource);
+        return new TransactionExecutionListener() {
+            @Override
+            public void afterBegin(TransactionExecution transaction, @Nullable Throwable beginFailure) {
+                if (beginFailure != null || !transaction.isNewTransaction() || router.currentReplica() == null) {
+                    return;
+                }
+                EntityManager entityManager = EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory);
+                if (entityManager == null) {
+                    return;
+                }
+                Session session = entityManager.unwrap(Session.class);
+                CacheMode previous = session.getCacheMode();
+                session.setCacheMode(CacheMode.GET);
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        if (session.isOpen()) {
+                            session.setCacheMode(previous);
+                        }
+                    }
+                });
+            }
+        };
+    }
+
+    /**
+     * Closes the replica pools, which are not beans themselves.
+     */
+    @Bean
+    public AutoCloseable replicaPoolsCloser(List<ReplicaPool> replicaPools) {
+        return () -> {
+            for (ReplicaPool replica : replicaPools) {
+                replica.close();
+            }
+        };
+    }
+
+    /**
+     * Publishes {@code devregistry.datasource.replica.up} and {@code devregistry.datasource.replica.lag} per replica,
+     * and {@code devregistry.datasource.replica.fallbacks}: read-only connections served by the primary.
+     */
+    @Bean
+    public MeterBinder replicaMetrics(DataSource dataSource) {
+        ReadWriteRoutingDataSource router = router(dataSource);
+        return registry -> {
+            for (ReplicaPool replica : router.getReplicas()) {
+                Gauge.builder("devregistry.datasource.replica.up", replica, r -> r.isUp() ? 1 : 0)
+                        .tag("replica", replica.getName())
+                        .register(registry);
+                TimeGauge.builder("devregistry.datasource.replica.lag", replica, TimeUnit.MILLISECONDS,
+                                r -> r.getLagMillis() == Long.MAX_VALUE ? Double.NaN : r.getLagMillis())
+                        .tag("replica", replica.getName())
+                        .register(registry);
+            }
+            FunctionCounter.builder("devregistry.datasource.replica.fallbacks", router, ReadWriteRoutingDataSource::getFallbackCount)
+                    .description("Read-only connections served by the primary because no replica was usable")
+                    .register(registry);
+        };
+    }
+
+    /**
+     * Health of the replicas, as {@code replicas} under {@code /actuator/health}. Stays UP while replicas are
+     * out of rotation, since the primary then serves the reads.
+     */
+    @Bean
+    public HealthIndicator replicasHealthIndicator(DataSource dataSource) {
+        ReadWriteRoutingDataSource router = router(dataSource);
+        return () -> {
+            Map<String, Object> details = new LinkedHashMap<>();
+            for (ReplicaPool replica : router.getReplicas()) {
+                details.put(replica.getName(), Map.of(
+                        "status", replica.isUp() ? "UP" : "DOWN",
+                        "lagMillis", replica.getLagMillis() == Long.MAX_VALUE ? "unknown" : replica.getLagMillis(),
+                        "inRotation", replica.isUsable(router.getMaxLagMillis())));
+            }
+            return Health.up().withDetails(details).build();
+        };
+    }
+
+    private static ReadWriteRoutingDataSource router(DataSource dataSource) {
+        return (ReadWriteRoutingDataSource) ((LazyConnectionDataSourceProxy) dataSource).getTargetDataSource();
+    }
+}
@@ -4,7 +4,12 @@ import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -15,17 +20,31 @@ import java.util.Set;
 @AllArgsConstructor
 public class Developer {
 
+    public static final String LANGUAGES_CACHE_REGION = "developer-languages";
+    public static final String LANGUAGES_ROLE = Developer.class.getName() + ".languages";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "developer_seq")
+    @SequenceGenerator(name = "developer_seq", sequenceName = "developer_seq", allocationSize = 50)
     private long id;
 
     private String firstName;
     private String lastName;
 
+    /**
+     * Incremented on every change, including changes to the set of languages.
+     */
+    @Version
+    private long version;
+
     @ManyToMany(fetch = FetchType.LAZY, cascade = CascadeType.PERSIST)
     @JoinTable(name = "developer_programming_language",
             joinColumns = @JoinColumn(name = "developer_id"),
             inverseJoinColumns = @JoinColumn(name = "programming_language_id"))
     @JsonManagedReference
+    @BatchSize(size = 100)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Developer.LANGUAGES_CACHE_REGION)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     private Set<ProgrammingLanguage> languages = new HashSet<>();
 }
\ No newline at end of file
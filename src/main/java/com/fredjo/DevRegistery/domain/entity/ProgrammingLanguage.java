@@ -4,25 +4,39 @@ import com.fasterxml.jackson.annotation.JsonBackReference;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = ProgrammingLanguage.CACHE_REGION)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class ProgrammingLanguage {
 
+    public static final String CACHE_REGION = "programming-language";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "programming_language_seq")
+    @SequenceGenerator(name = "programming_language_seq", sequenceName = "programming_language_seq", allocationSize = 50)
     private long id;
 
     private String name;
     private String creatorsName;
 
+    @Version
+    private long version;
+
     @ManyToMany(fetch = FetchType.LAZY, mappedBy = "languages")
     @JsonBackReference
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     private Set<Developer> developers = new HashSet<>();
 }
\ No newline at end of file
@@ -0,0 +1,52 @@
+package com.fredjo.DevRegistery.infra.admission;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Actuator endpoint ({@code /actuator/admission}) showing the limits of the admission control and how
+ * many requests they admitted and rejected, and ({@code /actuator/admission/{client}}) the tokens a client has left.
+ */
+@Component
+@Profile("!reactive")
+@Endpoint(id = "admission")
+public class AdmissionEndpoint {
+
+    private final AdmissionLimiters limiters;
+
+    public AdmissionEndpoint(AdmissionLimiters limiters) {
+        this.limiters = limiters;
+    }
+
+    /**
+     * State of a set of token buckets.
+     */
+    public record LimiterState(long permitsPerSecond, int burst, int maxClients, int trackedClients,
+                               long admitted, long rejected, long evictions) {
+    }
+
+    @ReadOperation
+    public Map<String, LimiterState> limiters() {
+        Map<String, LimiterState> states = new LinkedHashMap<>();
+        for (TokenBucketLimiter limiter : limiters.all()) {
+            states.put(limiter.name(), new LimiterState(limiter.permitsPerSecond(), limiter.burst(), limiter.maxClients(),
+                    limiter.trackedClients(), limiter.admittedCount(), limiter.rejectedCount(), limiter.evictionCount()));
+        }
+        return states;
+    }
+
+    @ReadOperation
+    public Map<String, Integer> availableTokens(@Selector String client) {
+        Map<String, Integer> tokens = new LinkedHashMap<>();
+        for (TokenBucketLimiter limiter : limiters.all()) {
+            tokens.put(limiter.name(), limiter.availableTokens(client));
+        }
+        return tokens;
+    }
+}
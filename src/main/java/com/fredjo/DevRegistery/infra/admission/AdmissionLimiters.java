@@ -0,0 +1,70 @@
+package com.fredjo.DevRegistery.infra.admission;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * The token buckets of the admission control: one set for cheap routes (lookups by ID, pages) and one,
+ * much tighter, for expensive routes (unpaged lists, exports, imports), so that a client walking the
+ * whole registry is slowed down long before it can starve the others.
+ */
+@Component
+@Profile("!reactive")
+public class AdmissionLimiters implements MeterBinder {
+
+    public static final String CHEAP = "cheap";
+    public static final String EXPENSIVE = "expensive";
+
+    private final TokenBucketLimiter cheap;
+    private final TokenBucketLimiter expensive;
+
+    public AdmissionLimiters(@Value("${devregistry.admission.cheap.permits-per-second:100}") long cheapRate,
+                             @Value("${devregistry.admission.cheap.burst:200}") int cheapBurst,
+                             @Value("${devregistry.admission.expensive.permits-per-second:5}") long expensiveRate,
+                             @Value("${devregistry.admission.expensive.burst:10}") int expensiveBurst,
+                             @Value("${devregistry.admission.max-clients:10000}") int maxClients) {
+        this.cheap = new TokenBucketLimiter(CHEAP, cheapRate, cheapBurst, maxClients);
+        this.expensive = new TokenBucketLimiter(EXPENSIVE, expensiveRate, expensiveBurst, maxClients);
+    }
+
+    public TokenBucketLimiter cheap() {
+        return cheap;
+    }
+
+    public TokenBucketLimiter expensive() {
+        return expensive;
+    }
+
+    public List<TokenBucketLimiter> all() {
+        return List.of(cheap, expensive);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (TokenBucketLimiter limiter : all()) {
+            FunctionCounter.builder("devregistry.admission.requests", limiter, TokenBucketLimiter::admittedCount)
+                    .tags("routes", limiter.name(), "result", "admitted")
+                    .description("Requests admitted by the admission control")
+                    .register(registry);
+            FunctionCounter.builder("devregistry.admission.requests", limiter, TokenBucketLimiter::rejectedCount)
+                    .tags("routes", limiter.name(), "result", "rejected")
+                    .description("Requests rejected with 429 by the admission control")
+                    .register(registry);
+            FunctionCounter.builder("devregistry.admission.evictions", limiter, TokenBucketLimiter::evictionCount)
+                    .tags("routes", limiter.name())
+                    .description("Buckets of busy clients dropped to keep the number of buckets bounded")
+                    .register(registry);
+            Gauge.builder("devregistry.admission.clients", limiter, TokenBucketLimiter::trackedClients)
+                    .tags("routes", limiter.name())
+                    .description("Clients with a token bucket")
+                    .register(registry);
+        }
+    }
+}
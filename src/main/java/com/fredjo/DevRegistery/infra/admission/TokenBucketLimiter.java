@@ -0,0 +1,167 @@
+package com.fredjo.DevRegistery.infra.admission;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-client token buckets: each client may make {@code burst} requests at once, then
+ * {@code permitsPerSecond} requests per second.
+ * <p>
+ * A bucket is a single {@code long}, the time at which it will be full again (the generic cell rate
+ * algorithm): admitting a request moves that time one emission interval forward with one compare-and-set,
+ * so that admission neither locks nor allocates once a client is known. A request is rejected while the
+ * bucket would be full again more than {@code burst - 1} intervals from now.
+ * <p>
+ * At most {@code maxClients} buckets are held. Past that, buckets that are full again are dropped, which
+ * loses nothing since a new bucket is full too; if every client is still busy, arbitrary buckets are dropped,
+ * which lets their clients burst again.
+ */
+public final class TokenBucketLimiter {
+
+    private final String name;
+    private final long permitsPerSecond;
+    private final int burst;
+    private final int maxClients;
+    private final long interval;
+    private final long tolerance;
+    private final LongSupplier clock;
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicBoolean trimming = new AtomicBoolean();
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param name             the name of the limited routes, for metrics
+     * @param permitsPerSecond the sustained rate allowed to each client
+     * @param burst            the number of requests a client may make at once
+     * @param maxClients       the maximum number of buckets held
+     */
+    public TokenBucketLimiter(String name, long permitsPerSecond, int burst, int maxClients) {
+        this(name, permitsPerSecond, burst, maxClients, System::nanoTime);
+    }
+
+    TokenBucketLimiter(String name, long permitsPerSecond, int burst, int maxClients, LongSupplier clock) {
+        if (permitsPerSecond <= 0 || burst <= 0 || maxClients <= 0) {
+            throw new IllegalArgumentException("Limits of " + name + " must be positive");
+        }
+        this.name = name;
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = burst;
+        this.maxClients = maxClients;
+        this.interval = Math.max(1, TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+        this.tolerance = interval * (burst - 1);
+        this.clock = clock;
+    }
+
+    /**
+     * Takes a token from the bucket of a client.
+     *
+     * @param client the client
+     * @return 0 if the request is admitted, otherwise the nanoseconds until the client gets a token back
+     */
+    public long tryAcquire(String client) {
+        long now = clock.getAsLong();
+        AtomicLong bucket = buckets.get(client);
+        if (bucket == null) {
+            bucket = register(client, now);
+        }
+        while (true) {
+            long full = bucket.get();
+            long start = full - now > 0 ? full : now;
+            long wait = start - tolerance - now;
+            if (wait > 0) {
+                rejected.increment();
+                return wait;
+            }
+            if (bucket.compareAndSet(full, start + interval)) {
+                admitted.increment();
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Number of requests a client could make right now.
+     *
+     * @param client the client
+     * @return the tokens left in its bucket
+     */
+    public int availableTokens(String client) {
+        AtomicLong bucket = buckets.get(client);
+        if (bucket == null) {
+            return burst;
+        }
+        long ahead = bucket.get() - clock.getAsLong();
+        if (ahead <= 0) {
+            return burst;
+        }
+        return ahead > tolerance ? 0 : (int) ((tolerance - ahead) / interval + 1);
+    }
+
+    private AtomicLong register(String client, long now) {
+        // trims before inserting, since the new bucket is full and would be dropped first
+        if (buckets.size() >= maxClients) {
+            trim(now);
+        }
+        AtomicLong created = new AtomicLong(now);
+        AtomicLong existing = buckets.putIfAbsent(client, created);
+        return existing != null ? existing : created;
+    }
+
+    private void trim(long now) {
+        if (!trimming.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+            // leave some room, so that a crowd of busy clients does not trim on every new one
+            int target = maxClients - maxClients / 8;
+            Iterator<AtomicLong> iterator = buckets.values().iterator();
+            while (buckets.size() > target && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+                evictions.increment();
+            }
+        } finally {
+            trimming.set(false);
+        }
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public long permitsPerSecond() {
+        return permitsPerSecond;
+    }
+
+    public int burst() {
+        return burst;
+    }
+
+    public int maxClients() {
+        return maxClients;
+    }
+
+    public int trackedClients() {
+        return buckets.size();
+    }
+
+    public long admittedCount() {
+        return admitted.sum();
+    }
+
+    public long rejectedCount() {
+        return rejected.sum();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+}
@@ -0,0 +1,130 @@
+package com.fredjo.DevRegistery.infra.cache;
+
+import com.fredjo.DevRegistery.application.dto.DeveloperDto;
+import com.fredjo.DevRegistery.application.dto.ProgrammingLanguageDto;
+import com.fredjo.DevRegistery.application.dto.Versioned;
+import com.fredjo.DevRegistery.application.event.DeveloperDeletedEvent;
+import com.fredjo.DevRegistery.application.event.DeveloperLanguagesChangedEvent;
+import com.fredjo.DevRegistery.application.event.DeveloperSavedEvent;
+import com.fredjo.DevRegistery.application.event.ProgrammingLanguageDeletedEvent;
+import com.fredjo.DevRegistery.application.event.ProgrammingLanguageSavedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.LongFunction;
+
+/**
+ * Near-cache of the most read developers, as served by {@code GET /v1/developer/{id}} and
+ * {@code GET /v1/developer/{id}/languages}, so that hot profiles are neither loaded nor mapped again.
+ * <p>
+ * Values are the mapped, versioned DTOs, held in {@link LongKeyedCache}s; callers must not modify them.
+ * Misses are loaded in a transaction of their own, so that hits do not open one. That transaction is not
+ * read-only, so that under the {@code read-replicas} profile misses are read from the primary: an entry loaded
+ * from a lagging replica right after an invalidation would keep serving the old version until the developer
+ * is written again.
+ * <p>
+ * A developer's entries are invalidated once a transaction changing it commits; entries of all developers are
+ * invalidated when a programming language is saved or deleted, since their language lists and versions depend on it.
+ * Invalidation listeners run after the after-commit listeners evicting the second-level cache entries the
+ * loaders may read, which have the highest precedence: a load started after an invalidation then never reads a
+ * stale entry, and a load started before it is discarded. Changes made by another instance are not seen until
+ * the entry is evicted.
+ */
+@Component
+public class DeveloperNearCache implements MeterBinder {
+
+    /**
+     * Order of the invalidation listeners: after second-level cache evictions, and before listeners of the
+     * default order, so that these read fresh entries.
+     */
+    public static final int INVALIDATION_ORDER = Ordered.LOWEST_PRECEDENCE - 100;
+
+    private final LongKeyedCache<Versioned<DeveloperDto>> developers;
+    private final LongKeyedCache<Versioned<List<ProgrammingLanguageDto>>> languages;
+    private final TransactionTemplate loadTransaction;
+
+    public DeveloperNearCache(PlatformTransactionManager transactionManager,
+                              @Value("${devregistry.near-cache.max-entries:10000}") int maxEntries) {
+        this.developers = new LongKeyedCache<>(maxEntries);
+        this.languages = new LongKeyedCache<>(maxEntries);
+        this.loadTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Returns a developer, loading it on a miss.
+     *
+     * @param id     the ID of the developer
+     * @param loader loads the developer, or returns null if it does not exist
+     * @return an Optional containing the versioned DeveloperDto if found, otherwise empty
+     */
+    public Optional<Versioned<DeveloperDto>> getDeveloper(long id, LongFunction<Versioned<DeveloperDto>> loader) {
+        return Optional.ofNullable(developers.get(id, key -> loadTransaction.execute(status -> loader.apply(key))));
+    }
+
+    /**
+     * Returns the languages of a developer, loading them on a miss.
+     *
+     * @param id     the ID of the developer
+     * @param loader loads the languages, or returns null if the developer does not exist
+     * @return an Optional containing the versioned list of ProgrammingLanguageDto if the developer exists, otherwise empty
+     */
+    public Optional<Versioned<List<ProgrammingLanguageDto>>> getLanguages(long id, LongFunction<Versioned<List<ProgrammingLanguageDto>>> loader) {
+        return Optional.ofNullable(languages.get(id, key -> loadTransaction.execute(status -> loader.apply(key))));
+    }
+
+    @TransactionalEventListener
+    @Order(INVALIDATION_ORDER)
+    public void onDeveloperSaved(DeveloperSavedEvent event) {
+        invalidate(event.id());
+    }
+
+    @TransactionalEventListener
+    @Order(INVALIDATION_ORDER)
+    public void onDeveloperDeleted(DeveloperDeletedEvent event) {
+        invalidate(event.id());
+    }
+
+    @TransactionalEventListener
+    @Order(INVALIDATION_ORDER)
+    public void onDeveloperLanguagesChanged(DeveloperLanguagesChangedEvent event) {
+        invalidate(event.id());
+    }
+
+    @TransactionalEventListener
+    @Order(INVALIDATION_ORDER)
+    public void onProgrammingLanguageSaved(ProgrammingLanguageSavedEvent event) {
+        invalidateAll();
+    }
+
+    @TransactionalEventListener
+    @Order(INVALIDATION_ORDER)
+    public void onProgrammingLanguageDeleted(ProgrammingLanguageDeletedEvent event) {
+        invalidateAll();
+    }
+
+    public void invalidate(long id) {
+        developers.invalidate(id);
+        languages.invalidate(id);
+    }
+
+    public void invalidateAll() {
+        developers.invalidateAll();
+        languages.invalidateAll();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        new LongKeyedCacheMetrics(developers, "developers", Tags.of("cacheManager", "near")).bindTo(registry);
+        new LongKeyedCacheMetrics(languages, "developerLanguages", Tags.of("cacheManager", "near")).bindTo(registry);
+    }
+}
@@ -0,0 +1,380 @@
+package com.fredjo.DevRegistery.infra.cache;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongFunction;
+
+/**
+ * Bounded cache keyed by primitive {@code long}, so that lookups neither box keys nor allocate.
+ * <p>
+ * Entries live in lock-striped segments, each an open-addressing hash table of parallel {@code long} key and
+ * value arrays. When a segment is full, an entry not read since the clock hand last passed it is evicted
+ * (CLOCK, an approximation of LRU that needs no reordering on hits).
+ * <p>
+ * Loads are single-flight: while a key is being loaded, concurrent misses for it wait for that load instead
+ * of starting their own. An invalidation during a load discards its result, so that a value read before a
+ * change is committed is never cached after the change has been invalidated. Absent values (a loader
+ * returning null) are not cached.
+ *
+ * @param <V> the type of the values
+ */
+public final class LongKeyedCache<V> {
+
+    private static final long SPREAD = 0x9E37_79B9_7F4A_7C15L;
+    private static final int MAX_SEGMENTS = Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 4 - 1) << 1;
+
+    /**
+     * Placeholder of a key being loaded.
+     */
+    private record Loading<V>(CompletableFuture<V> future) {
+    }
+
+    private final Segment[] segments;
+    private final int segmentShift;
+    private final long maximumSize;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder puts = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder loadSuccesses = new LongAdder();
+    private final LongAdder loadFailures = new LongAdder();
+    private final LongAdder totalLoadNanos = new LongAdder();
+
+    /**
+     * @param maximumSize the maximum number of entries; 0 disables caching, but not single-flight loading
+     */
+    public LongKeyedCache(int maximumSize) {
+        if (maximumSize < 0) {
+            throw new IllegalArgumentException("maximumSize must not be negative: " + maximumSize);
+        }
+        int segmentCount = Math.max(1, Math.min(MAX_SEGMENTS, Integer.highestOneBit(Math.max(1, maximumSize))));
+        this.segments = new Segment[segmentCount];
+        this.segmentShift = 64 - Integer.numberOfTrailingZeros(segmentCount);
+        int segmentSize = (maximumSize + segmentCount - 1) / segmentCount;
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(segmentSize, evictions);
+        }
+        this.maximumSize = (long) segmentSize * segmentCount;
+    }
+
+    /**
+     * Returns the value of a key, loading it on a miss. If the key is already being loaded, waits for that load.
+     *
+     * @param key    the key
+     * @param loader loads the value of the key, or returns null if there is none
+     * @return the value, or null if there is none
+     */
+    @SuppressWarnings("unchecked")
+    public V get(long key, LongFunction<? extends V> loader) {
+        long hash = key * SPREAD;
+        Segment segment = segmentFor(hash);
+        Loading<V> loading = null;
+        boolean owner = false;
+        synchronized (segment) {
+            int index = segment.indexOf(key, hash);
+            if (index >= 0 && !(segment.values[index] instanceof Loading<?>)) {
+                segment.referenced[index] = true;
+                hits.increment();
+                return (V) segment.values[index];
+            }
+            misses.increment();
+            if (index >= 0) {
+                loading = (Loading<V>) segment.values[index];
+            } else {
+                Loading<V> started = new Loading<>(new CompletableFuture<>());
+                if (segment.insert(key, hash, started)) {
+                    loading = started;
+                    owner = true;
+                }
+            }
+        }
+        if (loading == null) {
+            // the segment is full of loads in flight: load without coalescing
+            return load(key, loader);
+        }
+        return owner ? loadAndInstall(segment, key, hash, loading, loader) : await(loading.future());
+    }
+
+    private V loadAndInstall(Segment segment, long key, long hash, Loading<V> loading, LongFunction<? extends V> loader) {
+        V value;
+        try {
+            value = load(key, loader);
+        } catch (RuntimeException | Error e) {
+            synchronized (segment) {
+                segment.complete(key, hash, loading, null);
+            }
+            loading.future().completeExceptionally(e);
+            throw e;
+        }
+        synchronized (segment) {
+            if (segment.complete(key, hash, loading, value)) {
+                puts.increment();
+            }
+        }
+        loading.future().complete(value);
+        return value;
+    }
+
+    private V load(long key, LongFunction<? extends V> loader) {
+        long start = System.nanoTime();
+        try {
+            V value = loader.apply(key);
+            loadSuccesses.increment();
+            return value;
+        } catch (RuntimeException | Error e) {
+            loadFailures.increment();
+            throw e;
+        } finally {
+            totalLoadNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    private V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the value of a key if cached, without loading it.
+     *
+     * @param key the key
+     * @return the value, or null if not cached
+     */
+    @SuppressWarnings("unchecked")
+    public V getIfPresent(long key) {
+        long hash = key * SPREAD;
+        Segment segment = segmentFor(hash);
+        synchronized (segment) {
+            int index = segment.indexOf(key, hash);
+            if (index >= 0 && !(segment.values[index] instanceof Loading<?>)) {
+                segment.referenced[index] = true;
+                hits.increment();
+                return (V) segment.values[index];
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Removes a key, and discards the result of its load if one is in flight.
+     *
+     * @param key the key
+     */
+    public void invalidate(long key) {
+        long hash = key * SPREAD;
+        Segment segment = segmentFor(hash);
+        synchronized (segment) {
+            int index = segment.indexOf(key, hash);
+            if (index >= 0) {
+                segment.remove(index);
+            }
+        }
+    }
+
+    /**
+     * Removes every key, and discards the results of the loads in flight.
+     */
+    public void invalidateAll() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    /**
+     * Number of entries, including loads in flight.
+     */
+    public long size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size;
+            }
+        }
+        return size;
+    }
+
+    public long maximumSize() {
+        return maximumSize;
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long putCount() {
+        return puts.sum();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    public long loadSuccessCount() {
+        return loadSuccesses.sum();
+    }
+
+    public long loadFailureCount() {
+        return loadFailures.sum();
+    }
+
+    public long totalLoadTimeNanos() {
+        return totalLoadNanos.sum();
+    }
+
+    /**
+     * Bytes taken by the hash tables themselves, keys included: values are shared with callers and not counted.
+     */
+    public long tableBytes() {
+        long bytes = 0;
+        for (Segment segment : segments) {
+            // long key, compressed value reference, reference bit
+            bytes += (long) segment.keys.length * (Long.BYTES + Integer.BYTES + 1);
+        }
+        return bytes;
+    }
+
+    private Segment segmentFor(long hash) {
+        return segments.length == 1 ? segments[0] : segments[(int) (hash >>> segmentShift)];
+    }
+
+    /**
+     * A linear-probing hash table with backward-shift deletion, so that lookups never cross tombstones.
+     * Slots are indexed by the low bits of the spread key, segments by its high bits.
+     */
+    private static final class Segment {
+
+        private final int capacity;
+        private final int mask;
+        private final long[] keys;
+        private final Object[] values;
+        private final boolean[] referenced;
+        private final LongAdder evictions;
+        private int size;
+        private int hand;
+
+        Segment(int capacity, LongAdder evictions) {
+            this.capacity = capacity;
+            this.evictions = evictions;
+            // at most half full, so that probe sequences stay short
+            int length = Integer.highestOneBit(Math.max(1, capacity) * 2 - 1) << 1;
+            this.mask = length - 1;
+            this.keys = new long[length];
+            this.values = new Object[length];
+            this.referenced = new boolean[length];
+        }
+
+        int indexOf(long key, long hash) {
+            for (int index = (int) hash & mask; values[index] != null; index = (index + 1) & mask) {
+                if (keys[index] == key) {
+                    return index;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Inserts a key known to be absent, evicting an entry if the segment is full. Loads in flight cannot be
+         * evicted and may overfill the segment until they complete.
+         *
+         * @return false if the table has no free slot left
+         */
+        boolean insert(long key, long hash, Object value) {
+            if (size >= capacity) {
+                evict();
+            }
+            // keep a free slot, which ends every probe sequence
+            if (size >= values.length - 1) {
+                return false;
+            }
+            int index = (int) hash & mask;
+            while (values[index] != null) {
+                index = (index + 1) & mask;
+            }
+            keys[index] = key;
+            values[index] = value;
+            referenced[index] = false;
+            size++;
+            return true;
+        }
+
+        /**
+         * Replaces the placeholder of a completed load with its value, unless invalidated meanwhile.
+         *
+         * @return true if the value was stored
+         */
+        boolean complete(long key, long hash, Object loading, Object value) {
+            int index = indexOf(key, hash);
+            if (index < 0 || values[index] != loading) {
+                return false;
+            }
+            if (value != null && size > capacity && evict()) {
+                index = indexOf(key, hash);
+            }
+            if (value == null || size > capacity) {
+                remove(index);
+                return false;
+            }
+            values[index] = value;
+            return true;
+        }
+
+        void remove(int index) {
+            values[index] = null;
+            size--;
+            // shift back the entries of the probe run that would no longer be reachable
+            int hole = index;
+            for (int next = (hole + 1) & mask; values[next] != null; next = (next + 1) & mask) {
+                int home = (int) (keys[next] * SPREAD) & mask;
+                if (((next - home) & mask) >= ((next - hole) & mask)) {
+                    keys[hole] = keys[next];
+                    values[hole] = values[next];
+                    referenced[hole] = referenced[next];
+                    values[next] = null;
+                    hole = next;
+                }
+            }
+        }
+
+        boolean evict() {
+            for (int scanned = 0; scanned < 2 * values.length; scanned++) {
+                int index = hand;
+                hand = (hand + 1) & mask;
+                Object value = values[index];
+                if (value == null || value instanceof Loading<?>) {
+                    continue;
+                }
+                if (referenced[index]) {
+                    referenced[index] = false;
+                    continue;
+                }
+                remove(index);
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+
+        void clear() {
+            Arrays.fill(values, null);
+            size = 0;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.fredjo.DevRegistery.infra.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes the standard cache metrics ({@code cache.gets}, {@code cache.puts}, {@code cache.evictions},
+ * {@code cache.size}) of a {@link LongKeyedCache}, plus its load latency ({@code cache.load.duration}, as
+ * for Caffeine caches) and the memory taken by its tables.
+ */
+public class LongKeyedCacheMetrics extends CacheMeterBinder<LongKeyedCache<?>> {
+
+    public LongKeyedCacheMetrics(LongKeyedCache<?> cache, String cacheName, Iterable<Tag> tags) {
+        super(cache, cacheName, tags);
+    }
+
+    @Override
+    protected Long size() {
+        LongKeyedCache<?> cache = getCache();
+        return cache == null ? null : cache.size();
+    }
+
+    @Override
+    protected long hitCount() {
+        LongKeyedCache<?> cache = getCache();
+        return cache == null ? 0 : cache.hitCount();
+    }
+
+    @Override
+    protected Long missCount() {
+        LongKeyedCache<?> cache = getCache();
+        return cache == null ? null : cache.missCount();
+    }
+
+    @Override
+    protected Long evictionCount() {
+        LongKeyedCache<?> cache = getCache();
+        return cache == null ? null : cache.evictionCount();
+    }
+
+    @Override
+    protected long putCount() {
+        LongKeyedCache<?> cache = getCache();
+        return cache == null ? 0 : cache.putCount();
+    }
+
+    @Override
+    protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+        LongKeyedCache<?> cache = getCache();
+        FunctionTimer.builder("cache.load.duration", cache, LongKeyedCache::loadSuccessCount,
+                        LongKeyedCache::totalLoadTimeNanos, TimeUnit.NANOSECONDS)
+                .tags(getTagsWithCacheName())
+                .tags("result", "success")
+                .description("Time spent loading values of misses, and number of loads")
+                .register(registry);
+        FunctionCounter.builder("cache.load", cache, LongKeyedCache::loadFailureCount)
+                .tags(getTagsWithCacheName())
+                .tags("result", "failure")
+                .description("The number of loads that failed")
+                .register(registry);
+        Gauge.builder("cache.max.size", cache, LongKeyedCache::maximumSize)
+                .tags(getTagsWithCacheName())
+                .description("The maximum number of entries")
+                .register(registry);
+        Gauge.builder("cache.table.size", cache, LongKeyedCache::tableBytes)
+                .tags(getTagsWithCacheName())
+                .baseUnit(BaseUnits.BYTES)
+                .description("Memory taken by the hash tables, keys included and cached values excluded")
+                .register(registry);
+    }
+}
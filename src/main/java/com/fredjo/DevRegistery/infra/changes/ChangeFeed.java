@@ -0,0 +1,383 @@
+package com.fredjo.DevRegistery.infra.changes;
+
+import com.fredjo.DevRegistery.application.dto.ChangeEventDto;
+import com.fredjo.DevRegistery.utils.MdcTaskDecorator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Dispatcher of the change feed: polls the {@code change_event} outbox written by {@link ChangeOutbox} and fans
+ * committed events out to the subscribers of {@code GET /v1/changes}.
+ * <p>
+ * Events are dispatched in ID order. An ID above the last dispatched one may belong to a transaction that has not
+ * committed yet, so the events behind a missing ID are held back until it shows up, or for at most the gap timeout,
+ * after which it is taken as rolled back. The last {@value #RECENT_EVENTS} dispatched events are kept in memory and
+ * sent to live subscribers without SQL; a subscriber resuming from an older ID catches up from the table in batches
+ * of {@value #BATCH_SIZE}, and one resuming from an ID that retention has pruned is told to resync.
+ * <p>
+ * Each subscriber is sent its events by one task at a time on a pool of sender threads, so a slow subscriber only
+ * delays itself. Those tasks log with the MDC of the thread that subscribed, i.e. the request ID of the stream.
+ */
+@Component
+@Profile("!reactive")
+public class ChangeFeed implements SmartInitializingSingleton, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChangeFeed.class);
+    static final int BATCH_SIZE = 500;
+    static final int RECENT_EVENTS = 10_000;
+
+    private static final String SELECT = "select id, entity, entity_id, change_type, occurred_at from change_event ";
+
+    /**
+     * Receives the events of a subscription, from one thread at a time.
+     */
+    public interface Subscriber {
+
+        /**
+         * Sends events, in ID order.
+         */
+        void send(List<ChangeEventDto> events) throws IOException;
+
+        /**
+         * Tells the subscriber that events it has not received are no longer available: it should resync,
+         * then resume after {@code resumeFrom}, the ID of the last event dispatched.
+         */
+        void reset(long resumeFrom) throws IOException;
+
+        /**
+         * Keeps an idle connection open.
+         */
+        void heartbeat() throws IOException;
+    }
+
+    /**
+     * A subscriber and the ID of the last event it was sent.
+     */
+    public final class Subscription {
+
+        private final Subscriber subscriber;
+        private final Map<String, String> logContext = MDC.getCopyOfContextMap();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile long position;
+        private volatile boolean resetPending;
+        private volatile boolean heartbeatDue;
+        private volatile boolean cancelled;
+
+        private Subscription(Subscriber subscriber, long position, boolean resetPending) {
+            this.subscriber = subscriber;
+            this.position = position;
+            this.resetPending = resetPending;
+        }
+
+        /**
+         * Stops sending events to the subscriber.
+         */
+        public void cancel() {
+            cancelled = true;
+            subscriptions.remove(this);
+        }
+    }
+
+    private final ConcurrentSkipListMap<Long, ChangeEventDto> recent = new ConcurrentSkipListMap<>();
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean pollRequested = new AtomicBoolean();
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration pollInterval;
+    private final Duration heartbeatInterval;
+    private final Duration gapTimeout;
+    private final Duration retention;
+    private final ScheduledExecutorService dispatcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "change-feed-dispatcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicInteger senderThreads = new AtomicInteger();
+    private final ExecutorService senders = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "change-feed-sender-" + senderThreads.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * ID of the last dispatched event; every committed event up to it is in the table or was pruned.
+     */
+    private volatile long cursor;
+    /**
+     * Every dispatched event above this ID is in {@link #recent}.
+     */
+    private volatile long memoryFloor;
+    /**
+     * Events up to this ID may have been deleted by retention.
+     */
+    private volatile long prunedUpTo;
+    private long gapId;
+    private long gapSince;
+
+    public ChangeFeed(JdbcTemplate jdbcTemplate,
+                      @Value("${devregistry.changes.poll-interval:1s}") Duration pollInterval,
+                      @Value("${devregistry.changes.heartbeat-interval:15s}") Duration heartbeatInterval,
+                      @Value("${devregistry.changes.gap-timeout:5s}") Duration gapTimeout,
+                      @Value("${devregistry.changes.retention:7d}") Duration retention) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.pollInterval = pollInterval;
+        this.heartbeatInterval = heartbeatInterval;
+        this.gapTimeout = gapTimeout;
+        this.retention = retention;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        Long first = jdbcTemplate.queryForObject("select min(id) from change_event", Long.class);
+        Long last = jdbcTemplate.queryForObject("select max(id) from change_event", Long.class);
+        cursor = last == null ? 0 : last;
+        memoryFloor = cursor;
+        prunedUpTo = first == null ? cursor : first - 1;
+        dispatcher.scheduleWithFixedDelay(this::poll, pollInterval.toMillis(), pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+        dispatcher.scheduleAtFixedRate(this::heartbeat, heartbeatInterval.toMillis(), heartbeatInterval.toMillis(), TimeUnit.MILLISECONDS);
+        long pruneInterval = Math.min(retention.toMillis(), TimeUnit.HOURS.toMillis(1));
+        dispatcher.scheduleWithFixedDelay(this::prune, pruneInterval, pruneInterval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Subscribes to the events after the given ID. Without an ID, only events dispatched from now on are sent.
+     * An ID above every event in the table, e.g. one received before the database was recreated, gets a reset.
+     *
+     * @param afterId    the ID of the last event the subscriber received, or null
+     * @param subscriber receives the events
+     * @return the Subscription
+     */
+    public Subscription subscribe(Long afterId, Subscriber subscriber) {
+        long position = afterId == null ? cursor : afterId;
+        boolean reset = afterId != null && afterId > cursor && afterId > lastEventId();
+        Subscription subscription = new Subscription(subscriber, position, reset);
+        subscriptions.add(subscription);
+        schedule(subscription);
+        return subscription;
+    }
+
+    /**
+     * @return the number of active subscriptions
+     */
+    public int subscriberCount() {
+        return subscriptions.size();
+    }
+
+    /**
+     * Polls the outbox now rather than at the next interval, e.g. after a local commit.
+     */
+    public void wakeUp() {
+        if (pollRequested.compareAndSet(false, true)) {
+            try {
+                dispatcher.execute(() -> {
+                    pollRequested.set(false);
+                    poll();
+                });
+            } catch (RejectedExecutionException e) {
+                pollRequested.set(false);
+            }
+        }
+    }
+
+    private void poll() {
+        try {
+            long start = cursor;
+            List<ChangeEventDto> events;
+            do {
+                events = jdbcTemplate.query(SELECT + "where id > ? order by id limit ?", ChangeFeed::toChangeEvent, cursor, BATCH_SIZE);
+                long dispatched = cursor;
+                for (ChangeEventDto event : events) {
+                    if (event.getId() != dispatched + 1 && !gapExpired(dispatched + 1)) {
+                        break;
+                    }
+                    recent.put(event.getId(), event);
+                    dispatched = event.getId();
+                }
+                cursor = dispatched;
+            } while (events.size() == BATCH_SIZE && cursor == events.get(events.size() - 1).getId());
+
+            if (cursor != start) {
+                trimRecent();
+                subscriptions.forEach(this::schedule);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Change feed poll failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Tells whether the events behind a missing ID can go out: the ID has been missing for the gap timeout.
+     */
+    private boolean gapExpired(long missingId) {
+        long now = System.nanoTime();
+        if (gapId != missingId) {
+            gapId = missingId;
+            gapSince = now;
+            return false;
+        }
+        if (now - gapSince < gapTimeout.toNanos()) {
+            return false;
+        }
+        logger.debug("Change event {} not committed after {}, skipped", missingId, gapTimeout);
+        return true;
+    }
+
+    private void trimRecent() {
+        int excess = recent.size() - RECENT_EVENTS;
+        if (excess <= 0) {
+            return;
+        }
+        Iterator<Long> ids = recent.keySet().iterator();
+        long floor = memoryFloor;
+        for (int i = 0; i < excess && ids.hasNext(); i++) {
+            floor = ids.next();
+        }
+        // raised before the events are removed, so that a sender reading them concurrently falls back to the table
+        memoryFloor = floor;
+        recent.headMap(floor, true).clear();
+    }
+
+    private void heartbeat() {
+        for (Subscription subscription : subscriptions) {
+            subscription.heartbeatDue = true;
+            schedule(subscription);
+        }
+    }
+
+    /**
+     * Deletes the dispatched events older than the retention period.
+     *
+     * @return the number of deleted events
+     */
+    int prune() {
+        try {
+            Timestamp cutoff = Timestamp.from(Instant.now().minus(retention));
+            Long pruned = jdbcTemplate.queryForObject("select max(id) from change_event where occurred_at < ? and id <= ?",
+                    Long.class, cutoff, cursor);
+            if (pruned == null) {
+                return 0;
+            }
+            // raised before the rows are deleted, so that a subscriber catching up over them is reset instead
+            prunedUpTo = Math.max(prunedUpTo, pruned);
+            int deleted = jdbcTemplate.update("delete from change_event where id <= ?", pruned);
+            logger.info("Pruned {} change events", deleted);
+            return deleted;
+        } catch (RuntimeException e) {
+            logger.warn("Change event pruning failed: {}", e.getMessage());
+            return 0;
+        }
+    }
+
+    private void schedule(Subscription subscription) {
+        if (!subscription.cancelled && subscription.scheduled.compareAndSet(false, true)) {
+            try {
+                senders.execute(MdcTaskDecorator.withContext(subscription.logContext, () -> send(subscription)));
+            } catch (RejectedExecutionException e) {
+                subscription.scheduled.set(false);
+            }
+        }
+    }
+
+    private void send(Subscription subscription) {
+        try {
+            long upTo = cursor;
+            while (!subscription.cancelled && subscription.position < upTo) {
+                if (subscription.resetPending || subscription.position < prunedUpTo) {
+                    subscription.resetPending = false;
+                    subscription.subscriber.reset(upTo);
+                    subscription.position = upTo;
+                    break;
+                }
+                List<ChangeEventDto> events = eventsBetween(subscription.position, upTo);
+                if (subscription.position < prunedUpTo) {
+                    continue;
+                }
+                if (!events.isEmpty()) {
+                    subscription.subscriber.send(events);
+                }
+                subscription.position = events.size() < BATCH_SIZE ? upTo : events.get(events.size() - 1).getId();
+            }
+            if (subscription.resetPending) {
+                subscription.resetPending = false;
+                subscription.subscriber.reset(upTo);
+                subscription.position = upTo;
+            }
+            if (subscription.heartbeatDue) {
+                subscription.heartbeatDue = false;
+                subscription.subscriber.heartbeat();
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.debug("Change feed subscriber dropped: {}", e.getMessage());
+            subscription.cancel();
+        } finally {
+            subscription.scheduled.set(false);
+        }
+        // events dispatched or a heartbeat requested while sending
+        if (subscription.position < cursor || subscription.heartbeatDue) {
+            schedule(subscription);
+        }
+    }
+
+    /**
+     * Reads up to {@value #BATCH_SIZE} dispatched events in the given ID range, from memory when they are all there.
+     */
+    private List<ChangeEventDto> eventsBetween(long afterId, long upTo) {
+        if (afterId >= memoryFloor) {
+            List<ChangeEventDto> events = new ArrayList<>();
+            for (ChangeEventDto event : recent.subMap(afterId, false, upTo, true).values()) {
+                events.add(event);
+                if (events.size() == BATCH_SIZE) {
+                    break;
+                }
+            }
+            if (afterId >= memoryFloor) {
+                return events;
+            }
+        }
+        return jdbcTemplate.query(SELECT + "where id > ? and id <= ? order by id limit ?", ChangeFeed::toChangeEvent, afterId, upTo, BATCH_SIZE);
+    }
+
+    private long lastEventId() {
+        Long last = jdbcTemplate.queryForObject("select max(id) from change_event", Long.class);
+        return last == null ? 0 : last;
+    }
+
+    private static ChangeEventDto toChangeEvent(ResultSet resultSet, int row) throws SQLException {
+        return new ChangeEventDto(resultSet.getLong("id"), resultSet.getString("entity"), resultSet.getLong("entity_id"),
+                resultSet.getString("change_type"), resultSet.getTimestamp("occurred_at").toInstant());
+    }
+
+    @Override
+    public void destroy() {
+        dispatcher.shutdownNow();
+        senders.shutdownNow();
+        subscriptions.clear();
+    }
+}
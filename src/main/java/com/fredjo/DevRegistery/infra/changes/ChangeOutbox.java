@@ -0,0 +1,133 @@
+package com.fredjo.DevRegistery.infra.changes;
+
+import com.fredjo.DevRegistery.application.event.DeveloperDeletedEvent;
+import com.fredjo.DevRegistery.application.event.DeveloperLanguagesChangedEvent;
+import com.fredjo.DevRegistery.application.event.DeveloperSavedEvent;
+import com.fredjo.DevRegistery.application.event.ProgrammingLanguageDeletedEvent;
+import com.fredjo.DevRegistery.application.event.ProgrammingLanguageSavedEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Transactional outbox of the change feed: records every mutation of the registry as a {@code change_event} row,
+ * in the transaction that makes it, so that a change is in the feed if and only if it is committed.
+ * <p>
+ * Rows are collected from the events the services publish and inserted with one JDBC batch right before the
+ * transaction commits. Their IDs are thus allocated as late as possible, which keeps short the time
+ * {@link ChangeFeed} holds later events back waiting for them. Once the transaction commits, the feed is
+ * woken up rather than left to find the rows at its next poll.
+ */
+@Component
+@Profile("!reactive")
+public class ChangeOutbox {
+
+    static final String DEVELOPER = "developer";
+    static final String PROGRAMMING_LANGUAGE = "programming_language";
+    static final String SAVED = "saved";
+    static final String DELETED = "deleted";
+    static final String LANGUAGES_CHANGED = "languages_changed";
+
+    private static final String INSERT = "insert into change_event (entity, entity_id, change_type, occurred_at) values (?, ?, ?, ?)";
+
+    private record Change(String entity, long entityId, String change, Instant occurredAt) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ChangeFeed changeFeed;
+
+    public ChangeOutbox(JdbcTemplate jdbcTemplate, ChangeFeed changeFeed) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.changeFeed = changeFeed;
+    }
+
+    @EventListener
+    public void onDeveloperSaved(DeveloperSavedEvent event) {
+        record(DEVELOPER, event.id(), SAVED);
+    }
+
+    @EventListener
+    public void onDeveloperDeleted(DeveloperDeletedEvent event) {
+        record(DEVELOPER, event.id(), DELETED);
+    }
+
+    @EventListener
+    public void onDeveloperLanguagesChanged(DeveloperLanguagesChangedEvent event) {
+        record(DEVELOPER, event.id(), LANGUAGES_CHANGED);
+    }
+
+    @EventListener
+    public void onProgrammingLanguageSaved(ProgrammingLanguageSavedEvent event) {
+        record(PROGRAMMING_LANGUAGE, event.id(), SAVED);
+    }
+
+    @EventListener
+    public void onProgrammingLanguageDeleted(ProgrammingLanguageDeletedEvent event) {
+        record(PROGRAMMING_LANGUAGE, event.id(), DELETED);
+    }
+
+    private void record(String entity, long entityId, String change) {
+        Change row = new Change(entity, entityId, change, Instant.now());
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            insert(List.of(row));
+            changeFeed.wakeUp();
+            return;
+        }
+        PendingChanges pending = (PendingChanges) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingChanges();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.changes.add(row);
+    }
+
+    private void insert(List<Change> changes) {
+        jdbcTemplate.batchUpdate(INSERT, changes, changes.size(), (statement, change) -> {
+            statement.setString(1, change.entity());
+            statement.setLong(2, change.entityId());
+            statement.setString(3, change.change());
+            statement.setTimestamp(4, Timestamp.from(change.occurredAt()));
+        });
+    }
+
+    /**
+     * The changes of one transaction; unbound while the transaction is suspended, so that an inner
+     * transaction records its own.
+     */
+    private final class PendingChanges implements TransactionSynchronization {
+
+        private final List<Change> changes = new ArrayList<>();
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(ChangeOutbox.this);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(ChangeOutbox.this, this);
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            insert(changes);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(ChangeOutbox.this);
+            if (status == STATUS_COMMITTED) {
+                changeFeed.wakeUp();
+            }
+        }
+    }
+}
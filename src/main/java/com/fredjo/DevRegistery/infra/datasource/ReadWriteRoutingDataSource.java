@@ -0,0 +1,123 @@
+package com.fredjo.DevRegistery.infra.datasource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sends the connections of read-only transactions to the read replicas, in turn, and everything else to the primary.
+ * <p>
+ * Replicas that are down or further behind than the maximum lag are skipped; when none is left, or when a
+ * replica refuses a connection, reads fall back to the primary. The replica is chosen once per transaction,
+ * and can be asked for up front with {@link #currentReplica()}. Must be wrapped in a
+ * {@link LazyConnectionDataSourceProxy}, so that the connection is obtained once the transaction is marked
+ * read-only rather than when it begins.
+ */
+public class ReadWriteRoutingDataSource extends AbstractDataSource {
+
+    private final DataSource primary;
+    private final List<ReplicaPool> replicas;
+    private final long maxLagMillis;
+    private final AtomicInteger next = new AtomicInteger();
+    private final LongAdder fallbacks = new LongAdder();
+
+    public ReadWriteRoutingDataSource(DataSource primary, List<ReplicaPool> replicas, long maxLagMillis) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.maxLagMillis = maxLagMillis;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return getConnection(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return getConnection(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    /**
+     * Chooses the replica serving the current read-only transaction, on the first call within it; later calls,
+     * and the transaction's connection, get the same one.
+     *
+     * @return the replica, or null if the primary serves the transaction or it is not read-only
+     */
+    public ReplicaPool currentReplica() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return null;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return selectReplica();
+        }
+        Selection selection = (Selection) TransactionSynchronizationManager.getResource(this);
+        if (selection == null) {
+            selection = new Selection(selectReplica());
+            TransactionSynchronizationManager.bindResource(this, selection);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ReadWriteRoutingDataSource.this);
+                }
+            });
+        }
+        return selection.replica();
+    }
+
+    public List<ReplicaPool> getReplicas() {
+        return replicas;
+    }
+
+    public long getMaxLagMillis() {
+        return maxLagMillis;
+    }
+
+    /**
+     * @return the number of read-only connections served by the primary because no replica was usable
+     */
+    public long getFallbackCount() {
+        return fallbacks.sum();
+    }
+
+    private Connection getConnection(ConnectionFactory factory) throws SQLException {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            ReplicaPool replica = currentReplica();
+            if (replica != null) {
+                try {
+                    return factory.connect(replica.getDataSource());
+                } catch (SQLException e) {
+                    replica.markDown(e);
+                }
+            }
+            fallbacks.increment();
+        }
+        return factory.connect(primary);
+    }
+
+    private ReplicaPool selectReplica() {
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            ReplicaPool replica = replicas.get((start + i) % replicas.size());
+            if (replica.isUsable(maxLagMillis)) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    @FunctionalInterface
+    private interface ConnectionFactory {
+        Connection connect(DataSource dataSource) throws SQLException;
+    }
+
+    private record Selection(ReplicaPool replica) {
+    }
+}
@@ -0,0 +1,47 @@
+package com.fredjo.DevRegistery.infra.datasource;
+
+import org.hibernate.cache.internal.TimestampsCacheEnabledImpl;
+import org.hibernate.cache.spi.CacheImplementor;
+import org.hibernate.cache.spi.TimestampsCache;
+import org.hibernate.cache.spi.TimestampsCacheFactory;
+import org.hibernate.cache.spi.TimestampsRegion;
+import org.hibernate.cache.spi.support.SimpleTimestamper;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+import java.time.Duration;
+
+/**
+ * Builds an update timestamps cache that dates the invalidation of a table as far in the future as replicas in
+ * rotation may lag behind, so that query results cached until then count as stale.
+ * <p>
+ * A query result is cached with the time its transaction started, and is up to date while no table it reads was
+ * invalidated since. A transaction starting right after a commit may still read a replica that has not caught
+ * up with it, and its result would otherwise be cached as fresh until the next write. Holding the invalidation
+ * open for the lag keeps the query cache from serving such results, at the price of not caching queries on a
+ * table for that long after each write to it. Assumes the region factory counts time with {@link SimpleTimestamper},
+ * as Hibernate's own region factories do.
+ */
+public class ReplicaLagTimestampsCacheFactory implements TimestampsCacheFactory {
+
+    private final long holdTicks;
+
+    /**
+     * @param hold how long after a commit replicas in rotation may still not reflect it
+     */
+    public ReplicaLagTimestampsCacheFactory(Duration hold) {
+        this.holdTicks = hold.toMillis() * SimpleTimestamper.ONE_MS;
+    }
+
+    @Override
+    public TimestampsCache buildTimestampsCache(CacheImplementor cacheManager, TimestampsRegion timestampsRegion) {
+        return new TimestampsCacheEnabledImpl(timestampsRegion) {
+            @Override
+            public void invalidate(String[] spaces, SharedSessionContractImplementor session) {
+                Long timestamp = cacheManager.getRegionFactory().nextTimestamp() + holdTicks;
+                for (String space : spaces) {
+                    timestampsRegion.putIntoCache(space, timestamp, session);
+                }
+            }
+        };
+    }
+}
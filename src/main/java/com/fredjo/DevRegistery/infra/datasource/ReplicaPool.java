@@ -0,0 +1,96 @@
+package com.fredjo.DevRegistery.infra.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * A connection pool to one read replica, with the health and lag last observed by {@link ReplicationMonitor}.
+ * A replica that has not been probed yet is treated as down.
+ */
+public class ReplicaPool implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaPool.class);
+    private static final String HEARTBEAT_QUERY = "select beat_millis from replication_heartbeat where id = 1";
+    private static final int PROBE_TIMEOUT_SECONDS = 2;
+
+    private final String name;
+    private final DataSource dataSource;
+    private volatile boolean up;
+    private volatile long lagMillis = Long.MAX_VALUE;
+
+    public ReplicaPool(String name, DataSource dataSource) {
+        this.name = name;
+        this.dataSource = dataSource;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+
+    public boolean isUp() {
+        return up;
+    }
+
+    /**
+     * @return how far the replica's heartbeat is behind the primary's, or {@link Long#MAX_VALUE} if unknown
+     */
+    public long getLagMillis() {
+        return lagMillis;
+    }
+
+    /**
+     * @param maxLagMillis the staleness reads accept
+     * @return true if reads can be sent to this replica
+     */
+    public boolean isUsable(long maxLagMillis) {
+        return up && lagMillis <= maxLagMillis;
+    }
+
+    /**
+     * Reads the replicated heartbeat and updates the health and lag of the replica.
+     *
+     * @param primaryBeatMillis the last heartbeat written on the primary
+     */
+    void probe(long primaryBeatMillis) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(HEARTBEAT_QUERY)) {
+            statement.setQueryTimeout(PROBE_TIMEOUT_SECONDS);
+            try (ResultSet row = statement.executeQuery()) {
+                lagMillis = row.next() ? Math.max(0, primaryBeatMillis - row.getLong(1)) : Long.MAX_VALUE;
+            }
+            if (!up) {
+                logger.info("Replica {} is up, {}ms behind", name, lagMillis);
+            }
+            up = true;
+        } catch (SQLException e) {
+            markDown(e);
+        }
+    }
+
+    /**
+     * Takes the replica out of rotation until its next successful probe.
+     */
+    void markDown(SQLException cause) {
+        if (up) {
+            logger.warn("Replica {} is down, reads fall back to the primary: {}", name, cause.getMessage());
+        }
+        up = false;
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (dataSource instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.fredjo.DevRegistery.infra.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks the health and lag of the read replicas.
+ * <p>
+ * On every check the primary writes the current time to {@code replication_heartbeat}, then each replica is
+ * probed: a replica is up if the heartbeat can be read, and its lag is how far its copy is behind the beat just
+ * written, so lag is measured with the resolution of the check interval. The first check runs at startup,
+ * once the schema is migrated.
+ */
+public class ReplicationMonitor implements SmartInitializingSingleton, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicationMonitor.class);
+    private static final String HEARTBEAT_UPDATE = "update replication_heartbeat set beat_millis = ? where id = 1";
+
+    private final DataSource primary;
+    private final List<ReplicaPool> replicas;
+    private final Duration interval;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "replication-monitor");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private long lastBeatMillis;
+
+    public ReplicationMonitor(DataSource primary, List<ReplicaPool> replicas, Duration interval) {
+        this.primary = primary;
+        this.replicas = replicas;
+        this.interval = interval;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        check();
+        scheduler.scheduleWithFixedDelay(this::check, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Writes a heartbeat on the primary and probes every replica.
+     */
+    public synchronized void check() {
+        long now = System.currentTimeMillis();
+        try (Connection connection = primary.getConnection();
+             PreparedStatement statement = connection.prepareStatement(HEARTBEAT_UPDATE)) {
+            statement.setLong(1, now);
+            statement.executeUpdate();
+            lastBeatMillis = now;
+        } catch (SQLException e) {
+            logger.warn("Could not write replication heartbeat: {}", e.getMessage());
+        }
+        for (ReplicaPool replica : replicas) {
+            replica.probe(lastBeatMillis);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+}
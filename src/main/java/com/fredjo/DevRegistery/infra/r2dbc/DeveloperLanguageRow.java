@@ -0,0 +1,13 @@
+package com.fredjo.DevRegistery.infra.r2dbc;
+
+/**
+ * A programming language of a developer, read through the join table when loading the languages
+ * of a batch of developers.
+ *
+ * @param developerId  the ID of the developer
+ * @param id           the ID of the programming language
+ * @param name         the name of the programming language
+ * @param creatorsName the name of its creator
+ */
+public record DeveloperLanguageRow(long developerId, long id, String name, String creatorsName) {
+}
@@ -0,0 +1,17 @@
+package com.fredjo.DevRegistery.infra.r2dbc;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * A row of the {@code developer} table, as read and written by the reactive stack.
+ * The version is incremented by the update statements, as Hibernate does for the entity.
+ *
+ * @param id        the ID, allocated from {@code developer_seq}
+ * @param firstName the first name
+ * @param lastName  the last name
+ * @param version   the optimistic locking version
+ */
+@Table("developer")
+public record DeveloperRow(@Id Long id, String firstName, String lastName, long version) {
+}
@@ -0,0 +1,51 @@
+package com.fredjo.DevRegistery.infra.r2dbc;
+
+import reactor.core.publisher.Mono;
+
+import java.util.function.Supplier;
+
+/**
+ * Allocates IDs from a database sequence the way Hibernate's pooled optimizer does, so that rows inserted
+ * by the reactive stack and by JPA never collide: each sequence value {@code v} reserves the block
+ * {@code (v - incrementSize, v]}, and IDs are handed out from the current block without a round trip.
+ */
+public final class PooledSequence {
+
+    private final int incrementSize;
+    private final Supplier<Mono<Long>> nextValue;
+    private long next = 1;
+    private long hi = 0;
+
+    /**
+     * @param incrementSize the increment of the sequence, which is the allocation size of the entity
+     * @param nextValue     reads the next value of the sequence
+     */
+    public PooledSequence(int incrementSize, Supplier<Mono<Long>> nextValue) {
+        this.incrementSize = incrementSize;
+        this.nextValue = nextValue;
+    }
+
+    /**
+     * @return the next ID, read from the current block or from a newly reserved one
+     */
+    public Mono<Long> nextId() {
+        synchronized (this) {
+            if (next <= hi) {
+                return Mono.just(next++);
+            }
+        }
+        return nextValue.get().map(this::allocate);
+    }
+
+    private synchronized long allocate(long value) {
+        // the first value of the sequence is 1, whose block would otherwise start below it
+        long low = Math.max(1, value - incrementSize + 1);
+        if (next > hi) {
+            hi = value;
+            next = low + 1;
+            return low;
+        }
+        // another caller refilled the block meanwhile: this block is only used for one ID
+        return low;
+    }
+}
@@ -0,0 +1,17 @@
+package com.fredjo.DevRegistery.infra.r2dbc;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * A row of the {@code programming_language} table, as read and written by the reactive stack.
+ * The version is incremented by the update statements, as Hibernate does for the entity.
+ *
+ * @param id           the ID, allocated from {@code programming_language_seq}
+ * @param name         the name
+ * @param creatorsName the name of the creator
+ * @param version      the optimistic locking version
+ */
+@Table("programming_language")
+public record ProgrammingLanguageRow(@Id Long id, String name, String creatorsName, long version) {
+}
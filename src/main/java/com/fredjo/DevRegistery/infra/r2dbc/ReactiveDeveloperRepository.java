@@ -0,0 +1,78 @@
+package com.fredjo.DevRegistery.infra.r2dbc;
+
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+/**
+ * R2DBC counterpart of {@link com.fredjo.DevRegistery.infra.repository.DeveloperRepository} for the reactive stack.
+ * Rows are plain table rows: languages are read separately, in batches, through
+ * {@link ReactiveProgrammingLanguageRepository#findByDeveloperIdIn(Collection)}.
+ */
+public interface ReactiveDeveloperRepository extends R2dbcRepository<DeveloperRow, Long> {
+
+    @Query("select next value for developer_seq")
+    Mono<Long> nextSequenceValue();
+
+    /**
+     * Keyset page: developers with an ID strictly greater than {@code afterId}, in ID order.
+     */
+    @Query("select * from developer where id > :afterId order by id limit :limit")
+    Flux<DeveloperRow> findAfter(@Param("afterId") long afterId, @Param("limit") int limit);
+
+    /**
+     * Developers of a programming language, in ID order.
+     */
+    @Query("select d.* from developer d join developer_programming_language dpl on dpl.developer_id = d.id "
+            + "where dpl.programming_language_id = :languageId order by d.id")
+    Flux<DeveloperRow> findByLanguageId(@Param("languageId") long languageId);
+
+    @Query("select programming_language_id from developer_programming_language where developer_id = :id")
+    Flux<Long> findLanguageIds(@Param("id") long id);
+
+    /**
+     * Updates the names of a developer and increments its version, only if it is at {@code expectedVersion}
+     * when one is given.
+     *
+     * @return the number of developers updated
+     */
+    @Modifying
+    @Query("update developer set first_name = :firstName, last_name = :lastName, version = version + 1 "
+            + "where id = :id and (cast(:expectedVersion as bigint) is null or version = :expectedVersion)")
+    Mono<Integer> updateNames(@Param("id") long id, @Param("firstName") String firstName, @Param("lastName") String lastName,
+                              @Param("expectedVersion") Long expectedVersion);
+
+    @Modifying
+    @Query("update developer set version = version + 1 where id = :id")
+    Mono<Integer> incrementVersion(@Param("id") long id);
+
+    /**
+     * Increments the version of the developers of a programming language, whose language lists change with it.
+     */
+    @Modifying
+    @Query("update developer set version = version + 1 where id in "
+            + "(select developer_id from developer_programming_language where programming_language_id = :languageId)")
+    Mono<Integer> incrementVersionByLanguageId(@Param("languageId") long languageId);
+
+    /**
+     * Links programming languages to a developer in a single statement, skipping the ones already linked.
+     * Nothing is linked if the developer or a language does not exist.
+     *
+     * @return the number of languages linked
+     */
+    @Modifying
+    @Query("insert into developer_programming_language (developer_id, programming_language_id) "
+            + "select d.id, l.id from developer d join programming_language l on l.id in (:languageIds) "
+            + "where d.id = :id and not exists (select 1 from developer_programming_language x "
+            + "where x.developer_id = d.id and x.programming_language_id = l.id)")
+    Mono<Integer> insertLanguages(@Param("id") long id, @Param("languageIds") Collection<Long> languageIds);
+
+    @Modifying
+    @Query("delete from developer_programming_language where developer_id = :id")
+    Mono<Integer> deleteLanguageLinks(@Param("id") long id);
+}
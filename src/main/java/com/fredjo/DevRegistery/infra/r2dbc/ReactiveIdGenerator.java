@@ -0,0 +1,35 @@
+package com.fredjo.DevRegistery.infra.r2dbc;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * IDs of the rows inserted by the reactive stack, drawn from the same sequences as the JPA entities.
+ */
+@Component
+@Profile("reactive")
+public class ReactiveIdGenerator {
+
+    /**
+     * The allocation size of the entities' {@code @SequenceGenerator}, which is the increment of the sequences.
+     */
+    static final int ALLOCATION_SIZE = 50;
+
+    private final PooledSequence developerIds;
+    private final PooledSequence programmingLanguageIds;
+
+    public ReactiveIdGenerator(ReactiveDeveloperRepository developerRepository,
+                               ReactiveProgrammingLanguageRepository programmingLanguageRepository) {
+        this.developerIds = new PooledSequence(ALLOCATION_SIZE, developerRepository::nextSequenceValue);
+        this.programmingLanguageIds = new PooledSequence(ALLOCATION_SIZE, programmingLanguageRepository::nextSequenceValue);
+    }
+
+    public Mono<Long> nextDeveloperId() {
+        return developerIds.nextId();
+    }
+
+    public Mono<Long> nextProgrammingLanguageId() {
+        return programmingLanguageIds.nextId();
+    }
+}
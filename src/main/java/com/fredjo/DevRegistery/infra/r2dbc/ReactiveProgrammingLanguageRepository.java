@@ -0,0 +1,54 @@
+package com.fredjo.DevRegistery.infra.r2dbc;
+
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+/**
+ * R2DBC counterpart of {@link com.fredjo.DevRegistery.infra.repository.ProgrammingLanguageRepository} for the reactive stack.
+ */
+public interface ReactiveProgrammingLanguageRepository extends R2dbcRepository<ProgrammingLanguageRow, Long> {
+
+    @Query("select next value for programming_language_seq")
+    Mono<Long> nextSequenceValue();
+
+    /**
+     * Keyset page: programming languages with an ID strictly greater than {@code afterId}, in ID order.
+     */
+    @Query("select * from programming_language where id > :afterId order by id limit :limit")
+    Flux<ProgrammingLanguageRow> findAfter(@Param("afterId") long afterId, @Param("limit") int limit);
+
+    Flux<ProgrammingLanguageRow> findByIdIn(Collection<Long> ids);
+
+    Flux<ProgrammingLanguageRow> findByNameIn(Collection<String> names);
+
+    /**
+     * Languages of a batch of developers in one query, the reactive equivalent of the
+     * {@code @BatchSize} loading of {@code Developer.languages}.
+     */
+    @Query("select dpl.developer_id, l.id, l.name, l.creators_name from developer_programming_language dpl "
+            + "join programming_language l on l.id = dpl.programming_language_id "
+            + "where dpl.developer_id in (:developerIds) order by dpl.developer_id, l.id")
+    Flux<DeveloperLanguageRow> findByDeveloperIdIn(@Param("developerIds") Collection<Long> developerIds);
+
+    /**
+     * Updates a programming language and increments its version, only if it is at {@code expectedVersion}
+     * when one is given.
+     *
+     * @return the number of programming languages updated
+     */
+    @Modifying
+    @Query("update programming_language set name = :name, creators_name = :creatorsName, version = version + 1 "
+            + "where id = :id and (cast(:expectedVersion as bigint) is null or version = :expectedVersion)")
+    Mono<Integer> update(@Param("id") long id, @Param("name") String name, @Param("creatorsName") String creatorsName,
+                         @Param("expectedVersion") Long expectedVersion);
+
+    @Modifying
+    @Query("delete from developer_programming_language where programming_language_id = :id")
+    Mono<Integer> deleteDeveloperLinks(@Param("id") long id);
+}
@@ -0,0 +1,9 @@
+package com.fredjo.DevRegistery.infra.repository;
+
+/**
+ * Projection of a developer's ID and first name.
+ */
+public interface DeveloperFirstNameView extends DeveloperIdView {
+
+    String getFirstName();
+}
@@ -0,0 +1,9 @@
+package com.fredjo.DevRegistery.infra.repository;
+
+/**
+ * Projection of a developer's ID, the base of the developer projections.
+ */
+public interface DeveloperIdView {
+
+    long getId();
+}
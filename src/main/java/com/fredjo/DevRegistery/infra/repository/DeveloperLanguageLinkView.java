@@ -0,0 +1,11 @@
+package com.fredjo.DevRegistery.infra.repository;
+
+/**
+ * Projection of a row of the developer–language join table.
+ */
+public interface DeveloperLanguageLinkView {
+
+    long getDeveloperId();
+
+    long getLanguageId();
+}
@@ -0,0 +1,17 @@
+package com.fredjo.DevRegistery.infra.repository;
+
+/**
+ * Projection of the versions a developer's language list depends on.
+ */
+public interface DeveloperLanguagesVersionView {
+
+    /**
+     * The developer's version, which changes when languages are added or removed.
+     */
+    long getVersion();
+
+    /**
+     * The sum of the languages' versions, which changes when one of them is updated.
+     */
+    long getLanguagesVersion();
+}
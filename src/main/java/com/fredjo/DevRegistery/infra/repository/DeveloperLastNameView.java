@@ -0,0 +1,9 @@
+package com.fredjo.DevRegistery.infra.repository;
+
+/**
+ * Projection of a developer's ID and last name.
+ */
+public interface DeveloperLastNameView extends DeveloperIdView {
+
+    String getLastName();
+}
@@ -0,0 +1,7 @@
+package com.fredjo.DevRegistery.infra.repository;
+
+/**
+ * Projection of a developer's ID and names, read without loading the entity.
+ */
+public interface DeveloperNameView extends DeveloperFirstNameView, DeveloperLastNameView {
+}
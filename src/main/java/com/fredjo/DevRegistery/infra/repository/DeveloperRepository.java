@@ -1,13 +1,28 @@
 package com.fredjo.DevRegistery.infra.repository;
 
 import com.fredjo.DevRegistery.domain.entity.Developer;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_NATIVE_SPACES;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface DeveloperRepository extends CrudRepository<Developer, Long>, PagingAndSortingRepository<Developer, Long> {
@@ -16,4 +31,118 @@ public interface DeveloperRepository extends CrudRepository<Developer, Long>, Pa
 
     Page<Developer> findAll(Pageable pageable);
 
-}
\ No newline at end of file
+    /**
+     * Fetches a developer together with its languages in a single query.
+     */
+    @EntityGraph(attributePaths = "languages")
+    Optional<Developer> findWithLanguagesById(long id);
+
+    /**
+     * Fetches developers by their IDs together with their languages in a single query.
+     */
+    @EntityGraph(attributePaths = "languages")
+    List<Developer> findWithLanguagesByIdIn(Collection<Long> ids);
+
+    /**
+     * Reads the version of a developer without loading it.
+     */
+    @Query("select d.version from Developer d where d.id = :id")
+    Optional<Long> findVersionById(@Param("id") long id);
+
+    /**
+     * Reads the versions the languages of a developer depend on, without loading them.
+     */
+    @Query("select d.version as version, coalesce(sum(l.version), 0) as languagesVersion "
+            + "from Developer d left join d.languages l where d.id = :id group by d.id, d.version")
+    Optional<DeveloperLanguagesVersionView> findLanguagesVersionById(@Param("id") long id);
+
+    /**
+     * Reads which of the given programming languages are already linked to a developer, through the join table's primary key.
+     */
+    @Query(value = "select programming_language_id from developer_programming_language "
+            + "where developer_id = :id and programming_language_id in (:languageIds)", nativeQuery = true)
+    Set<Long> findLinkedLanguageIds(@Param("id") long id, @Param("languageIds") Collection<Long> languageIds);
+
+    /**
+     * Links programming languages to a developer in a single statement, skipping the ones already linked,
+     * so the cost does not depend on how many languages the developer has. Nothing is linked if the
+     * developer or a language does not exist.
+     * <p>
+     * The entity is bypassed: callers increment the developer's version and evict its cached language set.
+     * Declaring the join table as the only query space keeps Hibernate from invalidating the cached language
+     * sets of every developer.
+     *
+     * @return the number of languages linked
+     */
+    @Modifying
+    @Query(value = "insert into developer_programming_language (developer_id, programming_language_id) "
+            + "select d.id, l.id from developer d join programming_language l on l.id in (:languageIds) "
+            + "where d.id = :id and not exists (select 1 from developer_programming_language x "
+            + "where x.developer_id = d.id and x.programming_language_id = l.id)", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "developer_programming_language"))
+    int insertLanguages(@Param("id") long id, @Param("languageIds") Collection<Long> languageIds);
+
+    /**
+     * Reads the IDs of the developers of a programming language, through the join table.
+     */
+    @Query(value = "select developer_id from developer_programming_language where programming_language_id = :languageId",
+            nativeQuery = true)
+    List<Long> findIdsByLanguageId(@Param("languageId") long languageId);
+
+    /**
+     * Increments the version of the developers of a programming language, whose language lists change with it,
+     * in a single statement. Only the developer table is declared as query space, as for {@link #insertLanguages}.
+     *
+     * @return the number of developers updated
+     */
+    @Modifying
+    @Query(value = "update developer set version = version + 1 where id in "
+            + "(select developer_id from developer_programming_language where programming_language_id = :languageId)",
+            nativeQuery = true)
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "developer"))
+    int incrementVersionByLanguageId(@Param("languageId") long languageId);
+
+    /**
+     * Keyset page: developers with an ID strictly greater than {@code id}, in ID order.
+     * Languages are not joined, since a collection fetch cannot be combined with a row limit in SQL;
+     * they are loaded afterwards in batches (see {@link Developer#getLanguages()}).
+     */
+    List<Developer> findByIdGreaterThanOrderByIdAsc(long id, Limit limit);
+
+    /**
+     * Keyset page read as a closed interface projection, such as {@link DeveloperLastNameView}:
+     * only the columns of the projection are selected and no entity is loaded.
+     */
+    <T extends DeveloperIdView> List<T> findByIdGreaterThanOrderByIdAsc(long id, Limit limit, Class<T> type);
+
+    /**
+     * Streams all developers in ID order with a JDBC fetch size, for exports.
+     * Must be consumed inside a transaction and closed.
+     */
+    @Query("select d from Developer d order by d.id")
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    Stream<Developer> streamAllByOrderByIdAsc();
+
+    /**
+     * Streams the ID and names of all developers, for building in-memory indexes.
+     * Must be consumed inside a transaction and closed.
+     */
+    @Query("select d.id as id, d.firstName as firstName, d.lastName as lastName from Developer d")
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    Stream<DeveloperNameView> streamNames();
+
+    /**
+     * Streams the developer–language links in developer ID order, for building in-memory indexes.
+     * Must be consumed inside a transaction and closed.
+     */
+    @Query("select d.id as developerId, l.id as languageId from Developer d join d.languages l order by d.id")
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    Stream<DeveloperLanguageLinkView> streamLanguageLinks();
+
+    /**
+     * Reads the ID and names of the given developers without loading them.
+     */
+    @Query("select d.id as id, d.firstName as firstName, d.lastName as lastName from Developer d where d.id in :ids")
+    List<DeveloperNameView> findNamesByIdIn(@Param("ids") Collection<Long> ids);
+
+}
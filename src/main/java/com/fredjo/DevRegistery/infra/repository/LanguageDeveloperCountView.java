@@ -0,0 +1,11 @@
+package com.fredjo.DevRegistery.infra.repository;
+
+/**
+ * Projection of the number of developers of a programming language.
+ */
+public interface LanguageDeveloperCountView {
+
+    long getLanguageId();
+
+    long getDevelopers();
+}
@@ -1,15 +1,87 @@
 package com.fredjo.DevRegistery.infra.repository;
 
+import com.fredjo.DevRegistery.domain.entity.Developer;
 import com.fredjo.DevRegistery.domain.entity.ProgrammingLanguage;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_NATIVE_SPACES;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
 @Repository
 public interface ProgrammingLanguageRepository extends CrudRepository<ProgrammingLanguage, Long>, PagingAndSortingRepository<ProgrammingLanguage, Long> {
 
     Page<ProgrammingLanguage> findAll(Pageable pageable);
 
-}
\ No newline at end of file
+    List<ProgrammingLanguage> findByNameIn(Collection<String> names);
+
+    /**
+     * Keyset page: programming languages with an ID strictly greater than {@code id}, in ID order.
+     * Results go through the query cache and are invalidated on any write to the table.
+     */
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    List<ProgrammingLanguage> findByIdGreaterThanOrderByIdAsc(long id, Limit limit);
+
+    /**
+     * Fetches programming languages by their IDs through the query cache.
+     */
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    List<ProgrammingLanguage> findByIdIn(Collection<Long> ids);
+
+    /**
+     * Fetches programming languages by their exact names through the query cache.
+     */
+    @Query("select l from ProgrammingLanguage l where l.name in :names")
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    List<ProgrammingLanguage> findCachedByNameIn(@Param("names") Collection<String> names);
+
+    /**
+     * Fetches the developers of a programming language, with their languages, in a single query.
+     */
+    @Query("select distinct d from ProgrammingLanguage l join l.developers d left join fetch d.languages where l.id = :id order by d.id")
+    List<Developer> findDevelopersWithLanguagesById(@Param("id") long id);
+
+    /**
+     * Counts the developers of every programming language that has any, from the join table alone
+     * (an index-only scan of its language index).
+     */
+    @Query(value = "select programming_language_id as languageId, count(*) as developers "
+            + "from developer_programming_language group by programming_language_id", nativeQuery = true)
+    List<LanguageDeveloperCountView> countDevelopersByLanguage();
+
+    /**
+     * Unlinks a programming language from all its developers in a single statement, bypassing the entities:
+     * callers increment the developers' versions and evict their cached language sets. Declaring the join table
+     * as the only query space keeps Hibernate from invalidating the cached language sets of every developer.
+     *
+     * @return the number of links deleted
+     */
+    @Modifying
+    @Query(value = "delete from developer_programming_language where programming_language_id = :id", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "developer_programming_language"))
+    int deleteDeveloperLinks(@Param("id") long id);
+
+    /**
+     * Streams all programming languages in ID order with a JDBC fetch size, for exports.
+     * Must be consumed inside a transaction and closed.
+     */
+    @Query("select l from ProgrammingLanguage l order by l.id")
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    Stream<ProgrammingLanguage> streamAllByOrderByIdAsc();
+
+}
@@ -0,0 +1,287 @@
+package com.fredjo.DevRegistery.infra.search;
+
+import com.fredjo.DevRegistery.application.event.DeveloperDeletedEvent;
+import com.fredjo.DevRegistery.application.event.DeveloperSavedEvent;
+import com.fredjo.DevRegistery.infra.repository.DeveloperNameView;
+import com.fredjo.DevRegistery.infra.repository.DeveloperRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * In-memory type-ahead index over developer first and last names.
+ * <p>
+ * Names are split into lowercase, accent-free tokens, and every token is stored as a posting in a
+ * sorted set. A query term matches every token it is a prefix of, which is a contiguous range of that
+ * set; walking the range in order ranks exact matches before longer completions, last names before
+ * first names, and stops as soon as a page is filled, so lookups never scan the whole registry.
+ * Each result carries the posting it was found by, and the next page resumes right after it, so that
+ * deep pages cost the same as the first one.
+ * <p>
+ * The index is built from the database in the background at startup, and reports ready once built; until then
+ * searches only see the developers indexed so far. It is kept up to date from the {@link DeveloperSavedEvent} and
+ * {@link DeveloperDeletedEvent} of committed transactions, including the ones received while it is being built:
+ * the build skips the developers they changed, so that it never puts back names read before the change.
+ */
+@Component
+public class DeveloperSearchIndex implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(DeveloperSearchIndex.class);
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final int MAX_QUERY_TERMS = 5;
+    private static final int LAST_NAME = 0;
+    private static final int FIRST_NAME = 1;
+
+    /**
+     * A token of a developer's names, and where search results resume.
+     */
+    public record Posting(String token, int field, long id) {
+
+        /**
+         * Formats the posting as a cursor key.
+         */
+        public String key() {
+            return field + ":" + id + ":" + token;
+        }
+
+        /**
+         * Parses a cursor key.
+         *
+         * @throws IllegalArgumentException if the key is malformed
+         */
+        public static Posting parse(String key) {
+            String[] parts = key.split(":", 3);
+            if (parts.length != 3 || parts[2].isEmpty()) {
+                throw new IllegalArgumentException("Invalid posting key: " + key);
+            }
+            return new Posting(parts[2], Integer.parseInt(parts[0]), Long.parseLong(parts[1]));
+        }
+    }
+
+    /**
+     * A developer as indexed: its names, and the postings to remove when it changes.
+     */
+    private record Entry(long id, String firstName, String lastName, List<Posting> postings) {
+    }
+
+    /**
+     * A search result, and the posting it was found by.
+     */
+    public record Hit(long id, String firstName, String lastName, Posting posting) {
+    }
+
+    private static final Comparator<Posting> POSTING_ORDER = Comparator.comparing(Posting::token)
+            .thenComparingInt(Posting::field)
+            .thenComparingLong(Posting::id);
+
+    private final ConcurrentSkipListSet<Posting> postings = new ConcurrentSkipListSet<>(POSTING_ORDER);
+    private final ConcurrentHashMap<Long, Entry> entries = new ConcurrentHashMap<>();
+    /**
+     * The developers changed by events since the build started, or null once built.
+     */
+    private volatile Set<Long> changedDuringBuild = ConcurrentHashMap.newKeySet();
+    private final DeveloperRepository developerRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public DeveloperSearchIndex(DeveloperRepository developerRepository, PlatformTransactionManager transactionManager) {
+        this.developerRepository = developerRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        Thread thread = new Thread(this::build, "developer-search-build");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Indexes every developer of the database, except the ones changed by events meanwhile.
+     */
+    void build() {
+        try {
+            long start = System.nanoTime();
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<DeveloperNameView> developers = developerRepository.streamNames()) {
+                    developers.forEach(developer -> load(developer.getId(), developer.getFirstName(), developer.getLastName()));
+                }
+            });
+            changedDuringBuild = null;
+            logger.info("Indexed {} developers for search in {}ms", entries.size(), (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            logger.error("Developer search index build failed", e);
+        }
+    }
+
+    private void load(long id, String firstName, String lastName) {
+        // the check runs in the same atomic compute as the events' updates, which mark the developer first
+        entries.compute(id, (key, previous) -> changedDuringBuild.contains(id) ? previous : entry(id, firstName, lastName, previous));
+    }
+
+    /**
+     * Whether the index has been built from the database.
+     */
+    public boolean isReady() {
+        return changedDuringBuild == null;
+    }
+
+    @TransactionalEventListener
+    public void onDeveloperSaved(DeveloperSavedEvent event) {
+        markChanged(event.id());
+        index(event.id(), event.firstName(), event.lastName());
+    }
+
+    @TransactionalEventListener
+    public void onDeveloperDeleted(DeveloperDeletedEvent event) {
+        markChanged(event.id());
+        remove(event.id());
+    }
+
+    private void markChanged(long id) {
+        Set<Long> changed = changedDuringBuild;
+        if (changed != null) {
+            changed.add(id);
+        }
+    }
+
+    /**
+     * Adds a developer to the index, or replaces its names if already indexed.
+     */
+    public void index(long id, String firstName, String lastName) {
+        entries.compute(id, (key, previous) -> entry(id, firstName, lastName, previous));
+    }
+
+    private Entry entry(long id, String firstName, String lastName, Entry previous) {
+        if (previous != null) {
+            previous.postings().forEach(postings::remove);
+        }
+        List<Posting> added = new ArrayList<>();
+        tokenize(lastName).forEach(token -> added.add(new Posting(token, LAST_NAME, id)));
+        tokenize(firstName).forEach(token -> added.add(new Posting(token, FIRST_NAME, id)));
+        postings.addAll(added);
+        return new Entry(id, firstName, lastName, List.copyOf(added));
+    }
+
+    /**
+     * Removes a developer from the index.
+     */
+    public void remove(long id) {
+        entries.computeIfPresent(id, (key, previous) -> {
+            previous.postings().forEach(postings::remove);
+            return null;
+        });
+    }
+
+    /**
+     * Number of indexed developers.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Finds the developers whose names contain, for every term of the query, a word starting with it.
+     *
+     * @param query the user input, e.g. "ada lov"
+     * @param after the posting of the last result of the previous page, or null for the first page
+     * @param limit the maximum number of results to return
+     * @return the matching developers in rank order
+     */
+    public List<Hit> search(String query, Posting after, int limit) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        if (terms.size() > MAX_QUERY_TERMS) {
+            terms = terms.subList(0, MAX_QUERY_TERMS);
+        }
+        // Walk the range of the most selective (longest) term, and filter on the others
+        String driver = terms.stream().max(Comparator.comparingInt(String::length)).orElseThrow();
+        List<String> others = new ArrayList<>(terms);
+        others.remove(driver);
+
+        Posting from = new Posting(driver, Integer.MIN_VALUE, Long.MIN_VALUE);
+        Posting to = new Posting(driver + Character.MAX_VALUE, Integer.MIN_VALUE, Long.MIN_VALUE);
+        boolean fromInclusive = true;
+        if (after != null && POSTING_ORDER.compare(after, from) >= 0) {
+            from = after;
+            fromInclusive = false;
+        }
+        if (POSTING_ORDER.compare(from, to) >= 0) {
+            return List.of();
+        }
+        List<Hit> results = new ArrayList<>(limit);
+        for (Posting posting : postings.subSet(from, fromInclusive, to, false)) {
+            Entry entry = entries.get(posting.id());
+            if (entry == null || !isFirstMatch(entry, posting, driver) || !matchesAll(entry, others)) {
+                continue;
+            }
+            results.add(new Hit(entry.id(), entry.firstName(), entry.lastName(), posting));
+            if (results.size() == limit) {
+                break;
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Whether a posting is the first of its developer's postings matching the driving term, which is where the
+     * developer ranks; the later ones are skipped, on this page and on the next ones.
+     */
+    private static boolean isFirstMatch(Entry entry, Posting posting, String driver) {
+        for (Posting other : entry.postings()) {
+            if (other.token().startsWith(driver) && POSTING_ORDER.compare(other, posting) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean matchesAll(Entry entry, List<String> terms) {
+        for (String term : terms) {
+            boolean matched = false;
+            for (Posting posting : entry.postings()) {
+                if (posting.token().startsWith(term)) {
+                    matched = true;
+                    break;
+                }
+            }
+            if (!matched) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String folded = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        for (String token : TOKEN_SEPARATOR.split(folded)) {
+            if (!token.isEmpty() && !tokens.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,426 @@
+package com.fredjo.DevRegistery.infra.similarity;
+
+import com.fredjo.DevRegistery.application.event.DeveloperDeletedEvent;
+import com.fredjo.DevRegistery.application.event.DeveloperLanguagesAddedEvent;
+import com.fredjo.DevRegistery.application.event.ProgrammingLanguageDeletedEvent;
+import com.fredjo.DevRegistery.infra.repository.DeveloperLanguageLinkView;
+import com.fredjo.DevRegistery.infra.repository.DeveloperRepository;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * In-memory index of which developers know which programming languages, for "developers like X" queries.
+ * <p>
+ * Every language has a compressed (Roaring) bitmap of the IDs of its developers, and developers are also
+ * grouped into one bitmap per number of languages they know. Ranking developers by the Jaccard overlap of
+ * their languages with X's is then bitmap algebra: X's language bitmaps are added up as bit slices, which
+ * yields the developers sharing exactly {@code s} languages with X for every {@code s}, and intersecting
+ * these with the language-count bitmaps yields groups of equal similarity, visited best first until the
+ * page is filled. No developer is compared with X one by one.
+ * <p>
+ * The index is built from the join table in the background at startup, and reports ready once built. It is kept up
+ * to date from the {@link DeveloperLanguagesAddedEvent}, {@link DeveloperDeletedEvent} and
+ * {@link ProgrammingLanguageDeletedEvent} of committed transactions. A periodic rebuild picks up changes made by
+ * another instance or directly in the database; the changes received while a rebuild runs are replayed onto the
+ * rebuilt index before it is swapped in.
+ * Developer IDs are stored as unsigned 32-bit integers; developers with larger IDs are not indexed.
+ */
+@Component
+public class DeveloperSimilarityIndex implements SmartInitializingSingleton, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(DeveloperSimilarityIndex.class);
+    private static final long MAX_ID = 0xFFFF_FFFFL;
+
+    /**
+     * A similar developer.
+     *
+     * @param id              the ID of the developer
+     * @param sharedLanguages the number of languages it shares with the reference developer
+     * @param similarity      the Jaccard index of the two sets of languages
+     */
+    public record Match(long id, int sharedLanguages, double similarity) {
+    }
+
+    /**
+     * The developers knowing {@code languages} languages, {@code shared} of which the reference developer knows.
+     */
+    private record Group(int shared, int languages, double similarity) {
+    }
+
+    private static final Comparator<Group> BEST_FIRST = Comparator.comparingDouble(Group::similarity).reversed()
+            .thenComparing(Comparator.comparingInt(Group::shared).reversed());
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Bitmaps bitmaps = new Bitmaps();
+    /**
+     * The changes received since the running rebuild started, or null if none runs; guarded by the lock.
+     */
+    private List<Consumer<Bitmaps>> changedDuringRebuild;
+    private volatile boolean ready;
+    private final DeveloperRepository developerRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Duration rebuildInterval;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "developer-similarity-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public DeveloperSimilarityIndex(DeveloperRepository developerRepository,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${devregistry.similarity.rebuild-interval:1h}") Duration rebuildInterval) {
+        this.developerRepository = developerRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.rebuildInterval = rebuildInterval;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        scheduler.execute(this::rebuild);
+        scheduler.scheduleWithFixedDelay(this::rebuild, rebuildInterval.toMillis(), rebuildInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @TransactionalEventListener
+    public void onDeveloperLanguagesAdded(DeveloperLanguagesAddedEvent event) {
+        add(event.id(), event.languageIds());
+    }
+
+    @TransactionalEventListener
+    public void onDeveloperDeleted(DeveloperDeletedEvent event) {
+        removeDeveloper(event.id());
+    }
+
+    @TransactionalEventListener
+    public void onProgrammingLanguageDeleted(ProgrammingLanguageDeletedEvent event) {
+        removeLanguage(event.id());
+    }
+
+    /**
+     * Records that a developer knows the given languages, in addition to the ones it already knows.
+     */
+    public void add(long developerId, Collection<Long> languageIds) {
+        if (!indexable(developerId)) {
+            return;
+        }
+        List<Long> added = List.copyOf(languageIds);
+        update(target -> target.add((int) developerId, added));
+    }
+
+    /**
+     * Removes a developer from the index.
+     */
+    public void removeDeveloper(long developerId) {
+        if (!indexable(developerId)) {
+            return;
+        }
+        update(target -> target.removeDeveloper((int) developerId));
+    }
+
+    /**
+     * Removes a programming language from the index, and thereby from all its developers.
+     */
+    public void removeLanguage(long languageId) {
+        update(target -> target.removeLanguage(languageId));
+    }
+
+    private void update(Consumer<Bitmaps> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(bitmaps);
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Whether the index has been built from the join table.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Number of indexed developers, i.e. of developers knowing at least one language.
+     */
+    public long size() {
+        lock.readLock().lock();
+        try {
+            long size = 0;
+            for (RoaringBitmap developers : bitmaps.developersByLanguageCount) {
+                size += developers.getLongCardinality();
+            }
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the developers whose languages overlap most with those of a developer, by Jaccard index
+     * (shared languages over languages known by either). Ties are broken by the number of shared languages,
+     * then by ascending ID. Developers sharing no language are never returned.
+     *
+     * @param developerId the ID of the reference developer
+     * @param limit       the maximum number of results to return
+     * @return the similar developers, most similar first; empty if the developer knows no language
+     */
+    public List<Match> similar(long developerId, int limit) {
+        if (!indexable(developerId) || limit <= 0) {
+            return List.of();
+        }
+        int developer = (int) developerId;
+        lock.readLock().lock();
+        try {
+            List<RoaringBitmap> own = new ArrayList<>();
+            for (RoaringBitmap developers : bitmaps.developersByLanguage.values()) {
+                if (developers.contains(developer)) {
+                    own.add(developers);
+                }
+            }
+            int languages = own.size();
+            if (languages == 0) {
+                return List.of();
+            }
+            RoaringBitmap candidates = FastAggregation.or(own.iterator());
+            candidates.remove(developer);
+            List<RoaringBitmap> slices = overlapSlices(own);
+
+            List<Group> groups = new ArrayList<>();
+            for (int count = 1; count < bitmaps.developersByLanguageCount.size(); count++) {
+                if (bitmaps.developersByLanguageCount.get(count).isEmpty()) {
+                    continue;
+                }
+                for (int shared = 1; shared <= Math.min(languages, count); shared++) {
+                    groups.add(new Group(shared, count, (double) shared / (languages + count - shared)));
+                }
+            }
+            groups.sort(BEST_FIRST);
+
+            RoaringBitmap[] sharing = new RoaringBitmap[languages + 1];
+            List<Match> matches = new ArrayList<>(limit);
+            for (Group group : groups) {
+                if (sharing[group.shared()] == null) {
+                    sharing[group.shared()] = sharing(candidates, slices, group.shared());
+                }
+                RoaringBitmap members = RoaringBitmap.and(sharing[group.shared()], bitmaps.developersByLanguageCount.get(group.languages()));
+                PeekableIntIterator ids = members.getIntIterator();
+                while (ids.hasNext() && matches.size() < limit) {
+                    matches.add(new Match(Integer.toUnsignedLong(ids.next()), group.shared(), group.similarity()));
+                }
+                if (matches.size() == limit) {
+                    break;
+                }
+            }
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adds bitmaps up as a binary counter: bit {@code b} of the number of bitmaps containing a developer is
+     * set if and only if the {@code b}-th slice contains it.
+     */
+    private static List<RoaringBitmap> overlapSlices(List<RoaringBitmap> bitmaps) {
+        List<RoaringBitmap> slices = new ArrayList<>();
+        for (RoaringBitmap bitmap : bitmaps) {
+            RoaringBitmap carry = bitmap;
+            for (int bit = 0; !carry.isEmpty(); bit++) {
+                if (bit == slices.size()) {
+                    slices.add(carry.clone());
+                    break;
+                }
+                RoaringBitmap slice = slices.get(bit);
+                slices.set(bit, RoaringBitmap.xor(slice, carry));
+                carry = RoaringBitmap.and(slice, carry);
+            }
+        }
+        return slices;
+    }
+
+    /**
+     * The candidates contained in exactly {@code count} of the bitmaps the slices add up.
+     */
+    private static RoaringBitmap sharing(RoaringBitmap candidates, List<RoaringBitmap> slices, int count) {
+        RoaringBitmap result = candidates.clone();
+        for (int bit = 0; bit < slices.size(); bit++) {
+            if ((count >>> bit & 1) == 1) {
+                result.and(slices.get(bit));
+            } else {
+                result.andNot(slices.get(bit));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Rebuilds the index from the join table, replays the changes received meanwhile onto it, then swaps it in.
+     * Replaying is safe since every change can be applied twice.
+     */
+    public synchronized void rebuild() {
+        lock.writeLock().lock();
+        try {
+            changedDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            long start = System.nanoTime();
+            Bitmaps rebuilt = new Bitmaps();
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<DeveloperLanguageLinkView> links = developerRepository.streamLanguageLinks()) {
+                    // links come in developer order, so each developer's language count is known when its run ends
+                    long developerId = -1;
+                    int languages = 0;
+                    Iterator<DeveloperLanguageLinkView> iterator = links.iterator();
+                    while (iterator.hasNext()) {
+                        DeveloperLanguageLinkView link = iterator.next();
+                        if (!indexable(link.getDeveloperId())) {
+                            continue;
+                        }
+                        if (link.getDeveloperId() != developerId) {
+                            rebuilt.setLanguageCount((int) developerId, 0, languages);
+                            developerId = link.getDeveloperId();
+                            languages = 0;
+                        }
+                        rebuilt.developersByLanguage.computeIfAbsent(link.getLanguageId(), id -> new RoaringBitmap()).add((int) developerId);
+                        languages++;
+                    }
+                    rebuilt.setLanguageCount((int) developerId, 0, languages);
+                }
+            });
+            rebuilt.developersByLanguage.values().forEach(RoaringBitmap::runOptimize);
+            rebuilt.developersByLanguageCount.forEach(RoaringBitmap::runOptimize);
+
+            lock.writeLock().lock();
+            try {
+                changedDuringRebuild.forEach(change -> change.accept(rebuilt));
+                bitmaps = rebuilt;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            ready = true;
+            logger.info("Indexed {} developers by language in {}ms", size(), (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            logger.warn("Developer similarity index rebuild failed: {}", e.getMessage());
+        } finally {
+            lock.writeLock().lock();
+            try {
+                changedDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private static boolean indexable(long developerId) {
+        return developerId >= 0 && developerId <= MAX_ID;
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * The bitmaps of the index; guarded by its lock.
+     */
+    private static final class Bitmaps {
+
+        private final Map<Long, RoaringBitmap> developersByLanguage = new HashMap<>();
+
+        /**
+         * The developers knowing {@code n} languages, at index {@code n}; index 0 is unused.
+         */
+        private final List<RoaringBitmap> developersByLanguageCount = new ArrayList<>();
+
+        void add(int developer, Collection<Long> languageIds) {
+            int added = 0;
+            for (Long languageId : languageIds) {
+                if (developersByLanguage.computeIfAbsent(languageId, id -> new RoaringBitmap()).checkedAdd(developer)) {
+                    added++;
+                }
+            }
+            if (added > 0) {
+                int count = languageCount(developer);
+                setLanguageCount(developer, count, count + added);
+            }
+        }
+
+        void removeDeveloper(int developer) {
+            for (RoaringBitmap developers : developersByLanguage.values()) {
+                developers.remove(developer);
+            }
+            setLanguageCount(developer, languageCount(developer), 0);
+        }
+
+        void removeLanguage(long languageId) {
+            RoaringBitmap removed = developersByLanguage.remove(languageId);
+            if (removed == null) {
+                return;
+            }
+            // in ascending order, so that developers moved down a level are not moved again
+            for (int count = 1; count < developersByLanguageCount.size(); count++) {
+                RoaringBitmap level = developersByLanguageCount.get(count);
+                RoaringBitmap moved = RoaringBitmap.and(level, removed);
+                if (!moved.isEmpty()) {
+                    level.andNot(moved);
+                    if (count > 1) {
+                        developersByLanguageCount.get(count - 1).or(moved);
+                    }
+                }
+            }
+        }
+
+        int languageCount(int developer) {
+            for (int count = 1; count < developersByLanguageCount.size(); count++) {
+                if (developersByLanguageCount.get(count).contains(developer)) {
+                    return count;
+                }
+            }
+            return 0;
+        }
+
+        void setLanguageCount(int developer, int from, int to) {
+            if (from > 0) {
+                developersByLanguageCount.get(from).remove(developer);
+            }
+            if (to > 0) {
+                while (developersByLanguageCount.size() <= to) {
+                    developersByLanguageCount.add(new RoaringBitmap());
+                }
+                developersByLanguageCount.get(to).add(developer);
+            }
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.fredjo.DevRegistery.infra.stats;
+
+import com.fredjo.DevRegistery.application.event.LanguageLinksChangedEvent;
+import com.fredjo.DevRegistery.application.event.ProgrammingLanguageDeletedEvent;
+import com.fredjo.DevRegistery.infra.repository.LanguageDeveloperCountView;
+import com.fredjo.DevRegistery.infra.repository.ProgrammingLanguageRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory number of developers per programming language.
+ * <p>
+ * Counts are loaded from the database at startup and then updated in place from the
+ * {@link LanguageLinksChangedEvent} of committed transactions, so reading them costs no SQL.
+ * A reconciliation recounts the join table periodically and corrects any drift, such as changes
+ * made by another instance or directly in the database. The counter of a deleted language is dropped.
+ */
+@Component
+public class LanguageUsageCounters implements SmartInitializingSingleton, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(LanguageUsageCounters.class);
+
+    /**
+     * The developers of one programming language: the total of the last recount, and the changes applied to it
+     * since, which are kept apart so that a recount can tell whether it raced with any of them.
+     */
+    private static final class Counter {
+
+        private final LongAdder changes = new LongAdder();
+        private volatile boolean touched;
+        private long total;
+
+        void add(long delta) {
+            changes.add(delta);
+            touched = true;
+        }
+
+        synchronized long sum() {
+            return total + changes.sum();
+        }
+
+        /**
+         * Moves the changes applied so far into the total, and starts watching for the next ones.
+         */
+        synchronized void fold() {
+            touched = false;
+            total += changes.sumThenReset();
+        }
+
+        /**
+         * Replaces the total with a recount, unless a change was applied since the last fold: the recount may or
+         * may not include it, so the counter is left to the next reconciliation.
+         *
+         * @return whether the total was corrected
+         */
+        synchronized boolean recount(long developers) {
+            if (touched || developers == total) {
+                return false;
+            }
+            total = developers;
+            return true;
+        }
+    }
+
+    private final ConcurrentHashMap<Long, Counter> developers = new ConcurrentHashMap<>();
+    private final ProgrammingLanguageRepository programmingLanguageRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Duration reconcileInterval;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "language-usage-reconciliation");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public LanguageUsageCounters(ProgrammingLanguageRepository programmingLanguageRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${devregistry.language-stats.reconcile-interval:10m}") Duration reconcileInterval) {
+        this.programmingLanguageRepository = programmingLanguageRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.reconcileInterval = reconcileInterval;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        reconcile();
+        scheduler.scheduleWithFixedDelay(this::reconcile, reconcileInterval.toMillis(), reconcileInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @TransactionalEventListener
+    public void onLanguageLinksChanged(LanguageLinksChangedEvent event) {
+        for (Long languageId : event.added()) {
+            counter(languageId).add(1);
+        }
+        for (Long languageId : event.removed()) {
+            counter(languageId).add(-1);
+        }
+    }
+
+    @TransactionalEventListener
+    public void onProgrammingLanguageDeleted(ProgrammingLanguageDeletedEvent event) {
+        developers.remove(event.id());
+    }
+
+    /**
+     * @return the number of developers of the programming language
+     */
+    public long count(long languageId) {
+        Counter counter = developers.get(languageId);
+        return counter == null ? 0 : counter.sum();
+    }
+
+    /**
+     * Recounts the developers of every language and corrects the counters that drifted.
+     * The changes applied so far are folded into the counters before the join table is read, so that the recount
+     * replaces them; a counter changed while the recount runs is left as is until the next reconciliation, since
+     * the recount may or may not include that change. A change committed before the recount reads the table but
+     * applied after it completes is counted twice until the next reconciliation.
+     *
+     * @return the number of counters corrected
+     */
+    public synchronized int reconcile() {
+        try {
+            developers.values().forEach(Counter::fold);
+            List<LanguageDeveloperCountView> actual = readOnlyTransaction.execute(status -> programmingLanguageRepository.countDevelopersByLanguage());
+
+            Set<Long> absent = new HashSet<>(developers.keySet());
+            int corrected = 0;
+            for (LanguageDeveloperCountView row : actual) {
+                if (counter(row.getLanguageId()).recount(row.getDevelopers())) {
+                    corrected++;
+                }
+                absent.remove(row.getLanguageId());
+            }
+            // languages without developers any more, or deleted
+            for (Long languageId : absent) {
+                Counter counter = developers.get(languageId);
+                if (counter != null && counter.recount(0)) {
+                    corrected++;
+                }
+            }
+            if (corrected > 0) {
+                logger.info("Reconciled language usage counters: {} corrected", corrected);
+            }
+            return corrected;
+        } catch (RuntimeException e) {
+            logger.warn("Language usage reconciliation failed: {}", e.getMessage());
+            return 0;
+        }
+    }
+
+    private Counter counter(long languageId) {
+        return developers.computeIfAbsent(languageId, id -> new Counter());
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,36 @@
+package com.fredjo.DevRegistery.infra.storage;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Actuator endpoint ({@code /actuator/snapshots}) listing the snapshots of the store, most recent first,
+ * and taking one on a POST. The {@code durable} profile serves actuator on the management port, not next to the API.
+ */
+@Component
+@Profile("durable")
+@Endpoint(id = "snapshots")
+public class SnapshotEndpoint {
+
+    private final StoreSnapshots snapshots;
+
+    public SnapshotEndpoint(StoreSnapshots snapshots) {
+        this.snapshots = snapshots;
+    }
+
+    @ReadOperation
+    public List<StoreSnapshots.Snapshot> snapshots() throws IOException {
+        return snapshots.list();
+    }
+
+    @WriteOperation
+    public StoreSnapshots.Snapshot takeSnapshot() throws IOException {
+        return snapshots.take();
+    }
+}
@@ -0,0 +1,187 @@
+package com.fredjo.DevRegistery.infra.storage;
+
+import org.h2.mvstore.MVStoreTool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Online snapshots of the file-backed store of the {@code durable} profile.
+ * <p>
+ * {@code BACKUP TO} copies the store while the database keeps serving reads and writes: H2 stops reusing free
+ * space during the copy, so that the copied chunks stay consistent. The copy is then compacted into a new store
+ * holding only live pages, which is usually much smaller than the store it was taken from and opens as is, without
+ * any replay: restoring a snapshot is copying it to the path of the store while the instance is stopped.
+ * <p>
+ * Snapshots are named after the store and the UTC time they were taken at, so that they sort by age, and only
+ * the most recent ones are kept.
+ */
+@Component
+@Profile("durable")
+public class StoreSnapshots implements SmartInitializingSingleton, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(StoreSnapshots.class);
+    private static final String STORE_SUFFIX = ".mv.db";
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmssSSS'Z'").withZone(ZoneOffset.UTC);
+
+    /**
+     * A snapshot.
+     *
+     * @param name    its file name in the snapshot directory
+     * @param bytes   its size
+     * @param takenAt when it was taken
+     */
+    public record Snapshot(String name, long bytes, Instant takenAt) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String storeName;
+    private final Path directory;
+    private final Duration interval;
+    private final int retain;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "store-snapshots");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * @param storePath the path of the store, without its {@code .mv.db} suffix
+     * @param directory the directory snapshots are written to
+     * @param interval  the time between periodic snapshots, 0 to take them only on demand
+     * @param retain    the number of snapshots kept
+     */
+    public StoreSnapshots(JdbcTemplate jdbcTemplate,
+                          @Value("${devregistry.storage.path}") String storePath,
+                          @Value("${devregistry.storage.snapshot-directory}") Path directory,
+                          @Value("${devregistry.storage.snapshot-interval:6h}") Duration interval,
+                          @Value("${devregistry.storage.snapshot-retain:4}") int retain) {
+        if (retain <= 0) {
+            throw new IllegalArgumentException("devregistry.storage.snapshot-retain must be positive");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.storeName = Path.of(storePath).getFileName().toString();
+        this.directory = directory;
+        this.interval = interval;
+        this.retain = retain;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!interval.isZero()) {
+            scheduler.scheduleWithFixedDelay(this::takePeriodic, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void takePeriodic() {
+        try {
+            take();
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Store snapshot failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Takes a snapshot of the store, then deletes the snapshots past the retained ones.
+     *
+     * @return the snapshot
+     * @throws IOException if the snapshot cannot be written
+     */
+    public synchronized Snapshot take() throws IOException {
+        long start = System.nanoTime();
+        Files.createDirectories(directory);
+        Instant takenAt = Instant.now();
+        String name = storeName + "-" + TIMESTAMP.format(takenAt) + STORE_SUFFIX;
+        // work files do not end with the store suffix, so that an unfinished snapshot is never listed
+        Path backup = directory.resolve(name + ".zip");
+        Path copy = directory.resolve(name + ".copy");
+        Path compacted = directory.resolve(name + ".part");
+        Path snapshot = directory.resolve(name);
+        try {
+            jdbcTemplate.execute("BACKUP TO '" + backup.toAbsolutePath().toString().replace("'", "''") + "'");
+            extractStore(backup, copy);
+            Files.delete(backup);
+            MVStoreTool.compact(copy.toString(), compacted.toString(), false);
+            Files.move(compacted, snapshot, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(backup);
+            Files.deleteIfExists(copy);
+            Files.deleteIfExists(compacted);
+        }
+        long bytes = Files.size(snapshot);
+        logger.info("Took store snapshot {} ({} KB) in {}ms", name, bytes / 1024, (System.nanoTime() - start) / 1_000_000);
+        prune();
+        return new Snapshot(name, bytes, takenAt);
+    }
+
+    private void extractStore(Path backup, Path target) throws IOException {
+        try (ZipInputStream zip = new ZipInputStream(Files.newInputStream(backup))) {
+            for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                if (entry.getName().endsWith(STORE_SUFFIX)) {
+                    Files.copy(zip, target, StandardCopyOption.REPLACE_EXISTING);
+                    return;
+                }
+            }
+        }
+        throw new IOException("Backup " + backup + " holds no store");
+    }
+
+    private void prune() throws IOException {
+        List<Snapshot> snapshots = list();
+        for (Snapshot stale : snapshots.subList(Math.min(retain, snapshots.size()), snapshots.size())) {
+            Files.deleteIfExists(directory.resolve(stale.name()));
+            logger.info("Deleted store snapshot {}", stale.name());
+        }
+    }
+
+    /**
+     * Lists the snapshots of the store.
+     *
+     * @return the snapshots, most recent first
+     * @throws IOException if the snapshot directory cannot be read
+     */
+    public List<Snapshot> list() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        List<Snapshot> snapshots = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String name = file.getFileName().toString();
+                if (name.startsWith(storeName + "-") && name.endsWith(STORE_SUFFIX)) {
+                    snapshots.add(new Snapshot(name, Files.size(file), Files.getLastModifiedTime(file).toInstant()));
+                }
+            }
+        }
+        snapshots.sort(Comparator.comparing(Snapshot::name).reversed());
+        return snapshots;
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+}
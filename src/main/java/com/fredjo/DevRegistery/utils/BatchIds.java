@@ -0,0 +1,100 @@
+package com.fredjo.DevRegistery.utils;
+
+import com.fredjo.DevRegistery.application.dto.BatchFetchResult;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Helpers for fetching entities by a list of IDs with a single {@code IN} query.
+ */
+public final class BatchIds {
+
+    /**
+     * Most IDs a single fetch may list, the same cap as the unpaged list endpoints.
+     */
+    public static final int MAX_IDS = CursorPagination.MAX_UNPAGED_RESULTS;
+
+    private BatchIds() {
+    }
+
+    /**
+     * Parses a comma-separated list of IDs, e.g. {@code 3,1,2}.
+     *
+     * @param ids the comma-separated IDs
+     * @return the IDs, in the given order
+     * @throws InvalidIdsException if an ID is not a non-negative number
+     */
+    public static List<Long> parse(String ids) {
+        List<Long> parsed = new ArrayList<>();
+        for (String id : ids.split(",")) {
+            String trimmed = id.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            try {
+                long value = Long.parseLong(trimmed);
+                if (value >= 0) {
+                    parsed.add(value);
+                    continue;
+                }
+            } catch (NumberFormatException e) {
+                // reported below
+            }
+            throw new InvalidIdsException("Invalid ID: " + trimmed);
+        }
+        return parsed;
+    }
+
+    /**
+     * Drops repeated IDs, keeping the first occurrence of each.
+     *
+     * @param ids the requested IDs
+     * @return the distinct IDs, in request order
+     * @throws InvalidIdsException if there are none, or more than {@link #MAX_IDS}
+     */
+    public static Set<Long> distinct(Collection<Long> ids) {
+        Set<Long> distinct = new LinkedHashSet<>(ids);
+        if (distinct.isEmpty()) {
+            throw new InvalidIdsException("At least one ID is required");
+        }
+        if (distinct.size() > MAX_IDS) {
+            throw new InvalidIdsException("At most " + MAX_IDS + " IDs can be fetched at once");
+        }
+        return distinct;
+    }
+
+    /**
+     * Orders fetched rows as their IDs were requested and lists the IDs no row was found for.
+     *
+     * @param ids    the distinct requested IDs, in request order
+     * @param rows   the rows found, in any order
+     * @param idOf   extracts the ID of a row
+     * @param mapper maps a row to its DTO
+     * @return the result
+     */
+    public static <T, D> BatchFetchResult<D> collect(Set<Long> ids, List<T> rows, ToLongFunction<T> idOf, Function<T, D> mapper) {
+        Map<Long, T> byId = new HashMap<>(rows.size() * 2);
+        for (T row : rows) {
+            byId.put(idOf.applyAsLong(row), row);
+        }
+        List<D> items = new ArrayList<>(rows.size());
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            T row = byId.get(id);
+            if (row != null) {
+                items.add(mapper.apply(row));
+            } else {
+                missing.add(id);
+            }
+        }
+        return new BatchFetchResult<>(items, missing);
+    }
+}
@@ -0,0 +1,138 @@
+package com.fredjo.DevRegistery.utils;
+
+import com.fredjo.DevRegistery.application.dto.CursorPage;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Helpers for keyset (seek) pagination on ascending entity IDs.
+ * Cursors are the URL-safe Base64 encoding of the last ID of a page, so clients treat them as opaque.
+ * Listings in another order encode the sort key of their last row instead.
+ */
+public final class CursorPagination {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    /**
+     * Hard cap applied to the unpaged list endpoints.
+     */
+    public static final int MAX_UNPAGED_RESULTS = 1000;
+
+    private CursorPagination() {
+    }
+
+    /**
+     * Encodes the ID of the last row of a page into an opaque cursor.
+     *
+     * @param id the last ID of the page
+     * @return the cursor
+     */
+    public static String encode(long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(Long.toString(id).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Decodes a cursor back into the ID to seek after.
+     *
+     * @param cursor the cursor, or null for the first page
+     * @return the ID to seek after, 0 for the first page
+     * @throws InvalidCursorException if the cursor is malformed
+     */
+    public static long decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return 0L;
+        }
+        try {
+            long id = Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII));
+            if (id < 0) {
+                throw new InvalidCursorException("Invalid cursor: " + cursor);
+            }
+            return id;
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid cursor: " + cursor);
+        }
+    }
+
+    /**
+     * Encodes the sort key of the last row of a page into an opaque cursor.
+     *
+     * @param key the sort key of the last row of the page
+     * @return the cursor
+     */
+    public static String encodeKey(String key) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor made by {@link #encodeKey} back into the sort key to seek after.
+     *
+     * @param cursor the cursor, or null for the first page
+     * @param parser parses the sort key, throwing an IllegalArgumentException if it is malformed
+     * @return the sort key to seek after, null for the first page
+     * @throws InvalidCursorException if the cursor is malformed
+     */
+    public static <K> K decodeKey(String cursor, Function<String, K> parser) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            return parser.apply(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid cursor: " + cursor);
+        }
+    }
+
+    /**
+     * Clamps a requested page size to [1, MAX_PAGE_SIZE].
+     *
+     * @param limit the requested page size, or null for the default
+     * @return the effective page size
+     */
+    public static int pageSize(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+
+    /**
+     * Builds a page from rows fetched with a limit of {@code pageSize + 1}:
+     * the extra row, if present, only signals that a next page exists.
+     *
+     * @param rows     the rows ordered by ascending ID
+     * @param pageSize the effective page size
+     * @param idOf     extracts the ID of a row
+     * @param mapper   maps a row to its DTO
+     * @return the page
+     */
+    public static <T, D> CursorPage<D> page(List<T> rows, int pageSize, ToLongFunction<T> idOf, Function<T, D> mapper) {
+        return pageByKey(rows, pageSize, row -> encode(idOf.applyAsLong(row)), mapper);
+    }
+
+    /**
+     * Builds a page, like {@link #page}, from rows in the order of another sort key.
+     *
+     * @param rows     the rows ordered by the sort key
+     * @param pageSize the effective page size
+     * @param cursorOf the cursor to resume after a row
+     * @param mapper   maps a row to its DTO
+     * @return the page
+     */
+    public static <T, D> CursorPage<D> pageByKey(List<T> rows, int pageSize, Function<T, String> cursorOf, Function<T, D> mapper) {
+        boolean hasNext = rows.size() > pageSize;
+        int size = hasNext ? pageSize : rows.size();
+        List<D> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            items.add(mapper.apply(rows.get(i)));
+        }
+        String nextCursor = hasNext ? cursorOf.apply(rows.get(size - 1)) : null;
+        return new CursorPage<>(items, nextCursor);
+    }
+}
@@ -0,0 +1,10 @@
+package com.fredjo.DevRegistery.utils;
+
+/**
+ * Exception thrown when a {@code fields} parameter names a field the resource does not have.
+ */
+public class InvalidFieldsException extends RuntimeException {
+    public InvalidFieldsException(String message) {
+        super(message);
+    }
+}
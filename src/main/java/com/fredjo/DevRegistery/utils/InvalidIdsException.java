@@ -0,0 +1,10 @@
+package com.fredjo.DevRegistery.utils;
+
+/**
+ * Exception thrown when an {@code ids} parameter is malformed or lists too many IDs.
+ */
+public class InvalidIdsException extends RuntimeException {
+    public InvalidIdsException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,43 @@
+package com.fredjo.DevRegistery.utils;
+
+import org.slf4j.MDC;
+import org.springframework.core.task.TaskDecorator;
+
+import java.util.Map;
+
+/**
+ * Runs a task handed to another thread with the MDC of the thread that handed it over, so that its log lines
+ * carry the same request ID. The worker's own MDC is restored once the task is done.
+ */
+public class MdcTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        return withContext(MDC.getCopyOfContextMap(), runnable);
+    }
+
+    /**
+     * @param context  the MDC to run with, as returned by {@link MDC#getCopyOfContextMap()}, or null for none
+     * @param runnable the task
+     * @return the task, running with {@code context}
+     */
+    public static Runnable withContext(Map<String, String> context, Runnable runnable) {
+        return () -> {
+            Map<String, String> previous = MDC.getCopyOfContextMap();
+            setContext(context);
+            try {
+                runnable.run();
+            } finally {
+                setContext(previous);
+            }
+        };
+    }
+
+    private static void setContext(Map<String, String> context) {
+        if (context == null) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(context);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.fredjo.DevRegistery.utils;
+
+/**
+ * Exception thrown when the {@code If-Match} precondition of a request does not hold.
+ */
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
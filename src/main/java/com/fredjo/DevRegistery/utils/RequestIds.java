@@ -0,0 +1,55 @@
+package com.fredjo.DevRegistery.utils;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Request ID generation and validation.
+ * IDs are 16 hex characters drawn from {@link ThreadLocalRandom}: unique enough to correlate log
+ * lines, without the shared {@code SecureRandom} behind {@link java.util.UUID#randomUUID()}.
+ */
+public final class RequestIds {
+
+    public static final int MAX_LENGTH = 64;
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private RequestIds() {
+    }
+
+    /**
+     * Generates a new request ID.
+     *
+     * @return 16 lowercase hex characters
+     */
+    public static String next() {
+        long value = ThreadLocalRandom.current().nextLong();
+        char[] chars = new char[16];
+        for (int i = chars.length - 1; i >= 0; i--) {
+            chars[i] = HEX[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Checks that a caller-supplied request ID is safe to echo and log:
+     * 1 to {@value #MAX_LENGTH} characters among letters, digits, '.', '_' and '-'.
+     *
+     * @param requestId the incoming request ID, may be null
+     * @return true if the ID can be reused
+     */
+    public static boolean isValid(String requestId) {
+        if (requestId == null || requestId.isEmpty() || requestId.length() > MAX_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < requestId.length(); i++) {
+            char c = requestId.charAt(i);
+            boolean allowed = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                    || c == '.' || c == '_' || c == '-';
+            if (!allowed) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
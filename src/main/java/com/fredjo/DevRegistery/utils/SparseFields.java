@@ -0,0 +1,41 @@
+package com.fredjo.DevRegistery.utils;
+
+import java.util.List;
+
+/**
+ * Parsing of {@code fields} request parameters into bit masks over a resource's field names.
+ */
+public final class SparseFields {
+
+    private SparseFields() {
+    }
+
+    /**
+     * Parses a comma-separated list of field names.
+     *
+     * @param fields the parameter value, e.g. {@code "id,lastName"}
+     * @param names  the field names of the resource; bit {@code i} of the mask stands for {@code names.get(i)}
+     * @return the mask of the selected fields, never 0
+     * @throws InvalidFieldsException if a name is unknown or no field is selected
+     */
+    public static int parse(String fields, List<String> names) {
+        int mask = 0;
+        if (fields != null) {
+            for (String field : fields.split(",")) {
+                String name = field.trim();
+                if (name.isEmpty()) {
+                    continue;
+                }
+                int index = names.indexOf(name);
+                if (index < 0) {
+                    throw new InvalidFieldsException("Unknown field: " + name + ", expected some of " + names);
+                }
+                mask |= 1 << index;
+            }
+        }
+        if (mask == 0) {
+            throw new InvalidFieldsException("No field selected, expected some of " + names);
+        }
+        return mask;
+    }
+}
@@ -0,0 +1,38 @@
+-- Sequences back the pooled ID generators of the entities (allocationSize = 50)
+create sequence developer_seq start with 1 increment by 50;
+create sequence programming_language_seq start with 1 increment by 50;
+
+create table developer (
+    id bigint not null,
+    first_name varchar(255),
+    last_name varchar(255),
+    constraint pk_developer primary key (id)
+);
+
+create table programming_language (
+    id bigint not null,
+    name varchar(255),
+    creators_name varchar(255),
+    constraint pk_programming_language primary key (id)
+);
+
+create table developer_programming_language (
+    developer_id bigint not null,
+    programming_language_id bigint not null,
+    constraint pk_developer_programming_language primary key (developer_id, programming_language_id)
+);
+
+-- DeveloperRepository.findByLastName
+create index idx_developer_last_name on developer (last_name);
+
+-- Reverse lookup of a language's developers; the primary key only covers lookups by developer_id
+create index idx_developer_programming_language_language on developer_programming_language (programming_language_id);
+
+-- Languages are referenced by name (batch import, attach by name)
+create unique index uk_programming_language_name on programming_language (name);
+
+-- Foreign keys come last so they reuse the indexes above instead of getting implicit ones
+alter table developer_programming_language
+    add constraint fk_developer_programming_language_developer foreign key (developer_id) references developer (id);
+alter table developer_programming_language
+    add constraint fk_developer_programming_language_language foreign key (programming_language_id) references programming_language (id);
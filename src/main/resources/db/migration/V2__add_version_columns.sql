@@ -0,0 +1,3 @@
+-- Optimistic locking versions, also used as entity tags
+alter table developer add column version bigint default 0 not null;
+alter table programming_language add column version bigint default 0 not null;
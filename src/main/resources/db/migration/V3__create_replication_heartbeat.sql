@@ -0,0 +1,9 @@
+-- Heartbeat written by the primary when reads are routed to replicas (read-replicas profile);
+-- a replica's lag is how far its copy of the row is behind the primary's
+create table replication_heartbeat (
+    id int not null,
+    beat_millis bigint not null,
+    constraint pk_replication_heartbeat primary key (id)
+);
+
+insert into replication_heartbeat (id, beat_millis) values (1, 0);
@@ -0,0 +1,13 @@
+-- Transactional outbox behind GET /v1/changes: one row per mutation, written by the mutating transaction.
+-- The identity orders the feed and gives subscribers the event IDs they resume from
+create table change_event (
+    id bigint generated by default as identity,
+    entity varchar(32) not null,
+    entity_id bigint not null,
+    change_type varchar(32) not null,
+    occurred_at timestamp with time zone not null,
+    constraint pk_change_event primary key (id)
+);
+
+-- Retention pruning
+create index idx_change_event_occurred_at on change_event (occurred_at);
@@ -0,0 +1,198 @@
+package com.fredjo.DevRegistery.adapter.controller;
+
+import com.fredjo.DevRegistery.infra.changes.ChangeFeed;
+import com.fredjo.DevRegistery.infra.repository.DeveloperRepository;
+import com.fredjo.DevRegistery.infra.repository.ProgrammingLanguageRepository;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks that committed mutations, and only those, reach {@code GET /v1/changes} subscribers in commit order,
+ * and that subscribers resume from {@code Last-Event-ID}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ChangeFeedTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ChangeFeed changeFeed;
+
+    @Autowired
+    private DeveloperRepository developerRepository;
+
+    @Autowired
+    private ProgrammingLanguageRepository programmingLanguageRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @AfterEach
+    void tearDown() {
+        developerRepository.deleteAll();
+        programmingLanguageRepository.deleteAll();
+    }
+
+    @Test
+    void streamChanges_sendsEveryCommittedMutation_inCommitOrder() throws Exception {
+        CompletableFuture<List<Map<String, String>>> events = subscribe(null, 6);
+
+        long javaId = create("/v1/programming_language", "{\"name\":\"Java\",\"creatorsName\":\"James Gosling\"}");
+        long adaId = create("/v1/developer", "{\"firstName\":\"Ada\",\"lastName\":\"Lovelace\"}");
+        mockMvc.perform(post("/v1/developer/{id}/languages", adaId).contentType(MediaType.APPLICATION_JSON).content("{\"id\":" + javaId + "}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(put("/v1/developer/{id}", adaId).contentType(MediaType.APPLICATION_JSON).content("{\"firstName\":\"Ada\",\"lastName\":\"King\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/v1/developer/{id}", adaId)).andExpect(status().isNoContent());
+        mockMvc.perform(delete("/v1/programming_language/{id}", javaId)).andExpect(status().isNoContent());
+
+        List<Map<String, String>> received = events.get(10, TimeUnit.SECONDS);
+        assertEquals(List.of(
+                "programming_language/" + javaId + "/saved",
+                "developer/" + adaId + "/saved",
+                "developer/" + adaId + "/languages_changed",
+                "developer/" + adaId + "/saved",
+                "developer/" + adaId + "/deleted",
+                "programming_language/" + javaId + "/deleted"), received.stream().map(ChangeFeedTest::describe).toList());
+        for (int i = 1; i < received.size(); i++) {
+            assertTrue(Long.parseLong(received.get(i).get("id")) > Long.parseLong(received.get(i - 1).get("id")));
+        }
+    }
+
+    @Test
+    void rolledBackMutations_recordNoChange() throws Exception {
+        long adaId = create("/v1/developer", "{\"firstName\":\"Ada\",\"lastName\":\"Lovelace\"}");
+        create("/v1/programming_language", "{\"name\":\"Java\",\"creatorsName\":\"James Gosling\"}");
+        long before = changeCount();
+
+        mockMvc.perform(post("/v1/developer/{id}/languages/batch", adaId).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"languages\":[{\"name\":\"Java\"},{\"name\":\"COBOL\"}]}"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(post("/v1/programming_language").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Java\",\"creatorsName\":\"Someone Else\"}"))
+                .andExpect(status().isConflict());
+
+        assertEquals(before, changeCount());
+    }
+
+    @Test
+    void streamChanges_resumesAfterLastEventId() throws Exception {
+        long javaId = create("/v1/programming_language", "{\"name\":\"Java\",\"creatorsName\":\"James Gosling\"}");
+        long goId = create("/v1/programming_language", "{\"name\":\"Go\",\"creatorsName\":\"Rob Pike\"}");
+        long javaEventId = jdbcTemplate.queryForObject(
+                "select id from change_event where entity = 'programming_language' and entity_id = ?", Long.class, javaId);
+
+        List<Map<String, String>> received = subscribe(String.valueOf(javaEventId), 1).get(10, TimeUnit.SECONDS);
+
+        assertEquals("programming_language/" + goId + "/saved", describe(received.get(0)));
+    }
+
+    @Test
+    void streamChanges_sendsReset_whenTheEventIdIsUnknown() throws Exception {
+        long unknown = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from change_event", Long.class) + 1000;
+
+        List<Map<String, String>> received = subscribe(String.valueOf(unknown), 1).get(10, TimeUnit.SECONDS);
+
+        assertEquals(ChangeController.RESET_EVENT, received.get(0).get("event"));
+    }
+
+    @Test
+    void streamChanges_rejectsMalformedEventId() throws Exception {
+        mockMvc.perform(get("/v1/changes").header(ChangeController.LAST_EVENT_ID_HEADER, "abc"))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Connects to the feed and collects the given number of events; returns once the subscription is registered.
+     */
+    private CompletableFuture<List<Map<String, String>>> subscribe(String lastEventId, int count) throws InterruptedException {
+        int subscribers = changeFeed.subscriberCount();
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/changes"))
+                .header("Accept", MediaType.TEXT_EVENT_STREAM_VALUE);
+        if (lastEventId != null) {
+            request.header(ChangeController.LAST_EVENT_ID_HEADER, lastEventId);
+        }
+        CompletableFuture<List<Map<String, String>>> events = client.sendAsync(request.build(), HttpResponse.BodyHandlers.ofLines())
+                .thenApply(response -> readEvents(response.body(), count));
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (changeFeed.subscriberCount() == subscribers && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        return events;
+    }
+
+    private static List<Map<String, String>> readEvents(Stream<String> lines, int count) {
+        List<Map<String, String>> events = new ArrayList<>();
+        Map<String, String> event = new HashMap<>();
+        Iterator<String> iterator = lines.iterator();
+        while (events.size() < count && iterator.hasNext()) {
+            String line = iterator.next();
+            if (line.isEmpty()) {
+                if (event.containsKey("data")) {
+                    events.add(event);
+                }
+                event = new HashMap<>();
+            } else if (!line.startsWith(":")) {
+                int colon = line.indexOf(':');
+                event.put(line.substring(0, colon), line.substring(colon + 1));
+            }
+        }
+        lines.close();
+        return events;
+    }
+
+    private static String describe(Map<String, String> event) {
+        String data = event.get("data");
+        return JsonPath.read(data, "$.entity") + "/" + JsonPath.read(data, "$.entityId") + "/" + JsonPath.read(data, "$.change");
+    }
+
+    private long changeCount() {
+        return jdbcTemplate.queryForObject("select count(*) from change_event", Long.class);
+    }
+
+    private long create(String path, String body) throws Exception {
+        String response = mockMvc.perform(post(path).contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return ((Number) JsonPath.read(response, "$.id")).longValue();
+    }
+}
@@ -0,0 +1,203 @@
+package com.fredjo.DevRegistery.adapter.controller;
+
+import com.fredjo.DevRegistery.domain.entity.Developer;
+import com.fredjo.DevRegistery.domain.entity.ProgrammingLanguage;
+import com.fredjo.DevRegistery.infra.repository.DeveloperRepository;
+import com.fredjo.DevRegistery.infra.repository.ProgrammingLanguageRepository;
+import com.fredjo.DevRegistery.support.SqlStatementCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.List;
+
+import static com.fredjo.DevRegistery.support.SqlStatementCounter.assertStatementCount;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks the ETags derived from entity versions: 304 on unchanged resources without loading them,
+ * new tags after every kind of change, and If-Match protection of updates.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.fredjo.DevRegistery.support.SqlStatementCounter")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ConditionalRequestTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DeveloperRepository developerRepository;
+
+    @Autowired
+    private ProgrammingLanguageRepository programmingLanguageRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private long developerId;
+    private long javaId;
+    private long goId;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            ProgrammingLanguage java = new ProgrammingLanguage();
+            java.setName("Java");
+            java.setCreatorsName("James Gosling");
+            javaId = programmingLanguageRepository.save(java).getId();
+            ProgrammingLanguage go = new ProgrammingLanguage();
+            go.setName("Go");
+            go.setCreatorsName("Rob Pike");
+            goId = programmingLanguageRepository.save(go).getId();
+
+            Developer developer = new Developer();
+            developer.setFirstName("Ada");
+            developer.setLastName("Lovelace");
+            developer.setLanguages(new HashSet<>(List.of(java, go)));
+            developerId = developerRepository.save(developer).getId();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        developerRepository.deleteAll();
+        programmingLanguageRepository.deleteAll();
+    }
+
+    @Test
+    void getDeveloperById_returnsNotModified_withOnlyAVersionLookup() throws Exception {
+        String eTag = eTagOf("/v1/developer/" + developerId);
+        SqlStatementCounter.reset();
+
+        mockMvc.perform(get("/v1/developer/" + developerId).header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", eTag))
+                .andExpect(content().string(""));
+
+        assertStatementCount(1);
+    }
+
+    @Test
+    void updateDeveloper_appliesWithCurrentETag_andRejectsStaleETag() throws Exception {
+        String eTag = eTagOf("/v1/developer/" + developerId);
+
+        mockMvc.perform(put("/v1/developer/" + developerId)
+                        .header("If-Match", eTag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\":\"Augusta\",\"lastName\":\"King\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(put("/v1/developer/" + developerId)
+                        .header("If-Match", eTag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\":\"Ada\",\"lastName\":\"Byron\"}"))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(get("/v1/developer/" + developerId).header("If-None-Match", eTag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void update_returnsTheNewETag_forTheNextConditionalRequest() throws Exception {
+        String developerETag = mockMvc.perform(put("/v1/developer/" + developerId)
+                        .header("If-Match", eTagOf("/v1/developer/" + developerId))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\":\"Augusta\",\"lastName\":\"King\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        mockMvc.perform(get("/v1/developer/" + developerId).header("If-None-Match", developerETag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(put("/v1/developer/" + developerId)
+                        .header("If-Match", developerETag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\":\"Ada\",\"lastName\":\"King\"}"))
+                .andExpect(status().isOk());
+
+        String languageETag = mockMvc.perform(put("/v1/programming_language/" + javaId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Java SE\",\"creatorsName\":\"James Gosling\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        assertEquals(eTagOf("/v1/programming_language/" + javaId), languageETag);
+        mockMvc.perform(put("/v1/programming_language/" + javaId)
+                        .header("If-Match", languageETag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Java\",\"creatorsName\":\"James Gosling\"}"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void getLanguagesByDeveloperId_changesETag_whenALanguageIsUpdatedOrRemoved() throws Exception {
+        String path = "/v1/developer/" + developerId + "/languages";
+        String initial = eTagOf(path);
+        mockMvc.perform(get(path).header("If-None-Match", initial)).andExpect(status().isNotModified());
+
+        mockMvc.perform(put("/v1/programming_language/" + javaId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Java SE\",\"creatorsName\":\"James Gosling\"}"))
+                .andExpect(status().isOk());
+        String afterUpdate = eTagOf(path);
+        assertNotEquals(initial, afterUpdate);
+
+        mockMvc.perform(delete("/v1/programming_language/" + goId)).andExpect(status().isNoContent());
+        String afterRemoval = eTagOf(path);
+        assertNotEquals(afterUpdate, afterRemoval);
+        mockMvc.perform(get(path).header("If-None-Match", afterUpdate)).andExpect(status().isOk());
+    }
+
+    @Test
+    void getAllProgrammingLanguages_returnsNotModified_withoutSql_untilALanguageChanges() throws Exception {
+        String eTag = eTagOf("/v1/programming_language");
+        SqlStatementCounter.reset();
+
+        mockMvc.perform(get("/v1/programming_language").header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+        assertStatementCount(0);
+
+        mockMvc.perform(put("/v1/programming_language/" + goId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Golang\",\"creatorsName\":\"Rob Pike\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/v1/programming_language").header("If-None-Match", eTag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void updateProgrammingLanguage_rejectsStaleETag() throws Exception {
+        String eTag = eTagOf("/v1/programming_language/" + javaId);
+        mockMvc.perform(put("/v1/programming_language/" + javaId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Java SE\",\"creatorsName\":\"James Gosling\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(put("/v1/programming_language/" + javaId)
+                        .header("If-Match", eTag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Jakarta\",\"creatorsName\":\"James Gosling\"}"))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    private String eTagOf(String path) throws Exception {
+        return mockMvc.perform(get(path))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+    }
+}
@@ -0,0 +1,158 @@
+package com.fredjo.DevRegistery.adapter.controller;
+
+import com.fredjo.DevRegistery.adapter.converter.ProtobufDtoHttpMessageConverter;
+import com.fredjo.DevRegistery.application.dto.DeveloperDto;
+import com.fredjo.DevRegistery.application.dto.ProgrammingLanguageDto;
+import com.fredjo.DevRegistery.infra.repository.DeveloperRepository;
+import com.fredjo.DevRegistery.infra.repository.ProgrammingLanguageRepository;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Set;
+
+import static com.fredjo.DevRegistery.adapter.converter.ProtobufDtoHttpMessageConverter.APPLICATION_X_PROTOBUF;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks that both controllers answer in, and accept, the binary format negotiated through
+ * {@code Accept} and {@code Content-Type}, and still default to JSON.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ContentNegotiationTest {
+
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DeveloperRepository developerRepository;
+
+    @Autowired
+    private ProgrammingLanguageRepository programmingLanguageRepository;
+
+    private final ProtobufDtoHttpMessageConverter protobuf = new ProtobufDtoHttpMessageConverter();
+    private long adaId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String response = mockMvc.perform(post("/v1/developer").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\":\"Ada\",\"lastName\":\"Lovelace\",\"languages\":[{\"name\":\"Java\",\"creatorsName\":\"James Gosling\"}]}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        adaId = ((Number) JsonPath.read(response, "$.id")).longValue();
+    }
+
+    @AfterEach
+    void tearDown() {
+        developerRepository.deleteAll();
+        programmingLanguageRepository.deleteAll();
+    }
+
+    @Test
+    void getDeveloper_answersInCbor() throws Exception {
+        byte[] body = mockMvc.perform(get("/v1/developer/{id}", adaId).accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        DeveloperDto developer = new CBORMapper().readValue(body, DeveloperDto.class);
+        assertEquals("Lovelace", developer.getLastName());
+        assertEquals("Java", developer.getLanguages().iterator().next().getName());
+    }
+
+    @Test
+    void getDevelopers_answersInSmile() throws Exception {
+        byte[] body = mockMvc.perform(get("/v1/developer").accept(SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        List<DeveloperDto> developers = new SmileMapper().readValue(body, new TypeReference<>() { });
+        assertEquals(List.of(adaId), developers.stream().map(DeveloperDto::getId).toList());
+    }
+
+    @Test
+    void getDevelopers_answersInProtobuf() throws Exception {
+        byte[] body = mockMvc.perform(get("/v1/developer").param("limit", "10").accept(APPLICATION_X_PROTOBUF))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(APPLICATION_X_PROTOBUF))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        @SuppressWarnings("unchecked")
+        List<DeveloperDto> developers = (List<DeveloperDto>) protobuf.read(
+                ResolvableType.forClassWithGenerics(List.class, DeveloperDto.class).getType(), null, new MockHttpInputMessage(body));
+        assertEquals("Ada", developers.get(0).getFirstName());
+        assertEquals(1, developers.get(0).getLanguages().size());
+    }
+
+    @Test
+    void createProgrammingLanguage_readsProtobufBody() throws Exception {
+        MockHttpOutputMessage body = new MockHttpOutputMessage();
+        protobuf.write(new ProgrammingLanguageDto(0, "Go", "Rob Pike"), ProgrammingLanguageDto.class, APPLICATION_X_PROTOBUF, body);
+
+        mockMvc.perform(post("/v1/programming_language").contentType(APPLICATION_X_PROTOBUF).content(body.getBodyAsBytes()))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.name").value("Go"));
+    }
+
+    @Test
+    void createProgrammingLanguage_validatesProtobufBody() throws Exception {
+        MockHttpOutputMessage body = new MockHttpOutputMessage();
+        protobuf.write(new ProgrammingLanguageDto(0, "Go", null), ProgrammingLanguageDto.class, APPLICATION_X_PROTOBUF, body);
+
+        mockMvc.perform(post("/v1/programming_language").contentType(APPLICATION_X_PROTOBUF).content(body.getBodyAsBytes()))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.creatorsName").exists());
+    }
+
+    @Test
+    void updateDeveloper_readsCborBody() throws Exception {
+        byte[] body = new CBORMapper().writeValueAsBytes(new DeveloperDto(0, "Ada", "King", Set.of()));
+
+        byte[] response = mockMvc.perform(put("/v1/developer/{id}", adaId).contentType(MediaType.APPLICATION_CBOR).content(body)
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertEquals("King", new CBORMapper().readValue(response, DeveloperDto.class).getLastName());
+    }
+
+    @Test
+    void getDeveloper_defaultsToJson() throws Exception {
+        mockMvc.perform(get("/v1/developer/{id}", adaId).accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.lastName").value("Lovelace"));
+    }
+
+    @Test
+    void getLanguageStats_isNotAcceptableInProtobuf() throws Exception {
+        mockMvc.perform(get("/v1/programming_language/stats").accept(APPLICATION_X_PROTOBUF))
+                .andExpect(status().isNotAcceptable());
+    }
+}
@@ -1,24 +1,47 @@
 package com.fredjo.DevRegistery.adapter.controller;
 
+import com.fredjo.DevRegistery.application.dto.BatchFetchResult;
+import com.fredjo.DevRegistery.application.dto.BatchImportResult;
+import com.fredjo.DevRegistery.application.dto.CursorPage;
 import com.fredjo.DevRegistery.application.dto.DeveloperDto;
+import com.fredjo.DevRegistery.application.dto.DeveloperSummaryDto;
+import com.fredjo.DevRegistery.application.dto.LanguageAttachmentResult;
+import com.fredjo.DevRegistery.application.dto.LanguageReferenceDto;
 import com.fredjo.DevRegistery.application.dto.ProgrammingLanguageDto;
+import com.fredjo.DevRegistery.application.dto.Versioned;
+import com.fredjo.DevRegistery.application.services.DeveloperFields;
+import com.fredjo.DevRegistery.application.services.DeveloperImportService;
 import com.fredjo.DevRegistery.application.services.DeveloperService;
 import com.fredjo.DevRegistery.config.GlobalExceptionHandler;
+import com.fredjo.DevRegistery.utils.InvalidCursorException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 class DeveloperControllerTest {
@@ -26,6 +49,12 @@ class DeveloperControllerTest {
     @Mock
     private DeveloperService developerService;
 
+    @Mock
+    private DeveloperImportService developerImportService;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
     @InjectMocks
     private DeveloperController developerController;
 
@@ -41,11 +70,101 @@ class DeveloperControllerTest {
 
     @Test
     void getAllDevelopers_returnsListOfDeveloperDto() throws Exception {
-        when(developerService.getAllDevelopers()).thenReturn(Arrays.asList(new DeveloperDto(), new DeveloperDto()));
+        when(developerService.getAllDevelopers()).thenReturn(new CursorPage<>(Arrays.asList(new DeveloperDto(), new DeveloperDto()), null));
 
         mockMvc.perform(get("/v1/developer"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.length()").value(2));
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
+    @Test
+    void getAllDevelopers_sendsNextCursorHeader_whenTheListIsCapped() throws Exception {
+        when(developerService.getAllDevelopers()).thenReturn(new CursorPage<>(Arrays.asList(new DeveloperDto(), new DeveloperDto()), "MTI"));
+
+        mockMvc.perform(get("/v1/developer"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "MTI"))
+                .andExpect(header().string("Link", "<http://localhost/v1/developer?after=MTI>; rel=\"next\""));
+    }
+
+    @Test
+    void getAllDevelopers_returnsPageAndNextCursorHeader_whenPaginated() throws Exception {
+        when(developerService.getDevelopersAfter("MTA", 2))
+                .thenReturn(new CursorPage<>(Arrays.asList(new DeveloperDto(), new DeveloperDto()), "MTI"));
+
+        mockMvc.perform(get("/v1/developer?after=MTA&limit=2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(header().string("X-Next-Cursor", "MTI"))
+                .andExpect(header().string("Link", "<http://localhost/v1/developer?limit=2&after=MTI>; rel=\"next\""));
+    }
+
+    @Test
+    void getAllDevelopers_returnsBadRequest_whenCursorIsInvalid() throws Exception {
+        when(developerService.getDevelopersAfter("bad", null)).thenThrow(new InvalidCursorException("Invalid cursor: bad"));
+
+        mockMvc.perform(get("/v1/developer").param("after", "bad"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getAllDevelopers_returnsSelectedFields_whenFieldsAreGiven() throws Exception {
+        when(developerService.getAllDevelopers(same(DeveloperFields.parse("lastName,id"))))
+                .thenReturn(new CursorPage<>(List.of(Map.of("id", 1L, "lastName", "Lovelace")), null));
+
+        mockMvc.perform(get("/v1/developer").param("fields", "id,lastName"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].lastName").value("Lovelace"))
+                .andExpect(jsonPath("$[0].firstName").doesNotExist());
+    }
+
+    @Test
+    void getAllDevelopers_returnsBadRequest_whenFieldIsUnknown() throws Exception {
+        mockMvc.perform(get("/v1/developer").param("fields", "id,salary"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(developerService);
+    }
+
+    @Test
+    void getDevelopersByIds_returnsItemsAndMissingIds() throws Exception {
+        DeveloperDto developer = new DeveloperDto();
+        developer.setId(2L);
+        when(developerService.getDevelopersByIds(List.of(2L, 5L))).thenReturn(new BatchFetchResult<>(List.of(developer), List.of(5L)));
+
+        mockMvc.perform(get("/v1/developer").param("ids", "2, 5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(2))
+                .andExpect(jsonPath("$.missing[0]").value(5));
+    }
+
+    @Test
+    void getDevelopersByIds_returnsBadRequest_whenAnIdIsMalformed() throws Exception {
+        mockMvc.perform(get("/v1/developer").param("ids", "2,abc"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid ID: abc"));
+
+        verifyNoInteractions(developerService);
+    }
+
+    @Test
+    void lookupDevelopers_returnsBadRequest_whenNoIdIsGiven() throws Exception {
+        mockMvc.perform(post("/v1/developer/lookup").contentType(MediaType.APPLICATION_JSON).content("{\"ids\":[]}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(developerService);
+    }
+
+    @Test
+    void searchDevelopers_returnsMatchesAndNextCursorHeader() throws Exception {
+        when(developerService.searchDevelopers("ada", null, 1))
+                .thenReturn(new CursorPage<>(List.of(new DeveloperSummaryDto(1L, "Ada", "Lovelace")), "MQ"));
+
+        mockMvc.perform(get("/v1/developer/search?q=ada&limit=1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].lastName").value("Lovelace"))
+                .andExpect(header().string("X-Next-Cursor", "MQ"));
     }
 
     @Test
@@ -64,22 +183,71 @@ class DeveloperControllerTest {
                 .andExpect(jsonPath("$.lastName").value("Doe"));
     }
 
+    @Test
+    void importDevelopers_readsJsonArray() throws Exception {
+        List<DeveloperDto> imported = new ArrayList<>();
+        when(developerImportService.importDevelopers(any())).thenAnswer(invocation -> {
+            Iterator<DeveloperDto> rows = invocation.getArgument(0);
+            rows.forEachRemaining(imported::add);
+            return new BatchImportResult(imported.size(), imported.size(), new ArrayList<>(), 0);
+        });
+
+        mockMvc.perform(post("/v1/developer/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"firstName\":\"John\",\"lastName\":\"Doe\"},{\"firstName\":\"Jane\",\"lastName\":\"Roe\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(2))
+                .andExpect(jsonPath("$.imported").value(2));
+
+        assertEquals("Jane", imported.get(1).getFirstName());
+    }
+
+    @Test
+    void importDevelopers_readsNdjson() throws Exception {
+        List<DeveloperDto> imported = new ArrayList<>();
+        when(developerImportService.importDevelopers(any())).thenAnswer(invocation -> {
+            Iterator<DeveloperDto> rows = invocation.getArgument(0);
+            rows.forEachRemaining(imported::add);
+            return new BatchImportResult(imported.size(), imported.size(), new ArrayList<>(), 0);
+        });
+
+        mockMvc.perform(post("/v1/developer/batch")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"firstName\":\"John\",\"lastName\":\"Doe\"}\n{\"firstName\":\"Jane\",\"lastName\":\"Roe\"}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(2));
+
+        assertEquals(2, imported.size());
+    }
+
     @Test
     void getDeveloperById_returnsDeveloperDto_whenIdExists() throws Exception {
         DeveloperDto developerDto = new DeveloperDto();
         developerDto.setFirstName("John");
         developerDto.setLastName("Doe");
-        when(developerService.getDeveloperById(1L)).thenReturn(Optional.of(developerDto));
+        when(developerService.getVersionedDeveloperById(1L)).thenReturn(Optional.of(new Versioned<>(developerDto, "3")));
 
         mockMvc.perform(get("/v1/developer/1"))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""))
                 .andExpect(jsonPath("$.firstName").value("John"))
                 .andExpect(jsonPath("$.lastName").value("Doe"));
     }
 
+    @Test
+    void getDeveloperById_returnsNotModified_withoutLoadingDeveloper_whenETagMatches() throws Exception {
+        when(developerService.getDeveloperVersion(1L)).thenReturn(Optional.of("3"));
+
+        mockMvc.perform(get("/v1/developer/1").header("If-None-Match", "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(developerService, never()).getVersionedDeveloperById(any());
+    }
+
     @Test
     void getDeveloperById_returnsNotFound_whenIdDoesNotExist() throws Exception {
-        when(developerService.getDeveloperById(1L)).thenReturn(Optional.empty());
+        when(developerService.getVersionedDeveloperById(1L)).thenReturn(Optional.empty());
 
         mockMvc.perform(get("/v1/developer/1"))
                 .andExpect(status().isNotFound());
@@ -87,20 +255,45 @@ class DeveloperControllerTest {
 
     @Test
     void addLanguageToDeveloper_returnsOk_whenDeveloperExists() throws Exception {
-        doNothing().when(developerService).addLanguageToDeveloper(eq(1L), any(ProgrammingLanguageDto.class));
-
         mockMvc.perform(post("/v1/developer/1/languages")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content("{\"name\":\"Java\",\"creatorsName\":\"James Gosling\"}"))
                 .andExpect(status().isOk());
+
+        verify(developerService).addLanguageToDeveloper(1L, new LanguageReferenceDto(null, "Java"));
+    }
+
+    @Test
+    void addLanguageToDeveloper_returnsBadRequest_whenNeitherIdNorNameIsGiven() throws Exception {
+        mockMvc.perform(post("/v1/developer/1/languages")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"creatorsName\":\"James Gosling\"}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(developerService);
+    }
+
+    @Test
+    void addLanguagesToDeveloper_returnsAttachmentResult() throws Exception {
+        when(developerService.addLanguagesToDeveloper(1L, List.of(new LanguageReferenceDto(7L, null), new LanguageReferenceDto(null, "Go"))))
+                .thenReturn(new LanguageAttachmentResult(2, 1));
+
+        mockMvc.perform(post("/v1/developer/1/languages/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"languages\":[{\"id\":7},{\"name\":\"Go\"}]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.requested").value(2))
+                .andExpect(jsonPath("$.attached").value(1));
     }
 
     @Test
     void getLanguagesByDeveloperId_returnsListOfProgrammingLanguageDto() throws Exception {
-        when(developerService.getLanguagesByDeveloperId(1L)).thenReturn(Arrays.asList(new ProgrammingLanguageDto(), new ProgrammingLanguageDto()));
+        when(developerService.getVersionedLanguagesByDeveloperId(1L))
+                .thenReturn(Optional.of(new Versioned<>(Arrays.asList(new ProgrammingLanguageDto(), new ProgrammingLanguageDto()), "3.7")));
 
         mockMvc.perform(get("/v1/developer/1/languages"))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3.7\""))
                 .andExpect(jsonPath("$.length()").value(2));
     }
 
@@ -110,16 +303,39 @@ class DeveloperControllerTest {
         developerDto.setId(1L);
         developerDto.setFirstName("Jane");
         developerDto.setLastName("Smith");
-        when(developerService.updateDeveloper(eq(1L), any(DeveloperDto.class))).thenReturn(developerDto);
+        when(developerService.updateDeveloper(eq(1L), any(DeveloperDto.class), isNull())).thenReturn(new Versioned<>(developerDto, "5"));
 
         mockMvc.perform(put("/v1/developer/1")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content("{\"firstName\":\"Jane\", \"lastName\":\"Smith\"}"))
                 .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"5\""))
                 .andExpect(jsonPath("$.firstName").value("Jane"))
                 .andExpect(jsonPath("$.lastName").value("Smith"));
     }
 
+    @Test
+    void updateDeveloper_passesIfMatchVersionToService() throws Exception {
+        when(developerService.updateDeveloper(eq(1L), any(DeveloperDto.class), eq(4L))).thenReturn(new Versioned<>(new DeveloperDto(), "5"));
+
+        mockMvc.perform(put("/v1/developer/1")
+                        .header("If-Match", "\"4\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\":\"Jane\", \"lastName\":\"Smith\"}"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void updateDeveloper_returnsPreconditionFailed_whenIfMatchIsNotAVersionTag() throws Exception {
+        mockMvc.perform(put("/v1/developer/1")
+                        .header("If-Match", "W/\"4\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\":\"Jane\", \"lastName\":\"Smith\"}"))
+                .andExpect(status().isPreconditionFailed());
+
+        verify(developerService, never()).updateDeveloper(any(), any(), any());
+    }
+
     @Test
     void deleteDeveloper_returnsNoContent() throws Exception {
         doNothing().when(developerService).deleteDeveloperById(1L);
@@ -127,4 +343,23 @@ class DeveloperControllerTest {
         mockMvc.perform(delete("/v1/developer/1"))
                 .andExpect(status().isNoContent());
     }
+
+    @Test
+    void exportDevelopers_streamsOneJsonObjectPerLine() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<DeveloperDto> sink = invocation.getArgument(0);
+            sink.accept(new DeveloperDto(1L, "John", "Doe", null));
+            sink.accept(new DeveloperDto(1L, "John", "Doe", null));
+            return 2L;
+        }).when(developerService).exportDevelopers(any());
+
+        MvcResult mvcResult = mockMvc.perform(get("/v1/developer/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"id\":1,\"firstName\":\"John\",\"lastName\":\"Doe\",\"languages\":null}\n{\"id\":1,\"firstName\":\"John\",\"lastName\":\"Doe\",\"languages\":null}\n"));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,198 @@
+package com.fredjo.DevRegistery.adapter.controller;
+
+import com.fredjo.DevRegistery.domain.entity.Developer;
+import com.fredjo.DevRegistery.domain.entity.ProgrammingLanguage;
+import com.fredjo.DevRegistery.infra.repository.DeveloperRepository;
+import com.fredjo.DevRegistery.infra.repository.ProgrammingLanguageRepository;
+import com.fredjo.DevRegistery.support.SqlStatementCounter;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.List;
+
+import static com.fredjo.DevRegistery.support.SqlStatementCounter.assertStatementCount;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks that languages are attached by reference with a constant number of statements, without duplicating
+ * languages, while keeping versions and the cached language sets consistent.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.fredjo.DevRegistery.support.SqlStatementCounter")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class LanguageAttachmentTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DeveloperRepository developerRepository;
+
+    @Autowired
+    private ProgrammingLanguageRepository programmingLanguageRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private long adaId;
+    private long graceId;
+    private long javaId;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            ProgrammingLanguage java = new ProgrammingLanguage();
+            java.setName("Java");
+            java.setCreatorsName("James Gosling");
+            javaId = programmingLanguageRepository.save(java).getId();
+            ProgrammingLanguage go = new ProgrammingLanguage();
+            go.setName("Go");
+            go.setCreatorsName("Rob Pike");
+            programmingLanguageRepository.save(go);
+
+            adaId = developerRepository.save(developer("Lovelace", java)).getId();
+            graceId = developerRepository.save(developer("Hopper", java)).getId();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        developerRepository.deleteAll();
+        programmingLanguageRepository.deleteAll();
+    }
+
+    @Test
+    void addLanguage_byName_usesConstantStatements_andDoesNotDuplicateLanguages() throws Exception {
+        attach(graceId, "{\"name\":\"Go\"}");
+        SqlStatementCounter.reset();
+
+        attach(adaId, "{\"name\":\"Go\"}");
+
+        // the developer, the join rows, the version
+        assertStatementCount(3);
+        assertEquals(2, programmingLanguageRepository.count());
+        mockMvc.perform(get("/v1/developer/" + adaId + "/languages"))
+                .andExpect(jsonPath("$[*].name", containsInAnyOrder("Java", "Go")));
+    }
+
+    @Test
+    void addLanguage_incrementsVersion_onlyWhenALanguageIsAttached() throws Exception {
+        String initial = eTagOf(adaId);
+
+        attach(adaId, "{\"id\":" + javaId + "}");
+        assertEquals(initial, eTagOf(adaId));
+
+        attach(adaId, "{\"name\":\"Go\"}");
+        assertNotEquals(initial, eTagOf(adaId));
+    }
+
+    @Test
+    void addLanguage_evictsOnlyTheDevelopersCachedLanguages() throws Exception {
+        mockMvc.perform(get("/v1/developer")).andExpect(status().isOk());
+        Cache cache = entityManagerFactory.getCache().unwrap(Cache.class);
+        assertTrue(cache.containsCollection(Developer.LANGUAGES_ROLE, adaId));
+        assertTrue(cache.containsCollection(Developer.LANGUAGES_ROLE, graceId));
+
+        attach(adaId, "{\"name\":\"Go\"}");
+
+        assertFalse(cache.containsCollection(Developer.LANGUAGES_ROLE, adaId));
+        assertTrue(cache.containsCollection(Developer.LANGUAGES_ROLE, graceId));
+        mockMvc.perform(get("/v1/developer").param("fields", "id,languages"))
+                .andExpect(jsonPath("$[0].languages[*].name", containsInAnyOrder("Java", "Go")));
+    }
+
+    @Test
+    void addLanguages_attachesAllOrNothing() throws Exception {
+        mockMvc.perform(post("/v1/developer/" + graceId + "/languages/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"languages\":[{\"name\":\"Go\"},{\"name\":\"Cobol\"}]}"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/v1/developer/" + graceId + "/languages"))
+                .andExpect(jsonPath("$.length()").value(1));
+
+        mockMvc.perform(post("/v1/developer/" + graceId + "/languages/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"languages\":[{\"id\":" + javaId + "},{\"name\":\"Go\"}]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.requested").value(2))
+                .andExpect(jsonPath("$.attached").value(1));
+    }
+
+    @Test
+    void addLanguage_returnsNotFound_forUnknownDeveloper() throws Exception {
+        mockMvc.perform(post("/v1/developer/" + (graceId + 1000) + "/languages")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Go\"}"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void createDeveloper_referencesExistingLanguages_byNameOrId() throws Exception {
+        mockMvc.perform(post("/v1/developer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\":\"Barbara\",\"lastName\":\"Liskov\",\"languages\":[{\"name\":\"Java\",\"creatorsName\":\"James Gosling\"}]}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.languages[0].id").value(javaId));
+        mockMvc.perform(post("/v1/developer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\":\"Alan\",\"lastName\":\"Kay\",\"languages\":[{\"id\":" + javaId + ",\"name\":\"Java\",\"creatorsName\":\"James Gosling\"},"
+                                + "{\"name\":\"Smalltalk\",\"creatorsName\":\"Alan Kay\"}]}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.languages[*].name", containsInAnyOrder("Java", "Smalltalk")));
+
+        assertEquals(3, programmingLanguageRepository.count());
+        mockMvc.perform(get("/v1/programming_language/" + javaId + "/developers"))
+                .andExpect(jsonPath("$.length()").value(4));
+    }
+
+    @Test
+    void createDeveloper_returnsNotFound_forUnknownLanguageId() throws Exception {
+        mockMvc.perform(post("/v1/developer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\":\"Alan\",\"lastName\":\"Kay\",\"languages\":[{\"id\":" + (javaId + 1000) + ",\"name\":\"Simula\",\"creatorsName\":\"Ole-Johan Dahl\"}]}"))
+                .andExpect(status().isNotFound());
+        assertEquals(2, developerRepository.count());
+    }
+
+    private void attach(long developerId, String body) throws Exception {
+        mockMvc.perform(post("/v1/developer/" + developerId + "/languages")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk());
+    }
+
+    private String eTagOf(long developerId) throws Exception {
+        return mockMvc.perform(get("/v1/developer/" + developerId))
+                .andReturn().getResponse().getHeader("ETag");
+    }
+
+    private static Developer developer(String lastName, ProgrammingLanguage language) {
+        Developer developer = new Developer();
+        developer.setFirstName("Ada");
+        developer.setLastName(lastName);
+        developer.setLanguages(new HashSet<>(List.of(language)));
+        return developer;
+    }
+}
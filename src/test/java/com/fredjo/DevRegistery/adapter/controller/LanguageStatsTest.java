@@ -0,0 +1,113 @@
+package com.fredjo.DevRegistery.adapter.controller;
+
+import com.fredjo.DevRegistery.infra.repository.DeveloperRepository;
+import com.fredjo.DevRegistery.infra.repository.ProgrammingLanguageRepository;
+import com.fredjo.DevRegistery.infra.stats.LanguageUsageCounters;
+import com.fredjo.DevRegistery.support.SqlStatementCounter;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static com.fredjo.DevRegistery.support.SqlStatementCounter.assertStatementCount;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks that the language stats follow attaches and deletions without reading developers,
+ * and that reconciliation corrects changes made behind the application's back.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.fredjo.DevRegistery.support.SqlStatementCounter")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class LanguageStatsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DeveloperRepository developerRepository;
+
+    @Autowired
+    private ProgrammingLanguageRepository programmingLanguageRepository;
+
+    @Autowired
+    private LanguageUsageCounters languageUsageCounters;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long javaId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        languageUsageCounters.reconcile();
+        javaId = create("/v1/programming_language", "{\"name\":\"Java\",\"creatorsName\":\"James Gosling\"}");
+        create("/v1/programming_language", "{\"name\":\"Go\",\"creatorsName\":\"Rob Pike\"}");
+    }
+
+    @AfterEach
+    void tearDown() {
+        developerRepository.deleteAll();
+        programmingLanguageRepository.deleteAll();
+    }
+
+    @Test
+    void getLanguageStats_followsAttachesAndDeletions_withoutReadingDevelopers() throws Exception {
+        long adaId = create("/v1/developer", "{\"firstName\":\"Ada\",\"lastName\":\"Lovelace\"}");
+        long graceId = create("/v1/developer", "{\"firstName\":\"Grace\",\"lastName\":\"Hopper\"}");
+        attach(adaId, "{\"languages\":[{\"name\":\"Java\"},{\"name\":\"Go\"}]}");
+        attach(graceId, "{\"languages\":[{\"name\":\"Go\"}]}");
+        attach(graceId, "{\"languages\":[{\"name\":\"Go\"},{\"name\":\"Java\"}]}");
+
+        mockMvc.perform(get("/v1/programming_language/stats")).andExpect(status().isOk());
+        SqlStatementCounter.reset();
+        mockMvc.perform(get("/v1/programming_language/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Go"))
+                .andExpect(jsonPath("$[0].developers").value(2))
+                .andExpect(jsonPath("$[1].name").value("Java"))
+                .andExpect(jsonPath("$[1].developers").value(2));
+        assertStatementCount(0);
+
+        mockMvc.perform(delete("/v1/developer/" + adaId)).andExpect(status().isNoContent());
+        mockMvc.perform(get("/v1/programming_language/stats"))
+                .andExpect(jsonPath("$[0].developers").value(1))
+                .andExpect(jsonPath("$[1].developers").value(1));
+        assertEquals(0, languageUsageCounters.reconcile());
+    }
+
+    @Test
+    void reconcile_correctsChangesMadeDirectlyInTheDatabase() throws Exception {
+        long adaId = create("/v1/developer", "{\"firstName\":\"Ada\",\"lastName\":\"Lovelace\"}");
+        jdbcTemplate.update("insert into developer_programming_language (developer_id, programming_language_id) values (?, ?)", adaId, javaId);
+        assertEquals(0, languageUsageCounters.count(javaId));
+
+        assertEquals(1, languageUsageCounters.reconcile());
+
+        assertEquals(1, languageUsageCounters.count(javaId));
+    }
+
+    private long create(String path, String body) throws Exception {
+        String response = mockMvc.perform(post(path).contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return ((Number) JsonPath.read(response, "$.id")).longValue();
+    }
+
+    private void attach(long developerId, String body) throws Exception {
+        mockMvc.perform(post("/v1/developer/" + developerId + "/languages/batch").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,200 @@
+package com.fredjo.DevRegistery.adapter.controller;
+
+import com.fredjo.DevRegistery.application.dto.ProgrammingLanguageDto;
+import com.fredjo.DevRegistery.application.dto.Versioned;
+import com.fredjo.DevRegistery.application.event.DeveloperLanguagesChangedEvent;
+import com.fredjo.DevRegistery.domain.entity.Developer;
+import com.fredjo.DevRegistery.domain.entity.ProgrammingLanguage;
+import com.fredjo.DevRegistery.infra.cache.DeveloperNearCache;
+import com.fredjo.DevRegistery.infra.repository.DeveloperRepository;
+import com.fredjo.DevRegistery.infra.repository.ProgrammingLanguageRepository;
+import com.fredjo.DevRegistery.support.SqlStatementCounter;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static com.fredjo.DevRegistery.support.SqlStatementCounter.assertStatementCount;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks that repeated developer reads are served from the near-cache without SQL,
+ * and that updates, attaches and language changes are visible right after they commit.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.fredjo.DevRegistery.support.SqlStatementCounter")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(NearCacheTest.LanguagesReloadProbe.class)
+class NearCacheTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DeveloperRepository developerRepository;
+
+    @Autowired
+    private ProgrammingLanguageRepository programmingLanguageRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private DeveloperNearCache developerNearCache;
+
+    @Autowired
+    private LanguagesReloadProbe languagesReloadProbe;
+
+    private long developerId;
+    private long javaId;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            ProgrammingLanguage java = new ProgrammingLanguage();
+            java.setName("Java");
+            java.setCreatorsName("James Gosling");
+            javaId = programmingLanguageRepository.save(java).getId();
+            ProgrammingLanguage go = new ProgrammingLanguage();
+            go.setName("Go");
+            go.setCreatorsName("Rob Pike");
+            programmingLanguageRepository.save(go);
+
+            Developer developer = new Developer();
+            developer.setFirstName("Ada");
+            developer.setLastName("Lovelace");
+            developer.setLanguages(new HashSet<>(List.of(java)));
+            developerId = developerRepository.save(developer).getId();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        languagesReloadProbe.armed = false;
+        developerRepository.deleteAll();
+        programmingLanguageRepository.deleteAll();
+    }
+
+    @Test
+    void getDeveloperById_isServedWithoutSqlOnRepeat_untilUpdated() throws Exception {
+        mockMvc.perform(get("/v1/developer/" + developerId)).andExpect(status().isOk());
+        SqlStatementCounter.reset();
+        mockMvc.perform(get("/v1/developer/" + developerId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lastName").value("Lovelace"));
+        assertStatementCount(0);
+
+        mockMvc.perform(put("/v1/developer/" + developerId).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\":\"Ada\",\"lastName\":\"King\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/v1/developer/" + developerId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lastName").value("King"));
+    }
+
+    @Test
+    void getLanguagesByDeveloperId_followsAttachesAndLanguageUpdates() throws Exception {
+        mockMvc.perform(get("/v1/developer/" + developerId + "/languages"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+
+        mockMvc.perform(post("/v1/developer/" + developerId + "/languages").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Go\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/v1/developer/" + developerId + "/languages"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2));
+
+        mockMvc.perform(put("/v1/programming_language/" + javaId).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Java\",\"creatorsName\":\"Sun Microsystems\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/v1/developer/" + developerId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.languages[?(@.name == 'Java')].creatorsName").value("Sun Microsystems"));
+    }
+
+    @Test
+    void attachLanguages_nearCacheReloadedRightAfterInvalidation_doesNotReadStaleSecondLevelCache() throws Exception {
+        // caches the language set of the developer in the second-level cache
+        transactionTemplate.executeWithoutResult(status -> languagesReloadProbe.load(developerId));
+        languagesReloadProbe.armed = true;
+
+        mockMvc.perform(post("/v1/developer/" + developerId + "/languages").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Go\"}"))
+                .andExpect(status().isOk());
+
+        Versioned<List<ProgrammingLanguageDto>> cached = developerNearCache.getLanguages(developerId, key -> fail("not cached"))
+                .orElseThrow();
+        assertEquals(List.of("Go", "Java"), cached.getValue().stream().map(ProgrammingLanguageDto::getName).sorted().toList());
+    }
+
+    @Test
+    void nearCacheMetrics_areExposedThroughActuator() throws Exception {
+        mockMvc.perform(get("/v1/developer/" + developerId)).andExpect(status().isOk());
+        mockMvc.perform(get("/v1/developer/" + developerId)).andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/metrics/cache.gets").param("tag", "cache:developers").param("tag", "result:hit"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/metrics/cache.load.duration").param("tag", "cache:developers"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.measurements[?(@.statistic == 'COUNT')].value").exists());
+        mockMvc.perform(get("/actuator/metrics/cache.table.size").param("tag", "cache:developerLanguages"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.baseUnit").value("bytes"));
+    }
+
+    /**
+     * Once armed, reloads the languages of a developer into the near-cache from another thread right after the
+     * near-cache is invalidated, as a concurrent read would; loads the languages lazily, through the second-level
+     * cache.
+     */
+    static class LanguagesReloadProbe {
+
+        private final DeveloperNearCache developerNearCache;
+        private final EntityManager entityManager;
+
+        volatile boolean armed;
+
+        LanguagesReloadProbe(DeveloperNearCache developerNearCache, EntityManager entityManager) {
+            this.developerNearCache = developerNearCache;
+            this.entityManager = entityManager;
+        }
+
+        @TransactionalEventListener
+        @Order(DeveloperNearCache.INVALIDATION_ORDER + 1)
+        public void onDeveloperLanguagesChanged(DeveloperLanguagesChangedEvent event) {
+            if (armed) {
+                CompletableFuture.runAsync(() -> developerNearCache.getLanguages(event.id(), this::load)).join();
+            }
+        }
+
+        Versioned<List<ProgrammingLanguageDto>> load(long id) {
+            Developer developer = entityManager.find(Developer.class, id);
+            List<ProgrammingLanguageDto> languages = developer.getLanguages().stream()
+                    .map(language -> new ProgrammingLanguageDto(language.getId(), language.getName(), language.getCreatorsName()))
+                    .toList();
+            return new Versioned<>(languages, String.valueOf(developer.getVersion()));
+        }
+    }
+}
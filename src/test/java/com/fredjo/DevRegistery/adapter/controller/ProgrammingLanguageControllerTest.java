@@ -1,24 +1,34 @@
 package com.fredjo.DevRegistery.adapter.controller;
 
+import com.fredjo.DevRegistery.application.dto.CursorPage;
 import com.fredjo.DevRegistery.application.dto.DeveloperDto;
 import com.fredjo.DevRegistery.application.dto.ProgrammingLanguageDto;
+import com.fredjo.DevRegistery.application.dto.Versioned;
 import com.fredjo.DevRegistery.application.services.ProgrammingLanguageService;
 import com.fredjo.DevRegistery.config.GlobalExceptionHandler;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.util.Arrays;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 class ProgrammingLanguageControllerTest {
@@ -26,6 +36,9 @@ class ProgrammingLanguageControllerTest {
     @Mock
     private ProgrammingLanguageService programmingLanguageService;
 
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
     @InjectMocks
     private ProgrammingLanguageController programmingLanguageController;
 
@@ -41,13 +54,24 @@ class ProgrammingLanguageControllerTest {
 
     @Test
     void getAllProgrammingLanguages_returnsListOfProgrammingLanguageDto() throws Exception {
-        when(programmingLanguageService.getAllProgrammingLanguages()).thenReturn(Arrays.asList(new ProgrammingLanguageDto(), new ProgrammingLanguageDto()));
+        when(programmingLanguageService.getAllProgrammingLanguages()).thenReturn(new CursorPage<>(Arrays.asList(new ProgrammingLanguageDto(), new ProgrammingLanguageDto()), null));
 
         mockMvc.perform(get("/v1/programming_language"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.length()").value(2));
     }
 
+    @Test
+    void getAllProgrammingLanguages_returnsLastPageWithoutNextCursor_whenPaginated() throws Exception {
+        when(programmingLanguageService.getProgrammingLanguagesAfter(null, 5))
+                .thenReturn(new CursorPage<>(Arrays.asList(new ProgrammingLanguageDto()), null));
+
+        mockMvc.perform(get("/v1/programming_language").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
     @Test
     void createProgrammingLanguage_returnsCreatedProgrammingLanguageDto() throws Exception {
         ProgrammingLanguageDto programmingLanguageDto = new ProgrammingLanguageDto();
@@ -69,17 +93,39 @@ class ProgrammingLanguageControllerTest {
         ProgrammingLanguageDto programmingLanguageDto = new ProgrammingLanguageDto();
         programmingLanguageDto.setName("Python");
         programmingLanguageDto.setCreatorsName("Guido van Rossum");
+        when(programmingLanguageService.getProgrammingLanguageVersion(1L)).thenReturn(Optional.of("2"));
         when(programmingLanguageService.getProgrammingLanguageById(1L)).thenReturn(Optional.of(programmingLanguageDto));
 
         mockMvc.perform(get("/v1/programming_language/1"))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"2\""))
                 .andExpect(jsonPath("$.name").value("Python"))
                 .andExpect(jsonPath("$.creatorsName").value("Guido van Rossum"));
     }
 
+    @Test
+    void getProgrammingLanguageById_returnsNotModified_withoutMapping_whenETagMatches() throws Exception {
+        when(programmingLanguageService.getProgrammingLanguageVersion(1L)).thenReturn(Optional.of("2"));
+
+        mockMvc.perform(get("/v1/programming_language/1").header("If-None-Match", "\"2\""))
+                .andExpect(status().isNotModified());
+
+        verify(programmingLanguageService, never()).getProgrammingLanguageById(any());
+    }
+
+    @Test
+    void getAllProgrammingLanguages_returnsNotModified_withoutMapping_whenETagMatches() throws Exception {
+        when(programmingLanguageService.getProgrammingLanguagesVersion(null, null)).thenReturn("2-abc");
+
+        mockMvc.perform(get("/v1/programming_language").header("If-None-Match", "\"2-abc\""))
+                .andExpect(status().isNotModified());
+
+        verify(programmingLanguageService, never()).getAllProgrammingLanguages();
+    }
+
     @Test
     void getProgrammingLanguageById_returnsNotFound_whenIdDoesNotExist() throws Exception {
-        when(programmingLanguageService.getProgrammingLanguageById(1L)).thenReturn(Optional.empty());
+        when(programmingLanguageService.getProgrammingLanguageVersion(1L)).thenReturn(Optional.empty());
 
         mockMvc.perform(get("/v1/programming_language/1"))
                 .andExpect(status().isNotFound());
@@ -91,12 +137,13 @@ class ProgrammingLanguageControllerTest {
         programmingLanguageDto.setId(1L);
         programmingLanguageDto.setName("JavaScript");
         programmingLanguageDto.setCreatorsName("Brendan Eich");
-        when(programmingLanguageService.updateProgrammingLanguage(eq(1L), any(ProgrammingLanguageDto.class))).thenReturn(programmingLanguageDto);
+        when(programmingLanguageService.updateProgrammingLanguage(eq(1L), any(ProgrammingLanguageDto.class), isNull())).thenReturn(new Versioned<>(programmingLanguageDto, "2"));
 
         mockMvc.perform(put("/v1/programming_language/1")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content("{\"name\":\"JavaScript\",\"creatorsName\":\"Brendan Eich\"}"))
                 .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"2\""))
                 .andExpect(jsonPath("$.name").value("JavaScript"))
                 .andExpect(jsonPath("$.creatorsName").value("Brendan Eich"));
     }
@@ -117,4 +164,23 @@ class ProgrammingLanguageControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.length()").value(2));
     }
+
+    @Test
+    void exportProgrammingLanguages_streamsOneJsonObjectPerLine() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<ProgrammingLanguageDto> sink = invocation.getArgument(0);
+            sink.accept(new ProgrammingLanguageDto(1L, "Java", "James Gosling"));
+            sink.accept(new ProgrammingLanguageDto(1L, "Java", "James Gosling"));
+            return 2L;
+        }).when(programmingLanguageService).exportProgrammingLanguages(any());
+
+        MvcResult mvcResult = mockMvc.perform(get("/v1/programming_language/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"id\":1,\"name\":\"Java\",\"creatorsName\":\"James Gosling\"}\n{\"id\":1,\"name\":\"Java\",\"creatorsName\":\"James Gosling\"}\n"));
+    }
 }
\ No newline at end of file
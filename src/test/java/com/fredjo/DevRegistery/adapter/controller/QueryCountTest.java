@@ -0,0 +1,194 @@
+package com.fredjo.DevRegistery.adapter.controller;
+
+import com.fredjo.DevRegistery.domain.entity.Developer;
+import com.fredjo.DevRegistery.domain.entity.ProgrammingLanguage;
+import com.fredjo.DevRegistery.infra.repository.DeveloperRepository;
+import com.fredjo.DevRegistery.infra.repository.ProgrammingLanguageRepository;
+import com.fredjo.DevRegistery.support.SqlStatementCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static com.fredjo.DevRegistery.support.SqlStatementCounter.assertStatementCount;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Guards against N+1 loading: every read endpoint must issue a fixed number of SQL statements,
+ * whatever the number of developers and languages involved.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.fredjo.DevRegistery.support.SqlStatementCounter")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class QueryCountTest {
+
+    private static final int DEVELOPERS = 12;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DeveloperRepository developerRepository;
+
+    @Autowired
+    private ProgrammingLanguageRepository programmingLanguageRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final List<Long> developerIds = new ArrayList<>();
+    private long developerId;
+    private long languageId;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<ProgrammingLanguage> languages = new ArrayList<>();
+            for (String name : List.of("Java", "Go", "Rust")) {
+                ProgrammingLanguage language = new ProgrammingLanguage();
+                language.setName(name);
+                language.setCreatorsName("Creator of " + name);
+                languages.add(programmingLanguageRepository.save(language));
+            }
+            for (int i = 0; i < DEVELOPERS; i++) {
+                Developer developer = new Developer();
+                developer.setFirstName("First" + i);
+                developer.setLastName("Last" + i);
+                developer.setLanguages(new HashSet<>(Set.of(languages.get(i % 3), languages.get((i + 1) % 3))));
+                developerId = developerRepository.save(developer).getId();
+                developerIds.add(developerId);
+            }
+            languageId = languages.get(0).getId();
+        });
+        SqlStatementCounter.reset();
+    }
+
+    @AfterEach
+    void tearDown() {
+        developerRepository.deleteAll();
+        programmingLanguageRepository.deleteAll();
+    }
+
+    @Test
+    void getAllDevelopers_loadsDevelopersThenLanguagesInOneBatch() throws Exception {
+        mockMvc.perform(get("/v1/developer"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(DEVELOPERS))
+                .andExpect(jsonPath("$[0].languages.length()").value(2));
+
+        assertStatementCount(2);
+    }
+
+    @Test
+    void getDevelopersPage_loadsDevelopersThenLanguagesInOneBatch() throws Exception {
+        mockMvc.perform(get("/v1/developer?limit=5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(5));
+
+        assertStatementCount(2);
+    }
+
+    @Test
+    void getDeveloperById_fetchesLanguagesWithDeveloper() throws Exception {
+        mockMvc.perform(get("/v1/developer/" + developerId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.languages.length()").value(2));
+
+        assertStatementCount(1);
+    }
+
+    @Test
+    void getDevelopersByIds_fetchesDevelopersAndTheirLanguagesInOneQuery() throws Exception {
+        List<Long> ids = new ArrayList<>(developerIds);
+        Collections.reverse(ids);
+        String missing = String.valueOf(developerId + 1000);
+        String query = missing + "," + ids.stream().map(String::valueOf).collect(Collectors.joining(","));
+
+        mockMvc.perform(get("/v1/developer").param("ids", query))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(DEVELOPERS))
+                .andExpect(jsonPath("$.items[0].id").value(ids.get(0)))
+                .andExpect(jsonPath("$.items[0].languages.length()").value(2))
+                .andExpect(jsonPath("$.missing[0]").value(Long.parseLong(missing)));
+
+        assertStatementCount(1);
+    }
+
+    @Test
+    void lookupDevelopers_fetchesDevelopersAndTheirLanguagesInOneQuery() throws Exception {
+        mockMvc.perform(post("/v1/developer/lookup").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[" + developerId + "," + (developerId - 1) + "]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[1].id").value(developerId - 1))
+                .andExpect(jsonPath("$.missing.length()").value(0));
+
+        assertStatementCount(1);
+    }
+
+    @Test
+    void getProgrammingLanguagesByIds_issuesOneQuery() throws Exception {
+        mockMvc.perform(get("/v1/programming_language").param("ids", languageId + "," + (languageId + 1000)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].name").value("Java"))
+                .andExpect(jsonPath("$.missing[0]").value(languageId + 1000));
+
+        assertStatementCount(1);
+    }
+
+    @Test
+    void getLanguagesByDeveloperId_fetchesLanguagesWithDeveloper() throws Exception {
+        mockMvc.perform(get("/v1/developer/" + developerId + "/languages"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2));
+
+        assertStatementCount(1);
+    }
+
+    @Test
+    void getDevelopersByProgrammingLanguageId_fetchesDevelopersAndTheirLanguagesInOneQuery() throws Exception {
+        mockMvc.perform(get("/v1/programming_language/" + languageId + "/developers"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(DEVELOPERS * 2 / 3))
+                .andExpect(jsonPath("$[0].languages.length()").value(2));
+
+        assertStatementCount(1);
+    }
+
+    @Test
+    void getAllProgrammingLanguages_issuesOneQuery() throws Exception {
+        mockMvc.perform(get("/v1/programming_language"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3));
+
+        assertStatementCount(1);
+    }
+
+    @Test
+    void exportDevelopers_streamsDevelopersThenLanguagesInOneBatch() throws Exception {
+        MvcResult mvcResult = mockMvc.perform(get("/v1/developer/export")).andReturn();
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk());
+
+        assertStatementCount(2);
+    }
+}
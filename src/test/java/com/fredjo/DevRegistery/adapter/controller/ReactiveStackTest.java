@@ -0,0 +1,231 @@
+package com.fredjo.DevRegistery.adapter.controller;
+
+import com.fredjo.DevRegistery.application.dto.DeveloperDto;
+import com.fredjo.DevRegistery.application.dto.ProgrammingLanguageDto;
+import com.fredjo.DevRegistery.infra.stats.LanguageUsageCounters;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Runs the API on the {@code reactive} profile: WebFlux on Netty, R2DBC against the Flyway schema.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles({"test", "reactive"})
+class ReactiveStackTest {
+
+    private static final long FIRST_SEEDED_ID = 1_000_000L;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private LanguageUsageCounters languageUsageCounters;
+
+    private long javaId;
+
+    @BeforeEach
+    void setUp() {
+        javaId = createLanguage("Java", "James Gosling").getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from developer_programming_language");
+        jdbcTemplate.update("delete from developer");
+        jdbcTemplate.update("delete from programming_language");
+    }
+
+    @Test
+    void createDeveloper_referencesExistingLanguageByName() {
+        DeveloperDto created = webTestClient.post().uri("/v1/developer")
+                .bodyValue(Map.of("firstName", "Ada", "lastName", "Lovelace",
+                        "languages", List.of(Map.of("name", "Java", "creatorsName", "James Gosling"))))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(DeveloperDto.class).returnResult().getResponseBody();
+        assertEquals(javaId, created.getLanguages().iterator().next().getId());
+        assertEquals(1, jdbcTemplate.queryForObject("select count(*) from programming_language", Long.class));
+    }
+
+    @Test
+    void createDeveloper_attachesLanguages_andIsServedWithAnETag() {
+        DeveloperDto created = webTestClient.post().uri("/v1/developer")
+                .bodyValue(Map.of("firstName", "Ada", "lastName", "Lovelace",
+                        "languages", List.of(Map.of("id", javaId), Map.of("name", "Go", "creatorsName", "Rob Pike"))))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(DeveloperDto.class).returnResult().getResponseBody();
+        assertEquals(2, created.getLanguages().size());
+        assertEquals(1, languageUsageCounters.count(javaId));
+
+        String eTag = webTestClient.get().uri("/v1/developer/{id}", created.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(DeveloperDto.class).isEqualTo(created)
+                .returnResult().getResponseHeaders().getETag();
+        webTestClient.get().uri("/v1/developer/{id}", created.getId())
+                .header("If-None-Match", eTag)
+                .exchange()
+                .expectStatus().isNotModified();
+    }
+
+    @Test
+    void listEndpoints_streamEveryDeveloper_withItsLanguages() {
+        seedDevelopers(250);
+
+        List<DeveloperDto> all = webTestClient.get().uri("/v1/developer")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist("X-Next-Cursor")
+                .expectBodyList(DeveloperDto.class).returnResult().getResponseBody();
+        assertEquals(250, all.size());
+        assertEquals(FIRST_SEEDED_ID + 249, all.get(249).getId());
+        all.forEach(developer -> assertEquals("Java", developer.getLanguages().iterator().next().getName()));
+
+        List<DeveloperDto> exported = webTestClient.get().uri("/v1/developer/export")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(DeveloperDto.class).getResponseBody().collectList().block();
+        assertEquals(all, exported);
+
+        List<DeveloperDto> developers = webTestClient.get().uri("/v1/programming_language/{id}/developers", javaId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(DeveloperDto.class).returnResult().getResponseBody();
+        assertEquals(all, developers);
+    }
+
+    @Test
+    void getDevelopers_walksKeysetPages() {
+        seedDevelopers(150);
+
+        var firstPage = webTestClient.get().uri("/v1/developer?limit=100")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(DeveloperDto.class).hasSize(100)
+                .returnResult();
+        String cursor = firstPage.getResponseHeaders().getFirst(CursorHeaders.NEXT_CURSOR_HEADER);
+        assertNotNull(cursor);
+
+        var lastPage = webTestClient.get().uri("/v1/developer?after={cursor}&limit=100", cursor)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(DeveloperDto.class).hasSize(50)
+                .returnResult();
+        assertNull(lastPage.getResponseHeaders().getFirst(CursorHeaders.NEXT_CURSOR_HEADER));
+        assertEquals(FIRST_SEEDED_ID + 100, lastPage.getResponseBody().get(0).getId());
+
+        webTestClient.get().uri("/v1/developer?after=%%%")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void addLanguages_bumpsTheETag_andRejectsUnknownLanguagesWithoutAttachingAny() {
+        long id = createDeveloper("Grace", "Hopper").getId();
+        String before = eTagOf("/v1/developer/" + id);
+
+        webTestClient.post().uri("/v1/developer/{id}/languages", id)
+                .bodyValue(Map.of("name", "Java"))
+                .exchange()
+                .expectStatus().isOk();
+        assertNotEquals(before, eTagOf("/v1/developer/" + id));
+
+        webTestClient.post().uri("/v1/developer/{id}/languages/batch", id)
+                .bodyValue(Map.of("languages", List.of(Map.of("id", javaId), Map.of("name", "COBOL"))))
+                .exchange()
+                .expectStatus().isNotFound();
+        webTestClient.get().uri("/v1/developer/{id}/languages", id)
+                .exchange()
+                .expectBodyList(ProgrammingLanguageDto.class).hasSize(1);
+    }
+
+    @Test
+    void updateAndDelete_applyOptimisticChecks() {
+        long id = createDeveloper("Alan", "Turing").getId();
+        String eTag = eTagOf("/v1/developer/" + id);
+
+        webTestClient.put().uri("/v1/developer/{id}", id)
+                .header("If-Match", eTag)
+                .bodyValue(Map.of("firstName", "Alan M.", "lastName", "Turing"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().value("ETag", newETag -> assertEquals(eTagOf("/v1/developer/" + id), newETag))
+                .expectBody().jsonPath("$.firstName").isEqualTo("Alan M.");
+        webTestClient.put().uri("/v1/developer/{id}", id)
+                .header("If-Match", eTag)
+                .bodyValue(Map.of("firstName", "Alan", "lastName", "Turing"))
+                .exchange()
+                .expectStatus().isEqualTo(412);
+        webTestClient.put().uri("/v1/developer/{id}", id)
+                .bodyValue(Map.of("firstName", "", "lastName", "Turing"))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.errors.firstName").exists();
+
+        webTestClient.delete().uri("/v1/developer/{id}", id).exchange().expectStatus().isNoContent();
+        webTestClient.get().uri("/v1/developer/{id}", id).exchange().expectStatus().isNotFound();
+        webTestClient.delete().uri("/v1/developer/{id}", id).exchange().expectStatus().isNoContent();
+        webTestClient.delete().uri("/v1/programming_language/{id}", javaId).exchange().expectStatus().isNoContent();
+        webTestClient.delete().uri("/v1/programming_language/{id}", javaId).exchange().expectStatus().isNotFound();
+    }
+
+    @Test
+    void createProgrammingLanguage_returnsConflict_whenNameIsTaken() {
+        webTestClient.post().uri("/v1/programming_language")
+                .bodyValue(Map.of("name", "Java", "creatorsName", "James Gosling"))
+                .exchange()
+                .expectStatus().isEqualTo(409);
+    }
+
+    private ProgrammingLanguageDto createLanguage(String name, String creatorsName) {
+        return webTestClient.post().uri("/v1/programming_language")
+                .bodyValue(Map.of("name", name, "creatorsName", creatorsName))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(ProgrammingLanguageDto.class).returnResult().getResponseBody();
+    }
+
+    private DeveloperDto createDeveloper(String firstName, String lastName) {
+        return webTestClient.post().uri("/v1/developer")
+                .bodyValue(Map.of("firstName", firstName, "lastName", lastName))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(DeveloperDto.class).returnResult().getResponseBody();
+    }
+
+    private String eTagOf(String path) {
+        return webTestClient.get().uri(path).exchange()
+                .expectStatus().isOk()
+                .expectBody().returnResult().getResponseHeaders().getETag();
+    }
+
+    private void seedDevelopers(int count) {
+        List<Object[]> developers = LongStream.range(FIRST_SEEDED_ID, FIRST_SEEDED_ID + count)
+                .mapToObj(id -> new Object[]{id, "First " + id, "Last " + id})
+                .toList();
+        jdbcTemplate.batchUpdate("insert into developer (id, first_name, last_name) values (?, ?, ?)", developers);
+        jdbcTemplate.update("insert into developer_programming_language (developer_id, programming_language_id) "
+                + "select id, ? from developer where id >= ?", javaId, FIRST_SEEDED_ID);
+    }
+}
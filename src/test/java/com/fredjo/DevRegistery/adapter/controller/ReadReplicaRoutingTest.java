@@ -0,0 +1,224 @@
+package com.fredjo.DevRegistery.adapter.controller;
+
+import com.fredjo.DevRegistery.domain.entity.Developer;
+import com.fredjo.DevRegistery.domain.entity.ProgrammingLanguage;
+import com.fredjo.DevRegistery.infra.datasource.ReplicaPool;
+import com.fredjo.DevRegistery.infra.datasource.ReplicationMonitor;
+import com.fredjo.DevRegistery.infra.repository.DeveloperRepository;
+import com.fredjo.DevRegistery.infra.repository.ProgrammingLanguageRepository;
+import com.fredjo.DevRegistery.support.H2ReplicationHook;
+import com.jayway.jsonpath.JsonPath;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks read/write routing against a second embedded H2 standing in for a replica: writes land on the
+ * primary, read-only transactions are served by the replica while it is up and close enough, and by the
+ * primary otherwise, and only reads on the primary fill the second-level and query caches. The monitor is
+ * only run on demand, by the tests.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReadReplicaRoutingTest.PRIMARY_URL,
+        "devregistry.datasource.replica-urls=" + ReadReplicaRoutingTest.REPLICA_URL,
+        "devregistry.datasource.replica-max-lag=500ms",
+        "devregistry.datasource.replica-check-interval=1h"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles({"test", "read-replicas"})
+class ReadReplicaRoutingTest {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1";
+
+    private final H2ReplicationHook replication = new H2ReplicationHook(PRIMARY_URL, REPLICA_URL);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DeveloperRepository developerRepository;
+
+    @Autowired
+    private ProgrammingLanguageRepository programmingLanguageRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ReplicationMonitor replicationMonitor;
+
+    @Autowired
+    private List<ReplicaPool> replicaPools;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        replicationMonitor.check();
+        replication.replicate();
+        replicationMonitor.check();
+        assertTrue(replicaPools.get(0).isUsable(500));
+    }
+
+    @AfterEach
+    void tearDown() {
+        developerRepository.deleteAll();
+        programmingLanguageRepository.deleteAll();
+    }
+
+    @Test
+    void writesGoToPrimary_andReadsToReplica() throws Exception {
+        createDeveloper();
+
+        assertEquals(1, replication.countOnPrimary("developer"));
+        assertEquals(0, replication.countOnReplica("developer"));
+        mockMvc.perform(get("/v1/developer"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+
+        replication.replicate();
+        mockMvc.perform(get("/v1/developer"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+
+    @Test
+    void readsFallBackToPrimary_whenReplicaLagsTooFarBehind() throws Exception {
+        createDeveloper();
+        Thread.sleep(600);
+        replicationMonitor.check();
+
+        assertTrue(replicaPools.get(0).isUp());
+        assertFalse(replicaPools.get(0).isUsable(500));
+        mockMvc.perform(get("/v1/developer"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+
+        replication.replicate();
+        replicationMonitor.check();
+        assertTrue(replicaPools.get(0).isUsable(500));
+    }
+
+    @Test
+    void readsFallBackToPrimary_whenReplicaIsDown() throws Exception {
+        createDeveloper();
+        replication.destroyReplica();
+        replicationMonitor.check();
+
+        assertFalse(replicaPools.get(0).isUp());
+        mockMvc.perform(get("/v1/developer"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+
+    @Test
+    void conditionalUpdates_followTheETagOfTheLastRead_whileReplicaLags() throws Exception {
+        long id = createDeveloper();
+        replication.replicate();
+        String read = mockMvc.perform(get("/v1/developer/" + id))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        update(id, read, "King").andExpect(status().isOk());
+
+        // the replica still holds the version just replaced
+        String reread = mockMvc.perform(get("/v1/developer/" + id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lastName").value("King"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(read, reread);
+        update(id, reread, "Byron").andExpect(status().isOk());
+        update(id, reread, "Lovelace").andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void readsServedByReplica_doNotFillQueryCache() throws Exception {
+        createLanguage("Java");
+        replication.replicate();
+        mockMvc.perform(get("/v1/programming_language"))
+                .andExpect(jsonPath("$.length()").value(1));
+
+        createLanguage("Go");
+        mockMvc.perform(get("/v1/programming_language"))
+                .andExpect(jsonPath("$.length()").value(1));
+
+        // had the lagging result been cached, it would outlive the replica catching up
+        replication.replicate();
+        mockMvc.perform(get("/v1/programming_language"))
+                .andExpect(jsonPath("$.length()").value(2));
+    }
+
+    @Test
+    void readsServedByReplica_doNotFillCollectionCache_whileReadsOnPrimaryDo() throws Exception {
+        ProgrammingLanguage java = createLanguage("Java");
+        long id = transactionTemplate.execute(status -> {
+            Developer developer = new Developer();
+            developer.setFirstName("Ada");
+            developer.setLastName("Lovelace");
+            developer.setLanguages(new HashSet<>(List.of(programmingLanguageRepository.findById(java.getId()).orElseThrow())));
+            return developerRepository.save(developer).getId();
+        });
+        Cache cache = entityManagerFactory.getCache().unwrap(Cache.class);
+        cache.evictCollectionData(Developer.LANGUAGES_ROLE);
+        replication.replicate();
+
+        mockMvc.perform(get("/v1/developer"))
+                .andExpect(jsonPath("$[0].languages[0].name").value("Java"));
+        assertFalse(cache.containsCollection(Developer.LANGUAGES_ROLE, id));
+
+        replication.destroyReplica();
+        replicationMonitor.check();
+        mockMvc.perform(get("/v1/developer"))
+                .andExpect(jsonPath("$[0].languages[0].name").value("Java"));
+        assertTrue(cache.containsCollection(Developer.LANGUAGES_ROLE, id));
+    }
+
+    private ProgrammingLanguage createLanguage(String name) {
+        ProgrammingLanguage language = new ProgrammingLanguage();
+        language.setName(name);
+        language.setCreatorsName("Someone");
+        return programmingLanguageRepository.save(language);
+    }
+
+    private ResultActions update(long id, String ifMatch, String lastName) throws Exception {
+        return mockMvc.perform(put("/v1/developer/" + id)
+                .header(HttpHeaders.IF_MATCH, ifMatch)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"firstName\":\"Ada\",\"lastName\":\"" + lastName + "\"}"));
+    }
+
+    private long createDeveloper() throws Exception {
+        String body = mockMvc.perform(post("/v1/developer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\":\"Ada\",\"lastName\":\"Lovelace\"}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return ((Number) JsonPath.read(body, "$.id")).longValue();
+    }
+}
@@ -0,0 +1,84 @@
+package com.fredjo.DevRegistery.adapter.controller;
+
+import com.fredjo.DevRegistery.infra.repository.ProgrammingLanguageRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks that the schema comes from the Flyway migrations, with the indexes the queries rely on.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SchemaMigrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProgrammingLanguageRepository programmingLanguageRepository;
+
+    @AfterEach
+    void tearDown() {
+        programmingLanguageRepository.deleteAll();
+    }
+
+    @Test
+    void migrations_areApplied() {
+        List<String> versions = jdbcTemplate.queryForList(
+                "select \"version\" from \"flyway_schema_history\" where \"version\" is not null and \"success\" order by \"installed_rank\"", String.class);
+        Integer failed = jdbcTemplate.queryForObject(
+                "select count(*) from \"flyway_schema_history\" where not \"success\"", Integer.class);
+
+        assertEquals("1", versions.get(0));
+        assertEquals(0, failed);
+    }
+
+    @Test
+    void lookupColumns_areIndexed() {
+        assertTrue(indexedColumns("DEVELOPER").contains("IDX_DEVELOPER_LAST_NAME:LAST_NAME"));
+        assertTrue(indexedColumns("DEVELOPER_PROGRAMMING_LANGUAGE").contains("IDX_DEVELOPER_PROGRAMMING_LANGUAGE_LANGUAGE:PROGRAMMING_LANGUAGE_ID"));
+        assertTrue(indexedColumns("PROGRAMMING_LANGUAGE").contains("UK_PROGRAMMING_LANGUAGE_NAME:NAME"));
+    }
+
+    @Test
+    void reverseLookup_usesLanguageIndex() {
+        String plan = jdbcTemplate.queryForObject(
+                "explain select developer_id from developer_programming_language where programming_language_id = 1", String.class);
+
+        assertTrue(plan.contains("IDX_DEVELOPER_PROGRAMMING_LANGUAGE_LANGUAGE"), plan);
+    }
+
+    @Test
+    void createProgrammingLanguage_returnsConflict_whenNameIsTaken() throws Exception {
+        String body = "{\"name\":\"Java\",\"creatorsName\":\"James Gosling\"}";
+        mockMvc.perform(post("/v1/programming_language").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(post("/v1/programming_language").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isConflict());
+    }
+
+    private List<String> indexedColumns(String table) {
+        return jdbcTemplate.queryForList(
+                "select index_name || ':' || column_name from information_schema.index_columns where table_name = ?",
+                String.class, table);
+    }
+}
@@ -0,0 +1,199 @@
+package com.fredjo.DevRegistery.adapter.controller;
+
+import com.fredjo.DevRegistery.domain.entity.Developer;
+import com.fredjo.DevRegistery.domain.entity.ProgrammingLanguage;
+import com.fredjo.DevRegistery.infra.repository.DeveloperRepository;
+import com.fredjo.DevRegistery.infra.repository.ProgrammingLanguageRepository;
+import com.fredjo.DevRegistery.support.SqlStatementCounter;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static com.fredjo.DevRegistery.support.SqlStatementCounter.assertStatementCount;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks that programming languages and developer language sets are served from the
+ * second-level cache, and that writes invalidate exactly what they change.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.fredjo.DevRegistery.support.SqlStatementCounter")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SecondLevelCacheTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DeveloperRepository developerRepository;
+
+    @Autowired
+    private ProgrammingLanguageRepository programmingLanguageRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private long developerId;
+    private long javaId;
+    private long goId;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            ProgrammingLanguage java = new ProgrammingLanguage();
+            java.setName("Java");
+            java.setCreatorsName("James Gosling");
+            javaId = programmingLanguageRepository.save(java).getId();
+            ProgrammingLanguage go = new ProgrammingLanguage();
+            go.setName("Go");
+            go.setCreatorsName("Rob Pike");
+            goId = programmingLanguageRepository.save(go).getId();
+
+            Developer developer = new Developer();
+            developer.setFirstName("Ada");
+            developer.setLastName("Lovelace");
+            developer.setLanguages(new HashSet<>(List.of(java, go)));
+            developerId = developerRepository.save(developer).getId();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        developerRepository.deleteAll();
+        programmingLanguageRepository.deleteAll();
+    }
+
+    @Test
+    void getProgrammingLanguageById_isServedFromCacheOnRepeat() throws Exception {
+        mockMvc.perform(get("/v1/programming_language/" + javaId)).andExpect(status().isOk());
+        SqlStatementCounter.reset();
+
+        mockMvc.perform(get("/v1/programming_language/" + javaId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Java"));
+
+        assertStatementCount(0);
+    }
+
+    @Test
+    void getAllProgrammingLanguages_isServedFromQueryCacheUntilUpdated() throws Exception {
+        mockMvc.perform(get("/v1/programming_language")).andExpect(status().isOk());
+        SqlStatementCounter.reset();
+
+        mockMvc.perform(get("/v1/programming_language"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2));
+        assertStatementCount(0);
+
+        mockMvc.perform(put("/v1/programming_language/" + javaId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Kotlin\",\"creatorsName\":\"JetBrains\"}"))
+                .andExpect(status().isOk());
+        SqlStatementCounter.reset();
+
+        mockMvc.perform(get("/v1/programming_language"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Kotlin"));
+        assertStatementCount(1);
+    }
+
+    @Test
+    void getDevelopersPage_resolvesLanguagesFromCollectionCacheOnRepeat() throws Exception {
+        mockMvc.perform(get("/v1/developer?limit=5")).andExpect(status().isOk());
+        SqlStatementCounter.reset();
+
+        mockMvc.perform(get("/v1/developer?limit=5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].languages.length()").value(2));
+
+        assertStatementCount(1);
+    }
+
+    @Test
+    void deleteProgrammingLanguage_evictsCachedDeveloperLanguages() throws Exception {
+        mockMvc.perform(get("/v1/developer?limit=5"))
+                .andExpect(jsonPath("$[0].languages.length()").value(2));
+
+        mockMvc.perform(delete("/v1/programming_language/" + goId))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/v1/developer?limit=5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(developerId))
+                .andExpect(jsonPath("$[0].languages.length()").value(1))
+                .andExpect(jsonPath("$[0].languages[0].name").value("Java"));
+    }
+
+    @Test
+    void deleteProgrammingLanguage_usesConstantStatements_andEvictsOnlyItsDevelopersLanguages() throws Exception {
+        List<Long> goDevelopers = new ArrayList<>(List.of(developerId));
+        long graceId = transactionTemplate.execute(status -> {
+            ProgrammingLanguage java = programmingLanguageRepository.findById(javaId).orElseThrow();
+            ProgrammingLanguage go = programmingLanguageRepository.findById(goId).orElseThrow();
+            for (int i = 0; i < 20; i++) {
+                goDevelopers.add(developerRepository.save(developer("Gopher " + i, go)).getId());
+            }
+            return developerRepository.save(developer("Hopper", java)).getId();
+        });
+        mockMvc.perform(get("/v1/developer?limit=50")).andExpect(status().isOk());
+        Cache cache = entityManagerFactory.getCache().unwrap(Cache.class);
+        long adaVersion = developerRepository.findVersionById(developerId).orElseThrow();
+        SqlStatementCounter.reset();
+
+        mockMvc.perform(delete("/v1/programming_language/" + goId))
+                .andExpect(status().isNoContent());
+
+        // its developers, their versions, the join rows, the language (read from the cache)
+        assertStatementCount(4);
+        for (long id : goDevelopers) {
+            assertFalse(cache.containsCollection(Developer.LANGUAGES_ROLE, id));
+        }
+        assertTrue(cache.containsCollection(Developer.LANGUAGES_ROLE, graceId));
+        assertEquals(adaVersion + 1, developerRepository.findVersionById(developerId).orElseThrow());
+        mockMvc.perform(get("/v1/developer/" + goDevelopers.get(1) + "/languages"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    void cacheMetrics_areExposedThroughActuator() throws Exception {
+        mockMvc.perform(get("/v1/programming_language/" + javaId)).andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/metrics/cache.gets").param("tag", "cache:" + ProgrammingLanguage.CACHE_REGION))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.availableTags[?(@.tag == 'result')]").exists());
+        mockMvc.perform(get("/actuator/metrics/cache.evictions").param("tag", "cache:" + Developer.LANGUAGES_CACHE_REGION))
+                .andExpect(status().isOk());
+    }
+
+    private static Developer developer(String lastName, ProgrammingLanguage language) {
+        Developer developer = new Developer();
+        developer.setFirstName("Test");
+        developer.setLastName(lastName);
+        developer.setLanguages(new HashSet<>(List.of(language)));
+        return developer;
+    }
+}
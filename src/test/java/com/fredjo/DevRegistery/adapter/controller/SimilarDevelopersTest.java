@@ -0,0 +1,107 @@
+package com.fredjo.DevRegistery.adapter.controller;
+
+import com.fredjo.DevRegistery.infra.repository.DeveloperRepository;
+import com.fredjo.DevRegistery.infra.repository.ProgrammingLanguageRepository;
+import com.fredjo.DevRegistery.infra.similarity.DeveloperSimilarityIndex;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks that {@code GET /v1/developer/{id}/similar} follows creations, attaches and deletions
+ * committed through the API.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SimilarDevelopersTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DeveloperRepository developerRepository;
+
+    @Autowired
+    private ProgrammingLanguageRepository programmingLanguageRepository;
+
+    @Autowired
+    private DeveloperSimilarityIndex developerSimilarityIndex;
+
+    private long javaId;
+    private long goId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        developerSimilarityIndex.rebuild();
+        javaId = create("/v1/programming_language", "{\"name\":\"Java\",\"creatorsName\":\"James Gosling\"}");
+        goId = create("/v1/programming_language", "{\"name\":\"Go\",\"creatorsName\":\"Rob Pike\"}");
+    }
+
+    @AfterEach
+    void tearDown() {
+        developerRepository.deleteAll();
+        programmingLanguageRepository.deleteAll();
+    }
+
+    @Test
+    void getSimilarDevelopers_ranksDevelopersByLanguageOverlap() throws Exception {
+        long adaId = create("/v1/developer", "{\"firstName\":\"Ada\",\"lastName\":\"Lovelace\",\"languages\":[{\"name\":\"Kotlin\",\"creatorsName\":\"JetBrains\"}]}");
+        long graceId = create("/v1/developer", "{\"firstName\":\"Grace\",\"lastName\":\"Hopper\"}");
+        long linusId = create("/v1/developer", "{\"firstName\":\"Linus\",\"lastName\":\"Torvalds\"}");
+        create("/v1/developer", "{\"firstName\":\"Alan\",\"lastName\":\"Turing\"}");
+        attach(adaId, "{\"languages\":[{\"id\":" + javaId + "},{\"id\":" + goId + "}]}");
+        attach(graceId, "{\"languages\":[{\"name\":\"Java\"}]}");
+        attach(linusId, "{\"languages\":[{\"name\":\"Go\"},{\"name\":\"Java\"}]}");
+
+        mockMvc.perform(get("/v1/developer/{id}/similar", adaId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(linusId))
+                .andExpect(jsonPath("$[0].lastName").value("Torvalds"))
+                .andExpect(jsonPath("$[0].sharedLanguages").value(2))
+                .andExpect(jsonPath("$[0].similarity").value(2.0 / 3))
+                .andExpect(jsonPath("$[1].id").value(graceId))
+                .andExpect(jsonPath("$[1].similarity").value(1.0 / 3));
+
+        mockMvc.perform(delete("/v1/developer/{id}", linusId)).andExpect(status().isNoContent());
+        mockMvc.perform(delete("/v1/programming_language/{id}", goId)).andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/v1/developer/{id}/similar", adaId).param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(graceId))
+                .andExpect(jsonPath("$[0].similarity").value(0.5));
+    }
+
+    @Test
+    void getSimilarDevelopers_returnsNotFound_forUnknownDeveloper() throws Exception {
+        mockMvc.perform(get("/v1/developer/{id}/similar", Long.MAX_VALUE))
+                .andExpect(status().isNotFound());
+    }
+
+    private void attach(long developerId, String body) throws Exception {
+        mockMvc.perform(post("/v1/developer/{id}/languages/batch", developerId).contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk());
+    }
+
+    private long create(String path, String body) throws Exception {
+        String response = mockMvc.perform(post(path).contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return ((Number) JsonPath.read(response, "$.id")).longValue();
+    }
+}
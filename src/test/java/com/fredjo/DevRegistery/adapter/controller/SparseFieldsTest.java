@@ -0,0 +1,124 @@
+package com.fredjo.DevRegistery.adapter.controller;
+
+import com.fredjo.DevRegistery.domain.entity.Developer;
+import com.fredjo.DevRegistery.domain.entity.ProgrammingLanguage;
+import com.fredjo.DevRegistery.infra.repository.DeveloperRepository;
+import com.fredjo.DevRegistery.infra.repository.ProgrammingLanguageRepository;
+import com.fredjo.DevRegistery.support.SqlStatementCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.List;
+
+import static com.fredjo.DevRegistery.support.SqlStatementCounter.assertStatementCount;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks that {@code ?fields=} returns only the selected fields and that the SQL reads only what they need.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.fredjo.DevRegistery.support.SqlStatementCounter")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SparseFieldsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DeveloperRepository developerRepository;
+
+    @Autowired
+    private ProgrammingLanguageRepository programmingLanguageRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            ProgrammingLanguage java = new ProgrammingLanguage();
+            java.setName("Java");
+            java.setCreatorsName("James Gosling");
+            programmingLanguageRepository.save(java);
+            for (String lastName : List.of("Lovelace", "Hopper")) {
+                Developer developer = new Developer();
+                developer.setFirstName("Ada");
+                developer.setLastName(lastName);
+                developer.setLanguages(new HashSet<>(List.of(java)));
+                developerRepository.save(developer);
+            }
+        });
+        SqlStatementCounter.reset();
+    }
+
+    @AfterEach
+    void tearDown() {
+        developerRepository.deleteAll();
+        programmingLanguageRepository.deleteAll();
+    }
+
+    @Test
+    void getDevelopers_selectsOnlyRequestedColumns_withoutLanguages() throws Exception {
+        mockMvc.perform(get("/v1/developer").param("fields", "id,lastName"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].keys()", containsInAnyOrder("id", "lastName")))
+                .andExpect(jsonPath("$[0].lastName").value("Lovelace"));
+
+        assertStatementCount(1);
+        String sql = SqlStatementCounter.statements().get(0).toLowerCase();
+        assertFalse(sql.contains("first_name"), sql);
+        assertFalse(sql.contains("programming_language"), sql);
+    }
+
+    @Test
+    void getDevelopers_loadsLanguages_onlyWhenRequested() throws Exception {
+        mockMvc.perform(get("/v1/developer").param("fields", "lastName,languages"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").doesNotExist())
+                .andExpect(jsonPath("$[0].lastName").value("Lovelace"))
+                .andExpect(jsonPath("$[0].languages[0].name").value("Java"));
+    }
+
+    @Test
+    void getDevelopers_pagesWithCursor() throws Exception {
+        String next = mockMvc.perform(get("/v1/developer").param("fields", "firstName").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].firstName").value("Ada"))
+                .andExpect(header().exists("X-Next-Cursor"))
+                .andReturn().getResponse().getHeader("X-Next-Cursor");
+
+        mockMvc.perform(get("/v1/developer").param("fields", "lastName").param("limit", "1").param("after", next))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].lastName").value("Hopper"))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
+    @Test
+    void getDevelopers_returnsBadRequest_forUnknownField() throws Exception {
+        mockMvc.perform(get("/v1/developer").param("fields", "id,salary"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getProgrammingLanguages_returnsOnlyRequestedFields() throws Exception {
+        mockMvc.perform(get("/v1/programming_language").param("fields", "name"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].*", containsInAnyOrder("Java")))
+                .andExpect(header().exists("ETag"));
+    }
+}
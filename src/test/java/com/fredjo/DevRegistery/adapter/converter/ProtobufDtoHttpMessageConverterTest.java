@@ -0,0 +1,91 @@
+package com.fredjo.DevRegistery.adapter.converter;
+
+import com.fredjo.DevRegistery.application.dto.DeveloperDto;
+import com.fredjo.DevRegistery.application.dto.ProgrammingLanguageDto;
+import com.fredjo.DevRegistery.application.dto.SimilarDeveloperDto;
+import com.google.protobuf.UnknownFieldSet;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ResolvableType;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.fredjo.DevRegistery.adapter.converter.ProtobufDtoHttpMessageConverter.APPLICATION_X_PROTOBUF;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProtobufDtoHttpMessageConverterTest {
+
+    private static final Type DEVELOPERS = ResolvableType.forClassWithGenerics(Iterable.class, DeveloperDto.class).getType();
+    private static final Type LANGUAGES = ResolvableType.forClassWithGenerics(List.class, ProgrammingLanguageDto.class).getType();
+
+    private final ProtobufDtoHttpMessageConverter converter = new ProtobufDtoHttpMessageConverter();
+
+    @Test
+    void write_encodesDeveloperListAsInTheSchema() throws IOException {
+        DeveloperDto ada = new DeveloperDto(7, "Ada", "Lovelace", Set.of(new ProgrammingLanguageDto(3, "Java", "James Gosling")));
+
+        byte[] bytes = write(List.of(ada), DEVELOPERS);
+
+        UnknownFieldSet list = UnknownFieldSet.parseFrom(bytes);
+        UnknownFieldSet developer = UnknownFieldSet.parseFrom(list.getField(1).getLengthDelimitedList().get(0));
+        assertEquals(List.of(7L), developer.getField(1).getVarintList());
+        assertEquals("Ada", developer.getField(2).getLengthDelimitedList().get(0).toStringUtf8());
+        assertEquals("Lovelace", developer.getField(3).getLengthDelimitedList().get(0).toStringUtf8());
+        UnknownFieldSet language = UnknownFieldSet.parseFrom(developer.getField(4).getLengthDelimitedList().get(0));
+        assertEquals(List.of(3L), language.getField(1).getVarintList());
+        assertEquals("James Gosling", language.getField(3).getLengthDelimitedList().get(0).toStringUtf8());
+    }
+
+    @Test
+    void read_decodesWhatWasWritten() throws IOException {
+        List<DeveloperDto> developers = List.of(
+                new DeveloperDto(1, "Ada", "Lovelace", Set.of(new ProgrammingLanguageDto(3, "Java", "James Gosling"),
+                        new ProgrammingLanguageDto(4, "Go", "Rob Pike"))),
+                new DeveloperDto(2, "Grace", "Hopper", null));
+
+        Object read = converter.read(DEVELOPERS, null, new MockHttpInputMessage(write(developers, DEVELOPERS)));
+
+        assertEquals(developers, read);
+    }
+
+    @Test
+    void read_leavesAbsentFieldsNull_soThatValidationRejectsThem() throws IOException {
+        byte[] bytes = write(new ProgrammingLanguageDto(0, "Java", ""), ProgrammingLanguageDto.class);
+
+        ProgrammingLanguageDto read = (ProgrammingLanguageDto) converter.read(ProgrammingLanguageDto.class, null, new MockHttpInputMessage(bytes));
+
+        assertEquals(0, read.getId());
+        assertEquals("Java", read.getName());
+        assertNull(read.getCreatorsName());
+    }
+
+    @Test
+    void write_encodesEmptyListAsNoBytes() throws IOException {
+        assertEquals(0, write(List.of(), LANGUAGES).length);
+    }
+
+    @Test
+    void canWrite_onlyDevelopersAndLanguages() {
+        assertTrue(converter.canWrite(DEVELOPERS, List.class, APPLICATION_X_PROTOBUF));
+        assertTrue(converter.canWrite(LANGUAGES, List.class, APPLICATION_X_PROTOBUF));
+        assertTrue(converter.canWrite(DeveloperDto.class, DeveloperDto.class, ProtobufDtoHttpMessageConverter.APPLICATION_PROTOBUF));
+        assertFalse(converter.canWrite(ResolvableType.forClassWithGenerics(List.class, SimilarDeveloperDto.class).getType(), List.class, APPLICATION_X_PROTOBUF));
+        assertFalse(converter.canWrite(Map.class, Map.class, APPLICATION_X_PROTOBUF));
+        assertFalse(converter.canWrite(DeveloperDto.class, DeveloperDto.class, org.springframework.http.MediaType.APPLICATION_JSON));
+    }
+
+    private byte[] write(Object value, Type type) throws IOException {
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        converter.write(value, type, APPLICATION_X_PROTOBUF, output);
+        assertEquals(output.getBodyAsBytes().length, output.getHeaders().getContentLength());
+        return output.getBodyAsBytes();
+    }
+}
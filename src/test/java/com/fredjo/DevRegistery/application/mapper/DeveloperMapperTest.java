@@ -0,0 +1,63 @@
+package com.fredjo.DevRegistery.application.mapper;
+
+import com.fredjo.DevRegistery.application.dto.DeveloperDto;
+import com.fredjo.DevRegistery.application.dto.ProgrammingLanguageDto;
+import com.fredjo.DevRegistery.domain.entity.Developer;
+import com.fredjo.DevRegistery.domain.entity.ProgrammingLanguage;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeveloperMapperTest {
+
+    private final ProgrammingLanguageMapper programmingLanguageMapper = new ProgrammingLanguageMapperImpl();
+    private final DeveloperMapper developerMapper = new DeveloperMapperImpl(programmingLanguageMapper);
+
+    @Test
+    void toDto_mapsFieldsAndNestedLanguages() {
+        ProgrammingLanguage java = new ProgrammingLanguage();
+        java.setId(2L);
+        java.setName("Java");
+        java.setCreatorsName("James Gosling");
+        Developer developer = new Developer();
+        developer.setId(1L);
+        developer.setFirstName("John");
+        developer.setLastName("Doe");
+        developer.setLanguages(new HashSet<>(Set.of(java)));
+
+        DeveloperDto result = developerMapper.toDto(developer);
+
+        assertEquals(1L, result.getId());
+        assertEquals("John", result.getFirstName());
+        assertEquals("Doe", result.getLastName());
+        assertEquals(Set.of(new ProgrammingLanguageDto(2L, "Java", "James Gosling")), result.getLanguages());
+    }
+
+    @Test
+    void toEntity_keepsDefaultLanguages_whenDtoLanguagesAreNull() {
+        DeveloperDto developerDto = new DeveloperDto(0L, "Jane", "Smith", null);
+
+        Developer result = developerMapper.toEntity(developerDto);
+
+        assertEquals("Jane", result.getFirstName());
+        assertEquals("Smith", result.getLastName());
+        assertNotNull(result.getLanguages());
+        assertTrue(result.getLanguages().isEmpty());
+    }
+
+    @Test
+    void toEntity_neverPopulatesDevelopersBackReference() {
+        ProgrammingLanguage result = programmingLanguageMapper.toEntity(new ProgrammingLanguageDto(3L, "Go", "Rob Pike"));
+
+        assertEquals("Go", result.getName());
+        assertTrue(result.getDevelopers().isEmpty());
+    }
+
+    @Test
+    void toDto_returnsNull_whenEntityIsNull() {
+        assertNull(developerMapper.toDto(null));
+    }
+}
@@ -0,0 +1,192 @@
+package com.fredjo.DevRegistery.application.services;
+
+import com.fredjo.DevRegistery.application.dto.BatchImportResult;
+import com.fredjo.DevRegistery.application.dto.DeveloperDto;
+import com.fredjo.DevRegistery.application.dto.ProgrammingLanguageDto;
+import com.fredjo.DevRegistery.application.event.ProgrammingLanguageSavedEvent;
+import com.fredjo.DevRegistery.domain.entity.Developer;
+import com.fredjo.DevRegistery.domain.entity.ProgrammingLanguage;
+import com.fredjo.DevRegistery.infra.repository.DeveloperRepository;
+import com.fredjo.DevRegistery.infra.repository.ProgrammingLanguageRepository;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class DeveloperImportServiceTest {
+
+    @Mock
+    private DeveloperRepository developerRepository;
+
+    @Mock
+    private ProgrammingLanguageRepository programmingLanguageRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    private DeveloperImportService developerImportService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        doAnswer(invocation -> {
+            Consumer<TransactionStatus> action = invocation.getArgument(0);
+            action.accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        developerImportService = new DeveloperImportService(developerRepository, programmingLanguageRepository, validator, transactionTemplate, eventPublisher);
+    }
+
+    @Test
+    void importDevelopers_insertsValidRowsAndReportsInvalidOnes() {
+        List<DeveloperDto> rows = Arrays.asList(
+                new DeveloperDto(0L, "John", "Doe", null),
+                new DeveloperDto(0L, "", "Smith", null),
+                new DeveloperDto(0L, "Jane", "Roe", null));
+
+        BatchImportResult result = developerImportService.importDevelopers(rows.iterator());
+
+        assertEquals(3, result.getReceived());
+        assertEquals(2, result.getImported());
+        assertEquals(1, result.getErrors().size());
+        assertEquals(1, result.getErrors().get(0).getRow());
+        assertTrue(result.getErrors().get(0).getFieldErrors().containsKey("firstName"));
+        verify(developerRepository, times(1)).saveAll(anyList());
+    }
+
+    @Test
+    void importDevelopers_rejectsRowsWithAnInvalidLanguage() {
+        List<DeveloperDto> rows = Arrays.asList(
+                new DeveloperDto(0L, "John", "Doe", Set.of(new ProgrammingLanguageDto(0L, "Rust", null))),
+                new DeveloperDto(0L, "Jane", "Roe", Set.of(new ProgrammingLanguageDto(0L, "", "Rob Pike"))));
+
+        BatchImportResult result = developerImportService.importDevelopers(rows.iterator());
+
+        assertEquals(0, result.getImported());
+        assertEquals(2, result.getErrors().size());
+        assertEquals("Creator name is required", result.getErrors().get(0).getFieldErrors().get("languages[].creatorsName"));
+        assertTrue(result.getErrors().get(1).getFieldErrors().containsKey("languages[].name"));
+        verifyNoInteractions(programmingLanguageRepository, developerRepository);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void importDevelopers_resolvesLanguagesByNameOncePerChunkAndCreatesMissingOnes() {
+        ProgrammingLanguage java = new ProgrammingLanguage();
+        java.setId(1L);
+        java.setName("Java");
+        ProgrammingLanguageDto javaDto = new ProgrammingLanguageDto(0L, "Java", "James Gosling");
+        ProgrammingLanguageDto goDto = new ProgrammingLanguageDto(0L, "Go", "Rob Pike");
+        List<DeveloperDto> rows = Arrays.asList(
+                new DeveloperDto(0L, "John", "Doe", Set.of(javaDto)),
+                new DeveloperDto(0L, "Jane", "Roe", Set.of(javaDto, goDto)));
+
+        when(programmingLanguageRepository.findByNameIn(anyCollection())).thenReturn(List.of(java));
+
+        BatchImportResult result = developerImportService.importDevelopers(rows.iterator());
+
+        assertEquals(2, result.getImported());
+        verify(programmingLanguageRepository, times(1)).findByNameIn(anyCollection());
+        ArgumentCaptor<List<ProgrammingLanguage>> created = ArgumentCaptor.forClass(List.class);
+        verify(programmingLanguageRepository).saveAll(created.capture());
+        assertEquals(1, created.getValue().size());
+        assertEquals("Go", created.getValue().get(0).getName());
+        verify(eventPublisher).publishEvent(new ProgrammingLanguageSavedEvent(created.getValue().get(0).getId()));
+        ArgumentCaptor<List<Developer>> developers = ArgumentCaptor.forClass(List.class);
+        verify(developerRepository).saveAll(developers.capture());
+        assertTrue(developers.getValue().get(0).getLanguages().contains(java));
+        assertEquals(2, developers.getValue().get(1).getLanguages().size());
+    }
+
+    @Test
+    void importDevelopers_commitsOneTransactionPerChunk() {
+        List<DeveloperDto> rows = new ArrayList<>();
+        for (int i = 0; i < DeveloperImportService.IMPORT_CHUNK_SIZE + 1; i++) {
+            rows.add(new DeveloperDto(0L, "First" + i, "Last" + i, null));
+        }
+
+        BatchImportResult result = developerImportService.importDevelopers(rows.iterator());
+
+        assertEquals(rows.size(), result.getImported());
+        verify(transactionTemplate, times(2)).executeWithoutResult(any());
+        verify(developerRepository, times(2)).saveAll(anyList());
+    }
+
+    @Test
+    void importDevelopers_reportsEveryRowOfARejectedChunk() {
+        List<DeveloperDto> rows = Arrays.asList(
+                new DeveloperDto(0L, "John", "Doe", null),
+                new DeveloperDto(0L, "Jane", "Roe", null));
+
+        when(developerRepository.saveAll(anyList())).thenThrow(new DataIntegrityViolationException("constraint violated"));
+
+        BatchImportResult result = developerImportService.importDevelopers(rows.iterator());
+
+        assertEquals(2, result.getReceived());
+        assertEquals(0, result.getImported());
+        assertEquals(2, result.getErrors().size());
+        assertEquals(0, result.getErrors().get(0).getRow());
+        assertEquals(1, result.getErrors().get(1).getRow());
+    }
+
+    @Test
+    void importDevelopers_countsRejectedRowsBeyondTheReportedOnes() {
+        List<DeveloperDto> rows = new ArrayList<>();
+        for (int i = 0; i < BatchImportResult.MAX_REPORTED_ERRORS + 5; i++) {
+            rows.add(new DeveloperDto(0L, "First" + i, "Last" + i, null));
+        }
+
+        when(developerRepository.saveAll(anyList())).thenThrow(new DataIntegrityViolationException("constraint violated"));
+
+        BatchImportResult result = developerImportService.importDevelopers(rows.iterator());
+
+        assertEquals(0, result.getImported());
+        assertEquals(BatchImportResult.MAX_REPORTED_ERRORS, result.getErrors().size());
+        assertEquals(5, result.getUnreportedErrors());
+    }
+
+    @Test
+    void importDevelopers_stopsAtMalformedRowAndKeepsPreviousRows() {
+        Iterator<DeveloperDto> rows = new Iterator<>() {
+            private int read;
+
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public DeveloperDto next() {
+                if (read++ == 0) {
+                    return new DeveloperDto(0L, "John", "Doe", null);
+                }
+                throw new IllegalStateException("Unexpected token");
+            }
+        };
+
+        BatchImportResult result = developerImportService.importDevelopers(rows);
+
+        assertEquals(2, result.getReceived());
+        assertEquals(1, result.getImported());
+        assertEquals(1, result.getErrors().get(0).getRow());
+        assertTrue(result.getErrors().get(0).getMessage().startsWith("Malformed row"));
+    }
+}
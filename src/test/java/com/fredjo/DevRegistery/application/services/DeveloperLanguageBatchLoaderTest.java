@@ -0,0 +1,73 @@
+package com.fredjo.DevRegistery.application.services;
+
+import com.fredjo.DevRegistery.application.dto.DeveloperDto;
+import com.fredjo.DevRegistery.application.dto.ProgrammingLanguageDto;
+import com.fredjo.DevRegistery.application.mapper.R2dbcRowMapperImpl;
+import com.fredjo.DevRegistery.infra.r2dbc.DeveloperLanguageRow;
+import com.fredjo.DevRegistery.infra.r2dbc.DeveloperRow;
+import com.fredjo.DevRegistery.infra.r2dbc.ReactiveProgrammingLanguageRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DeveloperLanguageBatchLoaderTest {
+
+    private ReactiveProgrammingLanguageRepository programmingLanguageRepository;
+    private DeveloperLanguageBatchLoader batchLoader;
+
+    @BeforeEach
+    void setUp() {
+        programmingLanguageRepository = mock(ReactiveProgrammingLanguageRepository.class);
+        batchLoader = new DeveloperLanguageBatchLoader(programmingLanguageRepository, new R2dbcRowMapperImpl());
+        // every developer knows one language, whose ID is the developer's
+        when(programmingLanguageRepository.findByDeveloperIdIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return Flux.fromIterable(ids).map(id -> new DeveloperLanguageRow(id, id, "Language " + id, "Creator"));
+        });
+    }
+
+    @Test
+    void load_queriesLanguagesOncePerBatch_andKeepsRowOrder() {
+        List<DeveloperDto> developers = batchLoader.load(rows(250)).collectList().block();
+
+        assertEquals(250, developers.size());
+        for (int i = 0; i < developers.size(); i++) {
+            DeveloperDto developer = developers.get(i);
+            assertEquals(i + 1, developer.getId());
+            assertEquals(List.of(developer.getId()), developer.getLanguages().stream().map(ProgrammingLanguageDto::getId).toList());
+        }
+        verify(programmingLanguageRepository, times(3)).findByDeveloperIdIn(anyCollection());
+    }
+
+    @Test
+    void load_readsAheadOneBatchAtMost_whenTheConsumerIsSlow() {
+        AtomicLong requested = new AtomicLong();
+        Flux<DeveloperRow> rows = rows(1000).doOnRequest(requested::addAndGet);
+
+        StepVerifier.create(batchLoader.load(rows), 1)
+                .expectNextCount(1)
+                .thenCancel()
+                .verify();
+
+        assertEquals(DeveloperLanguageBatchLoader.BATCH_SIZE, requested.get());
+        verify(programmingLanguageRepository, times(1)).findByDeveloperIdIn(anyCollection());
+    }
+
+    private static Flux<DeveloperRow> rows(int count) {
+        return Flux.fromStream(LongStream.rangeClosed(1, count).boxed())
+                .map(id -> new DeveloperRow(id, "First " + id, "Last " + id, 0L));
+    }
+}
@@ -1,17 +1,44 @@
 package com.fredjo.DevRegistery.application.services;
 
+import com.fredjo.DevRegistery.application.dto.BatchFetchResult;
+import com.fredjo.DevRegistery.application.dto.CursorPage;
 import com.fredjo.DevRegistery.application.dto.DeveloperDto;
+import com.fredjo.DevRegistery.application.dto.DeveloperSummaryDto;
+import com.fredjo.DevRegistery.application.dto.LanguageAttachmentResult;
+import com.fredjo.DevRegistery.application.dto.LanguageReferenceDto;
 import com.fredjo.DevRegistery.application.dto.ProgrammingLanguageDto;
+import com.fredjo.DevRegistery.application.dto.Versioned;
+import com.fredjo.DevRegistery.application.event.DeveloperDeletedEvent;
+import com.fredjo.DevRegistery.application.event.DeveloperLanguagesAddedEvent;
+import com.fredjo.DevRegistery.application.event.DeveloperLanguagesChangedEvent;
+import com.fredjo.DevRegistery.application.event.DeveloperSavedEvent;
+import com.fredjo.DevRegistery.application.event.LanguageLinksChangedEvent;
+import com.fredjo.DevRegistery.application.mapper.DeveloperMapper;
+import com.fredjo.DevRegistery.application.mapper.ProgrammingLanguageMapper;
 import com.fredjo.DevRegistery.domain.entity.Developer;
 import com.fredjo.DevRegistery.domain.entity.ProgrammingLanguage;
+import com.fredjo.DevRegistery.infra.cache.DeveloperNearCache;
 import com.fredjo.DevRegistery.infra.repository.DeveloperRepository;
+import com.fredjo.DevRegistery.infra.repository.ProgrammingLanguageRepository;
+import com.fredjo.DevRegistery.infra.search.DeveloperSearchIndex;
+import com.fredjo.DevRegistery.infra.similarity.DeveloperSimilarityIndex;
+import com.fredjo.DevRegistery.utils.CursorPagination;
 import com.fredjo.DevRegistery.utils.DeveloperNotFoundException;
+import com.fredjo.DevRegistery.utils.PreconditionFailedException;
+import com.fredjo.DevRegistery.utils.InvalidCursorException;
+import com.fredjo.DevRegistery.utils.InvalidIdsException;
+import com.fredjo.DevRegistery.utils.ProgrammingLanguageNotFoundException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.modelmapper.ModelMapper;
+import org.mockito.Spy;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.util.*;
 
@@ -24,7 +51,28 @@ class DeveloperServiceTest {
     private DeveloperRepository developerRepository;
 
     @Mock
-    private ModelMapper modelMapper;
+    private ProgrammingLanguageRepository programmingLanguageRepository;
+
+    @Mock
+    private DeveloperMapper developerMapper;
+
+    @Mock
+    private ProgrammingLanguageMapper programmingLanguageMapper;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private DeveloperSearchIndex developerSearchIndex;
+
+    @Mock
+    private DeveloperSimilarityIndex developerSimilarityIndex;
+
+    @Spy
+    private DeveloperNearCache developerNearCache = new DeveloperNearCache(mock(PlatformTransactionManager.class), 100);
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private DeveloperService developerService;
@@ -40,8 +88,8 @@ class DeveloperServiceTest {
         Developer developer = new Developer();
         DeveloperDto developerDto = new DeveloperDto();
 
-        when(developerRepository.findById(id)).thenReturn(Optional.of(developer));
-        when(modelMapper.map(developer, DeveloperDto.class)).thenReturn(developerDto);
+        when(developerRepository.findWithLanguagesById(id)).thenReturn(Optional.of(developer));
+        when(developerMapper.toDto(developer)).thenReturn(developerDto);
 
         Optional<DeveloperDto> result = developerService.getDeveloperById(id);
 
@@ -49,11 +97,29 @@ class DeveloperServiceTest {
         assertEquals(developerDto, result.get());
     }
 
+    @Test
+    void getDeveloperById_loadsOnce_thenServesFromNearCacheUntilInvalidated() {
+        Long id = 1L;
+        Developer developer = new Developer();
+        DeveloperDto developerDto = new DeveloperDto();
+
+        when(developerRepository.findWithLanguagesById(id)).thenReturn(Optional.of(developer));
+        when(developerMapper.toDto(developer)).thenReturn(developerDto);
+
+        developerService.getDeveloperById(id);
+        assertEquals(developerDto, developerService.getDeveloperById(id).orElseThrow());
+        verify(developerRepository, times(1)).findWithLanguagesById(id);
+
+        developerNearCache.onDeveloperSaved(new DeveloperSavedEvent(id, "Ada", "Lovelace"));
+        developerService.getDeveloperById(id);
+        verify(developerRepository, times(2)).findWithLanguagesById(id);
+    }
+
     @Test
     void getDeveloperById_returnsEmptyOptional_whenIdDoesNotExist() {
         Long id = 1L;
 
-        when(developerRepository.findById(id)).thenReturn(Optional.empty());
+        when(developerRepository.findWithLanguagesById(id)).thenReturn(Optional.empty());
 
         Optional<DeveloperDto> result = developerService.getDeveloperById(id);
 
@@ -65,25 +131,147 @@ class DeveloperServiceTest {
         List<Developer> developers = Arrays.asList(new Developer(), new Developer());
         List<DeveloperDto> developerDtos = Arrays.asList(new DeveloperDto(), new DeveloperDto());
 
-        when(developerRepository.findAll()).thenReturn(developers);
-        when(modelMapper.map(any(Developer.class), eq(DeveloperDto.class)))
+        when(developerRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Limit.class))).thenReturn(developers);
+        when(developerMapper.toDto(any(Developer.class)))
                 .thenReturn(developerDtos.get(0), developerDtos.get(1));
 
-        Iterable<DeveloperDto> result = developerService.getAllDevelopers();
+        CursorPage<DeveloperDto> result = developerService.getAllDevelopers();
+
+        assertEquals(developerDtos, result.getItems());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void getAllDevelopers_returnsNextCursor_whenMoreThanTheCapExist() {
+        List<Developer> developers = new ArrayList<>();
+        for (long id = 1; id <= CursorPagination.MAX_UNPAGED_RESULTS + 1; id++) {
+            Developer developer = new Developer();
+            developer.setId(id);
+            developers.add(developer);
+        }
+
+        when(developerRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(CursorPagination.MAX_UNPAGED_RESULTS + 1))).thenReturn(developers);
+        when(developerMapper.toDto(any(Developer.class))).thenReturn(new DeveloperDto());
+
+        CursorPage<DeveloperDto> result = developerService.getAllDevelopers();
+
+        assertEquals(CursorPagination.MAX_UNPAGED_RESULTS, result.getItems().size());
+        assertEquals(CursorPagination.encode(CursorPagination.MAX_UNPAGED_RESULTS), result.getNextCursor());
+    }
+
+    @Test
+    void getDevelopersByIds_fetchesOnceWithLanguages_andReturnsDevelopersInRequestOrder() {
+        Developer ada = new Developer();
+        ada.setId(1L);
+        Developer alan = new Developer();
+        alan.setId(2L);
+        DeveloperDto adaDto = new DeveloperDto();
+        DeveloperDto alanDto = new DeveloperDto();
+
+        when(developerRepository.findWithLanguagesByIdIn(new LinkedHashSet<>(List.of(2L, 3L, 1L)))).thenReturn(Arrays.asList(ada, alan));
+        when(developerMapper.toDto(ada)).thenReturn(adaDto);
+        when(developerMapper.toDto(alan)).thenReturn(alanDto);
+
+        BatchFetchResult<DeveloperDto> result = developerService.getDevelopersByIds(List.of(2L, 3L, 2L, 1L));
+
+        assertSame(alanDto, result.getItems().get(0));
+        assertSame(adaDto, result.getItems().get(1));
+        assertEquals(List.of(3L), result.getMissing());
+        verify(developerRepository, times(1)).findWithLanguagesByIdIn(any());
+    }
 
-        assertEquals(2, ((List<DeveloperDto>) result).size());
-        assertEquals(developerDtos, result);
+    @Test
+    void getDevelopersByIds_throwsInvalidIdsException_whenNoIdIsGiven() {
+        assertThrows(InvalidIdsException.class, () -> developerService.getDevelopersByIds(List.of()));
+        verify(developerRepository, never()).findWithLanguagesByIdIn(any());
+    }
+
+    @Test
+    void getDevelopersAfter_seeksAfterCursorAndReturnsNextCursor_whenMoreRowsExist() {
+        Developer dev1 = new Developer();
+        dev1.setId(11L);
+        Developer dev2 = new Developer();
+        dev2.setId(12L);
+        Developer dev3 = new Developer();
+        dev3.setId(13L);
+        DeveloperDto devDto1 = new DeveloperDto();
+        DeveloperDto devDto2 = new DeveloperDto();
+
+        when(developerRepository.findByIdGreaterThanOrderByIdAsc(10L, Limit.of(3))).thenReturn(Arrays.asList(dev1, dev2, dev3));
+        when(developerMapper.toDto(dev1)).thenReturn(devDto1);
+        when(developerMapper.toDto(dev2)).thenReturn(devDto2);
+
+        CursorPage<DeveloperDto> result = developerService.getDevelopersAfter(CursorPagination.encode(10L), 2);
+
+        assertEquals(Arrays.asList(devDto1, devDto2), result.getItems());
+        assertEquals(12L, CursorPagination.decode(result.getNextCursor()));
+        verify(developerMapper, never()).toDto(dev3);
+    }
+
+    @Test
+    void getDevelopersAfter_returnsNoNextCursor_onLastPage() {
+        Developer dev1 = new Developer();
+        dev1.setId(1L);
+
+        when(developerRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(CursorPagination.DEFAULT_PAGE_SIZE + 1)))
+                .thenReturn(List.of(dev1));
+        when(developerMapper.toDto(dev1)).thenReturn(new DeveloperDto());
+
+        CursorPage<DeveloperDto> result = developerService.getDevelopersAfter(null, null);
+
+        assertEquals(1, result.getItems().size());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void getDevelopersAfter_throwsInvalidCursorException_whenCursorIsMalformed() {
+        assertThrows(InvalidCursorException.class, () -> developerService.getDevelopersAfter("not a cursor", 10));
+    }
+
+    @Test
+    void exportDevelopers_streamsEveryDeveloperAndClearsPersistenceContextPeriodically() {
+        int total = DeveloperService.EXPORT_CLEAR_INTERVAL * 2 + 1;
+        List<Developer> developers = new ArrayList<>();
+        for (int i = 0; i < total; i++) {
+            developers.add(new Developer());
+        }
+        List<DeveloperDto> exported = new ArrayList<>();
+
+        when(developerRepository.streamAllByOrderByIdAsc()).thenReturn(developers.stream());
+        when(developerMapper.toDto(any(Developer.class))).thenReturn(new DeveloperDto());
+
+        long count = developerService.exportDevelopers(exported::add);
+
+        assertEquals(total, count);
+        assertEquals(total, exported.size());
+        verify(entityManager, times(3)).clear();
     }
 
     @Test
     void deleteDeveloperById_deletesDeveloper_whenIdExists() {
         Long id = 1L;
+        Developer developer = new Developer();
+        ProgrammingLanguage language = new ProgrammingLanguage();
+        language.setId(7L);
+        developer.setLanguages(new HashSet<>(List.of(language)));
 
-        doNothing().when(developerRepository).deleteById(id);
+        when(developerRepository.findById(id)).thenReturn(Optional.of(developer));
 
         developerService.deleteDeveloperById(id);
 
-        verify(developerRepository, times(1)).deleteById(id);
+        verify(developerRepository, times(1)).delete(developer);
+        verify(eventPublisher).publishEvent(new DeveloperDeletedEvent(id));
+        verify(eventPublisher).publishEvent(LanguageLinksChangedEvent.removed(List.of(7L)));
+    }
+
+    @Test
+    void deleteDeveloperById_publishesNothing_whenIdDoesNotExist() {
+        when(developerRepository.findById(1L)).thenReturn(Optional.empty());
+
+        developerService.deleteDeveloperById(1L);
+
+        verify(developerRepository, never()).delete(any());
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
@@ -91,33 +279,110 @@ class DeveloperServiceTest {
         DeveloperDto developerDto = new DeveloperDto();
         Developer developer = new Developer();
         Developer savedDeveloper = new Developer();
+        savedDeveloper.setId(7L);
+        savedDeveloper.setFirstName("Ada");
+        savedDeveloper.setLastName("Lovelace");
 
-        when(modelMapper.map(developerDto, Developer.class)).thenReturn(developer);
+        when(developerMapper.toEntity(developerDto)).thenReturn(developer);
         when(developerRepository.save(developer)).thenReturn(savedDeveloper);
-        when(modelMapper.map(savedDeveloper, DeveloperDto.class)).thenReturn(developerDto);
+        when(developerMapper.toDto(savedDeveloper)).thenReturn(developerDto);
 
         DeveloperDto result = developerService.saveDeveloper(developerDto);
 
         assertEquals(developerDto, result);
+        verify(eventPublisher).publishEvent(new DeveloperSavedEvent(7L, "Ada", "Lovelace"));
     }
 
     @Test
-    void addLanguageToDeveloper_addsLanguage_whenDeveloperExists() {
-        Long id = 1L;
+    void searchDevelopers_returnsPageOfHitsAndNextCursor_whenMoreHitsExist() {
+        DeveloperSearchIndex.Posting after = new DeveloperSearchIndex.Posting("adam", 1, 9L);
+        when(developerSearchIndex.search("ada", after, 3)).thenReturn(List.of(
+                hit(1L, "Ada", "Lovelace"),
+                hit(2L, "Adam", "Smith"),
+                hit(3L, "Adele", "Goldberg")));
+
+        CursorPage<DeveloperSummaryDto> result = developerService.searchDevelopers("ada", CursorPagination.encodeKey(after.key()), 2);
+
+        assertEquals(List.of(new DeveloperSummaryDto(1L, "Ada", "Lovelace"), new DeveloperSummaryDto(2L, "Adam", "Smith")), result.getItems());
+        assertEquals(hit(2L, "Adam", "Smith").posting(),
+                CursorPagination.decodeKey(result.getNextCursor(), DeveloperSearchIndex.Posting::parse));
+    }
+
+    @Test
+    void searchDevelopers_returnsNoNextCursor_onLastPage() {
+        when(developerSearchIndex.search("ada", null, 21)).thenReturn(List.of(hit(1L, "Ada", "Lovelace")));
+
+        CursorPage<DeveloperSummaryDto> result = developerService.searchDevelopers("ada", null, null);
+
+        assertEquals(1, result.getItems().size());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void searchDevelopers_throwsInvalidCursor_forMalformedCursor() {
+        assertThrows(InvalidCursorException.class,
+                () -> developerService.searchDevelopers("ada", CursorPagination.encodeKey("not a posting"), null));
+        verifyNoInteractions(developerSearchIndex);
+    }
+
+    @Test
+    void addLanguagesToDeveloper_insertsJoinRowsAndIncrementsVersion_whenLanguagesAreNew() {
         Developer developer = new Developer();
-        ProgrammingLanguageDto programmingLanguageDto = new ProgrammingLanguageDto();
-        ProgrammingLanguage programmingLanguage = new ProgrammingLanguage();
-        Set<ProgrammingLanguage> languages = new HashSet<>();
+        developer.setId(1L);
+        when(developerRepository.findById(1L)).thenReturn(Optional.of(developer));
+        when(programmingLanguageRepository.findByIdIn(Set.of(7L))).thenReturn(List.of(language(7L, "Java")));
+        when(programmingLanguageRepository.findCachedByNameIn(Set.of("Go"))).thenReturn(List.of(language(8L, "Go")));
+        when(developerRepository.insertLanguages(1L, Set.of(7L, 8L))).thenReturn(2);
+
+        LanguageAttachmentResult result = developerService.addLanguagesToDeveloper(1L,
+                List.of(new LanguageReferenceDto(7L, null), new LanguageReferenceDto(null, "Go"), new LanguageReferenceDto(7L, "Java")));
+
+        assertEquals(new LanguageAttachmentResult(2, 2), result);
+        verify(entityManager).lock(developer, LockModeType.OPTIMISTIC_FORCE_INCREMENT);
+        verify(eventPublisher).publishEvent(new DeveloperLanguagesChangedEvent(1L));
+        verify(eventPublisher).publishEvent(new DeveloperLanguagesAddedEvent(1L, List.of(7L, 8L)));
+        verify(eventPublisher).publishEvent(LanguageLinksChangedEvent.added(List.of(7L, 8L)));
+        verify(developerRepository, never()).save(any());
+    }
 
-        developer.setLanguages(languages);
+    @Test
+    void addLanguagesToDeveloper_insertsAndCountsOnlyLanguagesNotAttachedYet() {
+        when(developerRepository.findById(1L)).thenReturn(Optional.of(new Developer()));
+        when(programmingLanguageRepository.findByIdIn(Set.of(7L, 8L))).thenReturn(List.of(language(7L, "Java"), language(8L, "Go")));
+        when(developerRepository.findLinkedLanguageIds(1L, Set.of(7L, 8L))).thenReturn(Set.of(7L));
+        when(developerRepository.insertLanguages(1L, Set.of(8L))).thenReturn(1);
 
-        when(developerRepository.findById(id)).thenReturn(Optional.of(developer));
-        when(modelMapper.map(programmingLanguageDto, ProgrammingLanguage.class)).thenReturn(programmingLanguage);
+        LanguageAttachmentResult result = developerService.addLanguagesToDeveloper(1L,
+                List.of(new LanguageReferenceDto(7L, null), new LanguageReferenceDto(8L, null)));
+
+        assertEquals(new LanguageAttachmentResult(2, 1), result);
+        verify(eventPublisher).publishEvent(LanguageLinksChangedEvent.added(List.of(8L)));
+    }
+
+    @Test
+    void addLanguageToDeveloper_leavesVersion_whenLanguageIsAlreadyAttached() {
+        Developer developer = new Developer();
+        when(developerRepository.findById(1L)).thenReturn(Optional.of(developer));
+        when(programmingLanguageRepository.findCachedByNameIn(Set.of("Java"))).thenReturn(List.of(language(7L, "Java")));
+        when(developerRepository.insertLanguages(1L, Set.of(7L))).thenReturn(0);
+
+        developerService.addLanguageToDeveloper(1L, new LanguageReferenceDto(null, "Java"));
+
+        verify(entityManager, never()).lock(any(), any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void addLanguagesToDeveloper_throwsProgrammingLanguageNotFoundException_andAttachesNothing_whenALanguageIsUnknown() {
+        when(developerRepository.findById(1L)).thenReturn(Optional.of(new Developer()));
+        when(programmingLanguageRepository.findByIdIn(Set.of(7L))).thenReturn(List.of(language(7L, "Java")));
+        when(programmingLanguageRepository.findCachedByNameIn(Set.of("Cobol"))).thenReturn(List.of());
 
-        developerService.addLanguageToDeveloper(id, programmingLanguageDto);
+        ProgrammingLanguageNotFoundException exception = assertThrows(ProgrammingLanguageNotFoundException.class, () ->
+                developerService.addLanguagesToDeveloper(1L, List.of(new LanguageReferenceDto(7L, null), new LanguageReferenceDto(null, "Cobol"))));
 
-        assertTrue(developer.getLanguages().contains(programmingLanguage));
-        verify(developerRepository, times(1)).save(developer);
+        assertTrue(exception.getMessage().contains("Cobol"));
+        verify(developerRepository, never()).insertLanguages(anyLong(), any());
     }
 
     @Test
@@ -134,9 +399,9 @@ class DeveloperServiceTest {
 
         developer.setLanguages(languages);
 
-        when(developerRepository.findById(id)).thenReturn(Optional.of(developer));
-        when(modelMapper.map(lang1, ProgrammingLanguageDto.class)).thenReturn(langDto1);
-        when(modelMapper.map(lang2, ProgrammingLanguageDto.class)).thenReturn(langDto2);
+        when(developerRepository.findWithLanguagesById(id)).thenReturn(Optional.of(developer));
+        when(programmingLanguageMapper.toDto(lang1)).thenReturn(langDto1);
+        when(programmingLanguageMapper.toDto(lang2)).thenReturn(langDto2);
 
         Iterable<ProgrammingLanguageDto> result = developerService.getLanguagesByDeveloperId(id);
         List<ProgrammingLanguageDto> resultList = (List<ProgrammingLanguageDto>) result;
@@ -150,7 +415,7 @@ class DeveloperServiceTest {
     void getLanguagesByDeveloperId_returnsEmptyList_whenIdDoesNotExist() {
         Long id = 1L;
 
-        when(developerRepository.findById(id)).thenReturn(Optional.empty());
+        when(developerRepository.findWithLanguagesById(id)).thenReturn(Optional.empty());
 
         Iterable<ProgrammingLanguageDto> result = developerService.getLanguagesByDeveloperId(id);
 
@@ -173,16 +438,19 @@ class DeveloperServiceTest {
         updatedDeveloper.setId(id);
         updatedDeveloper.setFirstName("Jane");
         updatedDeveloper.setLastName("Smith");
+        updatedDeveloper.setVersion(1L);
 
-        when(developerRepository.findById(id)).thenReturn(Optional.of(existingDeveloper));
+        when(developerRepository.findWithLanguagesById(id)).thenReturn(Optional.of(existingDeveloper));
         when(developerRepository.save(existingDeveloper)).thenReturn(updatedDeveloper);
-        when(modelMapper.map(updatedDeveloper, DeveloperDto.class)).thenReturn(developerDto);
+        when(developerMapper.toDto(updatedDeveloper)).thenReturn(developerDto);
 
-        DeveloperDto result = developerService.updateDeveloper(id, developerDto);
+        Versioned<DeveloperDto> result = developerService.updateDeveloper(id, developerDto, 0L);
 
-        assertEquals("Jane", result.getFirstName());
-        assertEquals("Smith", result.getLastName());
+        assertEquals("Jane", result.getValue().getFirstName());
+        assertEquals("Smith", result.getValue().getLastName());
+        assertEquals("1", result.getVersion());
         verify(developerRepository, times(1)).save(existingDeveloper);
+        verify(entityManager).flush();
     }
 
     @Test
@@ -190,22 +458,71 @@ class DeveloperServiceTest {
         Long id = 1L;
         DeveloperDto developerDto = new DeveloperDto();
 
-        when(developerRepository.findById(id)).thenReturn(Optional.empty());
+        when(developerRepository.findWithLanguagesById(id)).thenReturn(Optional.empty());
 
         assertThrows(DeveloperNotFoundException.class, () -> {
-            developerService.updateDeveloper(id, developerDto);
+            developerService.updateDeveloper(id, developerDto, null);
         });
     }
 
+    @Test
+    void updateDeveloper_throwsPreconditionFailedException_whenVersionIsStale() {
+        Long id = 1L;
+        Developer existingDeveloper = new Developer();
+        existingDeveloper.setId(id);
+        existingDeveloper.setVersion(3L);
+
+        when(developerRepository.findWithLanguagesById(id)).thenReturn(Optional.of(existingDeveloper));
+
+        assertThrows(PreconditionFailedException.class, () -> developerService.updateDeveloper(id, new DeveloperDto(), 2L));
+        verify(developerRepository, never()).save(any());
+    }
+
+    @Test
+    void getVersionedLanguagesByDeveloperId_versionsListWithDeveloperAndLanguageVersions() {
+        Long id = 1L;
+        ProgrammingLanguage java = new ProgrammingLanguage();
+        java.setId(10L);
+        java.setVersion(2L);
+        ProgrammingLanguage go = new ProgrammingLanguage();
+        go.setId(11L);
+        go.setVersion(5L);
+        Developer developer = new Developer();
+        developer.setId(id);
+        developer.setVersion(4L);
+        developer.setLanguages(new HashSet<>(List.of(java, go)));
+
+        when(developerRepository.findWithLanguagesById(id)).thenReturn(Optional.of(developer));
+        when(programmingLanguageMapper.toDto(any(ProgrammingLanguage.class))).thenReturn(new ProgrammingLanguageDto());
+
+        Optional<Versioned<List<ProgrammingLanguageDto>>> result = developerService.getVersionedLanguagesByDeveloperId(id);
+
+        assertTrue(result.isPresent());
+        assertEquals(2, result.get().getValue().size());
+        assertEquals("4.7", result.get().getVersion());
+    }
+
     @Test
     void addLanguageToDeveloper_throwsDeveloperNotFoundException_whenIdDoesNotExist() {
         Long id = 1L;
-        ProgrammingLanguageDto programmingLanguageDto = new ProgrammingLanguageDto();
+        LanguageReferenceDto language = new LanguageReferenceDto(7L, null);
 
         when(developerRepository.findById(id)).thenReturn(Optional.empty());
 
         assertThrows(DeveloperNotFoundException.class, () -> {
-            developerService.addLanguageToDeveloper(id, programmingLanguageDto);
+            developerService.addLanguageToDeveloper(id, language);
         });
     }
-}
\ No newline at end of file
+
+    private static ProgrammingLanguage language(long id, String name) {
+        ProgrammingLanguage language = new ProgrammingLanguage();
+        language.setId(id);
+        language.setName(name);
+        return language;
+    }
+
+    private static DeveloperSearchIndex.Hit hit(long id, String firstName, String lastName) {
+        return new DeveloperSearchIndex.Hit(id, firstName, lastName,
+                new DeveloperSearchIndex.Posting(firstName.toLowerCase(Locale.ROOT), 1, id));
+    }
+}
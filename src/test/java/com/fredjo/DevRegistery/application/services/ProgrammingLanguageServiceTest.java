@@ -1,19 +1,38 @@
 package com.fredjo.DevRegistery.application.services;
 
+import com.fredjo.DevRegistery.application.dto.BatchFetchResult;
+import com.fredjo.DevRegistery.application.dto.CursorPage;
 import com.fredjo.DevRegistery.application.dto.DeveloperDto;
+import com.fredjo.DevRegistery.application.dto.LanguageStatsDto;
 import com.fredjo.DevRegistery.application.dto.ProgrammingLanguageDto;
+import com.fredjo.DevRegistery.application.dto.Versioned;
+import com.fredjo.DevRegistery.application.event.DeveloperLanguagesChangedEvent;
+import com.fredjo.DevRegistery.application.event.LanguageLinksChangedEvent;
+import com.fredjo.DevRegistery.application.event.ProgrammingLanguageDeletedEvent;
+import com.fredjo.DevRegistery.application.event.ProgrammingLanguageSavedEvent;
+import com.fredjo.DevRegistery.application.mapper.DeveloperMapper;
+import com.fredjo.DevRegistery.application.mapper.ProgrammingLanguageMapper;
 import com.fredjo.DevRegistery.domain.entity.Developer;
 import com.fredjo.DevRegistery.domain.entity.ProgrammingLanguage;
+import com.fredjo.DevRegistery.infra.repository.DeveloperRepository;
 import com.fredjo.DevRegistery.infra.repository.ProgrammingLanguageRepository;
+import com.fredjo.DevRegistery.infra.stats.LanguageUsageCounters;
+import com.fredjo.DevRegistery.utils.BatchIds;
+import com.fredjo.DevRegistery.utils.CursorPagination;
+import com.fredjo.DevRegistery.utils.InvalidIdsException;
+import com.fredjo.DevRegistery.utils.PreconditionFailedException;
 import com.fredjo.DevRegistery.utils.ProgrammingLanguageNotFoundException;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 
 import java.util.*;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -24,7 +43,22 @@ class ProgrammingLanguageServiceTest {
     private ProgrammingLanguageRepository programmingLanguageRepository;
 
     @Mock
-    private ModelMapper modelMapper;
+    private DeveloperRepository developerRepository;
+
+    @Mock
+    private DeveloperMapper developerMapper;
+
+    @Mock
+    private ProgrammingLanguageMapper programmingLanguageMapper;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private LanguageUsageCounters languageUsageCounters;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private ProgrammingLanguageService programmingLanguageService;
@@ -34,6 +68,24 @@ class ProgrammingLanguageServiceTest {
         MockitoAnnotations.openMocks(this);
     }
 
+    @Test
+    void getLanguageStats_combinesCachedLanguagesWithCounters_mostUsedFirst() {
+        ProgrammingLanguage java = new ProgrammingLanguage();
+        java.setId(1L);
+        java.setName("Java");
+        ProgrammingLanguage go = new ProgrammingLanguage();
+        go.setId(2L);
+        go.setName("Go");
+        when(programmingLanguageRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(CursorPagination.MAX_UNPAGED_RESULTS)))
+                .thenReturn(List.of(java, go));
+        when(languageUsageCounters.count(1L)).thenReturn(3L);
+        when(languageUsageCounters.count(2L)).thenReturn(5L);
+
+        List<LanguageStatsDto> result = programmingLanguageService.getLanguageStats();
+
+        assertEquals(List.of(new LanguageStatsDto(2L, "Go", 5L), new LanguageStatsDto(1L, "Java", 3L)), result);
+    }
+
     @Test
     void getProgrammingLanguageById_returnsProgrammingLanguageDto_whenIdExists() {
         Long id = 1L;
@@ -41,7 +93,7 @@ class ProgrammingLanguageServiceTest {
         ProgrammingLanguageDto programmingLanguageDto = new ProgrammingLanguageDto();
 
         when(programmingLanguageRepository.findById(id)).thenReturn(Optional.of(programmingLanguage));
-        when(modelMapper.map(programmingLanguage, ProgrammingLanguageDto.class)).thenReturn(programmingLanguageDto);
+        when(programmingLanguageMapper.toDto(programmingLanguage)).thenReturn(programmingLanguageDto);
 
         Optional<ProgrammingLanguageDto> result = programmingLanguageService.getProgrammingLanguageById(id);
 
@@ -65,50 +117,139 @@ class ProgrammingLanguageServiceTest {
         List<ProgrammingLanguage> programmingLanguages = Arrays.asList(new ProgrammingLanguage(), new ProgrammingLanguage());
         List<ProgrammingLanguageDto> programmingLanguageDtos = Arrays.asList(new ProgrammingLanguageDto(), new ProgrammingLanguageDto());
 
-        when(programmingLanguageRepository.findAll()).thenReturn(programmingLanguages);
-        when(modelMapper.map(any(ProgrammingLanguage.class), eq(ProgrammingLanguageDto.class)))
+        when(programmingLanguageRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Limit.class))).thenReturn(programmingLanguages);
+        when(programmingLanguageMapper.toDto(any(ProgrammingLanguage.class)))
                 .thenReturn(programmingLanguageDtos.get(0), programmingLanguageDtos.get(1));
 
-        List<ProgrammingLanguageDto> result = programmingLanguageService.getAllProgrammingLanguages();
+        CursorPage<ProgrammingLanguageDto> result = programmingLanguageService.getAllProgrammingLanguages();
 
-        assertEquals(2, result.size());
-        assertEquals(programmingLanguageDtos, result);
+        assertEquals(programmingLanguageDtos, result.getItems());
+        assertNull(result.getNextCursor());
     }
 
     @Test
-    void getProgrammingLanguagesByIds_returnsListOfProgrammingLanguageDto_whenIdsExist() {
-        Set<Long> ids = new HashSet<>(Arrays.asList(1L, 2L));
-        List<ProgrammingLanguage> programmingLanguages = Arrays.asList(new ProgrammingLanguage(), new ProgrammingLanguage());
-        List<ProgrammingLanguageDto> programmingLanguageDtos = Arrays.asList(new ProgrammingLanguageDto(), new ProgrammingLanguageDto());
+    void getProgrammingLanguagesAfter_seeksAfterCursorAndReturnsNextCursor_whenMoreRowsExist() {
+        ProgrammingLanguage lang1 = new ProgrammingLanguage();
+        lang1.setId(5L);
+        ProgrammingLanguage lang2 = new ProgrammingLanguage();
+        lang2.setId(6L);
+        ProgrammingLanguageDto langDto1 = new ProgrammingLanguageDto();
 
-        when(programmingLanguageRepository.findAllById(ids)).thenReturn(programmingLanguages);
-        when(modelMapper.map(any(ProgrammingLanguage.class), eq(ProgrammingLanguageDto.class)))
-                .thenReturn(programmingLanguageDtos.get(0), programmingLanguageDtos.get(1));
+        when(programmingLanguageRepository.findByIdGreaterThanOrderByIdAsc(4L, Limit.of(2))).thenReturn(Arrays.asList(lang1, lang2));
+        when(programmingLanguageMapper.toDto(lang1)).thenReturn(langDto1);
 
-        List<ProgrammingLanguageDto> result = programmingLanguageService.getProgrammingLanguagesByIds(ids);
+        CursorPage<ProgrammingLanguageDto> result = programmingLanguageService.getProgrammingLanguagesAfter(CursorPagination.encode(4L), 1);
 
-        assertEquals(2, result.size());
-        assertEquals(programmingLanguageDtos, result);
+        assertEquals(List.of(langDto1), result.getItems());
+        assertEquals(5L, CursorPagination.decode(result.getNextCursor()));
+    }
+
+    @Test
+    void exportProgrammingLanguages_streamsEveryProgrammingLanguage() {
+        ProgrammingLanguage lang1 = new ProgrammingLanguage();
+        ProgrammingLanguage lang2 = new ProgrammingLanguage();
+        ProgrammingLanguageDto langDto1 = new ProgrammingLanguageDto();
+        ProgrammingLanguageDto langDto2 = new ProgrammingLanguageDto();
+        List<ProgrammingLanguageDto> exported = new ArrayList<>();
+
+        when(programmingLanguageRepository.streamAllByOrderByIdAsc()).thenReturn(Stream.of(lang1, lang2));
+        when(programmingLanguageMapper.toDto(lang1)).thenReturn(langDto1);
+        when(programmingLanguageMapper.toDto(lang2)).thenReturn(langDto2);
+
+        long count = programmingLanguageService.exportProgrammingLanguages(exported::add);
+
+        assertEquals(2, count);
+        assertEquals(Arrays.asList(langDto1, langDto2), exported);
+        verify(entityManager, never()).clear();
+    }
+
+    @Test
+    void getProgrammingLanguagesByIds_returnsLanguagesInRequestOrder_andMissingIds() {
+        ProgrammingLanguage java = new ProgrammingLanguage();
+        java.setId(1L);
+        ProgrammingLanguage go = new ProgrammingLanguage();
+        go.setId(2L);
+        ProgrammingLanguageDto javaDto = new ProgrammingLanguageDto(1L, "Java", "James Gosling");
+        ProgrammingLanguageDto goDto = new ProgrammingLanguageDto(2L, "Go", "Rob Pike");
+
+        when(programmingLanguageRepository.findByIdIn(new LinkedHashSet<>(List.of(2L, 9L, 1L)))).thenReturn(Arrays.asList(java, go));
+        when(programmingLanguageMapper.toDto(java)).thenReturn(javaDto);
+        when(programmingLanguageMapper.toDto(go)).thenReturn(goDto);
+
+        BatchFetchResult<ProgrammingLanguageDto> result = programmingLanguageService.getProgrammingLanguagesByIds(List.of(2L, 9L, 1L, 2L));
+
+        assertEquals(List.of(goDto, javaDto), result.getItems());
+        assertEquals(List.of(9L), result.getMissing());
+    }
+
+    @Test
+    void getProgrammingLanguagesByIds_throwsInvalidIdsException_whenTooManyIdsAreGiven() {
+        List<Long> ids = new ArrayList<>();
+        for (long id = 1; id <= BatchIds.MAX_IDS + 1; id++) {
+            ids.add(id);
+        }
+
+        assertThrows(InvalidIdsException.class, () -> programmingLanguageService.getProgrammingLanguagesByIds(ids));
+        verifyNoInteractions(programmingLanguageRepository);
     }
 
     @Test
     void deleteProgrammingLanguageById_deletesProgrammingLanguage_whenIdExists() {
         Long id = 1L;
+        ProgrammingLanguage programmingLanguage = new ProgrammingLanguage();
+        programmingLanguage.setId(id);
 
-        when(programmingLanguageRepository.existsById(id)).thenReturn(true);
+        when(programmingLanguageRepository.findById(id)).thenReturn(Optional.of(programmingLanguage));
 
         programmingLanguageService.deleteProgrammingLanguageById(id);
 
-        verify(programmingLanguageRepository, times(1)).deleteById(id);
+        verify(programmingLanguageRepository, times(1)).delete(programmingLanguage);
+        verify(eventPublisher).publishEvent(new ProgrammingLanguageDeletedEvent(id));
+    }
+
+    @Test
+    void deleteProgrammingLanguageById_detachesLanguageFromItsDevelopersWithSql() {
+        Long id = 1L;
+        ProgrammingLanguage programmingLanguage = new ProgrammingLanguage();
+        programmingLanguage.setId(id);
+
+        when(programmingLanguageRepository.findById(id)).thenReturn(Optional.of(programmingLanguage));
+        when(developerRepository.findIdsByLanguageId(id)).thenReturn(List.of(10L, 11L));
+
+        programmingLanguageService.deleteProgrammingLanguageById(id);
+
+        verify(developerRepository).incrementVersionByLanguageId(id);
+        verify(programmingLanguageRepository).deleteDeveloperLinks(id);
+        verify(eventPublisher).publishEvent(new DeveloperLanguagesChangedEvent(10L));
+        verify(eventPublisher).publishEvent(new DeveloperLanguagesChangedEvent(11L));
+        verify(eventPublisher).publishEvent(LanguageLinksChangedEvent.removed(List.of(id, id)));
+        verify(programmingLanguageRepository, times(1)).delete(programmingLanguage);
+    }
+
+    @Test
+    void deleteProgrammingLanguageById_skipsDetaching_whenLanguageHasNoDevelopers() {
+        Long id = 1L;
+        ProgrammingLanguage programmingLanguage = new ProgrammingLanguage();
+        programmingLanguage.setId(id);
+
+        when(programmingLanguageRepository.findById(id)).thenReturn(Optional.of(programmingLanguage));
+        when(developerRepository.findIdsByLanguageId(id)).thenReturn(List.of());
+
+        programmingLanguageService.deleteProgrammingLanguageById(id);
+
+        verify(developerRepository, never()).incrementVersionByLanguageId(anyLong());
+        verify(programmingLanguageRepository, never()).deleteDeveloperLinks(anyLong());
+        verify(programmingLanguageRepository, times(1)).delete(programmingLanguage);
     }
 
     @Test
     void deleteProgrammingLanguageById_throwsException_whenIdDoesNotExist() {
         Long id = 1L;
 
-        when(programmingLanguageRepository.existsById(id)).thenReturn(false);
+        when(programmingLanguageRepository.findById(id)).thenReturn(Optional.empty());
 
         assertThrows(ProgrammingLanguageNotFoundException.class, () -> programmingLanguageService.deleteProgrammingLanguageById(id));
+        verify(programmingLanguageRepository, never()).delete(any(ProgrammingLanguage.class));
     }
 
     @Test
@@ -117,32 +258,29 @@ class ProgrammingLanguageServiceTest {
         ProgrammingLanguage programmingLanguage = new ProgrammingLanguage();
         ProgrammingLanguage savedProgrammingLanguage = new ProgrammingLanguage();
 
-        when(modelMapper.map(programmingLanguageDto, ProgrammingLanguage.class)).thenReturn(programmingLanguage);
+        when(programmingLanguageMapper.toEntity(programmingLanguageDto)).thenReturn(programmingLanguage);
         when(programmingLanguageRepository.save(programmingLanguage)).thenReturn(savedProgrammingLanguage);
-        when(modelMapper.map(savedProgrammingLanguage, ProgrammingLanguageDto.class)).thenReturn(programmingLanguageDto);
+        when(programmingLanguageMapper.toDto(savedProgrammingLanguage)).thenReturn(programmingLanguageDto);
 
         ProgrammingLanguageDto result = programmingLanguageService.saveProgrammingLanguage(programmingLanguageDto);
 
         assertEquals(programmingLanguageDto, result);
+        verify(eventPublisher).publishEvent(new ProgrammingLanguageSavedEvent(savedProgrammingLanguage.getId()));
     }
 
     @Test
     void getDevelopersByProgrammingLanguageId_returnsListOfDeveloperDto_whenIdExists() {
         Long id = 1L;
-        ProgrammingLanguage programmingLanguage = new ProgrammingLanguage();
         Developer dev1 = new Developer();
         dev1.setId(1L);
         Developer dev2 = new Developer();
         dev2.setId(2L);
-        Set<Developer> developers = new LinkedHashSet<>(Arrays.asList(dev1, dev2));
         DeveloperDto devDto1 = new DeveloperDto();
         DeveloperDto devDto2 = new DeveloperDto();
 
-        programmingLanguage.setDevelopers(developers);
-
-        when(programmingLanguageRepository.findById(id)).thenReturn(Optional.of(programmingLanguage));
-        when(modelMapper.map(dev1, DeveloperDto.class)).thenReturn(devDto1);
-        when(modelMapper.map(dev2, DeveloperDto.class)).thenReturn(devDto2);
+        when(programmingLanguageRepository.findDevelopersWithLanguagesById(id)).thenReturn(Arrays.asList(dev1, dev2));
+        when(developerMapper.toDto(dev1)).thenReturn(devDto1);
+        when(developerMapper.toDto(dev2)).thenReturn(devDto2);
 
         List<DeveloperDto> result = programmingLanguageService.getDevelopersByProgrammingLanguageId(id);
 
@@ -155,7 +293,7 @@ class ProgrammingLanguageServiceTest {
     void getDevelopersByProgrammingLanguageId_returnsEmptyList_whenIdDoesNotExist() {
         Long id = 1L;
 
-        when(programmingLanguageRepository.findById(id)).thenReturn(Optional.empty());
+        when(programmingLanguageRepository.findDevelopersWithLanguagesById(id)).thenReturn(Collections.emptyList());
 
         List<DeveloperDto> result = programmingLanguageService.getDevelopersByProgrammingLanguageId(id);
 
@@ -178,16 +316,19 @@ class ProgrammingLanguageServiceTest {
         updatedLanguage.setId(id);
         updatedLanguage.setName("Python");
         updatedLanguage.setCreatorsName("Guido van Rossum");
+        updatedLanguage.setVersion(1L);
 
         when(programmingLanguageRepository.findById(id)).thenReturn(Optional.of(existingLanguage));
         when(programmingLanguageRepository.save(existingLanguage)).thenReturn(updatedLanguage);
-        when(modelMapper.map(updatedLanguage, ProgrammingLanguageDto.class)).thenReturn(programmingLanguageDto);
+        when(programmingLanguageMapper.toDto(updatedLanguage)).thenReturn(programmingLanguageDto);
 
-        ProgrammingLanguageDto result = programmingLanguageService.updateProgrammingLanguage(id, programmingLanguageDto);
+        Versioned<ProgrammingLanguageDto> result = programmingLanguageService.updateProgrammingLanguage(id, programmingLanguageDto, null);
 
-        assertEquals("Python", result.getName());
-        assertEquals("Guido van Rossum", result.getCreatorsName());
+        assertEquals("Python", result.getValue().getName());
+        assertEquals("Guido van Rossum", result.getValue().getCreatorsName());
+        assertEquals("1", result.getVersion());
         verify(programmingLanguageRepository, times(1)).save(existingLanguage);
+        verify(entityManager).flush();
     }
 
     @Test
@@ -198,7 +339,21 @@ class ProgrammingLanguageServiceTest {
         when(programmingLanguageRepository.findById(id)).thenReturn(Optional.empty());
 
         assertThrows(ProgrammingLanguageNotFoundException.class, () -> {
-            programmingLanguageService.updateProgrammingLanguage(id, programmingLanguageDto);
+            programmingLanguageService.updateProgrammingLanguage(id, programmingLanguageDto, null);
         });
     }
+
+    @Test
+    void updateProgrammingLanguage_throwsPreconditionFailedException_whenVersionIsStale() {
+        Long id = 1L;
+        ProgrammingLanguage existingLanguage = new ProgrammingLanguage();
+        existingLanguage.setId(id);
+        existingLanguage.setVersion(1L);
+
+        when(programmingLanguageRepository.findById(id)).thenReturn(Optional.of(existingLanguage));
+
+        assertThrows(PreconditionFailedException.class,
+                () -> programmingLanguageService.updateProgrammingLanguage(id, new ProgrammingLanguageDto(), 0L));
+        verify(programmingLanguageRepository, never()).save(any());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,105 @@
+package com.fredjo.DevRegistery.benchmark;
+
+import com.fredjo.DevRegistery.config.AdmissionFilter;
+import com.fredjo.DevRegistery.infra.admission.AdmissionLimiters;
+import com.fredjo.DevRegistery.infra.admission.TokenBucketLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of the admission control, with limits high enough that every request is admitted:
+ * <ul>
+ *     <li>{@code tryAcquire}: the token bucket alone</li>
+ *     <li>{@code doFilter}: the whole filter, route classification and client address included, against
+ *     a pass-through filter ({@code variant=none}) reading the same mock requests</li>
+ * </ul>
+ * with one client hammering its bucket from every thread, or requests spread over many clients.
+ * <p>
+ * Run with: {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark=AdmissionFilterBenchmark}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class AdmissionFilterBenchmark {
+
+    private static final FilterChain CHAIN = (request, response) -> { };
+
+    @Param({"1", "10000"})
+    private int clients;
+
+    @Param({"none", "admission"})
+    private String variant;
+
+    private AdmissionLimiters limiters;
+    private OncePerRequestFilter filter;
+    private String[] addresses;
+
+    @Setup
+    public void setUp() {
+        limiters = new AdmissionLimiters(1_000_000_000L, 1_000_000, 1_000_000_000L, 1_000_000, clients * 2);
+        filter = variant.equals("admission") ? new AdmissionFilter(limiters, new ObjectMapper(), true) : new PassThroughFilter();
+        addresses = new String[clients];
+        for (int i = 0; i < clients; i++) {
+            addresses[i] = "10.0." + (i >> 8) + "." + (i & 0xFF);
+        }
+    }
+
+    /**
+     * Requests of one benchmark thread, since mock requests are not thread-safe.
+     */
+    @State(Scope.Thread)
+    public static class Requests {
+
+        private MockHttpServletRequest[] requests;
+        private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+        @Setup
+        public void setUp(AdmissionFilterBenchmark benchmark) {
+            requests = new MockHttpServletRequest[benchmark.clients];
+            for (int i = 0; i < requests.length; i++) {
+                requests[i] = new MockHttpServletRequest("GET", "/api/v1/developer/42");
+                requests[i].setContextPath("/api");
+                requests[i].setRemoteAddr(benchmark.addresses[i]);
+            }
+        }
+    }
+
+    @Benchmark
+    public long tryAcquire() {
+        TokenBucketLimiter limiter = limiters.cheap();
+        return limiter.tryAcquire(addresses[ThreadLocalRandom.current().nextInt(clients)]);
+    }
+
+    @Benchmark
+    public int doFilter(Requests requests) throws ServletException, IOException {
+        filter.doFilter(requests.requests[ThreadLocalRandom.current().nextInt(clients)], requests.response, CHAIN);
+        return requests.response.getStatus();
+    }
+
+    /**
+     * A filter doing nothing, for the cost of the filter plumbing and of the mock requests.
+     */
+    static class PassThroughFilter extends OncePerRequestFilter {
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+                throws ServletException, IOException {
+            filterChain.doFilter(request, response);
+        }
+    }
+}
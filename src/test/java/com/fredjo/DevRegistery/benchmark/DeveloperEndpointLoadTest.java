@@ -0,0 +1,143 @@
+package com.fredjo.DevRegistery.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.ConcurrentHistogram;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+/**
+ * Closed-loop load test of the {@code /v1/developer} read endpoints of a running instance, used to
+ * compare the default platform-thread mode with the {@code virtual-threads} and {@code reactive} profiles at high
+ * concurrency. Seeds the registry through the batch import (one create per developer where there is none, as on the
+ * reactive stack), then mixes page, by-id and languages requests.
+ * <p>
+ * Run with (application started separately with {@code --devregistry.admission.enabled=false}, since every client
+ * shares one address, and with or without {@code --spring.profiles.active=virtual-threads}):
+ * {@code mvn test-compile exec:java -Dexec.mainClass=com.fredjo.DevRegistery.benchmark.DeveloperEndpointLoadTest
+ * -Dexec.classpathScope=test -Dexec.args="http://localhost:8080/api 400 30"}
+ * <p>
+ * Arguments: base URL, concurrent clients, duration in seconds.
+ */
+public class DeveloperEndpointLoadTest {
+
+    private static final int SEEDED_DEVELOPERS = 2000;
+    private static final int LANGUAGES = 20;
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080/api";
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 400;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newFixedThreadPool(4))
+                .build();
+        long[] ids = seed(client, baseUrl);
+        run(client, baseUrl, ids, concurrency, seconds);
+        System.exit(0);
+    }
+
+    /**
+     * Runs the request mix from {@code concurrency} clients for {@code seconds}, then prints throughput and latencies.
+     */
+    static void run(HttpClient client, String baseUrl, long[] ids, int concurrency, int seconds) throws InterruptedException {
+        AtomicLong errors = new AtomicLong();
+        ConcurrentHistogram latencies = new ConcurrentHistogram(TimeUnit.SECONDS.toMicros(60), 3);
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        for (int c = 0; c < concurrency; c++) {
+            clients.execute(() -> {
+                int count = 0;
+                while (System.nanoTime() < deadline) {
+                    long id = ids[ThreadLocalRandom.current().nextInt(ids.length)];
+                    String path = switch (count++ % 3) {
+                        case 0 -> "/v1/developer?limit=20";
+                        case 1 -> "/v1/developer/" + id;
+                        default -> "/v1/developer/" + id + "/languages";
+                    };
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(
+                                HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(30)).build(),
+                                HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() != 200) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    }
+                    latencies.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start), latencies.getHighestTrackableValue()));
+                }
+            });
+        }
+        clients.shutdown();
+        clients.awaitTermination(seconds + 60L, TimeUnit.SECONDS);
+
+        System.out.printf("concurrency=%d duration=%ds requests=%d errors=%d throughput=%.0f req/s%n",
+                concurrency, seconds, latencies.getTotalCount(), errors.get(), latencies.getTotalCount() / (double) seconds);
+        System.out.printf("latency p50=%.1fms p95=%.1fms p99=%.1fms max=%.1fms%n",
+                latencies.getValueAtPercentile(50) / 1000.0, latencies.getValueAtPercentile(95) / 1000.0,
+                latencies.getValueAtPercentile(99) / 1000.0, latencies.getMaxValue() / 1000.0);
+    }
+
+    static long[] seed(HttpClient client, String baseUrl) throws Exception {
+        List<String> developers = IntStream.range(0, SEEDED_DEVELOPERS)
+                .mapToObj(i -> "{\"firstName\":\"Load\",\"lastName\":\"Test" + i + "\",\"languages\":["
+                        + "{\"name\":\"Language " + (i % LANGUAGES) + "\",\"creatorsName\":\"Creator\"},"
+                        + "{\"name\":\"Language " + ((i + 1) % LANGUAGES) + "\",\"creatorsName\":\"Creator\"}]}")
+                .toList();
+        HttpResponse<Void> imported = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/v1/developer/batch"))
+                        .header("Content-Type", "application/x-ndjson")
+                        .POST(HttpRequest.BodyPublishers.ofString(String.join("\n", developers)))
+                        .build(),
+                HttpResponse.BodyHandlers.discarding());
+        if (imported.statusCode() >= 400) {
+            long[] languageIds = seedLanguages(client, baseUrl);
+            for (int i = 0; i < SEEDED_DEVELOPERS; i++) {
+                String developer = "{\"firstName\":\"Load\",\"lastName\":\"Test" + i + "\",\"languages\":["
+                        + "{\"id\":" + languageIds[i % LANGUAGES] + "},{\"id\":" + languageIds[(i + 1) % LANGUAGES] + "}]}";
+                client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/v1/developer"))
+                                .header("Content-Type", "application/json")
+                                .POST(HttpRequest.BodyPublishers.ofString(developer))
+                                .build(),
+                        HttpResponse.BodyHandlers.discarding());
+            }
+        }
+
+        HttpResponse<String> page = client.send(
+                HttpRequest.newBuilder(URI.create(baseUrl + "/v1/developer?limit=100")).build(),
+                HttpResponse.BodyHandlers.ofString());
+        List<Long> ids = new ArrayList<>();
+        new ObjectMapper().readTree(page.body()).forEach(developer -> ids.add(developer.get("id").asLong()));
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    /**
+     * Creates the languages up front, so that each developer then references them by ID.
+     */
+    private static long[] seedLanguages(HttpClient client, String baseUrl) throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        long[] ids = new long[LANGUAGES];
+        for (int i = 0; i < LANGUAGES; i++) {
+            HttpResponse<String> created = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/v1/programming_language"))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString("{\"name\":\"Language " + i + "\",\"creatorsName\":\"Creator\"}"))
+                            .build(),
+                    HttpResponse.BodyHandlers.ofString());
+            ids[i] = objectMapper.readTree(created.body()).get("id").asLong();
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,156 @@
+package com.fredjo.DevRegistery.benchmark;
+
+import com.fredjo.DevRegistery.DevRegisteryApplication;
+import com.fredjo.DevRegistery.infra.search.DeveloperSearchIndex;
+import com.fredjo.DevRegistery.infra.similarity.DeveloperSimilarityIndex;
+import com.fredjo.DevRegistery.infra.storage.StoreSnapshots;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cold start and warm restart of the {@code durable} profile on a large registry:
+ * <ol>
+ *     <li>cold start on an empty store (migrations included), then a bulk load of the developers through JDBC
+ *     batches, which is how long rebuilding an in-memory registry takes at best</li>
+ *     <li>an online snapshot, then a clean shutdown (which compacts the store)</li>
+ *     <li>warm restart on the existing store, and the first requests it serves</li>
+ *     <li>restart on a store restored from the snapshot</li>
+ * </ol>
+ * Startup times include the language counters, rebuilt from the database at every start. The search and similarity
+ * indexes are rebuilt in the background once started; the time until they are, and the instance reports ready, is
+ * reported separately.
+ * <p>
+ * Run with:
+ * {@code mvn test-compile exec:java -Dexec.mainClass=com.fredjo.DevRegistery.benchmark.DurableRestartLoadTest
+ * -Dexec.classpathScope=test -Dexec.args="1000000 nio"}
+ * <p>
+ * Arguments: developers, H2 file system ({@code nio} or {@code nioMapped}).
+ */
+public class DurableRestartLoadTest {
+
+    private static final int LANGUAGES = 20;
+    private static final int LANGUAGES_PER_DEVELOPER = 3;
+    private static final int BATCH_SIZE = 10_000;
+
+    public static void main(String[] args) throws Exception {
+        int developers = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        String fileSystem = args.length > 1 ? args[1] : "nio";
+        Path directory = Files.createTempDirectory("devregistry-durable");
+        Path store = directory.resolve("devregistry");
+        Path storeFile = directory.resolve("devregistry.mv.db");
+        HttpClient client = HttpClient.newHttpClient();
+        try {
+            long start = System.nanoTime();
+            StoreSnapshots.Snapshot snapshot;
+            try (ConfigurableApplicationContext context = start(store, fileSystem)) {
+                report("cold start (empty store)", start);
+                start = System.nanoTime();
+                load(context.getBean(JdbcTemplate.class), developers);
+                report("load of " + developers + " developers", start);
+                System.out.printf("store: %d MB%n", Files.size(storeFile) >> 20);
+
+                start = System.nanoTime();
+                snapshot = context.getBean(StoreSnapshots.class).take();
+                report("online snapshot", start);
+                System.out.printf("snapshot: %d MB%n", snapshot.bytes() >> 20);
+                start = System.nanoTime();
+            }
+            report("shutdown", start);
+            System.out.printf("store after shutdown: %d MB%n", Files.size(storeFile) >> 20);
+
+            start = System.nanoTime();
+            try (ConfigurableApplicationContext context = start(store, fileSystem)) {
+                report("warm restart", start);
+                firstRequests(client, context, developers);
+                awaitIndexes(context);
+                report("warm restart, indexes built", start);
+            }
+
+            Files.copy(directory.resolve("snapshots").resolve(snapshot.name()), storeFile, StandardCopyOption.REPLACE_EXISTING);
+            start = System.nanoTime();
+            try (ConfigurableApplicationContext context = start(store, fileSystem)) {
+                report("restart from snapshot", start);
+                firstRequests(client, context, developers);
+                awaitIndexes(context);
+                report("restart from snapshot, indexes built", start);
+            }
+        } finally {
+            FileSystemUtils.deleteRecursively(directory);
+        }
+        System.exit(0);
+    }
+
+    private static ConfigurableApplicationContext start(Path store, String fileSystem) {
+        return new SpringApplicationBuilder(DevRegisteryApplication.class)
+                .profiles("durable")
+                .run("--server.port=0", "--logging.level.root=WARN", "--logging.level.com.fredjo.DevRegistery=INFO",
+                        "--management.server.port=0", "--devregistry.admission.enabled=false",
+                        "--devregistry.storage.path=" + store,
+                        "--devregistry.storage.file-system=" + fileSystem,
+                        "--devregistry.storage.snapshot-directory=" + store.resolveSibling("snapshots"),
+                        "--devregistry.storage.snapshot-interval=0");
+    }
+
+    /**
+     * Inserts the languages, then the developers and their links in batches of one transaction each.
+     */
+    private static void load(JdbcTemplate jdbcTemplate, int developers) {
+        List<Object[]> languages = new ArrayList<>();
+        for (int l = 1; l <= LANGUAGES; l++) {
+            languages.add(new Object[]{l, "Language " + l, "Creator " + l});
+        }
+        jdbcTemplate.batchUpdate("insert into programming_language (id, name, creators_name) values (?, ?, ?)", languages);
+        for (int from = 1; from <= developers; from += BATCH_SIZE) {
+            int to = Math.min(developers, from + BATCH_SIZE - 1);
+            List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+            List<Object[]> links = new ArrayList<>(BATCH_SIZE * LANGUAGES_PER_DEVELOPER);
+            for (int id = from; id <= to; id++) {
+                rows.add(new Object[]{id, "First" + id, "Last" + id});
+                for (int l = 0; l < LANGUAGES_PER_DEVELOPER; l++) {
+                    links.add(new Object[]{id, (id + l * 7) % LANGUAGES + 1});
+                }
+            }
+            jdbcTemplate.batchUpdate("insert into developer (id, first_name, last_name) values (?, ?, ?)", rows);
+            jdbcTemplate.batchUpdate("insert into developer_programming_language (developer_id, programming_language_id) values (?, ?)", links);
+        }
+        // keeps IDs generated through the API clear of the loaded ones
+        jdbcTemplate.execute("alter sequence developer_seq restart with " + (developers + 1));
+        jdbcTemplate.execute("alter sequence programming_language_seq restart with " + (LANGUAGES + 1));
+    }
+
+    private static void firstRequests(HttpClient client, ConfigurableApplicationContext context, int developers)
+            throws IOException, InterruptedException {
+        String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api";
+        for (String path : List.of("/v1/developer/" + (developers / 2), "/v1/developer?limit=100", "/v1/developer/" + (developers / 3) + "/similar")) {
+            long start = System.nanoTime();
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + path)).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            System.out.printf("  first GET %s: %d in %.1f ms%n", path, response.statusCode(), (System.nanoTime() - start) / 1e6);
+        }
+    }
+
+    private static void awaitIndexes(ConfigurableApplicationContext context) throws InterruptedException {
+        DeveloperSearchIndex searchIndex = context.getBean(DeveloperSearchIndex.class);
+        DeveloperSimilarityIndex similarityIndex = context.getBean(DeveloperSimilarityIndex.class);
+        while (!(searchIndex.isReady() && similarityIndex.isReady())) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static void report(String phase, long start) {
+        System.out.printf("%s: %d ms%n", phase, (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -0,0 +1,122 @@
+package com.fredjo.DevRegistery.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import com.fredjo.DevRegistery.config.HttpLoggingFilter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the request logging filter under concurrent requests, before and after the rework:
+ * <ul>
+ *     <li>{@code before}: UUID request IDs, two log lines per request, synchronous appender</li>
+ *     <li>{@code after}: {@link HttpLoggingFilter} with fast IDs, MDC, 1% sampling, asynchronous appender</li>
+ * </ul>
+ * Log output is encoded with a realistic pattern and written to a null stream.
+ * <p>
+ * Run with: {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark=HttpLoggingFilterBenchmark}
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class HttpLoggingFilterBenchmark {
+
+    private static final FilterChain CHAIN = (request, response) -> { };
+
+    @Param({"before", "after"})
+    private String variant;
+
+    private OncePerRequestFilter filter;
+    private Appender<ILoggingEvent> appender;
+
+    @Setup
+    public void setUp() {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        context.reset();
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d{yyyy-MM-dd HH:mm:ss} [%thread] [%X{requestId:--}] %-5level %logger{36} - %msg%n");
+        encoder.start();
+        OutputStreamAppender<ILoggingEvent> output = new OutputStreamAppender<>();
+        output.setContext(context);
+        output.setEncoder(encoder);
+        output.setOutputStream(OutputStream.nullOutputStream());
+        output.start();
+
+        if (variant.equals("after")) {
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(context);
+            async.setQueueSize(8192);
+            async.setNeverBlock(true);
+            async.addAppender(output);
+            async.start();
+            appender = async;
+            filter = new HttpLoggingFilter(0.01);
+        } else {
+            appender = output;
+            filter = new LegacyHttpLoggingFilter();
+        }
+        ch.qos.logback.classic.Logger root = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        root.setLevel(Level.INFO);
+        root.addAppender(appender);
+    }
+
+    @TearDown
+    public void tearDown() {
+        appender.stop();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse doFilter() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/developer/42");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, CHAIN);
+        return response;
+    }
+
+    /**
+     * The filter as it was before the rework, kept as the baseline.
+     */
+    static class LegacyHttpLoggingFilter extends OncePerRequestFilter {
+
+        private static final Logger logger = LoggerFactory.getLogger(HttpLoggingFilter.class);
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+                throws ServletException, IOException {
+            String requestId = UUID.randomUUID().toString();
+            long startTime = System.currentTimeMillis();
+            try {
+                logger.info("[{}] {} {} - Remote IP: {}", requestId, request.getMethod(), request.getRequestURI(), request.getRemoteAddr());
+                response.addHeader("X-Request-Id", requestId);
+                filterChain.doFilter(request, response);
+            } finally {
+                long duration = System.currentTimeMillis() - startTime;
+                logger.info("[{}] Response Status: {} - Duration: {}ms", requestId, response.getStatus(), duration);
+            }
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.fredjo.DevRegistery.benchmark;
+
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of the two lookups the migration indexes, on H2 with the Flyway schema:
+ * <ul>
+ *     <li>{@code findByLastName}: developers by last name</li>
+ *     <li>{@code developersOfLanguage}: the reverse lookup behind {@code /v1/programming_language/{id}/developers}</li>
+ * </ul>
+ * The {@code unindexed} variant drops the lookup indexes and the language foreign key after migrating,
+ * which is the schema {@code ddl-auto} produces on databases that do not index foreign keys implicitly.
+ * The query plans of both variants are printed at setup.
+ * <p>
+ * Run with: {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark=SchemaIndexBenchmark}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SchemaIndexBenchmark {
+
+    private static final int LANGUAGES = 200;
+    private static final int LANGUAGES_PER_DEVELOPER = 3;
+
+    private static final String FIND_BY_LAST_NAME =
+            "select d.id, d.first_name, d.last_name from developer d where d.last_name = ?";
+    private static final String DEVELOPERS_OF_LANGUAGE =
+            "select d.id, d.first_name, d.last_name from developer_programming_language dl "
+                    + "join developer d on d.id = dl.developer_id where dl.programming_language_id = ? order by d.id";
+
+    @Param({"10000", "100000"})
+    private int developers;
+
+    @Param({"indexed", "unindexed"})
+    private String schema;
+
+    private Connection connection;
+    private PreparedStatement findByLastName;
+    private PreparedStatement developersOfLanguage;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        String url = "jdbc:h2:mem:schema-" + schema + "-" + developers + ";DB_CLOSE_DELAY=-1";
+        Flyway.configure().dataSource(url, "sa", "").load().migrate();
+        connection = DriverManager.getConnection(url, "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            if (schema.equals("unindexed")) {
+                statement.execute("alter table developer_programming_language drop constraint fk_developer_programming_language_language");
+                statement.execute("drop index idx_developer_programming_language_language");
+                statement.execute("drop index idx_developer_last_name");
+            }
+        }
+        seed();
+        findByLastName = connection.prepareStatement(FIND_BY_LAST_NAME);
+        developersOfLanguage = connection.prepareStatement(DEVELOPERS_OF_LANGUAGE);
+        System.out.println();
+        System.out.println(explain(FIND_BY_LAST_NAME.replace("?", "'Last42'")));
+        System.out.println(explain(DEVELOPERS_OF_LANGUAGE.replace("?", "42")));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("shutdown");
+        }
+    }
+
+    @Benchmark
+    public void findByLastName(Blackhole blackhole) throws SQLException {
+        findByLastName.setString(1, "Last" + ThreadLocalRandom.current().nextInt(developers));
+        consume(findByLastName, blackhole);
+    }
+
+    @Benchmark
+    public void developersOfLanguage(Blackhole blackhole) throws SQLException {
+        developersOfLanguage.setLong(1, 1 + ThreadLocalRandom.current().nextInt(LANGUAGES));
+        consume(developersOfLanguage, blackhole);
+    }
+
+    private static void consume(PreparedStatement query, Blackhole blackhole) throws SQLException {
+        try (ResultSet rows = query.executeQuery()) {
+            while (rows.next()) {
+                blackhole.consume(rows.getLong(1));
+                blackhole.consume(rows.getString(2));
+                blackhole.consume(rows.getString(3));
+            }
+        }
+    }
+
+    private void seed() throws SQLException {
+        connection.setAutoCommit(false);
+        try (PreparedStatement language = connection.prepareStatement(
+                "insert into programming_language (id, name, creators_name) values (?, ?, ?)")) {
+            for (int i = 1; i <= LANGUAGES; i++) {
+                language.setLong(1, i);
+                language.setString(2, "Language " + i);
+                language.setString(3, "Creator " + i);
+                language.addBatch();
+            }
+            language.executeBatch();
+        }
+        try (PreparedStatement developer = connection.prepareStatement(
+                "insert into developer (id, first_name, last_name) values (?, ?, ?)");
+             PreparedStatement link = connection.prepareStatement(
+                     "insert into developer_programming_language (developer_id, programming_language_id) values (?, ?)")) {
+            for (int i = 0; i < developers; i++) {
+                developer.setLong(1, i + 1);
+                developer.setString(2, "First" + i);
+                developer.setString(3, "Last" + i);
+                developer.addBatch();
+                for (int j = 0; j < LANGUAGES_PER_DEVELOPER; j++) {
+                    link.setLong(1, i + 1);
+                    link.setLong(2, 1 + (i + j) % LANGUAGES);
+                    link.addBatch();
+                }
+                if (i % 1000 == 999) {
+                    developer.executeBatch();
+                    link.executeBatch();
+                }
+            }
+            developer.executeBatch();
+            link.executeBatch();
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("analyze");
+        }
+    }
+
+    private String explain(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet plan = statement.executeQuery("explain " + sql)) {
+            plan.next();
+            return "[" + schema + "] " + plan.getString(1);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.fredjo.DevRegistery.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fredjo.DevRegistery.application.dto.DeveloperDto;
+import com.fredjo.DevRegistery.application.dto.ProgrammingLanguageDto;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of {@link DeveloperDto} with nested languages, for a single developer
+ * and for a full page of developers as written by the list endpoints.
+ * <p>
+ * Run with: {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark=SerializationBenchmark}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    @Param({"20", "100"})
+    private int developers;
+
+    @Param({"1", "3", "10"})
+    private int languagesPerDeveloper;
+
+    private DeveloperDto developerDto;
+    private List<DeveloperDto> developerDtos;
+    private byte[] developerJson;
+    private ObjectWriter developerWriter;
+    private ObjectWriter pageWriter;
+    private ObjectReader developerReader;
+
+    @Setup
+    public void setUp() throws IOException {
+        developerDtos = new ArrayList<>(developers);
+        for (int i = 0; i < developers; i++) {
+            Set<ProgrammingLanguageDto> languages = new HashSet<>();
+            for (int j = 0; j < languagesPerDeveloper; j++) {
+                languages.add(new ProgrammingLanguageDto(j + 1, "Language " + j, "Creator " + j));
+            }
+            developerDtos.add(new DeveloperDto(i + 1, "First" + i, "Last" + i, languages));
+        }
+        developerDto = developerDtos.get(0);
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        developerWriter = objectMapper.writerFor(DeveloperDto.class);
+        pageWriter = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, DeveloperDto.class));
+        developerReader = objectMapper.readerFor(DeveloperDto.class);
+        developerJson = developerWriter.writeValueAsBytes(developerDto);
+    }
+
+    @Benchmark
+    public byte[] writeDeveloper() throws IOException {
+        return developerWriter.writeValueAsBytes(developerDto);
+    }
+
+    @Benchmark
+    public byte[] writeDeveloperPage() throws IOException {
+        return pageWriter.writeValueAsBytes(developerDtos);
+    }
+
+    @Benchmark
+    public DeveloperDto readDeveloper() throws IOException {
+        return developerReader.readValue(developerJson);
+    }
+}
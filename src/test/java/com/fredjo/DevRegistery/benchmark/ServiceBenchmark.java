@@ -0,0 +1,144 @@
+package com.fredjo.DevRegistery.benchmark;
+
+import com.fredjo.DevRegistery.DevRegisteryApplication;
+import com.fredjo.DevRegistery.application.dto.CursorPage;
+import com.fredjo.DevRegistery.application.dto.DeveloperDto;
+import com.fredjo.DevRegistery.application.dto.ProgrammingLanguageDto;
+import com.fredjo.DevRegistery.application.services.DeveloperImportService;
+import com.fredjo.DevRegistery.application.services.DeveloperService;
+import com.fredjo.DevRegistery.application.services.ProgrammingLanguageService;
+import com.fredjo.DevRegistery.utils.CursorPagination;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end cost of the {@link DeveloperService} and {@link ProgrammingLanguageService} read paths
+ * (transaction, SQL against the embedded H2, second-level cache and mapping), on a seeded registry.
+ * <p>
+ * Run with: {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark=ServiceBenchmark}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ServiceBenchmark {
+
+    private static final int LANGUAGE_POOL = 50;
+
+    @Param({"1000", "10000"})
+    private int developers;
+
+    @Param({"1", "5"})
+    private int languagesPerDeveloper;
+
+    private ConfigurableApplicationContext context;
+    private DeveloperService developerService;
+    private ProgrammingLanguageService programmingLanguageService;
+    private long[] developerIds;
+    private long[] languageIds;
+    private String middleCursor;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        context = new SpringApplicationBuilder(DevRegisteryApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        "--logging.level.com.fredjo.DevRegistery=WARN");
+        developerService = context.getBean(DeveloperService.class);
+        programmingLanguageService = context.getBean(ProgrammingLanguageService.class);
+
+        List<DeveloperDto> rows = new ArrayList<>(developers);
+        for (int i = 0; i < developers; i++) {
+            Set<ProgrammingLanguageDto> languages = new HashSet<>();
+            for (int j = 0; j < languagesPerDeveloper; j++) {
+                int language = (i + j) % LANGUAGE_POOL;
+                languages.add(new ProgrammingLanguageDto(0, "Language " + language, "Creator " + language));
+            }
+            rows.add(new DeveloperDto(0, "First" + i, "Last" + i, languages));
+        }
+        context.getBean(DeveloperImportService.class).importDevelopers(rows.iterator());
+
+        developerIds = new long[developers];
+        int index = 0;
+        String after = null;
+        do {
+            CursorPage<DeveloperDto> page = developerService.getDevelopersAfter(after, CursorPagination.MAX_PAGE_SIZE);
+            for (DeveloperDto developer : page.getItems()) {
+                developerIds[index++] = developer.getId();
+            }
+            after = page.getNextCursor();
+        } while (after != null);
+        middleCursor = CursorPagination.encode(developerIds[developers / 2]);
+        languageIds = programmingLanguageService.getAllProgrammingLanguages().getItems().stream()
+                .mapToLong(ProgrammingLanguageDto::getId)
+                .toArray();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private long nextDeveloperId() {
+        return developerIds[next++ % developerIds.length];
+    }
+
+    private long nextLanguageId() {
+        return languageIds[next++ % languageIds.length];
+    }
+
+    @Benchmark
+    public Optional<DeveloperDto> getDeveloperById() {
+        return developerService.getDeveloperById(nextDeveloperId());
+    }
+
+    @Benchmark
+    public Iterable<ProgrammingLanguageDto> getLanguagesByDeveloperId() {
+        return developerService.getLanguagesByDeveloperId(nextDeveloperId());
+    }
+
+    @Benchmark
+    public CursorPage<DeveloperDto> getDevelopersPage() {
+        return developerService.getDevelopersAfter(middleCursor, null);
+    }
+
+    @Benchmark
+    public CursorPage<DeveloperDto> getAllDevelopers() {
+        return developerService.getAllDevelopers();
+    }
+
+    @Benchmark
+    public long exportDevelopers(Blackhole blackhole) {
+        return developerService.exportDevelopers(blackhole::consume);
+    }
+
+    @Benchmark
+    public Optional<ProgrammingLanguageDto> getProgrammingLanguageById() {
+        return programmingLanguageService.getProgrammingLanguageById(nextLanguageId());
+    }
+
+    @Benchmark
+    public CursorPage<ProgrammingLanguageDto> getAllProgrammingLanguages() {
+        return programmingLanguageService.getAllProgrammingLanguages();
+    }
+
+    @Benchmark
+    public Iterable<DeveloperDto> getDevelopersByProgrammingLanguageId() {
+        return programmingLanguageService.getDevelopersByProgrammingLanguageId(nextLanguageId());
+    }
+}
@@ -0,0 +1,48 @@
+package com.fredjo.DevRegistery.benchmark;
+
+import com.fredjo.DevRegistery.DevRegisteryApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+/**
+ * Side-by-side throughput of the servlet stack (Spring MVC on Tomcat, JPA) and the {@code reactive} profile
+ * (WebFlux on Netty, R2DBC): starts each in turn on a random port in this JVM and runs the
+ * {@link DeveloperEndpointLoadTest} request mix against it, on an equally seeded in-memory registry.
+ * <p>
+ * Run with:
+ * {@code mvn test-compile exec:java -Dexec.mainClass=com.fredjo.DevRegistery.benchmark.StackComparisonLoadTest
+ * -Dexec.classpathScope=test -Dexec.args="400 30"}
+ * <p>
+ * Arguments: concurrent clients, duration in seconds of each run.
+ */
+public class StackComparisonLoadTest {
+
+    public static void main(String[] args) throws Exception {
+        int concurrency = args.length > 0 ? Integer.parseInt(args[0]) : 400;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 30;
+
+        run("servlet", concurrency, seconds);
+        run("reactive", concurrency, seconds, "reactive");
+        System.exit(0);
+    }
+
+    private static void run(String stack, int concurrency, int seconds, String... profiles) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(DevRegisteryApplication.class)
+                .profiles(profiles)
+                .run("--server.port=0", "--logging.level.root=WARN", "--logging.level.com.fredjo.DevRegistery=WARN",
+                        "--devregistry.admission.enabled=false")) {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api";
+            HttpClient client = HttpClient.newBuilder()
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .executor(Executors.newFixedThreadPool(4))
+                    .build();
+            long[] ids = DeveloperEndpointLoadTest.seed(client, baseUrl);
+            System.out.printf("stack=%s%n", stack);
+            DeveloperEndpointLoadTest.run(client, baseUrl, ids, concurrency, seconds);
+        }
+    }
+}
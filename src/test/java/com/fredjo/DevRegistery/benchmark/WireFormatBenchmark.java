@@ -0,0 +1,108 @@
+package com.fredjo.DevRegistery.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fredjo.DevRegistery.adapter.converter.ProtobufDtoHttpMessageConverter;
+import com.fredjo.DevRegistery.application.dto.DeveloperDto;
+import com.fredjo.DevRegistery.application.dto.ProgrammingLanguageDto;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.GenericHttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding and decoding of a list of developers, as written by the list endpoints, in each format that
+ * content negotiation offers: through the same HTTP message converters as the endpoints, so that converter
+ * overhead is included. Payload sizes are printed once per trial.
+ * <p>
+ * Run with: {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark=WireFormatBenchmark}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WireFormatBenchmark {
+
+    private static final Type DEVELOPERS = ResolvableType.forClassWithGenerics(List.class, DeveloperDto.class).getType();
+    private static final String[] LANGUAGES = {"Java", "Kotlin", "Go", "Rust", "TypeScript", "Python", "C#", "Scala"};
+    private static final String[] CREATORS = {"James Gosling", "JetBrains", "Rob Pike", "Graydon Hoare",
+            "Anders Hejlsberg", "Guido van Rossum", "Microsoft", "Martin Odersky"};
+
+    @Param({"json", "cbor", "smile", "protobuf"})
+    private String format;
+
+    @Param({"20", "100", "1000"})
+    private int developers;
+
+    private GenericHttpMessageConverter<Object> converter;
+    private MediaType mediaType;
+    private List<DeveloperDto> developerDtos;
+    private byte[] encoded;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() throws IOException {
+        switch (format) {
+            case "json" -> {
+                converter = new MappingJackson2HttpMessageConverter(new ObjectMapper());
+                mediaType = MediaType.APPLICATION_JSON;
+            }
+            case "cbor" -> {
+                converter = new MappingJackson2CborHttpMessageConverter(new CBORMapper());
+                mediaType = MediaType.APPLICATION_CBOR;
+            }
+            case "smile" -> {
+                converter = new MappingJackson2SmileHttpMessageConverter(new SmileMapper());
+                mediaType = new MediaType("application", "x-jackson-smile");
+            }
+            case "protobuf" -> {
+                converter = (GenericHttpMessageConverter<Object>) (GenericHttpMessageConverter<?>) new ProtobufDtoHttpMessageConverter();
+                mediaType = ProtobufDtoHttpMessageConverter.APPLICATION_X_PROTOBUF;
+            }
+            default -> throw new IllegalArgumentException(format);
+        }
+
+        developerDtos = new ArrayList<>(developers);
+        for (int i = 0; i < developers; i++) {
+            // about three languages each, drawn from a small shared set as in a real registry
+            Set<ProgrammingLanguageDto> languages = new HashSet<>();
+            for (int j = 0; j < 2 + i % 3; j++) {
+                int language = (i + j * 3) % LANGUAGES.length;
+                languages.add(new ProgrammingLanguageDto(language + 1, LANGUAGES[language], CREATORS[language]));
+            }
+            developerDtos.add(new DeveloperDto(10_000 + i, "Firstname" + i, "Lastname" + i, languages));
+        }
+        encoded = encode();
+        System.out.printf("%n%s, %d developers: %d bytes%n", format, developers, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        converter.write(developerDtos, DEVELOPERS, mediaType, output);
+        return output.getBodyAsBytes();
+    }
+
+    @Benchmark
+    public Object decode() throws IOException {
+        MockHttpInputMessage input = new MockHttpInputMessage(encoded);
+        input.getHeaders().setContentType(mediaType);
+        return converter.read(DEVELOPERS, null, input);
+    }
+}
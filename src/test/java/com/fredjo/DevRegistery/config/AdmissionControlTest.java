@@ -0,0 +1,106 @@
+package com.fredjo.DevRegistery.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks that clients over their rate get 429 with Retry-After, expensive routes sooner than cheap ones,
+ * and that the limiters are visible through Actuator. Each test uses its own client address; forwarding headers
+ * sent by clients are ignored (see {@link AdmissionForwardedHeadersTest} for the same through Tomcat).
+ */
+@SpringBootTest(properties = {
+        "devregistry.admission.enabled=true",
+        "devregistry.admission.cheap.permits-per-second=1",
+        "devregistry.admission.cheap.burst=5",
+        "devregistry.admission.expensive.permits-per-second=1",
+        "devregistry.admission.expensive.burst=2"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AdmissionControlTest {
+
+    private static final String FORWARDED_FOR = "X-Forwarded-For";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void expensiveRoutes_rejectClientOverItsRate_withRetryAfter() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/v1/developer").with(from("203.0.113.1")))
+                    .andExpect(status().isOk());
+        }
+
+        mockMvc.perform(get("/v1/developer").with(from("203.0.113.1")))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+                .andExpect(jsonPath("$.status").value(429));
+        // paged reads draw from the cheap bucket, other clients from their own
+        mockMvc.perform(get("/v1/developer").param("limit", "5").with(from("203.0.113.1")))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/v1/developer").with(from("203.0.113.2")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void cheapRoutes_rejectClientOverItsBurst() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            mockMvc.perform(get("/v1/developer/999999").with(from("203.0.113.3")))
+                    .andExpect(status().isNotFound());
+        }
+
+        mockMvc.perform(get("/v1/developer/999999").with(from("203.0.113.3")))
+                .andExpect(status().isTooManyRequests());
+        mockMvc.perform(get("/actuator/health").with(from("203.0.113.3")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void actuator_exposesLimiterStateAndRejectCounts() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get("/v1/programming_language").with(from("203.0.113.4")));
+        }
+
+        mockMvc.perform(get("/actuator/admission"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.expensive.burst").value(2))
+                .andExpect(jsonPath("$.expensive.rejected").value(greaterThanOrEqualTo(1)))
+                .andExpect(jsonPath("$.cheap.permitsPerSecond").value(1));
+        mockMvc.perform(get("/actuator/admission/203.0.113.4"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.expensive").value(0))
+                .andExpect(jsonPath("$.cheap").value(5));
+        mockMvc.perform(get("/actuator/metrics/devregistry.admission.requests").param("tag", "result:rejected"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.measurements[0].value").value(greaterThanOrEqualTo(1.0)));
+    }
+
+    @Test
+    void forwardingHeaders_doNotGiveAClientFreshBuckets() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/v1/developer").with(from("203.0.113.5")).header(FORWARDED_FOR, "198.51.100." + i))
+                    .andExpect(status().isOk());
+        }
+
+        mockMvc.perform(get("/v1/developer").with(from("203.0.113.5")).header(FORWARDED_FOR, "198.51.100.99"))
+                .andExpect(status().isTooManyRequests());
+    }
+
+    private static RequestPostProcessor from(String address) {
+        return request -> {
+            request.setRemoteAddr(address);
+            return request;
+        };
+    }
+}
@@ -0,0 +1,48 @@
+package com.fredjo.DevRegistery.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks through Tomcat that a client connecting directly, i.e. not through one of the trusted proxies, cannot
+ * escape admission control by sending a different {@code X-Forwarded-For} with every request. The loopback
+ * address the test client connects from is not trusted here.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "devregistry.admission.enabled=true",
+        "devregistry.admission.expensive.permits-per-second=1",
+        "devregistry.admission.expensive.burst=2",
+        "server.tomcat.remoteip.internal-proxies=192\\.0\\.2\\.1"})
+@ActiveProfiles("test")
+class AdmissionForwardedHeadersTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    void rotatingForwardedFor_stillGetsTooManyRequests() {
+        for (int i = 0; i < 2; i++) {
+            assertEquals(HttpStatus.OK, getDevelopersForwardedFor("198.51.100." + i));
+        }
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, getDevelopersForwardedFor("198.51.100.99"));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, getDevelopersForwardedFor("198.51.100.100, 192.0.2.1"));
+    }
+
+    private HttpStatus getDevelopersForwardedFor(String forwardedFor) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Forwarded-For", forwardedFor);
+        headers.set("X-Real-IP", forwardedFor);
+        return HttpStatus.valueOf(restTemplate.exchange("/v1/developer", HttpMethod.GET, new HttpEntity<>(headers), String.class)
+                .getStatusCode().value());
+    }
+}
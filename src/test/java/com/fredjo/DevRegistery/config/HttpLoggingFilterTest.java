@@ -0,0 +1,81 @@
+package com.fredjo.DevRegistery.config;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HttpLoggingFilterTest {
+
+    private final HttpLoggingFilter httpLoggingFilter = new HttpLoggingFilter(0.0);
+
+    @Test
+    void doFilter_reusesIncomingRequestId_andExposesItInMdcDuringTheChain() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/developer");
+        request.addHeader("X-Request-Id", "edge-42.a_b");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<String> requestIdInChain = new AtomicReference<>();
+        FilterChain chain = (req, res) -> requestIdInChain.set(MDC.get(HttpLoggingFilter.REQUEST_ID_MDC_KEY));
+
+        httpLoggingFilter.doFilter(request, response, chain);
+
+        assertEquals("edge-42.a_b", response.getHeader("X-Request-Id"));
+        assertEquals("edge-42.a_b", requestIdInChain.get());
+        assertNull(MDC.get(HttpLoggingFilter.REQUEST_ID_MDC_KEY));
+    }
+
+    @Test
+    void doFilter_generatesRequestId_whenNoneIsSent() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        httpLoggingFilter.doFilter(new MockHttpServletRequest("GET", "/v1/developer"), response, (req, res) -> { });
+
+        assertTrue(response.getHeader("X-Request-Id").matches("[0-9a-f]{16}"));
+    }
+
+    @Test
+    void doFilter_replacesUnsafeIncomingRequestId() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/developer");
+        request.addHeader("X-Request-Id", "id\nforged log line");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        httpLoggingFilter.doFilter(request, response, (req, res) -> { });
+
+        assertTrue(response.getHeader("X-Request-Id").matches("[0-9a-f]{16}"));
+    }
+
+    @Test
+    void doFilter_logsAsyncRequestOnceComplete_withItsFinalStatusAndRequestId() throws Exception {
+        Logger logger = (Logger) LoggerFactory.getLogger(HttpLoggingFilter.class);
+        ListAppender<ILoggingEvent> appender = new ListAppender<>();
+        appender.start();
+        logger.addAppender(appender);
+        try {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/developer/export");
+            request.setAsyncSupported(true);
+            request.addHeader("X-Request-Id", "export-1");
+            MockHttpServletResponse response = new MockHttpServletResponse();
+
+            new HttpLoggingFilter(1.0).doFilter(request, response, (req, res) -> req.startAsync());
+            assertTrue(appender.list.isEmpty());
+
+            response.setStatus(503);
+            request.getAsyncContext().complete();
+            assertEquals(1, appender.list.size());
+            assertTrue(appender.list.get(0).getFormattedMessage().contains("Status: 503"));
+            assertEquals("export-1", appender.list.get(0).getMDCPropertyMap().get(HttpLoggingFilter.REQUEST_ID_MDC_KEY));
+            assertNull(MDC.get(HttpLoggingFilter.REQUEST_ID_MDC_KEY));
+        } finally {
+            logger.detachAppender(appender);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.fredjo.DevRegistery.config;
+
+import com.fredjo.DevRegistery.infra.search.DeveloperSearchIndex;
+import com.fredjo.DevRegistery.infra.similarity.DeveloperSimilarityIndex;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class IndexHealthTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DeveloperSearchIndex developerSearchIndex;
+
+    @Autowired
+    private DeveloperSimilarityIndex developerSimilarityIndex;
+
+    @Test
+    void readiness_isUp_onceTheIndexesAreBuilt() throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!(developerSearchIndex.isReady() && developerSimilarityIndex.isReady()) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        mockMvc.perform(get("/actuator/health/readiness"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("UP"));
+    }
+
+    @Test
+    void indexesHealth_isOutOfService_whileAnIndexIsBuilding() {
+        DeveloperSearchIndex searchIndex = mock(DeveloperSearchIndex.class);
+        DeveloperSimilarityIndex similarityIndex = mock(DeveloperSimilarityIndex.class);
+        when(searchIndex.isReady()).thenReturn(true);
+
+        assertEquals(Status.OUT_OF_SERVICE, new IndexHealthConfig().indexesHealthIndicator(searchIndex, similarityIndex).health().getStatus());
+        when(similarityIndex.isReady()).thenReturn(true);
+        assertEquals(Status.UP, new IndexHealthConfig().indexesHealthIndicator(searchIndex, similarityIndex).health().getStatus());
+    }
+}
@@ -0,0 +1,91 @@
+package com.fredjo.DevRegistery.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * Checks that the request ID reaches the threads that async requests and the task executor run on.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(MdcPropagationTest.RequestIdController.class)
+class MdcPropagationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private AsyncTaskExecutor applicationTaskExecutor;
+
+    @AfterEach
+    void tearDown() {
+        MDC.clear();
+    }
+
+    @Test
+    void callable_runsWithTheRequestId() throws Exception {
+        assertRequestIdIsEchoed("/test/request-id/callable", "callable-1");
+    }
+
+    @Test
+    void streamingResponseBody_runsWithTheRequestId() throws Exception {
+        assertRequestIdIsEchoed("/test/request-id/stream", "stream-1");
+    }
+
+    @Test
+    void applicationTaskExecutor_runsTasksWithTheSubmittersMdc_andRestoresItsOwn() throws Exception {
+        MDC.put(HttpLoggingFilter.REQUEST_ID_MDC_KEY, "task-1");
+        assertEquals("task-1", applicationTaskExecutor.submit(() -> MDC.get(HttpLoggingFilter.REQUEST_ID_MDC_KEY)).get(5, TimeUnit.SECONDS));
+
+        MDC.clear();
+        assertNull(applicationTaskExecutor.submit(() -> MDC.get(HttpLoggingFilter.REQUEST_ID_MDC_KEY)).get(5, TimeUnit.SECONDS));
+    }
+
+    private void assertRequestIdIsEchoed(String path, String requestId) throws Exception {
+        MvcResult result = mockMvc.perform(get(path).header("X-Request-Id", requestId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(content().string(requestId));
+    }
+
+    @RestController
+    static class RequestIdController {
+
+        @GetMapping("/test/request-id/callable")
+        Callable<String> callable() {
+            return () -> MDC.get(HttpLoggingFilter.REQUEST_ID_MDC_KEY);
+        }
+
+        @GetMapping("/test/request-id/stream")
+        StreamingResponseBody stream() {
+            return outputStream -> outputStream.write(MDC.get(HttpLoggingFilter.REQUEST_ID_MDC_KEY).getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
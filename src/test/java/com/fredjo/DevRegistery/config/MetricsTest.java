@@ -0,0 +1,57 @@
+package com.fredjo.DevRegistery.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+class MetricsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void prometheus_publishesRouteHistogramsTaggedByOutcome() throws Exception {
+        mockMvc.perform(get("/v1/developer/999999"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(post("/v1/developer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\":\"\",\"lastName\":\"Doe\"}"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(allOf(
+                        matchesPattern("(?s).*http_server_requests_seconds_bucket\\{[^}]*outcome=\"not-found\"[^}]*uri=\"/v1/developer/\\{id}\"[^}]*}.*"),
+                        matchesPattern("(?s).*http_server_requests_seconds_bucket\\{[^}]*outcome=\"validation-error\"[^}]*le=\"0.25\"}.*"))));
+    }
+
+    @Test
+    void prometheus_publishesServiceAndRepositoryHistograms() throws Exception {
+        mockMvc.perform(get("/v1/programming_language"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(allOf(
+                        containsString("devregistry_service_seconds_bucket{class=\"com.fredjo.DevRegistery.application.services.ProgrammingLanguageService\""),
+                        matchesPattern("(?s).*devregistry_service_seconds_bucket\\{[^}]*method=\"getAllProgrammingLanguages\"[^}]*le=\"0.2\"}.*"),
+                        matchesPattern("(?s).*spring_data_repository_invocations_seconds_bucket\\{[^}]*method=\"findByIdGreaterThanOrderByIdAsc\"[^}]*le=\"0.01\"[^}]*}.*"))));
+    }
+}
@@ -0,0 +1,55 @@
+package com.fredjo.DevRegistery.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles({"test", "virtual-threads"})
+@Import(VirtualThreadsProfileTest.ThreadProbeController.class)
+class VirtualThreadsProfileTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private VirtualThreadPinningMonitor virtualThreadPinningMonitor;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    void virtualThreadsProfile_sizesConnectionPoolAndStartsPinningMonitor() {
+        HikariDataSource hikariDataSource = assertInstanceOf(HikariDataSource.class, dataSource);
+        assertEquals(32, hikariDataSource.getMaximumPoolSize());
+        assertEquals(10000, hikariDataSource.getConnectionTimeout());
+        assertNotNull(virtualThreadPinningMonitor);
+    }
+
+    @Test
+    void virtualThreadsProfile_handlesRequestsOnVirtualThreads() {
+        assertEquals(Boolean.TRUE, restTemplate.getForObject("/test/thread/virtual", Boolean.class));
+    }
+
+    /**
+     * Reports whether the Tomcat request thread is virtual.
+     */
+    @RestController
+    static class ThreadProbeController {
+
+        @GetMapping("/test/thread/virtual")
+        boolean virtual() {
+            return Thread.currentThread().isVirtual();
+        }
+    }
+}
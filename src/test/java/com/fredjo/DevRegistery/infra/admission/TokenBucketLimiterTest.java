@@ -0,0 +1,115 @@
+package com.fredjo.DevRegistery.infra.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong clock = new AtomicLong(42 * SECOND);
+
+    @Test
+    void tryAcquire_admitsTheBurst_thenRejectsUntilATokenIsBack() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter("cheap", 10, 3, 100, clock::get);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("10.0.0.1"));
+        }
+        assertEquals(SECOND / 10, limiter.tryAcquire("10.0.0.1"));
+        assertEquals(0, limiter.availableTokens("10.0.0.1"));
+
+        clock.addAndGet(SECOND / 10);
+        assertEquals(1, limiter.availableTokens("10.0.0.1"));
+        assertEquals(0, limiter.tryAcquire("10.0.0.1"));
+        assertTrue(limiter.tryAcquire("10.0.0.1") > 0);
+
+        assertEquals(4, limiter.admittedCount());
+        assertEquals(2, limiter.rejectedCount());
+    }
+
+    @Test
+    void tryAcquire_refillsUpToTheBurstOnly() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter("cheap", 10, 3, 100, clock::get);
+        limiter.tryAcquire("10.0.0.1");
+
+        clock.addAndGet(10 * SECOND);
+
+        assertEquals(3, limiter.availableTokens("10.0.0.1"));
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("10.0.0.1"));
+        }
+        assertTrue(limiter.tryAcquire("10.0.0.1") > 0);
+    }
+
+    @Test
+    void tryAcquire_limitsEveryClientSeparately() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter("expensive", 1, 1, 100, clock::get);
+
+        assertEquals(0, limiter.tryAcquire("10.0.0.1"));
+        assertEquals(SECOND, limiter.tryAcquire("10.0.0.1"));
+        assertEquals(0, limiter.tryAcquire("10.0.0.2"));
+        assertEquals(2, limiter.trackedClients());
+    }
+
+    @Test
+    void tryAcquire_dropsFullBucketsFirst_whenTooManyClientsAreTracked() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter("cheap", 1, 2, 8, clock::get);
+        for (int i = 0; i < 8; i++) {
+            limiter.tryAcquire("idle-" + i);
+        }
+        clock.addAndGet(SECOND);
+        limiter.tryAcquire("busy");
+        limiter.tryAcquire("busy");
+
+        limiter.tryAcquire("new");
+
+        assertEquals(2, limiter.trackedClients());
+        assertEquals(0, limiter.evictionCount());
+        assertTrue(limiter.tryAcquire("busy") > 0);
+    }
+
+    @Test
+    void tryAcquire_dropsBusyBuckets_whenEveryTrackedClientIsBusy() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter("cheap", 1, 2, 8, clock::get);
+        for (int i = 0; i < 20; i++) {
+            limiter.tryAcquire("busy-" + i);
+        }
+
+        assertTrue(limiter.trackedClients() <= 8);
+        assertTrue(limiter.evictionCount() > 0);
+    }
+
+    @Test
+    void tryAcquire_admitsExactlyTheBurst_underContention() throws Exception {
+        TokenBucketLimiter limiter = new TokenBucketLimiter("cheap", 1, 1000, 100, clock::get);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < 8; t++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                for (int i = 0; i < 500; i++) {
+                    limiter.tryAcquire("10.0.0.1");
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(1000, limiter.admittedCount());
+        assertEquals(3000, limiter.rejectedCount());
+    }
+}
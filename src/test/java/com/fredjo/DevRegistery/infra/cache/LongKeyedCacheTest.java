@@ -0,0 +1,162 @@
+package com.fredjo.DevRegistery.infra.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LongKeyedCacheTest {
+
+    @Test
+    void get_loadsOnMiss_thenHits() {
+        LongKeyedCache<String> cache = new LongKeyedCache<>(100);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals("7", cache.get(7L, key -> String.valueOf(key + loads.getAndIncrement())));
+        assertEquals("7", cache.get(7L, key -> String.valueOf(key + loads.getAndIncrement())));
+
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.hitCount());
+        assertEquals(1, cache.missCount());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void get_doesNotCacheAbsentValues() {
+        LongKeyedCache<String> cache = new LongKeyedCache<>(100);
+
+        assertNull(cache.get(7L, key -> null));
+
+        assertEquals(0, cache.size());
+        assertEquals("7", cache.get(7L, String::valueOf));
+    }
+
+    @Test
+    void get_evictsWhenFull_andKeepsRecentlyReadEntries() {
+        LongKeyedCache<Long> cache = new LongKeyedCache<>(64);
+        for (long key = 0; key < 10_000; key++) {
+            cache.get(key, Long::valueOf);
+            // key 0 is read again between insertions, so CLOCK always finds it referenced
+            cache.get(0L, Long::valueOf);
+        }
+
+        assertTrue(cache.size() <= cache.maximumSize());
+        assertTrue(cache.evictionCount() >= 10_000 - cache.maximumSize());
+        assertEquals(0L, cache.getIfPresent(0L));
+        for (long key = 0; key < 10_000; key++) {
+            Long value = cache.getIfPresent(key);
+            assertTrue(value == null || value == key);
+        }
+    }
+
+    @Test
+    void invalidate_removesOnlyThatKey_andKeepsOthersReachable() {
+        LongKeyedCache<Long> cache = new LongKeyedCache<>(1000);
+        for (long key = 0; key < 500; key++) {
+            cache.get(key, Long::valueOf);
+        }
+        for (long key = 0; key < 500; key += 2) {
+            cache.invalidate(key);
+        }
+
+        for (long key = 0; key < 500; key++) {
+            assertEquals(key % 2 == 0 ? null : key, cache.getIfPresent(key));
+        }
+        assertEquals(250, cache.size());
+    }
+
+    @Test
+    void get_coalescesConcurrentMissesIntoOneLoad() throws Exception {
+        LongKeyedCache<String> cache = new LongKeyedCache<>(100);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> cache.get(7L, key -> {
+                    loads.incrementAndGet();
+                    await(release);
+                    return "seven";
+                })));
+            }
+            while (cache.missCount() < 8) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertEquals("seven", result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, loads.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void get_doesNotCacheALoad_invalidatedWhileInFlight() throws Exception {
+        LongKeyedCache<String> cache = new LongKeyedCache<>(100);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> stale = executor.submit(() -> cache.get(7L, key -> {
+                loading.countDown();
+                await(release);
+                return "stale";
+            }));
+            await(loading);
+            cache.invalidate(7L);
+            release.countDown();
+
+            assertEquals("stale", stale.get(5, TimeUnit.SECONDS));
+            assertEquals("fresh", cache.get(7L, key -> "fresh"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void get_propagatesLoadFailures_withoutCaching() {
+        LongKeyedCache<String> cache = new LongKeyedCache<>(100);
+
+        assertThrows(IllegalStateException.class, () -> cache.get(7L, key -> {
+            throw new IllegalStateException("database down");
+        }));
+
+        assertEquals(1, cache.loadFailureCount());
+        assertEquals(0, cache.size());
+        assertEquals("7", cache.get(7L, String::valueOf));
+    }
+
+    @Test
+    void get_withZeroSize_neverCaches() {
+        LongKeyedCache<String> cache = new LongKeyedCache<>(0);
+
+        cache.get(7L, String::valueOf);
+
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.hitCount());
+        assertNull(cache.getIfPresent(7L));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
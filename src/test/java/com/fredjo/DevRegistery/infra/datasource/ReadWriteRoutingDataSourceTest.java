@@ -0,0 +1,94 @@
+package com.fredjo.DevRegistery.infra.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private final DataSource primary = mock(DataSource.class);
+    private final ReplicaPool first = replica("replica-0");
+    private final ReplicaPool second = replica("replica-1");
+    private final ReadWriteRoutingDataSource router = new ReadWriteRoutingDataSource(primary, List.of(first, second), 500);
+
+    @BeforeEach
+    void setUp() {
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.unbindResourceIfPossible(router);
+        TransactionSynchronizationManager.clear();
+    }
+
+    @Test
+    void getConnection_withCredentials_routesLikeWithout() throws SQLException {
+        Connection write = mock(Connection.class);
+        when(primary.getConnection("reader", "secret")).thenReturn(write);
+        assertSame(write, router.getConnection("reader", "secret"));
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        Connection read = mock(Connection.class);
+        when(first.getDataSource().getConnection("reader", "secret")).thenReturn(read);
+        assertSame(read, router.getConnection("reader", "secret"));
+    }
+
+    @Test
+    void currentReplica_isChosenOncePerTransaction() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        ReplicaPool chosen = router.currentReplica();
+        Connection read = mock(Connection.class);
+        when(chosen.getDataSource().getConnection()).thenReturn(read);
+
+        assertSame(chosen, router.currentReplica());
+        assertSame(read, router.getConnection());
+
+        complete();
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertSame(chosen == first ? second : first, router.currentReplica());
+    }
+
+    @Test
+    void currentReplica_isNull_whenPrimaryServesTheTransaction() throws SQLException {
+        assertNull(router.currentReplica());
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        when(first.isUsable(anyLong())).thenReturn(false);
+        when(second.isUsable(anyLong())).thenReturn(false);
+        assertNull(router.currentReplica());
+        router.getConnection();
+        assertEquals(1, router.getFallbackCount());
+    }
+
+    private static ReplicaPool replica(String name) {
+        ReplicaPool replica = mock(ReplicaPool.class);
+        DataSource dataSource = mock(DataSource.class);
+        when(replica.getName()).thenReturn(name);
+        when(replica.getDataSource()).thenReturn(dataSource);
+        when(replica.isUsable(anyLong())).thenReturn(true);
+        return replica;
+    }
+
+    private static void complete() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clear();
+        TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations, TransactionSynchronization.STATUS_COMMITTED);
+    }
+}
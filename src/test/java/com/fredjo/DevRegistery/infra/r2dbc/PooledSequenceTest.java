@@ -0,0 +1,43 @@
+package com.fredjo.DevRegistery.infra.r2dbc;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PooledSequenceTest {
+
+    @Test
+    void nextId_handsOutTheBlockBelowEachSequenceValue() {
+        AtomicLong sequence = new AtomicLong(51);
+        AtomicLong reads = new AtomicLong();
+        PooledSequence ids = new PooledSequence(50, () -> {
+            reads.incrementAndGet();
+            return Mono.just(sequence.getAndAdd(50));
+        });
+
+        List<Long> allocated = new ArrayList<>();
+        for (int i = 0; i < 51; i++) {
+            allocated.add(ids.nextId().block());
+        }
+
+        assertEquals(2L, allocated.get(0));
+        assertEquals(51L, allocated.get(49));
+        assertEquals(52L, allocated.get(50));
+        assertEquals(2, reads.get());
+    }
+
+    @Test
+    void nextId_onlyUsesTheFirstSequenceValue_whoseBlockWouldStartBelowOne() {
+        AtomicLong sequence = new AtomicLong(1);
+        PooledSequence ids = new PooledSequence(50, () -> Mono.just(sequence.getAndAdd(50)));
+
+        assertEquals(1L, ids.nextId().block());
+        assertEquals(2L, ids.nextId().block());
+        assertEquals(3L, ids.nextId().block());
+    }
+}
@@ -0,0 +1,158 @@
+package com.fredjo.DevRegistery.infra.search;
+
+import com.fredjo.DevRegistery.application.event.DeveloperDeletedEvent;
+import com.fredjo.DevRegistery.application.event.DeveloperSavedEvent;
+import com.fredjo.DevRegistery.infra.repository.DeveloperNameView;
+import com.fredjo.DevRegistery.infra.repository.DeveloperRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DeveloperSearchIndexTest {
+
+    private DeveloperSearchIndex developerSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        developerSearchIndex = new DeveloperSearchIndex(mock(DeveloperRepository.class), mock(PlatformTransactionManager.class));
+        developerSearchIndex.index(1L, "Ada", "Lovelace");
+        developerSearchIndex.index(2L, "Adam", "Smith");
+        developerSearchIndex.index(3L, "Grace", "Adams");
+        developerSearchIndex.index(4L, "Linus", "Torvalds");
+    }
+
+    @Test
+    void search_matchesWordPrefixesInFirstAndLastNames() {
+        assertEquals(List.of(1L, 2L, 3L), ids(developerSearchIndex.search("ad", null, 10)));
+    }
+
+    @Test
+    void search_ranksExactMatchesBeforeCompletions() {
+        assertEquals(List.of(2L, 3L), ids(developerSearchIndex.search("adam", null, 10)));
+    }
+
+    @Test
+    void search_requiresEveryTermToMatch() {
+        assertEquals(List.of(1L), ids(developerSearchIndex.search("lov ad", null, 10)));
+        assertTrue(developerSearchIndex.search("ada torvalds", null, 10).isEmpty());
+    }
+
+    @Test
+    void search_ignoresCaseAndAccents() {
+        developerSearchIndex.index(5L, "Zoë", "Émile-Brontë");
+
+        assertEquals(List.of(5L), ids(developerSearchIndex.search("ZOE bront", null, 10)));
+        assertEquals(List.of(5L), ids(developerSearchIndex.search("émi", null, 10)));
+    }
+
+    @Test
+    void search_resumesAfterTheLastHitOfThePreviousPage() {
+        List<DeveloperSearchIndex.Hit> first = developerSearchIndex.search("ad", null, 2);
+
+        assertEquals(List.of(1L, 2L), ids(first));
+        assertEquals(List.of(3L), ids(developerSearchIndex.search("ad", first.get(1).posting(), 2)));
+    }
+
+    @Test
+    void search_returnsDeveloperMatchingSeveralWordsOnce_acrossPages() {
+        developerSearchIndex.index(5L, "Adele", "Adamson");
+
+        List<Long> ids = new ArrayList<>();
+        DeveloperSearchIndex.Posting after = null;
+        for (List<DeveloperSearchIndex.Hit> page = developerSearchIndex.search("ad", null, 1); !page.isEmpty();
+             page = developerSearchIndex.search("ad", after, 1)) {
+            ids.addAll(ids(page));
+            after = page.get(0).posting();
+        }
+
+        assertEquals(List.of(1L, 2L, 3L, 5L), ids);
+    }
+
+    @Test
+    void search_servesDeepPagesOfLargeResultSets() {
+        for (long id = 100; id < 100_100; id++) {
+            developerSearchIndex.index(id, "Dev " + id, "Turing");
+        }
+        List<DeveloperSearchIndex.Hit> page = developerSearchIndex.search("turing", null, 100);
+        for (int i = 1; i < 900; i++) {
+            page = developerSearchIndex.search("turing", page.get(page.size() - 1).posting(), 100);
+        }
+
+        assertEquals(LongStream.range(90_000, 90_100).boxed().toList(), ids(page));
+        List<DeveloperSearchIndex.Hit> rest = developerSearchIndex.search("turing", page.get(99).posting(), 20_000);
+        assertEquals(10_000, rest.size());
+        assertEquals(100_099L, rest.get(rest.size() - 1).id());
+    }
+
+    @Test
+    void search_returnsNothing_forBlankQuery() {
+        assertTrue(developerSearchIndex.search("  - ", null, 10).isEmpty());
+    }
+
+    @Test
+    void index_replacesNamesOfExistingDeveloper() {
+        developerSearchIndex.index(1L, "Augusta", "King");
+
+        assertEquals(List.of(1L), ids(developerSearchIndex.search("king", null, 10)));
+        assertTrue(developerSearchIndex.search("lovelace", null, 10).isEmpty());
+        assertEquals(4, developerSearchIndex.size());
+    }
+
+    @Test
+    void remove_dropsDeveloperFromResults() {
+        developerSearchIndex.remove(3L);
+
+        assertEquals(List.of(1L, 2L), ids(developerSearchIndex.search("ad", null, 10)));
+        assertEquals(3, developerSearchIndex.size());
+    }
+
+    @Test
+    void build_keepsTheChangesReceivedMeanwhile() {
+        DeveloperRepository developerRepository = mock(DeveloperRepository.class);
+        DeveloperSearchIndex index = new DeveloperSearchIndex(developerRepository, mock(PlatformTransactionManager.class));
+        // the names of 1 and 2 are read before, but loaded after, 1 is renamed and 2 deleted
+        Stream<DeveloperNameView> names = Stream.of(name(1L, "Ada", "Lovelace"), name(2L, "Adam", "Smith"), name(3L, "Grace", "Hopper"));
+        when(developerRepository.streamNames()).thenReturn(names
+                .peek(developer -> {
+                    if (developer.getId() == 1L) {
+                        index.onDeveloperSaved(new DeveloperSavedEvent(1L, "Augusta", "King"));
+                        index.onDeveloperDeleted(new DeveloperDeletedEvent(2L));
+                    }
+                }));
+        assertFalse(index.isReady());
+
+        index.build();
+
+        assertTrue(index.isReady());
+        assertEquals(2, index.size());
+        assertEquals(List.of(1L), ids(index.search("king", null, 10)));
+        assertTrue(index.search("ada", null, 10).isEmpty());
+        assertEquals(List.of(3L), ids(index.search("hopper", null, 10)));
+    }
+
+    @Test
+    void tokenize_foldsAndDeduplicatesWords() {
+        assertEquals(List.of("jean", "luc", "picard"), DeveloperSearchIndex.tokenize("Jean-Luc  PICARD jean"));
+    }
+
+    private static DeveloperNameView name(long id, String firstName, String lastName) {
+        DeveloperNameView name = mock(DeveloperNameView.class);
+        when(name.getId()).thenReturn(id);
+        when(name.getFirstName()).thenReturn(firstName);
+        when(name.getLastName()).thenReturn(lastName);
+        return name;
+    }
+
+    private static List<Long> ids(List<DeveloperSearchIndex.Hit> hits) {
+        return hits.stream().map(DeveloperSearchIndex.Hit::id).toList();
+    }
+}
@@ -0,0 +1,120 @@
+package com.fredjo.DevRegistery.infra.similarity;
+
+import com.fredjo.DevRegistery.infra.repository.DeveloperLanguageLinkView;
+import com.fredjo.DevRegistery.infra.repository.DeveloperRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DeveloperSimilarityIndexTest {
+
+    private static final long JAVA = 1L;
+    private static final long GO = 2L;
+    private static final long RUST = 3L;
+    private static final long COBOL = 4L;
+
+    private DeveloperSimilarityIndex developerSimilarityIndex;
+
+    @BeforeEach
+    void setUp() {
+        developerSimilarityIndex = new DeveloperSimilarityIndex(mock(DeveloperRepository.class), mock(PlatformTransactionManager.class), Duration.ofHours(1));
+        developerSimilarityIndex.add(1L, List.of(JAVA, GO, RUST));
+        developerSimilarityIndex.add(2L, List.of(JAVA, GO, RUST));
+        developerSimilarityIndex.add(3L, List.of(JAVA, GO));
+        developerSimilarityIndex.add(4L, List.of(JAVA, GO, RUST, COBOL));
+        developerSimilarityIndex.add(5L, List.of(COBOL));
+        developerSimilarityIndex.add(6L, List.of(RUST, COBOL));
+    }
+
+    @Test
+    void similar_ranksByJaccardIndex_thenSharedLanguages_thenId() {
+        List<DeveloperSimilarityIndex.Match> matches = developerSimilarityIndex.similar(1L, 10);
+
+        // 2: 3/3, 4: 3/4, 3: 2/3, 6: 1/4
+        assertEquals(List.of(2L, 4L, 3L, 6L), ids(matches));
+        assertEquals(1.0, matches.get(0).similarity());
+        assertEquals(3, matches.get(1).sharedLanguages());
+        assertEquals(0.75, matches.get(1).similarity());
+        assertEquals(0.25, matches.get(3).similarity());
+    }
+
+    @Test
+    void similar_stopsAtTheLimit() {
+        assertEquals(List.of(2L, 4L), ids(developerSimilarityIndex.similar(1L, 2)));
+    }
+
+    @Test
+    void similar_returnsNothing_forDevelopersWithoutLanguages() {
+        assertTrue(developerSimilarityIndex.similar(42L, 10).isEmpty());
+    }
+
+    @Test
+    void add_ignoresLanguagesAlreadyKnown() {
+        developerSimilarityIndex.add(3L, List.of(GO, RUST));
+
+        assertEquals(3, developerSimilarityIndex.similar(1L, 10).stream()
+                .filter(match -> match.id() == 3L).findFirst().orElseThrow().sharedLanguages());
+        assertEquals(List.of(2L, 3L, 4L, 6L), ids(developerSimilarityIndex.similar(1L, 10)));
+    }
+
+    @Test
+    void removeDeveloper_dropsItFromEveryLanguage() {
+        developerSimilarityIndex.removeDeveloper(2L);
+
+        assertEquals(List.of(4L, 3L, 6L), ids(developerSimilarityIndex.similar(1L, 10)));
+        assertTrue(developerSimilarityIndex.similar(2L, 10).isEmpty());
+        assertEquals(5, developerSimilarityIndex.size());
+    }
+
+    @Test
+    void removeLanguage_updatesTheLanguageCountsOfItsDevelopers() {
+        developerSimilarityIndex.removeLanguage(COBOL);
+
+        // 4 now knows exactly the languages of 1, and 5 knows none
+        assertEquals(List.of(2L, 4L, 3L, 6L), ids(developerSimilarityIndex.similar(1L, 10)));
+        assertEquals(1.0, developerSimilarityIndex.similar(1L, 10).get(1).similarity());
+        assertEquals(1.0 / 3, developerSimilarityIndex.similar(6L, 10).get(0).similarity());
+        assertEquals(5, developerSimilarityIndex.size());
+    }
+
+    @Test
+    void rebuild_replaysTheChangesReceivedMeanwhile() {
+        DeveloperRepository developerRepository = mock(DeveloperRepository.class);
+        DeveloperSimilarityIndex index = new DeveloperSimilarityIndex(developerRepository, mock(PlatformTransactionManager.class), Duration.ofHours(1));
+        // 1 and 2 are read, then 3 learns Go and 2 is deleted before the rebuilt index is swapped in
+        Stream<DeveloperLanguageLinkView> links = Stream.of(link(1L, JAVA), link(1L, GO), link(2L, JAVA));
+        when(developerRepository.streamLanguageLinks()).thenReturn(links
+                .onClose(() -> {
+                    index.add(3L, List.of(GO));
+                    index.removeDeveloper(2L);
+                }));
+        assertFalse(index.isReady());
+
+        index.rebuild();
+
+        assertTrue(index.isReady());
+        assertEquals(2, index.size());
+        assertEquals(List.of(3L), ids(index.similar(1L, 10)));
+    }
+
+    private static DeveloperLanguageLinkView link(long developerId, long languageId) {
+        DeveloperLanguageLinkView link = mock(DeveloperLanguageLinkView.class);
+        when(link.getDeveloperId()).thenReturn(developerId);
+        when(link.getLanguageId()).thenReturn(languageId);
+        return link;
+    }
+
+    private static List<Long> ids(List<DeveloperSimilarityIndex.Match> matches) {
+        return matches.stream().map(DeveloperSimilarityIndex.Match::id).toList();
+    }
+}
@@ -0,0 +1,99 @@
+package com.fredjo.DevRegistery.infra.stats;
+
+import com.fredjo.DevRegistery.application.event.LanguageLinksChangedEvent;
+import com.fredjo.DevRegistery.application.event.ProgrammingLanguageDeletedEvent;
+import com.fredjo.DevRegistery.infra.repository.LanguageDeveloperCountView;
+import com.fredjo.DevRegistery.infra.repository.ProgrammingLanguageRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LanguageUsageCountersTest {
+
+    private ProgrammingLanguageRepository programmingLanguageRepository;
+    private LanguageUsageCounters languageUsageCounters;
+
+    @BeforeEach
+    void setUp() {
+        programmingLanguageRepository = mock(ProgrammingLanguageRepository.class);
+        languageUsageCounters = new LanguageUsageCounters(programmingLanguageRepository, mock(PlatformTransactionManager.class), Duration.ofMinutes(10));
+    }
+
+    @Test
+    void onLanguageLinksChanged_countsEveryDeveloperGainingOrLosingALanguage() {
+        languageUsageCounters.onLanguageLinksChanged(LanguageLinksChangedEvent.added(List.of(1L, 2L, 1L)));
+        languageUsageCounters.onLanguageLinksChanged(LanguageLinksChangedEvent.removed(List.of(2L)));
+
+        assertEquals(2, languageUsageCounters.count(1L));
+        assertEquals(0, languageUsageCounters.count(2L));
+        assertEquals(0, languageUsageCounters.count(3L));
+    }
+
+    @Test
+    void reconcile_correctsDriftedCounters_only() {
+        languageUsageCounters.onLanguageLinksChanged(LanguageLinksChangedEvent.added(List.of(1L, 1L, 2L, 3L)));
+        when(programmingLanguageRepository.countDevelopersByLanguage()).thenReturn(List.of(count(1L, 2), count(2L, 5), count(4L, 1)));
+
+        assertEquals(3, languageUsageCounters.reconcile());
+
+        assertEquals(2, languageUsageCounters.count(1L));
+        assertEquals(5, languageUsageCounters.count(2L));
+        assertEquals(0, languageUsageCounters.count(3L));
+        assertEquals(1, languageUsageCounters.count(4L));
+        assertEquals(0, languageUsageCounters.reconcile());
+    }
+
+    @Test
+    void reconcile_leavesCountersChangedWhileRecounting_toTheNextReconciliation() {
+        languageUsageCounters.onLanguageLinksChanged(LanguageLinksChangedEvent.added(List.of(1L, 1L, 2L)));
+        when(programmingLanguageRepository.countDevelopersByLanguage()).thenAnswer(invocation -> {
+            // committed while the table is read: seen for language 1, not for language 2
+            languageUsageCounters.onLanguageLinksChanged(LanguageLinksChangedEvent.added(List.of(1L, 2L)));
+            return List.of(count(1L, 3), count(2L, 1));
+        });
+
+        assertEquals(0, languageUsageCounters.reconcile());
+
+        assertEquals(3, languageUsageCounters.count(1L));
+        assertEquals(2, languageUsageCounters.count(2L));
+
+        when(programmingLanguageRepository.countDevelopersByLanguage()).thenReturn(List.of(count(1L, 4), count(2L, 2)));
+        assertEquals(1, languageUsageCounters.reconcile());
+        assertEquals(4, languageUsageCounters.count(1L));
+        assertEquals(2, languageUsageCounters.count(2L));
+    }
+
+    @Test
+    void onProgrammingLanguageDeleted_dropsItsCounter() {
+        languageUsageCounters.onLanguageLinksChanged(LanguageLinksChangedEvent.added(List.of(1L, 1L, 2L)));
+        languageUsageCounters.onLanguageLinksChanged(LanguageLinksChangedEvent.removed(List.of(1L, 1L)));
+
+        languageUsageCounters.onProgrammingLanguageDeleted(new ProgrammingLanguageDeletedEvent(1L));
+
+        assertEquals(0, languageUsageCounters.count(1L));
+        assertEquals(1, languageUsageCounters.count(2L));
+        when(programmingLanguageRepository.countDevelopersByLanguage()).thenReturn(List.of(count(2L, 1)));
+        assertEquals(0, languageUsageCounters.reconcile());
+    }
+
+    private static LanguageDeveloperCountView count(long languageId, long developers) {
+        return new LanguageDeveloperCountView() {
+            @Override
+            public long getLanguageId() {
+                return languageId;
+            }
+
+            @Override
+            public long getDevelopers() {
+                return developers;
+            }
+        };
+    }
+}
@@ -0,0 +1,91 @@
+package com.fredjo.DevRegistery.infra.storage;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StoreSnapshotsTest {
+
+    @TempDir
+    Path directory;
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private StoreSnapshots storeSnapshots;
+
+    @BeforeEach
+    void setUp() {
+        String store = directory.resolve("registry").toString();
+        dataSource = new SingleConnectionDataSource("jdbc:h2:nio:" + store + ";DB_CLOSE_ON_EXIT=FALSE", "sa", "", true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table developer (id bigint primary key, last_name varchar(255))");
+        jdbcTemplate.batchUpdate("insert into developer values (?, ?)", ids(1000), 100,
+                (statement, id) -> {
+                    statement.setLong(1, id);
+                    statement.setString(2, "Developer " + id);
+                });
+        storeSnapshots = new StoreSnapshots(jdbcTemplate, store, directory.resolve("snapshots"), Duration.ZERO, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.destroy();
+    }
+
+    @Test
+    void take_writesACompactedStoreThatOpensAsIs() throws IOException {
+        jdbcTemplate.update("delete from developer where mod(id, 2) = 0");
+        jdbcTemplate.update("insert into developer values (2000, 'Written after the deletes')");
+
+        StoreSnapshots.Snapshot snapshot = storeSnapshots.take();
+
+        Path file = directory.resolve("snapshots").resolve(snapshot.name());
+        assertEquals(Files.size(file), snapshot.bytes());
+        String url = "jdbc:h2:nio:" + file.toString().replace(".mv.db", "");
+        SingleConnectionDataSource restored = new SingleConnectionDataSource(url, "sa", "", true);
+        try {
+            JdbcTemplate restoredTemplate = new JdbcTemplate(restored);
+            assertEquals(501, restoredTemplate.queryForObject("select count(*) from developer", Long.class));
+            assertEquals("Written after the deletes", restoredTemplate.queryForObject("select last_name from developer where id = 2000", String.class));
+        } finally {
+            restored.destroy();
+        }
+    }
+
+    @Test
+    void take_keepsOnlyTheMostRecentSnapshots() throws IOException {
+        StoreSnapshots.Snapshot first = storeSnapshots.take();
+        StoreSnapshots.Snapshot second = storeSnapshots.take();
+        StoreSnapshots.Snapshot third = storeSnapshots.take();
+
+        List<StoreSnapshots.Snapshot> snapshots = storeSnapshots.list();
+
+        assertEquals(List.of(third.name(), second.name()), snapshots.stream().map(StoreSnapshots.Snapshot::name).toList());
+        assertTrue(first.takenAt().isBefore(third.takenAt()));
+        try (Stream<Path> files = Files.list(directory.resolve("snapshots"))) {
+            assertEquals(2, files.count(), "work files are deleted");
+        }
+    }
+
+    @Test
+    void list_isEmptyBeforeTheFirstSnapshot() throws IOException {
+        assertEquals(List.of(), storeSnapshots.list());
+    }
+
+    private static List<Long> ids(int count) {
+        return Stream.iterate(1L, id -> id + 1).limit(count).toList();
+    }
+}
@@ -0,0 +1,78 @@
+package com.fredjo.DevRegistery.support;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Stands in for replication between two embedded H2 databases: each call replaces the replica with a copy
+ * of the primary, schema and data. Between calls the replica lags behind the primary.
+ */
+public final class H2ReplicationHook {
+
+    private final String primaryUrl;
+    private final String replicaUrl;
+
+    public H2ReplicationHook(String primaryUrl, String replicaUrl) {
+        this.primaryUrl = primaryUrl;
+        this.replicaUrl = replicaUrl;
+    }
+
+    /**
+     * Brings the replica up to date with the primary.
+     */
+    public void replicate() throws SQLException {
+        try (Connection primary = DriverManager.getConnection(primaryUrl, "sa", "");
+             Connection replica = DriverManager.getConnection(replicaUrl, "sa", "");
+             Statement source = primary.createStatement();
+             Statement target = replica.createStatement();
+             ResultSet script = source.executeQuery("script nopasswords")) {
+            target.execute("drop all objects");
+            while (script.next()) {
+                String sql = script.getString(1);
+                if (!sql.startsWith("--") && !sql.startsWith("CREATE USER")) {
+                    target.execute(sql);
+                }
+            }
+        }
+    }
+
+    /**
+     * Drops everything on the replica, as if it had been lost.
+     */
+    public void destroyReplica() throws SQLException {
+        execute(replicaUrl, "drop all objects");
+    }
+
+    /**
+     * @return the number of rows of {@code table} on the primary
+     */
+    public long countOnPrimary(String table) throws SQLException {
+        return count(primaryUrl, table);
+    }
+
+    /**
+     * @return the number of rows of {@code table} on the replica
+     */
+    public long countOnReplica(String table) throws SQLException {
+        return count(replicaUrl, table);
+    }
+
+    private static long count(String url, String table) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement statement = connection.createStatement();
+             ResultSet row = statement.executeQuery("select count(*) from " + table)) {
+            row.next();
+            return row.getLong(1);
+        }
+    }
+
+    private static void execute(String url, String sql) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.fredjo.DevRegistery.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Hibernate {@link StatementInspector} counting every SQL statement prepared by the application.
+ * Register it with {@code spring.jpa.properties.hibernate.session_factory.statement_inspector}
+ * and assert exact counts per endpoint so that N+1 regressions fail the build.
+ * The count is global rather than per thread, so statements issued from async request handling are included.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final AtomicInteger count = new AtomicInteger();
+    private static final List<String> statements = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        count.incrementAndGet();
+        statements.add(sql);
+        return sql;
+    }
+
+    /**
+     * Resets the counter.
+     */
+    public static void reset() {
+        count.set(0);
+        statements.clear();
+    }
+
+    /**
+     * @return the SQL of the statements since the last reset
+     */
+    public static List<String> statements() {
+        return List.copyOf(statements);
+    }
+
+    /**
+     * @return the number of statements since the last reset
+     */
+    public static int count() {
+        return count.get();
+    }
+
+    /**
+     * Asserts the number of statements since the last reset.
+     *
+     * @param expected the expected number of statements
+     */
+    public static void assertStatementCount(int expected) {
+        assertEquals(expected, count(), "Unexpected number of SQL statements");
+    }
+}